@@ -0,0 +1,70 @@
+package ru.practicum.shareit.booking;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import ru.practicum.shareit.item.Item;
+import ru.practicum.shareit.user.User;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.LongStream;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BookingMapperBenchmark {
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2024, 1, 1, 12, 0);
+
+    @Param({"10", "100", "1000"})
+    private int bookings;
+
+    private BookingMapper mapper;
+    private List<Booking> bookingList;
+
+    @Setup
+    public void setUp() {
+        mapper = new BookingMapperImpl();
+        bookingList = LongStream.rangeClosed(1L, bookings)
+                .mapToObj(this::makeBooking)
+                .toList();
+    }
+
+    @Benchmark
+    public List<BookingRetrieveDto> mapToDto() {
+        return mapper.mapToDto(bookingList);
+    }
+
+    private Booking makeBooking(final long id) {
+        final User owner = new User();
+        owner.setId(1L);
+        final Item item = new Item();
+        item.setId(id % 50);
+        item.setOwner(owner);
+        item.setName("Item " + id % 50);
+        final User booker = new User();
+        booker.setId(id % 20 + 2);
+        booker.setName("User " + booker.getId());
+        final Booking booking = new Booking();
+        booking.setId(id);
+        booking.setItem(item);
+        booking.setBooker(booker);
+        booking.setStart(NOW.plusDays(id));
+        booking.setEnd(NOW.plusDays(id + 1));
+        booking.setStatus(BookingStatus.values()[(int) (id % BookingStatus.values().length)]);
+        return booking;
+    }
+}
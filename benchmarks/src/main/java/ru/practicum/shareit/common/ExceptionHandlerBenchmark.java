@@ -0,0 +1,69 @@
+package ru.practicum.shareit.common;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.ProblemDetail;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.validation.BindingResult;
+import org.springframework.validation.MapBindingResult;
+import org.springframework.web.bind.MethodArgumentNotValidException;
+import ru.practicum.shareit.common.exception.NotFoundException;
+import ru.practicum.shareit.common.exception.ValidationException;
+import ru.practicum.shareit.user.User;
+
+import java.util.HashMap;
+import java.util.concurrent.TimeUnit;
+
+// Error responses are formatted the way ControllerExceptionHandler does it in production, including logging
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ExceptionHandlerBenchmark {
+
+    private ControllerExceptionHandler handler;
+    private MockHttpServletRequest request;
+    private NotFoundException notFoundException;
+    private ValidationException validationException;
+    private MethodArgumentNotValidException methodArgumentNotValidException;
+
+    @Setup
+    public void setUp() throws NoSuchMethodException {
+        handler = new ControllerExceptionHandler();
+        request = Requests.makeRequest();
+        notFoundException = new NotFoundException(User.class, 42L);
+        validationException = new ValidationException("end", "should be after start");
+        final BindingResult bindingResult = new MapBindingResult(new HashMap<>(), "itemCreateDto");
+        bindingResult.rejectValue("name", "NotBlank", "must not be blank");
+        bindingResult.rejectValue("description", "NotBlank", "must not be blank");
+        bindingResult.rejectValue("available", "NotNull", "must not be null");
+        final MethodParameter parameter = new MethodParameter(getClass().getMethod("setUp"), -1);
+        methodArgumentNotValidException = new MethodArgumentNotValidException(parameter, bindingResult);
+    }
+
+    @Benchmark
+    public ProblemDetail handleNotFoundException() {
+        return handler.handleNotFoundException(notFoundException, request);
+    }
+
+    @Benchmark
+    public ProblemDetail handleValidationException() {
+        return handler.handleValidationException(validationException, request);
+    }
+
+    @Benchmark
+    public ProblemDetail handleMethodArgumentNotValidException() {
+        return handler.handleMethodArgumentNotValidException(methodArgumentNotValidException, request);
+    }
+}
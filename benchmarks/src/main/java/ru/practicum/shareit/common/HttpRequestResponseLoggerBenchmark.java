@@ -0,0 +1,51 @@
+package ru.practicum.shareit.common;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class HttpRequestResponseLoggerBenchmark {
+
+    private final HttpRequestResponseLogger logger = new HttpRequestResponseLogger() {
+    };
+
+    private MockHttpServletRequest request;
+    private ItemBody body;
+
+    @Setup
+    public void setUp() {
+        request = Requests.makeRequest();
+        body = new ItemBody("Item", "Item description", true, 1L);
+    }
+
+    @Benchmark
+    public void logRequest() {
+        logger.logRequest(request);
+    }
+
+    @Benchmark
+    public void logRequestWithBody() {
+        logger.logRequest(request, body);
+    }
+
+    // Stands for request DTOs, which are package-private in their packages
+    private record ItemBody(String name, String description, Boolean available, Long requestId) {
+
+    }
+}
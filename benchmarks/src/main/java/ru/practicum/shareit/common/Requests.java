@@ -0,0 +1,16 @@
+package ru.practicum.shareit.common;
+
+import org.springframework.mock.web.MockHttpServletRequest;
+
+final class Requests {
+
+    private Requests() {
+    }
+
+    static MockHttpServletRequest makeRequest() {
+        final MockHttpServletRequest request = new MockHttpServletRequest("POST", "/items");
+        request.setQueryString("from=0&size=10");
+        request.addHeader("X-Sharer-User-Id", "42");
+        return request;
+    }
+}
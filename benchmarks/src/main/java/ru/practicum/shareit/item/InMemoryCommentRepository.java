@@ -0,0 +1,69 @@
+package ru.practicum.shareit.item;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+// Serves the queries ItemServiceImpl runs to load the latest comments of listed items
+final class InMemoryCommentRepository implements InvocationHandler {
+
+    private static final Comparator<Comment> LATEST_FIRST = Comparator.comparing(Comment::getCreated)
+            .thenComparing(Comment::getId)
+            .reversed();
+
+    private final Map<Long, List<Comment>> commentsByItemId;
+    private final Map<Long, Comment> comments;
+
+    private InMemoryCommentRepository(final Collection<Item> items) {
+        this.commentsByItemId = items.stream()
+                .collect(Collectors.toMap(Item::getId, item -> item.getComments().stream()
+                        .sorted(LATEST_FIRST)
+                        .toList()));
+        this.comments = items.stream()
+                .flatMap(item -> item.getComments().stream())
+                .collect(Collectors.toMap(Comment::getId, Function.identity()));
+    }
+
+    static CommentRepository create(final Collection<Item> items) {
+        return (CommentRepository) Proxy.newProxyInstance(CommentRepository.class.getClassLoader(),
+                new Class<?>[]{CommentRepository.class}, new InMemoryCommentRepository(items));
+    }
+
+    @Override
+    public Object invoke(final Object proxy, final Method method, final Object[] args) {
+        return switch (method.getName()) {
+            case "findLatestByItemIds" -> findLatestByItemIds((Collection<?>) args[0], (int) args[1]);
+            case "findAllByIdWithAuthor" -> findAllByIdWithAuthor((Collection<?>) args[0]);
+            case "hashCode" -> System.identityHashCode(proxy);
+            case "equals" -> proxy == args[0];
+            case "toString" -> "InMemoryCommentRepository(" + comments.size() + " comments)";
+            default -> throw new UnsupportedOperationException(method.toString());
+        };
+    }
+
+    private List<LatestComment> findLatestByItemIds(final Collection<?> itemIds, final int limit) {
+        return itemIds.stream()
+                .map(commentsByItemId::get)
+                .filter(Objects::nonNull)
+                .flatMap(itemComments -> itemComments.stream()
+                        .limit(limit)
+                        .map(comment -> new LatestComment(comment.getId(), comment.getItem().getId(),
+                                itemComments.size())))
+                .toList();
+    }
+
+    private List<Comment> findAllByIdWithAuthor(final Collection<?> ids) {
+        return ids.stream()
+                .map(comments::get)
+                .filter(Objects::nonNull)
+                .sorted(LATEST_FIRST)
+                .toList();
+    }
+}
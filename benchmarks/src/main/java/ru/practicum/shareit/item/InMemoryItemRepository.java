@@ -0,0 +1,88 @@
+package ru.practicum.shareit.item;
+
+import org.springframework.data.domain.Pageable;
+import ru.practicum.shareit.booking.Booking;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+// Serves the queries ItemServiceImpl runs to list and search items, so the benchmark measures the service rather
+// than the database
+final class InMemoryItemRepository implements InvocationHandler {
+
+    private final Map<Long, Item> items;
+    private final Map<Long, Booking> bookings;
+
+    private InMemoryItemRepository(final Collection<Item> items) {
+        this.items = items.stream().collect(Collectors.toMap(Item::getId, Function.identity()));
+        this.bookings = items.stream()
+                .flatMap(item -> Stream.of(item.getLastBooking(), item.getNextBooking()))
+                .filter(Objects::nonNull)
+                .collect(Collectors.toMap(Booking::getId, Function.identity()));
+    }
+
+    static ItemRepository create(final Collection<Item> items) {
+        return (ItemRepository) Proxy.newProxyInstance(ItemRepository.class.getClassLoader(),
+                new Class<?>[]{ItemRepository.class}, new InMemoryItemRepository(items));
+    }
+
+    @Override
+    public Object invoke(final Object proxy, final Method method, final Object[] args) {
+        return switch (method.getName()) {
+            case "findAllByOwnerId" -> findAllByOwnerId((long) args[0], (Pageable) args[1]);
+            case "findIdsByNameOrDescription" -> findIdsByNameOrDescription((String) args[0], (Pageable) args[1]);
+            case "findAllById", "findAllCachedById" -> findAllById((Collection<?>) args[0]);
+            case "findAllBookingsById" -> findAllBookingsById((Collection<?>) args[0]);
+            case "hashCode" -> System.identityHashCode(proxy);
+            case "equals" -> proxy == args[0];
+            case "toString" -> "InMemoryItemRepository(" + items.size() + " items)";
+            default -> throw new UnsupportedOperationException(method.toString());
+        };
+    }
+
+    private List<Item> findAllByOwnerId(final long ownerId, final Pageable page) {
+        return items.values().stream()
+                .filter(item -> item.getOwner().getId() == ownerId)
+                .sorted(Comparator.comparing(Item::getId))
+                .skip(page.getOffset())
+                .limit(page.getPageSize())
+                .toList();
+    }
+
+    private List<Long> findIdsByNameOrDescription(final String text, final Pageable page) {
+        final String pattern = text.toLowerCase();
+        return items.values().stream()
+                .filter(Item::getAvailable)
+                .filter(item -> item.getName().toLowerCase().contains(pattern)
+                        || item.getDescription().toLowerCase().contains(pattern))
+                .sorted(Comparator.comparing((Item item) -> !item.getName().toLowerCase().contains(pattern))
+                        .thenComparing(Item::getId))
+                .skip(page.getOffset())
+                .limit(page.getPageSize())
+                .map(Item::getId)
+                .toList();
+    }
+
+    private List<Item> findAllById(final Collection<?> ids) {
+        return ids.stream()
+                .map(items::get)
+                .filter(Objects::nonNull)
+                .toList();
+    }
+
+    private List<Booking> findAllBookingsById(final Collection<?> ids) {
+        return ids.stream()
+                .map(bookings::get)
+                .filter(Objects::nonNull)
+                .toList();
+    }
+}
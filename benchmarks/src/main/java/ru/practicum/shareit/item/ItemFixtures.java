@@ -0,0 +1,61 @@
+package ru.practicum.shareit.item;
+
+import ru.practicum.shareit.booking.Booking;
+import ru.practicum.shareit.request.Request;
+import ru.practicum.shareit.user.User;
+
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.Set;
+
+final class ItemFixtures {
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2024, 1, 1, 12, 0);
+
+    private ItemFixtures() {
+    }
+
+    static Item makeItem(final long id, final long ownerId) {
+        final Item item = new Item();
+        item.setId(id);
+        item.setOwner(makeUser(ownerId));
+        item.setName("Item " + id);
+        item.setDescription("Description of item " + id);
+        item.setAvailable(id % 2 == 0);
+        item.setLastBooking(makeBooking(id * 2, item));
+        item.setNextBooking(makeBooking(id * 2 + 1, item));
+        final Request request = new Request();
+        request.setId(id);
+        item.setRequest(request);
+        final Set<Comment> comments = new HashSet<>();
+        for (long i = 0; i < 3; i++) {
+            final Comment comment = new Comment();
+            comment.setId(id * 3 + i);
+            comment.setItem(item);
+            comment.setAuthor(makeUser(ownerId + 1));
+            comment.setText("Comment " + i + " on item " + id);
+            comment.setCreated(NOW.minusDays(i));
+            comments.add(comment);
+        }
+        item.setComments(comments);
+        return item;
+    }
+
+    private static Booking makeBooking(final long id, final Item item) {
+        final Booking booking = new Booking();
+        booking.setId(id);
+        booking.setItem(item);
+        booking.setBooker(makeUser(id + 1000L));
+        booking.setStart(NOW.plusDays(id));
+        booking.setEnd(NOW.plusDays(id + 1));
+        return booking;
+    }
+
+    private static User makeUser(final long id) {
+        final User user = new User();
+        user.setId(id);
+        user.setName("User " + id);
+        user.setEmail("user%d@mail.com".formatted(id));
+        return user;
+    }
+}
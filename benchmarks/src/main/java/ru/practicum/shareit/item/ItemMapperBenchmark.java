@@ -0,0 +1,47 @@
+package ru.practicum.shareit.item;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.LongStream;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ItemMapperBenchmark {
+
+    @Param({"10", "100", "1000"})
+    private int items;
+
+    private ItemMapper mapper;
+    private List<Item> itemList;
+
+    @Setup
+    public void setUp() {
+        mapper = new ItemMapperImpl();
+        ReflectionTestUtils.setField(mapper, "commentMapper", new CommentMapperImpl());
+        itemList = LongStream.rangeClosed(1L, items)
+                .mapToObj(id -> ItemFixtures.makeItem(id, 1L))
+                .toList();
+    }
+
+    @Benchmark
+    public List<ItemRetrieveDto> mapToDto() {
+        return mapper.mapToDto(itemList);
+    }
+}
@@ -0,0 +1,58 @@
+package ru.practicum.shareit.item;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.LongStream;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ItemServiceBenchmark {
+
+    private static final int OWNERS = 10;
+    private static final long OWNER_ID = 1L;
+    private static final long USER_ID = OWNERS + 1L;
+    private static final int LATEST_COMMENTS = 5;
+    private static final int MAX_PAGE_SIZE = 100;
+
+    @Param({"100", "1000"})
+    private int items;
+
+    private ItemService service;
+
+    @Setup
+    public void setUp() {
+        final List<Item> itemList = LongStream.rangeClosed(1L, items)
+                .mapToObj(id -> ItemFixtures.makeItem(id, id % OWNERS + 1))
+                .toList();
+        service = new ItemServiceImpl(InMemoryItemRepository.create(itemList), null, null,
+                InMemoryCommentRepository.create(itemList), new ItemSearchCache(1000L, Duration.ofMinutes(10L)),
+                LATEST_COMMENTS, MAX_PAGE_SIZE);
+    }
+
+    @Benchmark
+    public List<Item> getOwnerItems() {
+        return service.getItems(OWNER_ID, 0, 20);
+    }
+
+    @Benchmark
+    public List<Item> searchItems() {
+        return service.getItems("item 1", USER_ID, 0, 20);
+    }
+}
@@ -0,0 +1,44 @@
+package ru.practicum.shareit.load;
+
+import java.util.Arrays;
+import java.util.Collection;
+
+class LatencyRecorder {
+
+    private long[] latencies = new long[1024];
+    private int count;
+    private long errors;
+
+    void record(final long latencyNanos) {
+        if (count == latencies.length) {
+            latencies = Arrays.copyOf(latencies, count * 2);
+        }
+        latencies[count++] = latencyNanos;
+    }
+
+    void recordError() {
+        errors++;
+    }
+
+    static Summary summarize(final Collection<LatencyRecorder> recorders) {
+        final long[] all = recorders.stream()
+                .flatMapToLong(recorder -> Arrays.stream(recorder.latencies, 0, recorder.count))
+                .sorted()
+                .toArray();
+        final long errors = recorders.stream().mapToLong(recorder -> recorder.errors).sum();
+        return new Summary(all.length, errors, percentile(all, 0.50), percentile(all, 0.99),
+                all.length == 0 ? 0L : all[all.length - 1]);
+    }
+
+    private static long percentile(final long[] sorted, final double percentile) {
+        if (sorted.length == 0) {
+            return 0L;
+        }
+        final int index = (int) Math.ceil(percentile * sorted.length) - 1;
+        return sorted[Math.max(index, 0)];
+    }
+
+    record Summary(long requests, long errors, long p50Nanos, long p99Nanos, long maxNanos) {
+
+    }
+}
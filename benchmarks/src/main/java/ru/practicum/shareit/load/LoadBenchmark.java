@@ -0,0 +1,152 @@
+package ru.practicum.shareit.load;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+// Closed-loop load driver for a running gateway: each simulated user is a virtual thread that sends requests back
+// to back. Run it once against applications started with spring.threads.virtual.enabled=true and once with false
+// to compare request handling on virtual and platform threads.
+public final class LoadBenchmark {
+
+    private static final Pattern ID = Pattern.compile("\"id\"\\s*:\\s*(\\d+)");
+    private static final int ITEMS = 100;
+
+    private final URI baseUri;
+    private final HttpClient client;
+
+    private LoadBenchmark(final URI baseUri) {
+        this.baseUri = baseUri;
+        this.client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(10L))
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .build();
+    }
+
+    public static void main(final String[] args) throws Exception {
+        final Map<String, String> options = parseOptions(args);
+        final URI baseUri = URI.create(options.getOrDefault("url", "http://localhost:8080"));
+        final int[] userCounts = Arrays.stream(options.getOrDefault("users", "1000,10000").split(","))
+                .mapToInt(Integer::parseInt)
+                .toArray();
+        final Duration warmUp = Duration.parse("PT" + options.getOrDefault("warm-up", "10s"));
+        final Duration duration = Duration.parse("PT" + options.getOrDefault("duration", "60s"));
+        final String label = options.getOrDefault("label", "");
+
+        final LoadBenchmark benchmark = new LoadBenchmark(baseUri);
+        final Fixture fixture = benchmark.createFixture();
+        System.out.printf("%-10s %8s %10s %12s %9s %9s %9s %8s%n", "label", "users", "requests", "throughput",
+                "p50, ms", "p99, ms", "max, ms", "errors");
+        for (final int users : userCounts) {
+            benchmark.run(fixture, users, warmUp);
+            final LatencyRecorder.Summary summary = benchmark.run(fixture, users, duration);
+            System.out.printf("%-10s %8d %10d %12.1f %9.1f %9.1f %9.1f %8d%n", label, users, summary.requests(),
+                    summary.requests() / (duration.toNanos() / 1e9), summary.p50Nanos() / 1e6,
+                    summary.p99Nanos() / 1e6, summary.maxNanos() / 1e6, summary.errors());
+        }
+    }
+
+    private Fixture createFixture() throws IOException, InterruptedException {
+        final String email = "load-%d@mail.com".formatted(System.currentTimeMillis());
+        final long userId = extractId(send("POST", "/users", null,
+                "{\"name\":\"Load Test\",\"email\":\"%s\"}".formatted(email)));
+        final long[] itemIds = new long[ITEMS];
+        for (int i = 0; i < ITEMS; i++) {
+            itemIds[i] = extractId(send("POST", "/items", userId,
+                    "{\"name\":\"Item %d\",\"description\":\"Load test item %d\",\"available\":true}".formatted(i, i)));
+        }
+        return new Fixture(userId, itemIds);
+    }
+
+    private LatencyRecorder.Summary run(final Fixture fixture, final int users, final Duration duration)
+            throws InterruptedException {
+        final List<LatencyRecorder> recorders = new ArrayList<>(users);
+        final long deadline = System.nanoTime() + duration.toNanos();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < users; i++) {
+                final LatencyRecorder recorder = new LatencyRecorder();
+                recorders.add(recorder);
+                executor.submit(() -> simulateUser(fixture, recorder, deadline));
+            }
+        }
+        return LatencyRecorder.summarize(recorders);
+    }
+
+    private void simulateUser(final Fixture fixture, final LatencyRecorder recorder, final long deadline) {
+        final ThreadLocalRandom random = ThreadLocalRandom.current();
+        while (System.nanoTime() < deadline) {
+            final String path = random.nextBoolean()
+                    ? "/items/" + fixture.itemIds()[random.nextInt(fixture.itemIds().length)]
+                    : "/bookings/owner?state=ALL&size=10";
+            final long start = System.nanoTime();
+            try {
+                send("GET", path, fixture.userId(), null);
+                recorder.record(System.nanoTime() - start);
+            } catch (IOException | RuntimeException e) {
+                recorder.recordError();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    private String send(final String method, final String path, final Long userId, final String body)
+            throws IOException, InterruptedException {
+        final HttpRequest.Builder builder = HttpRequest.newBuilder(baseUri.resolve(path))
+                .timeout(Duration.ofSeconds(60L))
+                .header("Accept", "application/json")
+                .method(method, body == null
+                        ? HttpRequest.BodyPublishers.noBody()
+                        : HttpRequest.BodyPublishers.ofString(body));
+        if (body != null) {
+            builder.header("Content-Type", "application/json");
+        }
+        if (userId != null) {
+            builder.header("X-Sharer-User-Id", String.valueOf(userId));
+        }
+        final HttpResponse<String> response = client.send(builder.build(), HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() != 200) {
+            throw new IllegalStateException("%s %s responded with %d".formatted(method, path, response.statusCode()));
+        }
+        return response.body();
+    }
+
+    private static long extractId(final String json) {
+        final Matcher matcher = ID.matcher(json);
+        if (!matcher.find()) {
+            throw new IllegalStateException("No id in response: " + json);
+        }
+        return Long.parseLong(matcher.group(1));
+    }
+
+    private static Map<String, String> parseOptions(final String[] args) {
+        final Map<String, String> options = new HashMap<>();
+        for (final String arg : args) {
+            if (!arg.startsWith("--") || !arg.contains("=")) {
+                throw new IllegalArgumentException("Expected --name=value but got " + arg);
+            }
+            final int separator = arg.indexOf('=');
+            options.put(arg.substring(2, separator), arg.substring(separator + 1));
+        }
+        return options;
+    }
+
+    private record Fixture(long userId, long[] itemIds) {
+
+    }
+}
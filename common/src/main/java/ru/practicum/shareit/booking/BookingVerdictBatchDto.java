@@ -0,0 +1,16 @@
+package ru.practicum.shareit.booking;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+class BookingVerdictBatchDto {
+
+    @NotEmpty
+    @Size(max = 100)
+    private List<@Valid BookingVerdictDto> verdicts;
+}
@@ -0,0 +1,14 @@
+package ru.practicum.shareit.booking;
+
+import jakarta.validation.constraints.NotNull;
+import lombok.Data;
+
+@Data
+class BookingVerdictDto {
+
+    @NotNull
+    private Long id;
+
+    @NotNull
+    private Boolean approved;
+}
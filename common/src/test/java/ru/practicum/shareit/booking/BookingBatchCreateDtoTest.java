@@ -0,0 +1,80 @@
+package ru.practicum.shareit.booking;
+
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import jakarta.validation.ValidatorFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.NullAndEmptySource;
+
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class BookingBatchCreateDtoTest {
+
+    private Validator validator;
+
+    @BeforeEach
+    void setUp() {
+        try (ValidatorFactory validatorFactory = Validation.buildDefaultValidatorFactory()) {
+            validator = validatorFactory.getValidator();
+        }
+    }
+
+    @ParameterizedTest
+    @NullAndEmptySource
+    void shouldViolateConstraintWhenBookingsNullOrEmpty(final List<BookingCreateDto> bookings) {
+        final BookingBatchCreateDto dto = new BookingBatchCreateDto();
+        dto.setBookings(bookings);
+
+        final Set<ConstraintViolation<BookingBatchCreateDto>> violations = validator.validate(dto);
+
+        assertTrue(violations.stream().anyMatch(v -> "bookings".equals(v.getPropertyPath().toString())));
+    }
+
+    @Test
+    void shouldViolateConstraintWhenBookingsExceed100() {
+        final BookingBatchCreateDto dto = new BookingBatchCreateDto();
+        dto.setBookings(Collections.nCopies(101, makeBookingCreateDto()));
+
+        final Set<ConstraintViolation<BookingBatchCreateDto>> violations = validator.validate(dto);
+
+        assertTrue(violations.stream().anyMatch(v -> "bookings".equals(v.getPropertyPath().toString())));
+    }
+
+    @Test
+    void shouldViolateConstraintWhenBookingInvalid() {
+        final BookingCreateDto booking = makeBookingCreateDto();
+        booking.setItemId(null);
+        final BookingBatchCreateDto dto = new BookingBatchCreateDto();
+        dto.setBookings(List.of(makeBookingCreateDto(), booking));
+
+        final Set<ConstraintViolation<BookingBatchCreateDto>> violations = validator.validate(dto);
+
+        assertTrue(violations.stream().anyMatch(v -> "bookings[1].itemId".equals(v.getPropertyPath().toString())));
+    }
+
+    @Test
+    void shouldNotViolateConstraintWhenCorrectBookingBatchCreateDto() {
+        final BookingBatchCreateDto dto = new BookingBatchCreateDto();
+        dto.setBookings(Collections.nCopies(100, makeBookingCreateDto()));
+
+        final Set<ConstraintViolation<BookingBatchCreateDto>> violations = validator.validate(dto);
+
+        assertTrue(violations.isEmpty());
+    }
+
+    private static BookingCreateDto makeBookingCreateDto() {
+        final BookingCreateDto dto = new BookingCreateDto();
+        dto.setItemId(1L);
+        dto.setStart(LocalDateTime.now().plusDays(1L));
+        dto.setEnd(LocalDateTime.now().plusDays(2L));
+        return dto;
+    }
+}
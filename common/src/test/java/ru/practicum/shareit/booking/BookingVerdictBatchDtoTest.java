@@ -0,0 +1,86 @@
+package ru.practicum.shareit.booking;
+
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import jakarta.validation.ValidatorFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.NullAndEmptySource;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class BookingVerdictBatchDtoTest {
+
+    private Validator validator;
+
+    @BeforeEach
+    void setUp() {
+        try (ValidatorFactory validatorFactory = Validation.buildDefaultValidatorFactory()) {
+            validator = validatorFactory.getValidator();
+        }
+    }
+
+    @ParameterizedTest
+    @NullAndEmptySource
+    void shouldViolateConstraintWhenVerdictsNullOrEmpty(final List<BookingVerdictDto> verdicts) {
+        final BookingVerdictBatchDto dto = new BookingVerdictBatchDto();
+        dto.setVerdicts(verdicts);
+
+        final Set<ConstraintViolation<BookingVerdictBatchDto>> violations = validator.validate(dto);
+
+        assertTrue(violations.stream().anyMatch(v -> "verdicts".equals(v.getPropertyPath().toString())));
+    }
+
+    @Test
+    void shouldViolateConstraintWhenVerdictsExceed100() {
+        final BookingVerdictBatchDto dto = new BookingVerdictBatchDto();
+        dto.setVerdicts(Collections.nCopies(101, makeBookingVerdictDto(1L, true)));
+
+        final Set<ConstraintViolation<BookingVerdictBatchDto>> violations = validator.validate(dto);
+
+        assertTrue(violations.stream().anyMatch(v -> "verdicts".equals(v.getPropertyPath().toString())));
+    }
+
+    @Test
+    void shouldViolateConstraintWhenIdNull() {
+        final BookingVerdictBatchDto dto = new BookingVerdictBatchDto();
+        dto.setVerdicts(List.of(makeBookingVerdictDto(1L, true), makeBookingVerdictDto(null, true)));
+
+        final Set<ConstraintViolation<BookingVerdictBatchDto>> violations = validator.validate(dto);
+
+        assertTrue(violations.stream().anyMatch(v -> "verdicts[1].id".equals(v.getPropertyPath().toString())));
+    }
+
+    @Test
+    void shouldViolateConstraintWhenApprovedNull() {
+        final BookingVerdictBatchDto dto = new BookingVerdictBatchDto();
+        dto.setVerdicts(List.of(makeBookingVerdictDto(1L, null)));
+
+        final Set<ConstraintViolation<BookingVerdictBatchDto>> violations = validator.validate(dto);
+
+        assertTrue(violations.stream().anyMatch(v -> "verdicts[0].approved".equals(v.getPropertyPath().toString())));
+    }
+
+    @Test
+    void shouldNotViolateConstraintWhenCorrectBookingVerdictBatchDto() {
+        final BookingVerdictBatchDto dto = new BookingVerdictBatchDto();
+        dto.setVerdicts(List.of(makeBookingVerdictDto(1L, true), makeBookingVerdictDto(2L, false)));
+
+        final Set<ConstraintViolation<BookingVerdictBatchDto>> violations = validator.validate(dto);
+
+        assertTrue(violations.isEmpty());
+    }
+
+    private static BookingVerdictDto makeBookingVerdictDto(final Long id, final Boolean approved) {
+        final BookingVerdictDto dto = new BookingVerdictDto();
+        dto.setId(id);
+        dto.setApproved(approved);
+        return dto;
+    }
+}
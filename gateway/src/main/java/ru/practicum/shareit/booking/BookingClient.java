@@ -3,55 +3,107 @@ package ru.practicum.shareit.booking;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.web.client.RestTemplateBuilder;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.core.io.Resource;
+import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
 import org.springframework.validation.annotation.Validated;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import org.springframework.web.util.DefaultUriBuilderFactory;
 import ru.practicum.shareit.common.BaseClient;
 
 import java.util.Map;
 import java.util.Objects;
+import java.util.Set;
 
 @Service
 @Validated
 class BookingClient extends BaseClient {
 
+    private static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+    private static final String TOTAL_COUNT_HEADER = "X-Total-Count";
+
     BookingClient(
             @Value("${shareit-server.url}") final String serverUrl,
             final RestTemplateBuilder restTemplateBuilder
     ) {
         super(restTemplateBuilder
-                .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + "/bookings"))
-                .requestFactory(() -> new HttpComponentsClientHttpRequestFactory())
-                .build());
+                        .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + "/bookings"))
+                        .build(),
+                Set.of(NEXT_CURSOR_HEADER, TOTAL_COUNT_HEADER));
     }
 
-    Object createBooking(final long userId, @Valid final BookingCreateDto dto) {
+    ResponseEntity<Resource> createBooking(final long userId, @Valid final BookingCreateDto dto) {
         Objects.requireNonNull(dto, "Cannot create booking: is null");
         return post("", userId, dto);
     }
 
-    Object getBooking(final long userId, final long id) {
+    ResponseEntity<Resource> createBookings(final long userId, @Valid final BookingBatchCreateDto dto) {
+        Objects.requireNonNull(dto, "Cannot create bookings: is null");
+        return post("/batch", userId, dto);
+    }
+
+    ResponseEntity<Resource> getBooking(final long userId, final long id) {
         return get("/" + id, userId);
     }
 
-    Object getUserBookings(final long userId, final String state, final int from, final int size) {
+    ResponseEntity<Resource> getUserBookings(final long userId, final String state, final int from, final int size,
+            final boolean count) {
         final Map<String, Object> parameters = Map.of(
                 "state", state,
                 "from", from,
-                "size", size);
-        return get("?state={state}&from={from}&size={size}", userId, parameters);
+                "size", size,
+                "count", count);
+        return get("?state={state}&from={from}&size={size}&count={count}", userId, parameters);
     }
 
-    Object getOwnerBookings(final long userId, final String state, final int from, final int size) {
+    ResponseEntity<Resource> getOwnerBookings(final long userId, final String state, final int from, final int size,
+            final boolean count) {
         final Map<String, Object> parameters = Map.of(
                 "state", state,
                 "from", from,
-                "size", size);
-        return get("/owner?state={state}&from={from}&size={size}", userId, parameters);
+                "size", size,
+                "count", count);
+        return get("/owner?state={state}&from={from}&size={size}&count={count}", userId, parameters);
+    }
+
+    ResponseEntity<Resource> getUserBookings(final long userId, final String state, final String cursor,
+            final int size, final boolean count) {
+        final Map<String, Object> parameters = Map.of(
+                "state", state,
+                "cursor", cursor,
+                "size", size,
+                "count", count);
+        return get("?state={state}&cursor={cursor}&size={size}&count={count}", userId, parameters);
+    }
+
+    ResponseEntity<Resource> getOwnerBookings(final long userId, final String state, final String cursor,
+            final int size, final boolean count) {
+        final Map<String, Object> parameters = Map.of(
+                "state", state,
+                "cursor", cursor,
+                "size", size,
+                "count", count);
+        return get("/owner?state={state}&cursor={cursor}&size={size}&count={count}", userId, parameters);
+    }
+
+    ResponseEntity<Resource> getUserBookingCounts(final long userId) {
+        return get("/stats", userId);
+    }
+
+    ResponseEntity<Resource> getOwnerBookingCounts(final long userId) {
+        return get("/owner/stats", userId);
+    }
+
+    ResponseEntity<StreamingResponseBody> getOwnerInbox(final long userId) {
+        return stream("/owner/inbox", userId);
+    }
+
+    ResponseEntity<Resource> applyBookingVerdicts(final long userId, @Valid final BookingVerdictBatchDto dto) {
+        Objects.requireNonNull(dto, "Cannot apply booking verdicts: is null");
+        return patch("/owner/verdicts", userId, dto);
     }
 
-    Object processBookingRequest(final long userId, final long id, final boolean approved) {
+    ResponseEntity<Resource> processBookingRequest(final long userId, final long id, final boolean approved) {
         return patch("/" + id + "?approved={approved}", userId, Map.of("approved", approved));
     }
 }
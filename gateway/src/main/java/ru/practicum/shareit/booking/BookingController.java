@@ -5,6 +5,8 @@ import jakarta.validation.Valid;
 import jakarta.validation.constraints.Positive;
 import jakarta.validation.constraints.PositiveOrZero;
 import lombok.RequiredArgsConstructor;
+import org.springframework.core.io.Resource;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PatchMapping;
 import org.springframework.web.bind.annotation.PathVariable;
@@ -14,6 +16,7 @@ import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import ru.practicum.shareit.common.HttpRequestResponseLogger;
 
 @RestController
@@ -24,67 +27,156 @@ class BookingController extends HttpRequestResponseLogger {
     private final BookingClient client;
 
     @PostMapping
-    public Object createBooking(
+    public ResponseEntity<Resource> createBooking(
             @RequestHeader("X-Sharer-User-Id") final long userId,
             @RequestBody @Valid final BookingCreateDto dto,
             final HttpServletRequest request
     ) {
         logRequest(request, dto);
-        final Object response = client.createBooking(userId, dto);
-        logResponse(request, response);
+        final ResponseEntity<Resource> response = client.createBooking(userId, dto);
+        logResponse(request, response.getBody());
+        return response;
+    }
+
+    @PostMapping("/batch")
+    public ResponseEntity<Resource> createBookings(
+            @RequestHeader("X-Sharer-User-Id") final long userId,
+            @RequestBody @Valid final BookingBatchCreateDto dto,
+            final HttpServletRequest request
+    ) {
+        logRequest(request, dto);
+        final ResponseEntity<Resource> response = client.createBookings(userId, dto);
+        logResponse(request, response.getBody());
         return response;
     }
 
     @GetMapping("/{id}")
-    Object getBooking(
+    ResponseEntity<Resource> getBooking(
             @RequestHeader("X-Sharer-User-Id") final long userId,
             @PathVariable final long id,
             final HttpServletRequest request
     ) {
         logRequest(request);
-        final Object response = client.getBooking(userId, id);
-        logResponse(request, response);
+        final ResponseEntity<Resource> response = client.getBooking(userId, id);
+        logResponse(request, response.getBody());
         return response;
     }
 
     @GetMapping
-    Object getUserBookings(
+    ResponseEntity<Resource> getUserBookings(
             @RequestHeader("X-Sharer-User-Id") final long userId,
             @RequestParam(defaultValue = "ALL") final String state,
             @RequestParam(defaultValue = "0") @PositiveOrZero final int from,
             @RequestParam(defaultValue = "10") @Positive final int size,
+            @RequestParam(defaultValue = "false") final boolean count,
             final HttpServletRequest request
     ) {
         logRequest(request);
-        final Object response = client.getUserBookings(userId, state, from, size);
-        logResponse(request, response);
+        final ResponseEntity<Resource> response = client.getUserBookings(userId, state, from, size, count);
+        logResponse(request, response.getBody());
         return response;
     }
 
     @GetMapping("/owner")
-    Object getOwnerBookings(
+    ResponseEntity<Resource> getOwnerBookings(
             @RequestHeader("X-Sharer-User-Id") final long userId,
             @RequestParam(defaultValue = "ALL") final String state,
             @RequestParam(defaultValue = "0") @PositiveOrZero final int from,
             @RequestParam(defaultValue = "10") @Positive final int size,
+            @RequestParam(defaultValue = "false") final boolean count,
+            final HttpServletRequest request
+    ) {
+        logRequest(request);
+        final ResponseEntity<Resource> response = client.getOwnerBookings(userId, state, from, size, count);
+        logResponse(request, response.getBody());
+        return response;
+    }
+
+    @GetMapping(params = "cursor")
+    ResponseEntity<Resource> getUserBookings(
+            @RequestHeader("X-Sharer-User-Id") final long userId,
+            @RequestParam(defaultValue = "ALL") final String state,
+            @RequestParam final String cursor,
+            @RequestParam(defaultValue = "10") @Positive final int size,
+            @RequestParam(defaultValue = "false") final boolean count,
+            final HttpServletRequest request
+    ) {
+        logRequest(request);
+        final ResponseEntity<Resource> response = client.getUserBookings(userId, state, cursor, size, count);
+        logResponse(request, response.getBody());
+        return response;
+    }
+
+    @GetMapping(path = "/owner", params = "cursor")
+    ResponseEntity<Resource> getOwnerBookings(
+            @RequestHeader("X-Sharer-User-Id") final long userId,
+            @RequestParam(defaultValue = "ALL") final String state,
+            @RequestParam final String cursor,
+            @RequestParam(defaultValue = "10") @Positive final int size,
+            @RequestParam(defaultValue = "false") final boolean count,
+            final HttpServletRequest request
+    ) {
+        logRequest(request);
+        final ResponseEntity<Resource> response = client.getOwnerBookings(userId, state, cursor, size, count);
+        logResponse(request, response.getBody());
+        return response;
+    }
+
+    @GetMapping("/stats")
+    ResponseEntity<Resource> getUserBookingCounts(
+            @RequestHeader("X-Sharer-User-Id") final long userId,
+            final HttpServletRequest request
+    ) {
+        logRequest(request);
+        final ResponseEntity<Resource> response = client.getUserBookingCounts(userId);
+        logResponse(request, response.getBody());
+        return response;
+    }
+
+    @GetMapping("/owner/stats")
+    ResponseEntity<Resource> getOwnerBookingCounts(
+            @RequestHeader("X-Sharer-User-Id") final long userId,
             final HttpServletRequest request
     ) {
         logRequest(request);
-        final Object response = client.getOwnerBookings(userId, state, from, size);
-        logResponse(request, response);
-        return  response;
+        final ResponseEntity<Resource> response = client.getOwnerBookingCounts(userId);
+        logResponse(request, response.getBody());
+        return response;
+    }
+
+    @GetMapping("/owner/inbox")
+    ResponseEntity<StreamingResponseBody> getOwnerInbox(
+            @RequestHeader("X-Sharer-User-Id") final long userId,
+            final HttpServletRequest request
+    ) {
+        logRequest(request);
+        final ResponseEntity<StreamingResponseBody> response = client.getOwnerInbox(userId);
+        logResponse(request, response.getStatusCode());
+        return response;
+    }
+
+    @PatchMapping("/owner/verdicts")
+    ResponseEntity<Resource> applyBookingVerdicts(
+            @RequestHeader("X-Sharer-User-Id") final long userId,
+            @RequestBody @Valid final BookingVerdictBatchDto dto,
+            final HttpServletRequest request
+    ) {
+        logRequest(request, dto);
+        final ResponseEntity<Resource> response = client.applyBookingVerdicts(userId, dto);
+        logResponse(request, response.getBody());
+        return response;
     }
 
     @PatchMapping("/{id}")
-    Object processBookingRequest(
+    ResponseEntity<Resource> processBookingRequest(
             @RequestHeader("X-Sharer-User-Id") final long userId,
             @PathVariable final long id,
             @RequestParam final boolean approved,
             final HttpServletRequest request
     ) {
         logRequest(request);
-        final Object response = client.processBookingRequest(userId, id, approved);
-        logResponse(request, response);
+        final ResponseEntity<Resource> response = client.processBookingRequest(userId, id, approved);
+        logResponse(request, response.getBody());
         return response;
     }
 }
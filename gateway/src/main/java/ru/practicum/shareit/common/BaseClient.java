@@ -1,60 +1,93 @@
 package ru.practicum.shareit.common;
 
+import org.springframework.core.io.Resource;
 import org.springframework.http.HttpEntity;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpMethod;
 import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.client.ClientHttpRequest;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.web.client.ResourceAccessException;
+import org.springframework.web.client.ResponseErrorHandler;
 import org.springframework.web.client.RestTemplate;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 public abstract class BaseClient {
 
+    public static final String IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
+    public static final String REPLAYED_HEADER = "Idempotent-Replayed";
+
+    private static final int STREAM_BUFFER_SIZE = 8192;
+    private static final int LOGGED_BODY_LENGTH = 1024;
+
     protected final RestTemplate rest;
 
+    private final Set<String> relayedHeaders;
+
     protected BaseClient(final RestTemplate rest) {
+        this(rest, Set.of());
+    }
+
+    protected BaseClient(final RestTemplate rest, final Set<String> relayedHeaders) {
         this.rest = rest;
+        // Client repeating a request with Idempotency-Key is told whether the server replayed a stored response
+        this.relayedHeaders = Stream.concat(relayedHeaders.stream(), Stream.of(REPLAYED_HEADER))
+                .collect(Collectors.toUnmodifiableSet());
     }
 
-    protected Object get(final String path) {
+    protected ResponseEntity<Resource> get(final String path) {
         return get(path, null, null);
     }
 
-    protected Object get(final String path, final Long userId) {
+    protected ResponseEntity<Resource> get(final String path, final Long userId) {
         return get(path, userId, null);
     }
 
-    protected Object get(final String path, final Long userId, final Map<String, Object> parameters) {
+    protected ResponseEntity<Resource> get(final String path, final Long userId, final Map<String, Object> parameters) {
         return exchange(HttpMethod.GET, path, userId, parameters, null);
     }
 
-    protected <T> Object post(final String path, final T body) {
+    protected <T> ResponseEntity<Resource> post(final String path, final T body) {
         return post(path, null, null, body);
     }
 
-    protected <T> Object post(final String path, final Long userId, final T body) {
+    protected <T> ResponseEntity<Resource> post(final String path, final Long userId, final T body) {
         return post(path, userId, null, body);
     }
 
-    protected <T> Object post(final String path, final Long userId, final Map<String, Object> parameters, final T body
+    protected <T> ResponseEntity<Resource> post(final String path, final Long userId,
+            final Map<String, Object> parameters, final T body
     ) {
         return exchange(HttpMethod.POST, path, userId, parameters, body);
     }
 
-    protected <T> Object patch(final String path, final T body) {
+    protected <T> ResponseEntity<Resource> patch(final String path, final T body) {
         return patch(path, null, null, body);
     }
 
-    protected <T> Object patch(final String path, final Long userId, final T body) {
+    protected <T> ResponseEntity<Resource> patch(final String path, final Long userId, final T body) {
         return patch(path, userId, null, body);
     }
 
-    protected Object patch(final String path, final Long userId, final Map<String, Object> parameters) {
+    protected ResponseEntity<Resource> patch(final String path, final Long userId,
+            final Map<String, Object> parameters) {
         return patch(path, userId, parameters, null);
     }
 
-    protected <T> Object patch(final String path, final Long userId, final Map<String, Object> parameters, final T body
+    protected <T> ResponseEntity<Resource> patch(final String path, final Long userId,
+            final Map<String, Object> parameters, final T body
     ) {
         return exchange(HttpMethod.PATCH, path, userId, parameters, body);
     }
@@ -64,18 +97,86 @@ public abstract class BaseClient {
     }
 
     protected void delete(final String path, final Long userId) {
-        exchange(HttpMethod.DELETE, path, userId, null, null);
+        rest.exchange(path, HttpMethod.DELETE, new HttpEntity<>(headers(userId, false)), Void.class);
+    }
+
+    // Server event stream is relayed as it arrives: every chunk read is flushed to gateway client at once. Server
+    // response is closed when either side ends the stream.
+    protected ResponseEntity<StreamingResponseBody> stream(final String path, final Long userId) {
+        final URI uri = rest.getUriTemplateHandler().expand(path);
+        final HttpHeaders headers = headers(userId, false);
+        headers.setAccept(List.of(MediaType.TEXT_EVENT_STREAM, MediaType.APPLICATION_JSON));
+        return exchange(HttpMethod.GET, uri, new HttpEntity<>(headers), response -> {
+            final InputStream body = response.getBody();
+            return outputStream -> {
+                try (response) {
+                    final byte[] buffer = new byte[STREAM_BUFFER_SIZE];
+                    int read;
+                    while ((read = body.read(buffer)) != -1) {
+                        outputStream.write(buffer, 0, read);
+                        outputStream.flush();
+                    }
+                }
+            };
+        });
     }
 
-    private <T> Object exchange(final HttpMethod method, final String path, final Long userId,
+    // Server response body is not parsed but handed over as an open stream, which Spring MVC copies to gateway
+    // client and closes. Only its first LOGGED_BODY_LENGTH bytes are read ahead to be logged. Error responses still
+    // go through RestTemplate error handler, so they are thrown as HttpStatusCodeException as before.
+    private <T> ResponseEntity<Resource> exchange(final HttpMethod method, final String path, final Long userId,
             final Map<String, Object> parameters, final T body
     ) {
-        final HttpEntity<T> request = new HttpEntity<>(body, headers(userId, body != null));
-        if (parameters != null) {
-            return rest.exchange(path, method, request, Object.class, parameters).getBody();
-        } else {
-            return rest.exchange(path, method, request, Object.class).getBody();
+        final URI uri = parameters != null
+                ? rest.getUriTemplateHandler().expand(path, parameters)
+                : rest.getUriTemplateHandler().expand(path);
+        final HttpEntity<T> entity = new HttpEntity<>(body, headers(userId, body != null));
+        return exchange(method, uri, entity, response -> StreamedBody.of(response.getBody(), LOGGED_BODY_LENGTH));
+    }
+
+    private <T, R> ResponseEntity<R> exchange(final HttpMethod method, final URI uri, final HttpEntity<T> entity,
+            final ResponseBodyExtractor<R> bodyExtractor
+    ) {
+        ClientHttpResponse response = null;
+        try {
+            final ClientHttpRequest request = rest.getRequestFactory().createRequest(uri, method);
+            rest.httpEntityCallback(entity).doWithRequest(request);
+            response = request.execute();
+            final ResponseErrorHandler errorHandler = rest.getErrorHandler();
+            if (errorHandler.hasError(response)) {
+                errorHandler.handleError(uri, method, response);
+            }
+            return ResponseEntity.status(response.getStatusCode())
+                    .headers(relayedHeaders(response.getHeaders()))
+                    .body(bodyExtractor.extract(response));
+        } catch (IOException e) {
+            if (response != null) {
+                response.close();
+            }
+            throw new ResourceAccessException("I/O error on %s request for \"%s\": %s".formatted(method, uri,
+                    e.getMessage()), e);
+        } catch (RuntimeException e) {
+            if (response != null) {
+                response.close();
+            }
+            throw e;
+        }
+    }
+
+    // Relay content type and headers explicitly requested by client, other server headers are not meant for
+    // gateway clients
+    private HttpHeaders relayedHeaders(final HttpHeaders serverHeaders) {
+        final HttpHeaders headers = new HttpHeaders();
+        if (serverHeaders.getContentType() != null) {
+            headers.setContentType(serverHeaders.getContentType());
         }
+        relayedHeaders.forEach(name -> {
+            final List<String> values = serverHeaders.get(name);
+            if (values != null) {
+                headers.addAll(name, values);
+            }
+        });
+        return headers;
     }
 
     private HttpHeaders headers(final Long userId, final boolean hasBody) {
@@ -87,6 +188,18 @@ public abstract class BaseClient {
         if (userId != null) {
             headers.add("X-Sharer-User-Id", String.valueOf(userId));
         }
+        // Passed on, so a retry that reaches the server through another gateway instance is not executed twice
+        if (RequestContextHolder.getRequestAttributes() instanceof ServletRequestAttributes attributes) {
+            final String idempotencyKey = attributes.getRequest().getHeader(IDEMPOTENCY_KEY_HEADER);
+            if (idempotencyKey != null) {
+                headers.add(IDEMPOTENCY_KEY_HEADER, idempotencyKey);
+            }
+        }
         return headers;
     }
+
+    private interface ResponseBodyExtractor<R> {
+
+        R extract(ClientHttpResponse response) throws IOException;
+    }
 }
@@ -19,8 +19,13 @@ public class ControllerExceptionHandler extends BaseExceptionHandler {
             final HttpServletRequest request
     ) {
         log.warn("Server responded with error status code {}", exception.getMessage());
+        final HttpHeaders headers = new HttpHeaders();
+        Optional.ofNullable(exception.getResponseHeaders())
+                .map(serverHeaders -> serverHeaders.get(BaseClient.REPLAYED_HEADER))
+                .ifPresent(values -> headers.addAll(BaseClient.REPLAYED_HEADER, values));
         final ResponseEntity<Object> response = ResponseEntity
                 .status(exception.getStatusCode())
+                .headers(headers)
                 .contentType(Optional.ofNullable(exception.getResponseHeaders())
                         .map(HttpHeaders::getContentType)
                         .orElse(MediaType.APPLICATION_JSON))
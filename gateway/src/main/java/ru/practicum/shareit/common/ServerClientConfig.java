@@ -0,0 +1,35 @@
+package ru.practicum.shareit.common;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.client.RestTemplateCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.JdkClientHttpRequestFactory;
+
+import java.net.http.HttpClient;
+import java.time.Duration;
+import java.util.concurrent.Executors;
+
+@Configuration
+class ServerClientConfig {
+
+    // Single client for all server calls to share its connection pool
+    @Bean
+    HttpClient serverHttpClient(@Value("${shareit-server.connect-timeout:5s}") final Duration connectTimeout) {
+        return HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(connectTimeout)
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .build();
+    }
+
+    @Bean
+    RestTemplateCustomizer serverRequestFactoryCustomizer(
+            final HttpClient serverHttpClient,
+            @Value("${shareit-server.read-timeout:30s}") final Duration readTimeout
+    ) {
+        final JdkClientHttpRequestFactory requestFactory = new JdkClientHttpRequestFactory(serverHttpClient);
+        requestFactory.setReadTimeout(readTimeout);
+        return restTemplate -> restTemplate.setRequestFactory(requestFactory);
+    }
+}
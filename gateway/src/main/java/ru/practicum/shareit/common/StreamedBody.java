@@ -0,0 +1,43 @@
+package ru.practicum.shareit.common;
+
+import org.springframework.core.io.InputStreamResource;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.SequenceInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+// Server response body relayed to gateway client as a stream. Only its head is read ahead and kept, so the response
+// can be logged without reading the whole body into memory.
+public class StreamedBody extends InputStreamResource {
+
+    private final byte[] head;
+    private final boolean truncated;
+
+    private StreamedBody(final InputStream body, final byte[] head, final boolean truncated) {
+        super(body);
+        this.head = head;
+        this.truncated = truncated;
+    }
+
+    public static StreamedBody of(final InputStream body, final int headLength) throws IOException {
+        final byte[] readAhead = body.readNBytes(headLength + 1);
+        final boolean truncated = readAhead.length > headLength;
+        final byte[] head = truncated ? Arrays.copyOf(readAhead, headLength) : readAhead;
+        return new StreamedBody(new SequenceInputStream(new ByteArrayInputStream(readAhead), body), head, truncated);
+    }
+
+    // Length is not known before the stream is read, and reading it here would leave nothing to copy to the client
+    @Override
+    public long contentLength() {
+        return -1L;
+    }
+
+    @Override
+    public String toString() {
+        final String text = new String(head, StandardCharsets.UTF_8);
+        return truncated ? text + "..." : text;
+    }
+}
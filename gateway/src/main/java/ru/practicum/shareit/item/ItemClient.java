@@ -3,12 +3,14 @@ package ru.practicum.shareit.item;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.web.client.RestTemplateBuilder;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.core.io.Resource;
+import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.util.DefaultUriBuilderFactory;
 import ru.practicum.shareit.common.BaseClient;
 
+import java.time.LocalDateTime;
 import java.util.Map;
 import java.util.Objects;
 
@@ -19,33 +21,47 @@ class ItemClient extends BaseClient {
     ItemClient(@Value("${shareit-server.url}") final String serverUrl, final RestTemplateBuilder restTemplateBuilder) {
         super(restTemplateBuilder
                 .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + "/items"))
-                .requestFactory(() -> new HttpComponentsClientHttpRequestFactory())
                 .build());
     }
 
-    Object createItem(final long userId, @Valid final ItemCreateDto dto) {
+    ResponseEntity<Resource> createItem(final long userId, @Valid final ItemCreateDto dto) {
         Objects.requireNonNull(dto, "Cannot create item: is null");
         return post("", userId, dto);
     }
 
-    Object getItem(final long userId, final long id) {
+    ResponseEntity<Resource> getItem(final long userId, final long id) {
         return get("/" + id, userId);
     }
 
-    Object getItems(final long userId) {
-        return get("", userId);
+    ResponseEntity<Resource> getItems(final long userId, final int from, final int size) {
+        final Map<String, Object> parameters = Map.of(
+                "from", from,
+                "size", size);
+        return get("?from={from}&size={size}", userId, parameters);
     }
 
-    Object getItems(final long userId, final String text) {
-        return get("/search?text={text}", userId, Map.of("text", text));
+    ResponseEntity<Resource> getItems(final long userId, final String text, final int from, final int size) {
+        final Map<String, Object> parameters = Map.of(
+                "text", text,
+                "from", from,
+                "size", size);
+        return get("/search?text={text}&from={from}&size={size}", userId, parameters);
     }
 
-    Object addComment(final long userId, final long id, @Valid final CommentCreateDto dto) {
+    ResponseEntity<Resource> getAvailability(final long userId, final long id, final LocalDateTime from,
+            final LocalDateTime to) {
+        final Map<String, Object> parameters = Map.of(
+                "from", from,
+                "to", to);
+        return get("/" + id + "/availability?from={from}&to={to}", userId, parameters);
+    }
+
+    ResponseEntity<Resource> addComment(final long userId, final long id, @Valid final CommentCreateDto dto) {
         Objects.requireNonNull(dto, "Cannot create comment: is null");
         return post("/" + id + "/comment", userId, dto);
     }
 
-    Object updateItem(final long userId, final long id, @Valid final ItemUpdateDto dto) {
+    ResponseEntity<Resource> updateItem(final long userId, final long id, @Valid final ItemUpdateDto dto) {
         Objects.requireNonNull(dto, "Cannot update item: is null");
         return patch("/" + id, userId, dto);
     }
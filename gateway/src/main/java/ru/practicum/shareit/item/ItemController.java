@@ -2,7 +2,12 @@ package ru.practicum.shareit.item;
 
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.PositiveOrZero;
 import lombok.RequiredArgsConstructor;
+import org.springframework.core.io.Resource;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PatchMapping;
@@ -15,6 +20,8 @@ import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 import ru.practicum.shareit.common.HttpRequestResponseLogger;
 
+import java.time.LocalDateTime;
+
 @RestController
 @RequestMapping("/items")
 @RequiredArgsConstructor
@@ -23,75 +30,93 @@ class ItemController extends HttpRequestResponseLogger {
     private final ItemClient client;
 
     @PostMapping
-    public Object createItem(
+    public ResponseEntity<Resource> createItem(
             @RequestHeader("X-Sharer-User-Id") final long userId,
             @RequestBody @Valid final ItemCreateDto dto,
             final HttpServletRequest request
     ) {
         logRequest(request, dto);
-        final Object response = client.createItem(userId, dto);
-        logResponse(request, response);
+        final ResponseEntity<Resource> response = client.createItem(userId, dto);
+        logResponse(request, response.getBody());
         return response;
     }
 
     @GetMapping("/{id}")
-    public Object getItem(
+    public ResponseEntity<Resource> getItem(
             @RequestHeader("X-Sharer-User-Id") final long userId,
             @PathVariable final long id,
             final HttpServletRequest request
     ) {
         logRequest(request);
-        final Object response = client.getItem(userId, id);
-        logResponse(request, response);
+        final ResponseEntity<Resource> response = client.getItem(userId, id);
+        logResponse(request, response.getBody());
         return response;
     }
 
     @GetMapping
-    public Object getItems(
+    public ResponseEntity<Resource> getItems(
             @RequestHeader("X-Sharer-User-Id") final long userId,
+            @RequestParam(defaultValue = "0") @PositiveOrZero final int from,
+            @RequestParam(defaultValue = "10") @Positive final int size,
             final HttpServletRequest request
     ) {
         logRequest(request);
-        final Object response = client.getItems(userId);
-        logResponse(request, response);
+        final ResponseEntity<Resource> response = client.getItems(userId, from, size);
+        logResponse(request, response.getBody());
         return response;
     }
 
     @GetMapping("/search")
-    public Object getItems(
+    public ResponseEntity<Resource> getItems(
             @RequestHeader("X-Sharer-User-Id") final long userId,
             @RequestParam final String text,
+            @RequestParam(defaultValue = "0") @PositiveOrZero final int from,
+            @RequestParam(defaultValue = "10") @Positive final int size,
+            final HttpServletRequest request
+    ) {
+        logRequest(request);
+        final ResponseEntity<Resource> response = client.getItems(userId, text, from, size);
+        logResponse(request, response.getBody());
+        return response;
+    }
+
+    @GetMapping("/{id}/availability")
+    public ResponseEntity<Resource> getAvailability(
+            @RequestHeader("X-Sharer-User-Id") final long userId,
+            @PathVariable final long id,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) final LocalDateTime from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) final LocalDateTime to,
             final HttpServletRequest request
     ) {
         logRequest(request);
-        final Object response = client.getItems(userId, text);
-        logResponse(request, response);
+        final ResponseEntity<Resource> response = client.getAvailability(userId, id, from, to);
+        logResponse(request, response.getBody());
         return response;
     }
 
     @PostMapping("/{id}/comment")
-    public Object addComment(
+    public ResponseEntity<Resource> addComment(
             @RequestHeader("X-Sharer-User-Id") final long userId,
             @PathVariable final long id,
             @RequestBody @Valid final CommentCreateDto dto,
             final HttpServletRequest request
     ) {
         logRequest(request, dto);
-        final Object response = client.addComment(userId, id, dto);
-        logResponse(request, response);
+        final ResponseEntity<Resource> response = client.addComment(userId, id, dto);
+        logResponse(request, response.getBody());
         return response;
     }
 
     @PatchMapping("/{id}")
-    public Object updateItem(
+    public ResponseEntity<Resource> updateItem(
             @RequestHeader("X-Sharer-User-Id") final long userId,
             @PathVariable final long id,
             @RequestBody @Valid final ItemUpdateDto dto,
             final HttpServletRequest request
     ) {
         logRequest(request, dto);
-        final Object response = client.updateItem(userId, id, dto);
-        logResponse(request, response);
+        final ResponseEntity<Resource> response = client.updateItem(userId, id, dto);
+        logResponse(request, response.getBody());
         return response;
     }
 
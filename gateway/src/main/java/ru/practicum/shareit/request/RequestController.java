@@ -5,6 +5,8 @@ import jakarta.validation.Valid;
 import jakarta.validation.constraints.Positive;
 import jakarta.validation.constraints.PositiveOrZero;
 import lombok.RequiredArgsConstructor;
+import org.springframework.core.io.Resource;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
@@ -23,52 +25,52 @@ class RequestController extends HttpRequestResponseLogger {
     private final RequestClient client;
 
     @PostMapping
-    Object createRequest(
+    ResponseEntity<Resource> createRequest(
             @RequestHeader("X-Sharer-User-Id") final long userId,
             @RequestBody @Valid final RequestCreateDto dto,
             final HttpServletRequest request
     ) {
         logRequest(request, dto);
-        final Object response = client.createRequest(userId, dto);
-        logResponse(request, response);
+        final ResponseEntity<Resource> response = client.createRequest(userId, dto);
+        logResponse(request, response.getBody());
         return response;
     }
 
     @GetMapping("/{id}")
-    Object getRequest(
+    ResponseEntity<Resource> getRequest(
             @RequestHeader("X-Sharer-User-Id") final long userId,
             @PathVariable final long id,
             final HttpServletRequest request
     ) {
         logRequest((request));
-        final Object response = client.getRequest(userId, id);
-        logResponse(request, response);
+        final ResponseEntity<Resource> response = client.getRequest(userId, id);
+        logResponse(request, response.getBody());
         return response;
     }
 
     @GetMapping
-    Object getOwnRequests(
+    ResponseEntity<Resource> getOwnRequests(
             @RequestHeader("X-Sharer-User-Id") final long userId,
             @RequestParam(defaultValue = "0") @PositiveOrZero final int from,
             @RequestParam(defaultValue = "10") @Positive final int size,
             final HttpServletRequest request
     ) {
         logRequest(request);
-        final Object response = client.getOwnRequests(userId, from, size);
-        logResponse(request, response);
+        final ResponseEntity<Resource> response = client.getOwnRequests(userId, from, size);
+        logResponse(request, response.getBody());
         return response;
     }
 
     @GetMapping("/all")
-    Object getOthersRequests(
+    ResponseEntity<Resource> getOthersRequests(
             @RequestHeader("X-Sharer-User-Id") final long userId,
             @RequestParam(defaultValue = "0") @PositiveOrZero final int from,
             @RequestParam(defaultValue = "10") @Positive final int size,
             final HttpServletRequest request
     ) {
         logRequest(request);
-        final Object response = client.getOthersRequests(userId, from, size);
-        logResponse(request, response);
+        final ResponseEntity<Resource> response = client.getOthersRequests(userId, from, size);
+        logResponse(request, response.getBody());
         return response;
     }
 }
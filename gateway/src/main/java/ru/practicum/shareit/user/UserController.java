@@ -3,6 +3,8 @@ package ru.practicum.shareit.user;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.core.io.Resource;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PatchMapping;
@@ -21,46 +23,46 @@ class UserController extends HttpRequestResponseLogger {
     private final UserClient client;
 
     @PostMapping
-    public Object createUser(
+    public ResponseEntity<Resource> createUser(
             @RequestBody @Valid final UserCreateDto dto,
             final HttpServletRequest request
     ) {
         logRequest(request, dto);
-        final Object response = client.createUser(dto);
-        logResponse(request, response);
+        final ResponseEntity<Resource> response = client.createUser(dto);
+        logResponse(request, response.getBody());
         return response;
     }
 
     @GetMapping("/{id}")
-    public Object getUser(
+    public ResponseEntity<Resource> getUser(
             @PathVariable final long id,
             final HttpServletRequest request
     ) {
         logRequest(request);
-        final Object response = client.getUser(id);
-        logResponse(request, response);
+        final ResponseEntity<Resource> response = client.getUser(id);
+        logResponse(request, response.getBody());
         return response;
     }
 
     @GetMapping
-    public Object getUsers(
+    public ResponseEntity<Resource> getUsers(
             final HttpServletRequest request
     ) {
         logRequest(request);
-        final Object response = client.getUsers();
-        logResponse(request, response);
+        final ResponseEntity<Resource> response = client.getUsers();
+        logResponse(request, response.getBody());
         return response;
     }
 
     @PatchMapping("/{id}")
-    public Object updateUser(
+    public ResponseEntity<Resource> updateUser(
             @PathVariable final long id,
             @RequestBody @Valid final UserUpdateDto dto,
             final HttpServletRequest request
     ) {
         logRequest(request, dto);
-        final Object response = client.updateUser(id, dto);
-        logResponse(request, response);
+        final ResponseEntity<Resource> response = client.updateUser(id, dto);
+        logResponse(request, response.getBody());
         return response;
     }
 
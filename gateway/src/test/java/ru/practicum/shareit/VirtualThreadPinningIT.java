@@ -0,0 +1,158 @@
+package ru.practicum.shareit;
+
+import com.sun.net.httpserver.HttpServer;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordingStream;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.equalTo;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = "spring.threads.virtual.enabled=true")
+class VirtualThreadPinningIT {
+
+    private static final int USERS = 200;
+    private static final byte[] SERVER_RESPONSE = "{\"id\":1,\"name\":\"John Doe\",\"email\":\"john.doe@mail.com\"}"
+            .getBytes(StandardCharsets.UTF_8);
+
+    // Packages on request handling path of the gateway: a virtual thread parked while pinned inside any of them
+    // would block its carrier thread
+    private static final List<String> CHECKED_PACKAGES = List.of(
+            "ru.practicum.shareit.",
+            "ch.qos.logback.",
+            "org.springframework.",
+            "jdk.internal.net.http.");
+
+    private static final HttpServer server = startServer();
+
+    @LocalServerPort
+    private int port;
+
+    @DynamicPropertySource
+    static void serverProperties(final DynamicPropertyRegistry registry) {
+        registry.add("shareit-server.url", () -> "http://localhost:" + server.getAddress().getPort());
+    }
+
+    @AfterAll
+    static void stopServer() {
+        server.stop(0);
+    }
+
+    @Test
+    void testRequestHandlingDoesNotPinVirtualThreads() throws Exception {
+        final List<RecordedEvent> events = new CopyOnWriteArrayList<>();
+        try (RecordingStream recording = new RecordingStream();
+                HttpClient client = HttpClient.newBuilder()
+                        .executor(Executors.newVirtualThreadPerTaskExecutor())
+                        .build();
+                ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            recording.enable("jdk.VirtualThreadPinned").withStackTrace().withThreshold(Duration.ZERO);
+            recording.onEvent("jdk.VirtualThreadPinned", events::add);
+            recording.startAsync();
+
+            final List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < USERS; i++) {
+                final int n = i;
+                futures.add(executor.submit(() -> {
+                    runUserScenario(client, n);
+                    return null;
+                }));
+            }
+            for (final Future<?> future : futures) {
+                future.get();
+            }
+            recording.stop();
+        }
+
+        assertThat(events.stream().filter(this::isInCheckedPackages).map(this::describe).toList(), empty());
+    }
+
+    private void runUserScenario(final HttpClient client, final int n) throws Exception {
+        send(client, "POST", "/users", null, "{\"name\":\"User %d\",\"email\":\"user%d@mail.com\"}".formatted(n, n));
+        send(client, "GET", "/users/1", null, null);
+        send(client, "GET", "/items", 1L, null);
+        send(client, "GET", "/bookings?state=ALL", 1L, null);
+        send(client, "GET", "/items/search?text=item", 1L, null);
+    }
+
+    private void send(final HttpClient client, final String method, final String path, final Long userId,
+            final String body) throws Exception {
+        final HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create("http://localhost:" + port + path))
+                .header("Accept", "application/json")
+                .method(method, body == null
+                        ? HttpRequest.BodyPublishers.noBody()
+                        : HttpRequest.BodyPublishers.ofString(body));
+        if (body != null) {
+            builder.header("Content-Type", "application/json");
+        }
+        if (userId != null) {
+            builder.header("X-Sharer-User-Id", String.valueOf(userId));
+        }
+        final HttpResponse<String> response = client.send(builder.build(), HttpResponse.BodyHandlers.ofString());
+        assertThat(method + " " + path + ": " + response.body(), response.statusCode(), equalTo(200));
+        assertThat(response.body(), equalTo(new String(SERVER_RESPONSE, StandardCharsets.UTF_8)));
+    }
+
+    private boolean isInCheckedPackages(final RecordedEvent event) {
+        return frames(event).stream().anyMatch(frame -> CHECKED_PACKAGES.stream().anyMatch(frame::startsWith));
+    }
+
+    private String describe(final RecordedEvent event) {
+        return "pinned for " + event.getDuration() + " at\n  " + String.join("\n  ", frames(event));
+    }
+
+    private List<String> frames(final RecordedEvent event) {
+        if (event.getStackTrace() == null) {
+            return List.of();
+        }
+        return event.getStackTrace().getFrames().stream()
+                .map(RecordedFrame::getMethod)
+                .map(method -> method.getType().getName() + "." + method.getName())
+                .toList();
+    }
+
+    private static HttpServer startServer() {
+        try {
+            final HttpServer httpServer = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+            // Stub stands for shareit-server only, keep it on platform threads to leave it out of the recording
+            httpServer.setExecutor(Executors.newCachedThreadPool());
+            httpServer.createContext("/", exchange -> {
+                exchange.getRequestBody().readAllBytes();
+                exchange.getResponseHeaders().add("Content-Type", "application/json");
+                exchange.sendResponseHeaders(200, SERVER_RESPONSE.length);
+                try (OutputStream body = exchange.getResponseBody()) {
+                    body.write(SERVER_RESPONSE);
+                }
+            });
+            httpServer.start();
+            return httpServer;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
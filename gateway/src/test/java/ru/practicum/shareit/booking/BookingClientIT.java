@@ -6,20 +6,40 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.client.RestClientTest;
+import org.springframework.core.io.Resource;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.test.web.client.ExpectedCount;
 import org.springframework.web.client.HttpStatusCodeException;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import ru.practicum.shareit.common.AbstractClientIT;
+import ru.practicum.shareit.common.BaseClient;
 
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 
 import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.containsInAnyOrder;
 import static org.hamcrest.Matchers.equalTo;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.header;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.method;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.requestTo;
 import static org.springframework.test.web.client.response.MockRestResponseCreators.withStatus;
+import static ru.practicum.shareit.booking.BookingUtils.makeTestBookingBatchCreateDto;
 import static ru.practicum.shareit.booking.BookingUtils.makeTestBookingCreateDto;
+import static ru.practicum.shareit.booking.BookingUtils.makeTestBookingVerdictBatchDto;
 import static ru.practicum.shareit.common.CommonUtils.loadJson;
 import static ru.practicum.shareit.common.EqualToJson.equalToJson;
+import static ru.practicum.shareit.common.ErrorResponseMatchers.isConflict;
 import static ru.practicum.shareit.common.ErrorResponseMatchers.isForbidden;
 import static ru.practicum.shareit.common.ErrorResponseMatchers.isInternalServerError;
 import static ru.practicum.shareit.common.ErrorResponseMatchers.isNotFound;
@@ -32,6 +52,8 @@ class BookingClientIT extends AbstractClientIT {
     private static final String BOOKING_STATE = "all";
     private static final int FROM = 0;
     private static final int SIZE = 10;
+    private static final String CURSOR = "MjAwMS0wNi0wMVQwOToxMDoxMXwx";
+    private static final String IDEMPOTENCY_KEY = "b8c2d1f0-3e4a-4c5b-9d6e-7f8a9b0c1d2e";
 
     @Autowired
     private ObjectMapper mapper;
@@ -105,6 +127,45 @@ class BookingClientIT extends AbstractClientIT {
         assertThat(exception, isInternalServerError(body));
     }
 
+    @Test
+    void testCreateBookings() throws IOException {
+        final BookingBatchCreateDto dto = makeTestBookingBatchCreateDto();
+        final String dtoJson = mapper.writeValueAsString(dto);
+        final String body = loadJson("create_bookings.json", getClass());
+        expectPost("/batch", USER_ID, dtoJson)
+                .andRespond(withStatus(HttpStatus.OK)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .body(body));
+
+        final Object response = client.createBookings(USER_ID, dto);
+
+        assertThat(response, equalToJson(body));
+    }
+
+    @Test
+    void testCreateBookingsWhenNull() {
+        final NullPointerException exception = assertThrows(NullPointerException.class,
+                () -> client.createBookings(USER_ID, null));
+
+        assertThat(exception.getMessage(), equalTo("Cannot create bookings: is null"));
+    }
+
+    @Test
+    void testCreateBookingsWhenItemAlreadyBooked() throws IOException {
+        final BookingBatchCreateDto dto = makeTestBookingBatchCreateDto();
+        final String dtoJson = mapper.writeValueAsString(dto);
+        final String body = loadJson("create_bookings_item_already_booked.json", getClass());
+        expectPost("/batch", USER_ID, dtoJson)
+                .andRespond(withStatus(HttpStatus.CONFLICT)
+                        .contentType(MediaType.APPLICATION_PROBLEM_JSON)
+                        .body(body));
+
+        final HttpStatusCodeException exception = assertThrows(HttpStatusCodeException.class,
+                () -> client.createBookings(USER_ID, dto));
+
+        assertThat(exception, isConflict(body));
+    }
+
     @Test
     void testGetBooking() throws IOException {
         final String body = loadJson("get_booking.json", getClass());
@@ -149,25 +210,75 @@ class BookingClientIT extends AbstractClientIT {
     @Test
     void testGetUserBookings() throws IOException {
         final String body = loadJson("get_user_bookings.json", getClass());
-        expectGet("?state=%s&from=%d&size=%d".formatted(BOOKING_STATE, FROM, SIZE), USER_ID)
+        expectGet("?state=%s&from=%d&size=%d&count=false".formatted(BOOKING_STATE, FROM, SIZE), USER_ID)
                 .andRespond(withStatus(HttpStatus.OK)
                         .contentType(MediaType.APPLICATION_JSON)
                         .body(body));
 
-        final Object response = client.getUserBookings(USER_ID, BOOKING_STATE, FROM, SIZE);
+        final Object response = client.getUserBookings(USER_ID, BOOKING_STATE, FROM, SIZE, false);
 
         assertThat(response, equalToJson(body));
     }
 
+    @Test
+    void testGetUserBookingsRelaysTotalCount() throws IOException {
+        final String body = loadJson("get_user_bookings.json", getClass());
+        expectGet("?state=%s&from=%d&size=%d&count=true".formatted(BOOKING_STATE, FROM, SIZE), USER_ID)
+                .andRespond(withStatus(HttpStatus.OK)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .header("X-Total-Count", "42")
+                        .body(body));
+
+        final ResponseEntity<Resource> response = client.getUserBookings(USER_ID, BOOKING_STATE, FROM, SIZE, true);
+
+        assertThat(response.getHeaders().keySet(), containsInAnyOrder("Content-Type", "X-Total-Count"));
+        assertThat(response.getHeaders().getFirst("X-Total-Count"), equalTo("42"));
+        assertThat(response.getBody(), equalToJson(body));
+    }
+
+    @Test
+    void testGetUserBookingsWithCursor() throws IOException {
+        final String body = loadJson("get_user_bookings.json", getClass());
+        final HttpHeaders headers = new HttpHeaders();
+        headers.add("X-Next-Cursor", CURSOR);
+        headers.add("X-Other-Header", "other value");
+        expectGet("?state=%s&cursor=%s&size=%d&count=false".formatted(BOOKING_STATE, CURSOR, SIZE), USER_ID)
+                .andRespond(withStatus(HttpStatus.OK)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .headers(headers)
+                        .body(body));
+
+        final ResponseEntity<Resource> response = client.getUserBookings(USER_ID, BOOKING_STATE, CURSOR, SIZE, false);
+
+        assertThat(response.getStatusCode(), equalTo(HttpStatus.OK));
+        assertThat(response.getHeaders().keySet(), containsInAnyOrder("Content-Type", "X-Next-Cursor"));
+        assertThat(response.getHeaders().getFirst("X-Next-Cursor"), equalTo(CURSOR));
+        assertThat(response.getBody(), equalToJson(body));
+    }
+
+    @Test
+    void testGetUserBookingsWithCursorWhenLastPage() throws IOException {
+        final String body = loadJson("get_user_bookings.json", getClass());
+        expectGet("?state=%s&cursor=&size=%d&count=false".formatted(BOOKING_STATE, SIZE), USER_ID)
+                .andRespond(withStatus(HttpStatus.OK)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .body(body));
+
+        final ResponseEntity<Resource> response = client.getUserBookings(USER_ID, BOOKING_STATE, "", SIZE, false);
+
+        assertThat(response.getHeaders().keySet(), contains("Content-Type"));
+        assertThat(response.getBody(), equalToJson(body));
+    }
+
     @Test
     void testGetUserBookingsWhenEmpty() throws IOException {
         final String body = loadJson("get_user_bookings_empty.json", getClass());
-        expectGet("?state=%s&from=%d&size=%d".formatted(BOOKING_STATE, FROM, SIZE), USER_ID)
+        expectGet("?state=%s&from=%d&size=%d&count=false".formatted(BOOKING_STATE, FROM, SIZE), USER_ID)
                 .andRespond(withStatus(HttpStatus.OK)
                         .contentType(MediaType.APPLICATION_JSON)
                         .body(body));
 
-        final Object response = client.getUserBookings(USER_ID, BOOKING_STATE, FROM, SIZE);
+        final Object response = client.getUserBookings(USER_ID, BOOKING_STATE, FROM, SIZE, false);
 
         assertThat(response, equalToJson(body));
     }
@@ -175,13 +286,13 @@ class BookingClientIT extends AbstractClientIT {
     @Test
     void testGetUserBookingsWhenInternalServerError() throws IOException {
         final String body = loadJson("get_user_bookings_internal_server_error.json", getClass());
-        expectGet("?state=%s&from=%d&size=%d".formatted(BOOKING_STATE, FROM, SIZE), USER_ID)
+        expectGet("?state=%s&from=%d&size=%d&count=false".formatted(BOOKING_STATE, FROM, SIZE), USER_ID)
                 .andRespond(withStatus(HttpStatus.INTERNAL_SERVER_ERROR)
                         .contentType(MediaType.APPLICATION_PROBLEM_JSON)
                         .body(body));
 
         final HttpStatusCodeException exception = assertThrows(HttpStatusCodeException.class,
-                () -> client.getUserBookings(USER_ID, BOOKING_STATE, FROM, SIZE));
+                () -> client.getUserBookings(USER_ID, BOOKING_STATE, FROM, SIZE, false));
 
         assertThat(exception, isInternalServerError(body));
     }
@@ -189,25 +300,41 @@ class BookingClientIT extends AbstractClientIT {
     @Test
     void testGetOwnerBookings() throws IOException {
         final String body = loadJson("get_owner_bookings.json", getClass());
-        expectGet("/owner?state=%s&from=%d&size=%d".formatted(BOOKING_STATE, FROM, SIZE), USER_ID)
+        expectGet("/owner?state=%s&from=%d&size=%d&count=false".formatted(BOOKING_STATE, FROM, SIZE), USER_ID)
                 .andRespond(withStatus(HttpStatus.OK)
                         .contentType(MediaType.APPLICATION_JSON)
                         .body(body));
 
-        final Object response = client.getOwnerBookings(USER_ID, BOOKING_STATE, FROM, SIZE);
+        final Object response = client.getOwnerBookings(USER_ID, BOOKING_STATE, FROM, SIZE, false);
 
         assertThat(response, equalToJson(body));
     }
 
+    @Test
+    void testGetOwnerBookingsWithCursor() throws IOException {
+        final String body = loadJson("get_owner_bookings.json", getClass());
+        expectGet("/owner?state=%s&cursor=%s&size=%d&count=false".formatted(BOOKING_STATE, CURSOR, SIZE), USER_ID)
+                .andRespond(withStatus(HttpStatus.OK)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .header("X-Next-Cursor", CURSOR)
+                        .body(body));
+
+        final ResponseEntity<Resource> response = client.getOwnerBookings(USER_ID, BOOKING_STATE, CURSOR, SIZE, false);
+
+        assertThat(response.getHeaders().keySet(), containsInAnyOrder("Content-Type", "X-Next-Cursor"));
+        assertThat(response.getHeaders().getFirst("X-Next-Cursor"), equalTo(CURSOR));
+        assertThat(response.getBody(), equalToJson(body));
+    }
+
     @Test
     void testGetOwnerBookingsWhenEmpty() throws IOException {
         final String body = loadJson("get_owner_bookings_empty.json", getClass());
-        expectGet("/owner?state=%s&from=%d&size=%d".formatted(BOOKING_STATE, FROM, SIZE), USER_ID)
+        expectGet("/owner?state=%s&from=%d&size=%d&count=false".formatted(BOOKING_STATE, FROM, SIZE), USER_ID)
                 .andRespond(withStatus(HttpStatus.OK)
                         .contentType(MediaType.APPLICATION_JSON)
                         .body(body));
 
-        final Object response = client.getOwnerBookings(USER_ID, BOOKING_STATE, FROM, SIZE);
+        final Object response = client.getOwnerBookings(USER_ID, BOOKING_STATE, FROM, SIZE, false);
 
         assertThat(response, equalToJson(body));
     }
@@ -215,13 +342,53 @@ class BookingClientIT extends AbstractClientIT {
     @Test
     void testGetOwnerBookingsWhenNoItems() throws IOException {
         final String body = loadJson("get_owner_bookings_no_items.json", getClass());
-        expectGet("/owner?state=%s&from=%d&size=%d".formatted(BOOKING_STATE, FROM, SIZE), USER_ID)
+        expectGet("/owner?state=%s&from=%d&size=%d&count=false".formatted(BOOKING_STATE, FROM, SIZE), USER_ID)
+                .andRespond(withStatus(HttpStatus.FORBIDDEN)
+                        .contentType(MediaType.APPLICATION_PROBLEM_JSON)
+                        .body(body));
+
+        final HttpStatusCodeException exception = assertThrows(HttpStatusCodeException.class,
+                () -> client.getOwnerBookings(USER_ID, BOOKING_STATE, FROM, SIZE, false));
+
+        assertThat(exception, isForbidden(body));
+    }
+
+    @Test
+    void testGetUserBookingCounts() throws IOException {
+        final String body = loadJson("get_booking_counts.json", getClass());
+        expectGet("/stats", USER_ID)
+                .andRespond(withStatus(HttpStatus.OK)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .body(body));
+
+        final Object response = client.getUserBookingCounts(USER_ID);
+
+        assertThat(response, equalToJson(body));
+    }
+
+    @Test
+    void testGetOwnerBookingCounts() throws IOException {
+        final String body = loadJson("get_booking_counts.json", getClass());
+        expectGet("/owner/stats", USER_ID)
+                .andRespond(withStatus(HttpStatus.OK)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .body(body));
+
+        final Object response = client.getOwnerBookingCounts(USER_ID);
+
+        assertThat(response, equalToJson(body));
+    }
+
+    @Test
+    void testGetOwnerBookingCountsWhenNoItems() throws IOException {
+        final String body = loadJson("get_owner_booking_counts_no_items.json", getClass());
+        expectGet("/owner/stats", USER_ID)
                 .andRespond(withStatus(HttpStatus.FORBIDDEN)
                         .contentType(MediaType.APPLICATION_PROBLEM_JSON)
                         .body(body));
 
         final HttpStatusCodeException exception = assertThrows(HttpStatusCodeException.class,
-                () -> client.getOwnerBookings(USER_ID, BOOKING_STATE, FROM, SIZE));
+                () -> client.getOwnerBookingCounts(USER_ID));
 
         assertThat(exception, isForbidden(body));
     }
@@ -229,17 +396,93 @@ class BookingClientIT extends AbstractClientIT {
     @Test
     void testGetOwnerBookingsWhenInternalServerError() throws IOException {
         final String body = loadJson("get_owner_bookings_internal_server_error.json", getClass());
-        expectGet("/owner?state=%s&from=%d&size=%d".formatted(BOOKING_STATE, FROM, SIZE), USER_ID)
+        expectGet("/owner?state=%s&from=%d&size=%d&count=false".formatted(BOOKING_STATE, FROM, SIZE), USER_ID)
                 .andRespond(withStatus(HttpStatus.INTERNAL_SERVER_ERROR)
                         .contentType(MediaType.APPLICATION_PROBLEM_JSON)
                         .body(body));
 
         final HttpStatusCodeException exception = assertThrows(HttpStatusCodeException.class,
-                () -> client.getOwnerBookings(USER_ID, BOOKING_STATE, FROM, SIZE));
+                () -> client.getOwnerBookings(USER_ID, BOOKING_STATE, FROM, SIZE, false));
 
         assertThat(exception, isInternalServerError(body));
     }
 
+    @Test
+    void testGetOwnerInbox() throws IOException {
+        final String body = ":subscribed\n\nid:1\nevent:booking\ndata:{\"id\":1}\n\n";
+        mockServer.expect(ExpectedCount.once(), requestTo(baseUrl + basePath + "/owner/inbox"))
+                .andExpect(method(HttpMethod.GET))
+                .andExpect(header(HttpHeaders.ACCEPT, MediaType.TEXT_EVENT_STREAM_VALUE + ", "
+                        + MediaType.APPLICATION_JSON_VALUE))
+                .andExpect(header(HEADER, String.valueOf(USER_ID)))
+                .andRespond(withStatus(HttpStatus.OK)
+                        .contentType(MediaType.TEXT_EVENT_STREAM)
+                        .body(body));
+
+        final ResponseEntity<StreamingResponseBody> response = client.getOwnerInbox(USER_ID);
+
+        final ByteArrayOutputStream relayed = new ByteArrayOutputStream();
+        response.getBody().writeTo(relayed);
+        assertThat(response.getStatusCode(), equalTo(HttpStatus.OK));
+        assertThat(response.getHeaders().getContentType(), equalTo(MediaType.TEXT_EVENT_STREAM));
+        assertThat(relayed.toString(StandardCharsets.UTF_8), equalTo(body));
+    }
+
+    @Test
+    void testGetOwnerInboxWhenNoItems() throws IOException {
+        final String body = loadJson("get_owner_bookings_no_items.json", getClass());
+        mockServer.expect(ExpectedCount.once(), requestTo(baseUrl + basePath + "/owner/inbox"))
+                .andExpect(method(HttpMethod.GET))
+                .andExpect(header(HEADER, String.valueOf(USER_ID)))
+                .andRespond(withStatus(HttpStatus.FORBIDDEN)
+                        .contentType(MediaType.APPLICATION_PROBLEM_JSON)
+                        .body(body));
+
+        final HttpStatusCodeException exception = assertThrows(HttpStatusCodeException.class,
+                () -> client.getOwnerInbox(USER_ID));
+
+        assertThat(exception, isForbidden(body));
+    }
+
+    @Test
+    void testApplyBookingVerdicts() throws IOException {
+        final BookingVerdictBatchDto dto = makeTestBookingVerdictBatchDto();
+        final String dtoJson = mapper.writeValueAsString(dto);
+        final String body = loadJson("apply_booking_verdicts.json", getClass());
+        expectPatch("/owner/verdicts", USER_ID, dtoJson)
+                .andRespond(withStatus(HttpStatus.OK)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .body(body));
+
+        final Object response = client.applyBookingVerdicts(USER_ID, dto);
+
+        assertThat(response, equalToJson(body));
+    }
+
+    @Test
+    void testApplyBookingVerdictsWhenNull() {
+        final NullPointerException exception = assertThrows(NullPointerException.class,
+                () -> client.applyBookingVerdicts(USER_ID, null));
+
+        assertThat(exception.getMessage(), equalTo("Cannot apply booking verdicts: is null"));
+    }
+
+    @Test
+    void testApplyBookingVerdictsWhenNotAuthorized() throws IOException {
+        final BookingVerdictBatchDto dto = makeTestBookingVerdictBatchDto();
+        final String dtoJson = mapper.writeValueAsString(dto);
+        final String body = loadJson("apply_booking_verdicts_not_authorized.json", getClass());
+        expectPatch("/owner/verdicts", USER_ID, dtoJson)
+                .andRespond(withStatus(HttpStatus.FORBIDDEN)
+                        .contentType(MediaType.APPLICATION_PROBLEM_JSON)
+                        .body(body));
+
+        final HttpStatusCodeException exception = assertThrows(HttpStatusCodeException.class,
+                () -> client.applyBookingVerdicts(USER_ID, dto));
+
+        assertThat(exception, isForbidden(body));
+    }
+
     @Test
     void testProcessBookingRequest() throws IOException {
         final String body = loadJson("process_booking.json", getClass());
@@ -253,6 +496,43 @@ class BookingClientIT extends AbstractClientIT {
         assertThat(response, equalToJson(body));
     }
 
+    @Test
+    void testProcessBookingRequestPassesIdempotencyKeyOn() throws IOException {
+        final MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader(BaseClient.IDEMPOTENCY_KEY_HEADER, IDEMPOTENCY_KEY);
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+        final String body = loadJson("process_booking.json", getClass());
+        expectPatch("/" + BOOKING_ID + "?approved=true", USER_ID)
+                .andExpect(header(BaseClient.IDEMPOTENCY_KEY_HEADER, IDEMPOTENCY_KEY))
+                .andRespond(withStatus(HttpStatus.OK)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .body(body));
+
+        try {
+            final Object response = client.processBookingRequest(USER_ID, BOOKING_ID, true);
+
+            assertThat(response, equalToJson(body));
+        } finally {
+            RequestContextHolder.resetRequestAttributes();
+        }
+    }
+
+    @Test
+    void testProcessBookingRequestWhenReplayed() throws IOException {
+        final String body = loadJson("process_booking.json", getClass());
+        expectPatch("/" + BOOKING_ID + "?approved=true", USER_ID)
+                .andRespond(withStatus(HttpStatus.OK)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .header(BaseClient.REPLAYED_HEADER, "true")
+                        .body(body));
+
+        final ResponseEntity<Resource> response = client.processBookingRequest(USER_ID, BOOKING_ID, true);
+
+        assertThat(response.getHeaders().keySet(), containsInAnyOrder("Content-Type", BaseClient.REPLAYED_HEADER));
+        assertThat(response.getHeaders().getFirst(BaseClient.REPLAYED_HEADER), equalTo("true"));
+        assertThat(response.getBody(), equalToJson(body));
+    }
+
     @Test
     void testProcessBookingRequestWhenNotOwner() throws IOException {
         final String body = loadJson("process_booking_not_owner.json", getClass());
@@ -8,6 +8,9 @@ import org.mockito.ArgumentCaptor;
 import org.mockito.Captor;
 import org.mockito.Mock;
 import org.mockito.Mockito;
+import org.springframework.core.io.Resource;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import ru.practicum.shareit.common.AbstractControllerTest;
 import ru.practicum.shareit.common.LogListener;
 
@@ -15,12 +18,15 @@ import java.io.IOException;
 
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.sameInstance;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static ru.practicum.shareit.booking.BookingUtils.deepEqualTo;
+import static ru.practicum.shareit.booking.BookingUtils.makeTestBookingBatchCreateDto;
 import static ru.practicum.shareit.booking.BookingUtils.makeTestBookingCreateDto;
+import static ru.practicum.shareit.booking.BookingUtils.makeTestBookingVerdictBatchDto;
 import static ru.practicum.shareit.common.CommonUtils.assertLogs;
 
 class BookingControllerTest extends AbstractControllerTest {
@@ -33,6 +39,7 @@ class BookingControllerTest extends AbstractControllerTest {
     private static final int FROM = 0;
     private static final int SIZE = 10;
     private static final boolean APPROVED = true;
+    private static final String CURSOR = "MjAwMS0wNi0wMVQwOToxMDoxMXwx";
 
     @Mock
     private BookingClient client;
@@ -75,6 +82,17 @@ class BookingControllerTest extends AbstractControllerTest {
         assertLogs(logListener.getEvents(), "create_booking.json", getClass());
     }
 
+    @Test
+    void testCreateBookings() throws JSONException, IOException {
+        when(client.createBookings(USER_ID, makeTestBookingBatchCreateDto())).thenReturn(testResponse);
+
+        final Object actual = controller.createBookings(USER_ID, makeTestBookingBatchCreateDto(), mockHttpRequest);
+
+        verify(client).createBookings(USER_ID, makeTestBookingBatchCreateDto());
+        assertThat(actual, equalTo(testResponse));
+        assertLogs(logListener.getEvents(), "create_bookings.json", getClass());
+    }
+
     @Test
     void testGetBooking() throws JSONException, IOException {
         when(client.getBooking(USER_ID, BOOKING_ID)).thenReturn(testResponse);
@@ -88,26 +106,103 @@ class BookingControllerTest extends AbstractControllerTest {
 
     @Test
     void testUserBookings() throws JSONException, IOException {
-        when(client.getUserBookings(USER_ID, STATE, FROM, SIZE)).thenReturn(testResponse);
+        when(client.getUserBookings(USER_ID, STATE, FROM, SIZE, false)).thenReturn(testResponse);
 
-        final Object actual = controller.getUserBookings(USER_ID, STATE, FROM, SIZE, mockHttpRequest);
+        final Object actual = controller.getUserBookings(USER_ID, STATE, FROM, SIZE, false, mockHttpRequest);
 
-        verify(client).getUserBookings(USER_ID, STATE, FROM, SIZE);
+        verify(client).getUserBookings(USER_ID, STATE, FROM, SIZE, false);
         assertThat(actual, equalTo(testResponse));
         assertLogs(logListener.getEvents(), "get_user_bookings.json", getClass());
     }
 
+    @Test
+    void testUserBookingsWithCursor() throws JSONException, IOException {
+        final ResponseEntity<Resource> testEntity = ResponseEntity.ok()
+                .header("X-Next-Cursor", CURSOR)
+                .body(testResponse.getBody());
+        when(client.getUserBookings(USER_ID, STATE, CURSOR, SIZE, false)).thenReturn(testEntity);
+
+        final ResponseEntity<Resource> actual = controller.getUserBookings(USER_ID, STATE, CURSOR, SIZE,
+                false, mockHttpRequest);
+
+        verify(client).getUserBookings(USER_ID, STATE, CURSOR, SIZE, false);
+        assertThat(actual, sameInstance(testEntity));
+        assertLogs(logListener.getEvents(), "get_user_bookings.json", getClass());
+    }
+
     @Test
     void testOwnerBookings() throws JSONException, IOException {
-        when(client.getOwnerBookings(USER_ID, STATE, FROM, SIZE)).thenReturn(testResponse);
+        when(client.getOwnerBookings(USER_ID, STATE, FROM, SIZE, false)).thenReturn(testResponse);
 
-        final Object actual = controller.getOwnerBookings(USER_ID, STATE, FROM, SIZE, mockHttpRequest);
+        final Object actual = controller.getOwnerBookings(USER_ID, STATE, FROM, SIZE, false, mockHttpRequest);
 
-        verify(client).getOwnerBookings(USER_ID, STATE, FROM, SIZE);
+        verify(client).getOwnerBookings(USER_ID, STATE, FROM, SIZE, false);
         assertThat(actual, equalTo(testResponse));
         assertLogs(logListener.getEvents(), "get_owner_bookings.json", getClass());
     }
 
+    @Test
+    void testOwnerBookingsWithCursor() throws JSONException, IOException {
+        final ResponseEntity<Resource> testEntity = ResponseEntity.ok()
+                .header("X-Next-Cursor", CURSOR)
+                .body(testResponse.getBody());
+        when(client.getOwnerBookings(USER_ID, STATE, CURSOR, SIZE, false)).thenReturn(testEntity);
+
+        final ResponseEntity<Resource> actual = controller.getOwnerBookings(USER_ID, STATE, CURSOR, SIZE,
+                false, mockHttpRequest);
+
+        verify(client).getOwnerBookings(USER_ID, STATE, CURSOR, SIZE, false);
+        assertThat(actual, sameInstance(testEntity));
+        assertLogs(logListener.getEvents(), "get_owner_bookings.json", getClass());
+    }
+
+    @Test
+    void testGetUserBookingCounts() throws JSONException, IOException {
+        when(client.getUserBookingCounts(USER_ID)).thenReturn(testResponse);
+
+        final Object actual = controller.getUserBookingCounts(USER_ID, mockHttpRequest);
+
+        verify(client).getUserBookingCounts(USER_ID);
+        assertThat(actual, equalTo(testResponse));
+        assertLogs(logListener.getEvents(), "get_user_booking_counts.json", getClass());
+    }
+
+    @Test
+    void testGetOwnerBookingCounts() throws JSONException, IOException {
+        when(client.getOwnerBookingCounts(USER_ID)).thenReturn(testResponse);
+
+        final Object actual = controller.getOwnerBookingCounts(USER_ID, mockHttpRequest);
+
+        verify(client).getOwnerBookingCounts(USER_ID);
+        assertThat(actual, equalTo(testResponse));
+        assertLogs(logListener.getEvents(), "get_owner_booking_counts.json", getClass());
+    }
+
+    @Test
+    void testGetOwnerInbox() throws JSONException, IOException {
+        final ResponseEntity<StreamingResponseBody> streamResponse = ResponseEntity.ok(outputStream -> {
+        });
+        when(client.getOwnerInbox(USER_ID)).thenReturn(streamResponse);
+
+        final Object actual = controller.getOwnerInbox(USER_ID, mockHttpRequest);
+
+        verify(client).getOwnerInbox(USER_ID);
+        assertThat(actual, sameInstance(streamResponse));
+        assertLogs(logListener.getEvents(), "get_owner_inbox.json", getClass());
+    }
+
+    @Test
+    void testApplyBookingVerdicts() throws JSONException, IOException {
+        when(client.applyBookingVerdicts(USER_ID, makeTestBookingVerdictBatchDto())).thenReturn(testResponse);
+
+        final Object actual = controller.applyBookingVerdicts(USER_ID, makeTestBookingVerdictBatchDto(),
+                mockHttpRequest);
+
+        verify(client).applyBookingVerdicts(USER_ID, makeTestBookingVerdictBatchDto());
+        assertThat(actual, equalTo(testResponse));
+        assertLogs(logListener.getEvents(), "apply_booking_verdicts.json", getClass());
+    }
+
     @Test
     void testProcessBookingRequest() throws JSONException, IOException {
         when(client.processBookingRequest(USER_ID, BOOKING_ID, APPROVED)).thenReturn(testResponse);
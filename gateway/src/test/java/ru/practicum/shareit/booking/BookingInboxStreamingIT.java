@@ -0,0 +1,101 @@
+package ru.practicum.shareit.booking;
+
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.startsWith;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+class BookingInboxStreamingIT {
+
+    private static final Duration TIMEOUT = Duration.ofSeconds(10L);
+
+    // Stub server holds the stream open after the first event until the test has seen it relayed
+    private static final CountDownLatch firstEventRelayed = new CountDownLatch(1);
+    private static final HttpServer server = startServer();
+
+    @LocalServerPort
+    private int port;
+
+    @DynamicPropertySource
+    static void serverProperties(final DynamicPropertyRegistry registry) {
+        registry.add("shareit-server.url", () -> "http://localhost:" + server.getAddress().getPort());
+    }
+
+    @AfterAll
+    static void stopServer() {
+        server.stop(0);
+    }
+
+    @Test
+    void testGetOwnerInboxRelaysEventsWithoutBuffering() throws Exception {
+        final HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:%d/bookings/owner/inbox"
+                        .formatted(port)))
+                .header("X-Sharer-User-Id", "42")
+                .build();
+        try (HttpClient client = HttpClient.newHttpClient()) {
+            final HttpResponse<Stream<String>> response = client.send(request, HttpResponse.BodyHandlers.ofLines());
+            assertThat(response.statusCode(), equalTo(200));
+            assertThat(response.headers().firstValue("Content-Type").orElseThrow(), startsWith("text/event-stream"));
+            final Iterator<String> lines = response.body().iterator();
+
+            assertTimeoutPreemptively(TIMEOUT, () -> assertThat(lines.next(), equalTo(":subscribed")));
+            firstEventRelayed.countDown();
+            assertTimeoutPreemptively(TIMEOUT, () -> {
+                assertThat(lines.next(), equalTo(""));
+                assertThat(lines.next(), equalTo("id:1"));
+                assertThat(lines.next(), equalTo("event:booking"));
+                assertThat(lines.next(), equalTo("data:{\"id\":1}"));
+            });
+            response.body().close();
+        }
+    }
+
+    private static HttpServer startServer() {
+        try {
+            final HttpServer httpServer = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+            httpServer.setExecutor(Executors.newCachedThreadPool());
+            httpServer.createContext("/bookings/owner/inbox", exchange -> {
+                exchange.getResponseHeaders().add("Content-Type", "text/event-stream");
+                exchange.sendResponseHeaders(200, 0L);
+                try (OutputStream body = exchange.getResponseBody()) {
+                    body.write(":subscribed\n\n".getBytes(StandardCharsets.UTF_8));
+                    body.flush();
+                    if (firstEventRelayed.await(TIMEOUT.toSeconds(), TimeUnit.SECONDS)) {
+                        body.write("id:1\nevent:booking\ndata:{\"id\":1}\n\n".getBytes(StandardCharsets.UTF_8));
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            });
+            httpServer.start();
+            return httpServer;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
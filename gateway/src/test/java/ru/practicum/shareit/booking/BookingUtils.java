@@ -6,6 +6,7 @@ import org.hamcrest.TypeSafeMatcher;
 
 import java.time.LocalDateTime;
 import java.time.Month;
+import java.util.List;
 import java.util.Objects;
 
 final class BookingUtils {
@@ -21,6 +22,26 @@ final class BookingUtils {
         return dto;
     }
 
+    static BookingBatchCreateDto makeTestBookingBatchCreateDto() {
+        final BookingCreateDto anotherDto = makeTestBookingCreateDto();
+        anotherDto.setItemId(14L);
+        final BookingBatchCreateDto dto = new BookingBatchCreateDto();
+        dto.setBookings(List.of(makeTestBookingCreateDto(), anotherDto));
+        return dto;
+    }
+
+    static BookingVerdictBatchDto makeTestBookingVerdictBatchDto() {
+        final BookingVerdictDto approval = new BookingVerdictDto();
+        approval.setId(1L);
+        approval.setApproved(true);
+        final BookingVerdictDto rejection = new BookingVerdictDto();
+        rejection.setId(2L);
+        rejection.setApproved(false);
+        final BookingVerdictBatchDto dto = new BookingVerdictBatchDto();
+        dto.setVerdicts(List.of(approval, rejection));
+        return dto;
+    }
+
     static Matcher<BookingCreateDto> deepEqualTo(final BookingCreateDto dto) {
         return new TypeSafeMatcher<>() {
 
@@ -6,6 +6,12 @@ import org.junit.jupiter.api.BeforeEach;
 import org.mockito.Mock;
 import org.mockito.Mockito;
 import org.mockito.MockitoAnnotations;
+import org.springframework.core.io.Resource;
+import org.springframework.http.ResponseEntity;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
 
 public class AbstractControllerTest {
 
@@ -20,12 +26,12 @@ public class AbstractControllerTest {
     @Mock
     protected HttpServletRequest mockHttpRequest;
 
-    protected Object testResponse;
+    protected ResponseEntity<Resource> testResponse;
 
     @BeforeEach
     protected void setUp() {
         openMocks = MockitoAnnotations.openMocks(this);
-        testResponse = "test response";
+        testResponse = ResponseEntity.ok(streamedBody("test response"));
         Mockito.when(mockHttpRequest.getMethod()).thenReturn(METHOD);
         Mockito.when(mockHttpRequest.getRequestURI()).thenReturn(URI);
         Mockito.when(mockHttpRequest.getQueryString()).thenReturn(QUERY_STRING);
@@ -41,4 +47,12 @@ public class AbstractControllerTest {
         Mockito.verifyNoMoreInteractions(mockHttpRequest);
         openMocks.close();
     }
+
+    private static Resource streamedBody(final String body) {
+        try {
+            return StreamedBody.of(new ByteArrayInputStream(body.getBytes()), 1024);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
 }
@@ -7,7 +7,11 @@ import org.hamcrest.Matcher;
 import org.hamcrest.TypeSafeMatcher;
 import org.json.JSONException;
 import org.skyscreamer.jsonassert.JSONAssert;
+import org.springframework.core.io.Resource;
+import org.springframework.http.HttpEntity;
 
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.util.Objects;
 
 public class EqualToJson extends TypeSafeMatcher<Object> {
@@ -26,16 +30,23 @@ public class EqualToJson extends TypeSafeMatcher<Object> {
             if (o == null) {
                 return false;
             }
+            final Object value = o instanceof HttpEntity<?> entity ? entity.getBody() : o;
             final String testedString;
-            if (o instanceof String s) {
+            if (value == null) {
+                return false;
+            } else if (value instanceof String s) {
                 testedString = s;
+            } else if (value instanceof Resource resource) {
+                testedString = resource.getContentAsString(StandardCharsets.UTF_8);
             } else {
-                testedString = objectMapper.writeValueAsString(o);
+                testedString = objectMapper.writeValueAsString(value);
             }
             JSONAssert.assertEquals(json, testedString, true);
             return true;
         } catch (JsonProcessingException e) {
             throw new RuntimeException("Cannot convert value to JSON");
+        } catch (IOException e) {
+            throw new RuntimeException("Cannot read resource");
         } catch (JSONException e) {
             throw new RuntimeException("Cannot process JSON");
         } catch (AssertionError e) {
@@ -0,0 +1,28 @@
+package ru.practicum.shareit.common;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.http.client.JdkClientHttpRequestFactory;
+import org.springframework.web.client.RestTemplate;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.instanceOf;
+import static org.hamcrest.Matchers.sameInstance;
+
+@SpringBootTest
+class ServerClientConfigIT {
+
+    @Autowired
+    private RestTemplateBuilder restTemplateBuilder;
+
+    @Test
+    void testRestTemplatesShareRequestFactory() {
+        final RestTemplate restTemplate = restTemplateBuilder.build();
+        final RestTemplate anotherRestTemplate = restTemplateBuilder.build();
+
+        assertThat(restTemplate.getRequestFactory(), instanceOf(JdkClientHttpRequestFactory.class));
+        assertThat(anotherRestTemplate.getRequestFactory(), sameInstance(restTemplate.getRequestFactory()));
+    }
+}
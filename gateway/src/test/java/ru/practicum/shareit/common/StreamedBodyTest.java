@@ -0,0 +1,47 @@
+package ru.practicum.shareit.common;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+
+class StreamedBodyTest {
+
+    private static final String BODY = "{\"id\":1,\"name\":\"John Doe\"}";
+
+    @Test
+    void testToStringWhenBodyFitsHead() throws IOException {
+        final StreamedBody body = StreamedBody.of(stream(BODY), BODY.length());
+
+        assertThat(body.toString(), equalTo(BODY));
+    }
+
+    @Test
+    void testToStringWhenBodyLongerThanHead() throws IOException {
+        final StreamedBody body = StreamedBody.of(stream(BODY), 7);
+
+        assertThat(body.toString(), equalTo("{\"id\":1..."));
+    }
+
+    @Test
+    void testGetContentAsStringWhenBodyLongerThanHead() throws IOException {
+        final StreamedBody body = StreamedBody.of(stream(BODY), 7);
+
+        assertThat(body.getContentAsString(StandardCharsets.UTF_8), equalTo(BODY));
+    }
+
+    @Test
+    void testContentLength() throws IOException {
+        final StreamedBody body = StreamedBody.of(stream(BODY), 7);
+
+        assertThat(body.contentLength(), equalTo(-1L));
+    }
+
+    private ByteArrayInputStream stream(final String body) {
+        return new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -12,6 +12,8 @@ import org.springframework.web.client.HttpStatusCodeException;
 import ru.practicum.shareit.common.AbstractClientIT;
 
 import java.io.IOException;
+import java.time.LocalDateTime;
+import java.time.Month;
 
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.equalTo;
@@ -31,6 +33,12 @@ class ItemClientIT extends AbstractClientIT {
 
     private static final long USER_ID = 42L;
     private static final long ITEM_ID = 1L;
+    private static final int FROM = 0;
+    private static final int SIZE = 10;
+    private static final LocalDateTime AVAILABLE_FROM = LocalDateTime.of(2030, Month.MAY, 1, 10, 0);
+    private static final LocalDateTime AVAILABLE_TO = AVAILABLE_FROM.plusDays(5L);
+    private static final String ENCODED_FROM = "2030-05-01T10%3A00";
+    private static final String ENCODED_TO = "2030-05-06T10%3A00";
 
     @Autowired
     private ObjectMapper mapper;
@@ -148,12 +156,12 @@ class ItemClientIT extends AbstractClientIT {
     @Test
     void testGetItems() throws IOException {
         final String body = loadJson("get_items.json", getClass());
-        expectGet(USER_ID)
+        expectGet("?from=%s&size=%s".formatted(FROM, SIZE), USER_ID)
                 .andRespond(withStatus(HttpStatus.OK)
                         .contentType(MediaType.APPLICATION_JSON)
                         .body(body));
 
-        final Object response = client.getItems(USER_ID);
+        final Object response = client.getItems(USER_ID, FROM, SIZE);
 
         assertThat(response, equalToJson(body));
     }
@@ -161,12 +169,12 @@ class ItemClientIT extends AbstractClientIT {
     @Test
     void testGetItemsWhenEmpty() throws IOException {
         final String body = loadJson("get_items_empty.json", getClass());
-        expectGet(USER_ID)
+        expectGet("?from=%s&size=%s".formatted(FROM, SIZE), USER_ID)
                 .andRespond(withStatus(HttpStatus.OK)
                         .contentType(MediaType.APPLICATION_JSON)
                         .body(body));
 
-        final Object response = client.getItems(USER_ID);
+        final Object response = client.getItems(USER_ID, FROM, SIZE);
 
         assertThat(response, equalToJson(body));
     }
@@ -174,13 +182,13 @@ class ItemClientIT extends AbstractClientIT {
     @Test
     void testGetItemsWhenInternalServerError() throws IOException {
         final String body = loadJson("get_items_internal_server_error.json", getClass());
-        expectGet(USER_ID)
+        expectGet("?from=%s&size=%s".formatted(FROM, SIZE), USER_ID)
                 .andRespond(withStatus(HttpStatus.INTERNAL_SERVER_ERROR)
                         .contentType(MediaType.APPLICATION_PROBLEM_JSON)
                         .body(body));
 
         final HttpStatusCodeException exception = assertThrows(HttpStatusCodeException.class,
-                () -> client.getItems(USER_ID));
+                () -> client.getItems(USER_ID, FROM, SIZE));
 
         assertThat(exception, isInternalServerError(body));
     }
@@ -189,12 +197,12 @@ class ItemClientIT extends AbstractClientIT {
     void testGetItemsWithText() throws IOException {
         final String text = "thing";
         final String body = loadJson("get_items_with_text.json", getClass());
-        expectGet("/search?text=" + text, USER_ID)
+        expectGet("/search?text=%s&from=%d&size=%d".formatted(text, FROM, SIZE), USER_ID)
                 .andRespond(withStatus(HttpStatus.OK)
                         .contentType(MediaType.APPLICATION_JSON)
                         .body(body));
 
-        final Object response = client.getItems(USER_ID, text);
+        final Object response = client.getItems(USER_ID, text, FROM, SIZE);
 
         assertThat(response, equalToJson(body));
     }
@@ -203,12 +211,12 @@ class ItemClientIT extends AbstractClientIT {
     void testGetItemsWithTextWhenEmpty() throws IOException {
         final String text = "thing";
         final String body = loadJson("get_items_with_text_empty.json", getClass());
-        expectGet("/search?text=" + text, USER_ID)
+        expectGet("/search?text=%s&from=%d&size=%d".formatted(text, FROM, SIZE), USER_ID)
                 .andRespond(withStatus(HttpStatus.OK)
                         .contentType(MediaType.APPLICATION_JSON)
                         .body(body));
 
-        final Object response = client.getItems(USER_ID, text);
+        final Object response = client.getItems(USER_ID, text, FROM, SIZE);
 
         assertThat(response, equalToJson(body));
     }
@@ -217,17 +225,44 @@ class ItemClientIT extends AbstractClientIT {
     void testGetItemsWithTextWhenInternalServerError() throws IOException {
         final String text = "thing";
         final String body = loadJson("get_items_with_text_internal_server_error.json", getClass());
-        expectGet("/search?text=" + text, USER_ID)
+        expectGet("/search?text=%s&from=%d&size=%d".formatted(text, FROM, SIZE), USER_ID)
                 .andRespond(withStatus(HttpStatus.INTERNAL_SERVER_ERROR)
                         .contentType(MediaType.APPLICATION_PROBLEM_JSON)
                         .body(body));
 
         final HttpStatusCodeException exception = assertThrows(HttpStatusCodeException.class,
-                () -> client.getItems(USER_ID, text));
+                () -> client.getItems(USER_ID, text, FROM, SIZE));
 
         assertThat(exception, isInternalServerError(body));
     }
 
+    @Test
+    void testGetAvailability() throws IOException {
+        final String body = loadJson("get_availability.json", getClass());
+        expectGet("/%d/availability?from=%s&to=%s".formatted(ITEM_ID, ENCODED_FROM, ENCODED_TO), USER_ID)
+                .andRespond(withStatus(HttpStatus.OK)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .body(body));
+
+        final Object response = client.getAvailability(USER_ID, ITEM_ID, AVAILABLE_FROM, AVAILABLE_TO);
+
+        assertThat(response, equalToJson(body));
+    }
+
+    @Test
+    void testGetAvailabilityWhenBadRequest() throws IOException {
+        final String body = loadJson("get_availability_bad_request.json", getClass());
+        expectGet("/%d/availability?from=%s&to=%s".formatted(ITEM_ID, ENCODED_TO, ENCODED_FROM), USER_ID)
+                .andRespond(withStatus(HttpStatus.BAD_REQUEST)
+                        .contentType(MediaType.APPLICATION_PROBLEM_JSON)
+                        .body(body));
+
+        final HttpStatusCodeException exception = assertThrows(HttpStatusCodeException.class,
+                () -> client.getAvailability(USER_ID, ITEM_ID, AVAILABLE_TO, AVAILABLE_FROM));
+
+        assertThat(exception, isBadRequest(body));
+    }
+
     @Test
     void testAddComment() throws IOException {
         final CommentCreateDto dto = makeTestCommentCreateDto();
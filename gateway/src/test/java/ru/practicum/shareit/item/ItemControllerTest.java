@@ -12,6 +12,8 @@ import ru.practicum.shareit.common.AbstractControllerTest;
 import ru.practicum.shareit.common.LogListener;
 
 import java.io.IOException;
+import java.time.LocalDateTime;
+import java.time.Month;
 
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.equalTo;
@@ -33,6 +35,10 @@ class ItemControllerTest extends AbstractControllerTest {
     private static final long USER_ID = 42L;
     private static final long ITEM_ID = 1L;
     private static final String SEARCH_TEXT = "text";
+    private static final int FROM = 0;
+    private static final int SIZE = 10;
+    private static final LocalDateTime AVAILABLE_FROM = LocalDateTime.of(2030, Month.MAY, 1, 10, 0);
+    private static final LocalDateTime AVAILABLE_TO = AVAILABLE_FROM.plusDays(5L);
 
     @Mock
     private ItemClient client;
@@ -97,26 +103,38 @@ class ItemControllerTest extends AbstractControllerTest {
 
     @Test
     void testGetItems() throws JSONException, IOException {
-        when(client.getItems(USER_ID)).thenReturn(testResponse);
+        when(client.getItems(USER_ID, FROM, SIZE)).thenReturn(testResponse);
 
-        final Object actual = controller.getItems(USER_ID, mockHttpRequest);
+        final Object actual = controller.getItems(USER_ID, FROM, SIZE, mockHttpRequest);
 
-        verify(client).getItems(USER_ID);
+        verify(client).getItems(USER_ID, FROM, SIZE);
         assertThat(actual, equalTo(testResponse));
         assertLogs(logListener.getEvents(), "get_items.json", getClass());
     }
 
     @Test
     void testGetItemsWithText() throws JSONException, IOException {
-        when(client.getItems(USER_ID, SEARCH_TEXT)).thenReturn(testResponse);
+        when(client.getItems(USER_ID, SEARCH_TEXT, FROM, SIZE)).thenReturn(testResponse);
 
-        final Object actual = controller.getItems(USER_ID, SEARCH_TEXT, mockHttpRequest);
+        final Object actual = controller.getItems(USER_ID, SEARCH_TEXT, FROM, SIZE, mockHttpRequest);
 
-        verify(client).getItems(USER_ID, SEARCH_TEXT);
+        verify(client).getItems(USER_ID, SEARCH_TEXT, FROM, SIZE);
         assertThat(actual, equalTo(testResponse));
         assertLogs(logListener.getEvents(), "get_items_with_test.json", getClass());
     }
 
+    @Test
+    void testGetAvailability() throws JSONException, IOException {
+        when(client.getAvailability(USER_ID, ITEM_ID, AVAILABLE_FROM, AVAILABLE_TO)).thenReturn(testResponse);
+
+        final Object actual = controller.getAvailability(USER_ID, ITEM_ID, AVAILABLE_FROM, AVAILABLE_TO,
+                mockHttpRequest);
+
+        verify(client).getAvailability(USER_ID, ITEM_ID, AVAILABLE_FROM, AVAILABLE_TO);
+        assertThat(actual, equalTo(testResponse));
+        assertLogs(logListener.getEvents(), "get_availability.json", getClass());
+    }
+
     @Test
     void testAddComment() throws JSONException, IOException {
         when(client.addComment(anyLong(), anyLong(), any(CommentCreateDto.class))).thenReturn(testResponse);
@@ -6,12 +6,15 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.client.RestClientTest;
+import org.springframework.core.io.Resource;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.client.HttpStatusCodeException;
 import ru.practicum.shareit.common.AbstractClientIT;
 
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.equalTo;
@@ -114,6 +117,21 @@ class UserClientIT extends AbstractClientIT {
         assertThat(response, equalToJson(body));
     }
 
+    @Test
+    void testGetUserRelaysServerResponseAsIs() throws IOException {
+        final String body = loadJson("get_user.json", getClass());
+        expectGet("/" + USER_ID)
+                .andRespond(withStatus(HttpStatus.OK)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .body(body));
+
+        final ResponseEntity<Resource> response = client.getUser(USER_ID);
+
+        assertThat(response.getStatusCode(), equalTo(HttpStatus.OK));
+        assertThat(response.getHeaders().getContentType(), equalTo(MediaType.APPLICATION_JSON));
+        assertThat(response.getBody().getContentAsString(StandardCharsets.UTF_8), equalTo(body));
+    }
+
     @Test
     void testGetUserWhen4xxError() throws IOException {
         final String body = loadJson("get_user_not_found.json", getClass());
@@ -10,9 +10,12 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.core.io.Resource;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.web.client.HttpClientErrorException;
 
@@ -64,7 +67,7 @@ class UserControllerIT {
     @Test
     void testCreateUser() throws Exception {
         final String body = loadJson("create_user.json", getClass());
-        when(client.createUser(makeTestUserCreateDto())).thenReturn(mapper.readValue(body, Object.class));
+        when(client.createUser(makeTestUserCreateDto())).thenReturn(jsonResponse(body));
 
         mvc.perform(post(baseUrl)
                         .characterEncoding(StandardCharsets.UTF_8)
@@ -121,7 +124,7 @@ class UserControllerIT {
     @Test
     void testGetUser() throws Exception {
         final String body = loadJson("get_user.json", getClass());
-        when(client.getUser(USER_ID)).thenReturn(mapper.readValue(body, Object.class));
+        when(client.getUser(USER_ID)).thenReturn(jsonResponse(body));
 
         mvc.perform(get(baseUrl + "/" + USER_ID)
                         .accept(MediaType.APPLICATION_JSON))
@@ -166,7 +169,7 @@ class UserControllerIT {
     @Test
     void testGetUsers() throws Exception {
         final String body = loadJson("get_users.json", getClass());
-        when(client.getUsers()).thenReturn(mapper.readValue(body, Object.class));
+        when(client.getUsers()).thenReturn(jsonResponse(body));
 
         mvc.perform(get(baseUrl)
                         .accept(MediaType.APPLICATION_JSON))
@@ -182,7 +185,7 @@ class UserControllerIT {
     @Test
     void testGetUsersWhenEmpty() throws Exception {
         final String body = loadJson("get_users_empty.json", getClass());
-        when(client.getUsers()).thenReturn(mapper.readValue(body, Object.class));
+        when(client.getUsers()).thenReturn(jsonResponse(body));
 
         mvc.perform(get(baseUrl)
                         .accept(MediaType.APPLICATION_JSON))
@@ -198,7 +201,7 @@ class UserControllerIT {
     @Test
     void testUpdateUser() throws Exception {
         final String body = loadJson("update_user.json", getClass());
-        when(client.updateUser(USER_ID, makeTestUserUpdateDto())).thenReturn(mapper.readValue(body, Object.class));
+        when(client.updateUser(USER_ID, makeTestUserUpdateDto())).thenReturn(jsonResponse(body));
 
         mvc.perform(patch(baseUrl + "/" + USER_ID)
                         .characterEncoding(StandardCharsets.UTF_8)
@@ -312,6 +315,12 @@ class UserControllerIT {
                         content().json(body, true));
     }
 
+    private ResponseEntity<Resource> jsonResponse(final String body) {
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(new ByteArrayResource(body.getBytes(StandardCharsets.UTF_8)));
+    }
+
     private HttpClientErrorException makeException(final HttpStatus status, final String body) throws
             JsonProcessingException {
         final HttpHeaders headers = new HttpHeaders();
@@ -0,0 +1,62 @@
+package ru.practicum.shareit.booking;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.Id;
+import jakarta.persistence.ManyToOne;
+import jakarta.persistence.Table;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
+import org.hibernate.annotations.Immutable;
+import ru.practicum.shareit.item.Item;
+import ru.practicum.shareit.user.User;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+// Booking moved out of bookings by BookingArchiveService long after it ended. Keeps the id it had there.
+@Entity
+@Table(name = "archived_bookings")
+@Immutable
+@Data
+@EqualsAndHashCode(of = "id")
+class ArchivedBooking {
+
+    @Id
+    private Long id;
+
+    @ManyToOne
+    private Item item;
+
+    @ManyToOne
+    private User booker;
+
+    @ToString.Exclude
+    private Long ownerId;
+
+    @Column(name = "booking_start")
+    private LocalDateTime start;
+
+    @Column(name = "booking_end")
+    private LocalDateTime end;
+
+    @Enumerated(EnumType.STRING)
+    private BookingStatus status;
+
+    private LocalDateTime archived;
+
+    // To avoid circular reference in toString()
+    @ToString.Include
+    public Long item() {
+        return Optional.ofNullable(item).map(Item::getId).orElse(null);
+    }
+
+    // To avoid circular reference in toString()
+    @ToString.Include
+    public Long booker() {
+        return Optional.ofNullable(booker).map(User::getId).orElse(null);
+    }
+}
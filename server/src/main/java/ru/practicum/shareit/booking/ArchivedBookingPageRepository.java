@@ -0,0 +1,12 @@
+package ru.practicum.shareit.booking;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+interface ArchivedBookingPageRepository {
+
+    // Archived bookings of the booker or the owner of items in order of start and id descending. Status, cursor and
+    // earliest start are optional.
+    List<ArchivedBooking> findPage(long userId, BookingRole role, BookingStatus status, BookingCursor after,
+            LocalDateTime notBefore, int size);
+}
@@ -0,0 +1,53 @@
+package ru.practicum.shareit.booking;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.TypedQuery;
+import lombok.RequiredArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+// Query is built from the conditions actually given, so each combination gets a plan of its own instead of one
+// generic plan full of "is null" checks
+@RequiredArgsConstructor
+class ArchivedBookingPageRepositoryImpl implements ArchivedBookingPageRepository {
+
+    private final EntityManager entityManager;
+
+    @Override
+    public List<ArchivedBooking> findPage(final long userId, final BookingRole role, final BookingStatus status,
+            final BookingCursor after, final LocalDateTime notBefore, final int size) {
+        final StringBuilder jpql = new StringBuilder("select a from ArchivedBooking a join fetch a.booker "
+                + "join fetch a.item where ");
+        final String userCondition = switch (role) {
+            case BOOKER -> "a.booker.id = :userId";
+            case OWNER -> "a.ownerId = :userId";
+            case null -> throw new AssertionError();
+        };
+        jpql.append(userCondition);
+        if (status != null) {
+            jpql.append(" and a.status = :status");
+        }
+        if (after != null) {
+            jpql.append(" and (a.start < :cursorStart or (a.start = :cursorStart and a.id < :cursorId))");
+        }
+        if (notBefore != null) {
+            jpql.append(" and a.start >= :notBefore");
+        }
+        jpql.append(" order by a.start desc, a.id desc");
+        final TypedQuery<ArchivedBooking> query = entityManager.createQuery(jpql.toString(), ArchivedBooking.class)
+                .setParameter("userId", userId)
+                .setMaxResults(size);
+        if (status != null) {
+            query.setParameter("status", status);
+        }
+        if (after != null) {
+            query.setParameter("cursorStart", after.start());
+            query.setParameter("cursorId", after.id());
+        }
+        if (notBefore != null) {
+            query.setParameter("notBefore", notBefore);
+        }
+        return query.getResultList();
+    }
+}
@@ -0,0 +1,29 @@
+package ru.practicum.shareit.booking;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+interface ArchivedBookingRepository extends JpaRepository<ArchivedBooking, Long>, ArchivedBookingPageRepository {
+
+    @Query("select a from ArchivedBooking a join fetch a.booker join fetch a.item i where a.id = :id and "
+            + "(a.booker.id = :userId or i.owner.id = :userId)")
+    Optional<ArchivedBooking> findByIdAndBookerIdOrItemOwnerId(@Param("id") long id, @Param("userId") long userId);
+
+    @Query("select a from ArchivedBooking a join fetch a.booker join fetch a.item where a.booker.id = :userId "
+            + "and a.item.id = :itemId and a.status = 'APPROVED'")
+    List<ArchivedBooking> findAllApprovedByBookerIdAndItemId(@Param("userId") long userId,
+            @Param("itemId") long itemId);
+
+    @Modifying
+    @Query(nativeQuery = true, value = "insert into archived_bookings (id, item_id, booker_id, owner_id, "
+            + "booking_start, booking_end, status, archived) select id, item_id, booker_id, owner_id, booking_start, "
+            + "booking_end, status, :archived from bookings where id in :ids")
+    int insertFromBookings(@Param("ids") Collection<Long> ids, @Param("archived") LocalDateTime archived);
+}
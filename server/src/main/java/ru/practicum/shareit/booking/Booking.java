@@ -9,6 +9,7 @@ import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.Table;
+import jakarta.persistence.Version;
 import jakarta.validation.constraints.NotNull;
 import lombok.Data;
 import lombok.EqualsAndHashCode;
@@ -37,6 +38,11 @@ public class Booking {
     @NotNull
     private User booker;
 
+    // Owner of the booked item copied on creation: owner listings are served by indexes on bookings alone then
+    @Column(updatable = false)
+    @ToString.Exclude
+    private Long ownerId;
+
     @Column(name = "booking_start")
     @NotNull
     private LocalDateTime start;
@@ -49,6 +55,16 @@ public class Booking {
     @NotNull
     private BookingStatus status;
 
+    // Set from start and end on creation and then moved on by BookingPhaseService as time passes. Never written on
+    // update: saving a booking loaded before a roll-over would take its phase and booking counts back otherwise.
+    @Column(updatable = false)
+    @Enumerated(EnumType.STRING)
+    private BookingPhase phase;
+
+    // Guards status changes of bookings read without a lock: a concurrent verdict fails instead of overwriting
+    @Version
+    private Long version;
+
     // To avoid circular reference in toString()
     @ToString.Include
     public Long item() {
@@ -0,0 +1,17 @@
+package ru.practicum.shareit.booking;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+interface BookingArchiveService {
+
+    void archiveBookings();
+
+    Optional<Booking> getBooking(long id, long userId);
+
+    List<Booking> getBookings(long userId, BookingRole role, BookingStatusFilter filter, BookingCursor after,
+            LocalDateTime notBefore, int size);
+
+    List<Booking> findAllCompleteBookings(long userId, long itemId);
+}
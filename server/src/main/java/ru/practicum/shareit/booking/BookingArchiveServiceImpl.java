@@ -0,0 +1,100 @@
+package ru.practicum.shareit.booking;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+// Approved bookings are moved to archived_bookings once they ended longer than retention ago and rejected ones once
+// they ended longer than rejected retention ago, so bookings keeps bookings that are still in use only. Waiting
+// bookings stay until their owner gives a verdict. Archived bookings are read-only and always in phase PAST, so
+// booking counts are not changed by archiving.
+@Service
+@Transactional(readOnly = true)
+@Slf4j
+class BookingArchiveServiceImpl implements BookingArchiveService {
+
+    private final ArchivedBookingRepository repository;
+    private final BookingRepository bookingRepository;
+    private final Duration retention;
+    private final Duration rejectedRetention;
+    private final int batchSize;
+
+    BookingArchiveServiceImpl(
+            final ArchivedBookingRepository repository,
+            final BookingRepository bookingRepository,
+            @Value("${shareit.booking-archive.retention:90d}") final Duration retention,
+            @Value("${shareit.booking-archive.rejected-retention:1d}") final Duration rejectedRetention,
+            @Value("${shareit.booking-archive.batch-size:1000}") final int batchSize
+    ) {
+        this.repository = repository;
+        this.bookingRepository = bookingRepository;
+        this.retention = retention;
+        this.rejectedRetention = rejectedRetention;
+        this.batchSize = batchSize;
+    }
+
+    // Bookings are locked before they are moved: a concurrent run waits and then skips them
+    @Override
+    @Transactional
+    @Scheduled(initialDelayString = "${shareit.booking-archive.delay:60000}",
+            fixedDelayString = "${shareit.booking-archive.delay:60000}")
+    public void archiveBookings() {
+        final LocalDateTime now = LocalDateTime.now();
+        final List<Long> ids = bookingRepository.findAllToArchiveForUpdate(now.minus(retention),
+                now.minus(rejectedRetention), PageRequest.of(0, batchSize));
+        if (ids.isEmpty()) {
+            return;
+        }
+        repository.insertFromBookings(ids, now);
+        bookingRepository.deleteAllByIdInBatch(ids);
+        log.info("Archived {} booking(s)", ids.size());
+    }
+
+    @Override
+    public Optional<Booking> getBooking(final long id, final long userId) {
+        return repository.findByIdAndBookerIdOrItemOwnerId(id, userId).map(BookingArchiveServiceImpl::toBooking);
+    }
+
+    @Override
+    public List<Booking> getBookings(final long userId, final BookingRole role, final BookingStatusFilter filter,
+            final BookingCursor after, final LocalDateTime notBefore, final int size
+    ) {
+        final BookingStatus status = switch (filter) {
+            case ALL, PAST -> null;
+            case REJECTED -> BookingStatus.REJECTED;
+            case CURRENT, FUTURE, WAITING -> throw new IllegalArgumentException(
+                    "Cannot get archived bookings: %s bookings are never archived".formatted(filter));
+            case null -> throw new AssertionError();
+        };
+        return repository.findPage(userId, role, status, after, notBefore, size).stream()
+                .map(BookingArchiveServiceImpl::toBooking)
+                .toList();
+    }
+
+    @Override
+    public List<Booking> findAllCompleteBookings(final long userId, final long itemId) {
+        return repository.findAllApprovedByBookerIdAndItemId(userId, itemId).stream()
+                .map(BookingArchiveServiceImpl::toBooking)
+                .toList();
+    }
+
+    private static Booking toBooking(final ArchivedBooking archivedBooking) {
+        final Booking booking = new Booking();
+        booking.setId(archivedBooking.getId());
+        booking.setItem(archivedBooking.getItem());
+        booking.setBooker(archivedBooking.getBooker());
+        booking.setStart(archivedBooking.getStart());
+        booking.setEnd(archivedBooking.getEnd());
+        booking.setStatus(archivedBooking.getStatus());
+        booking.setPhase(BookingPhase.PAST);
+        return booking;
+    }
+}
@@ -0,0 +1,53 @@
+package ru.practicum.shareit.booking;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.Map;
+
+// Hibernate does not batch inserts of entities with identity ids, so bookings are inserted with plain JDBC batch.
+// Runs in the surrounding JPA transaction: JpaTransactionManager exposes its connection to JdbcTemplate.
+@RequiredArgsConstructor
+class BookingBatchRepositoryImpl implements BookingBatchRepository {
+
+    private static final String INSERT_BOOKING = "insert into bookings (item_id, booker_id, owner_id, "
+            + "booking_start, booking_end, status, phase, version) values (?, ?, ?, ?, ?, ?, ?, 0)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public List<Booking> insertAll(final List<Booking> bookings) {
+        final KeyHolder keyHolder = new GeneratedKeyHolder();
+        jdbcTemplate.batchUpdate(connection -> connection.prepareStatement(INSERT_BOOKING, new String[]{"id"}),
+                new BatchPreparedStatementSetter() {
+                    @Override
+                    public void setValues(final PreparedStatement statement, final int i) throws SQLException {
+                        final Booking booking = bookings.get(i);
+                        statement.setLong(1, booking.getItem().getId());
+                        statement.setLong(2, booking.getBooker().getId());
+                        statement.setLong(3, booking.getOwnerId());
+                        statement.setObject(4, booking.getStart());
+                        statement.setObject(5, booking.getEnd());
+                        statement.setString(6, booking.getStatus().name());
+                        statement.setString(7, booking.getPhase().name());
+                    }
+
+                    @Override
+                    public int getBatchSize() {
+                        return bookings.size();
+                    }
+                }, keyHolder);
+        final List<Map<String, Object>> keys = keyHolder.getKeyList();
+        for (int i = 0; i < bookings.size(); i++) {
+            bookings.get(i).setId(((Number) keys.get(i).get("id")).longValue());
+            bookings.get(i).setVersion(0L);
+        }
+        return bookings;
+    }
+}
@@ -5,6 +5,7 @@ import jakarta.validation.Valid;
 import jakarta.validation.constraints.Positive;
 import jakarta.validation.constraints.PositiveOrZero;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PatchMapping;
 import org.springframework.web.bind.annotation.PathVariable;
@@ -14,12 +15,15 @@ import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 import ru.practicum.shareit.common.HttpRequestResponseLogger;
 import ru.practicum.shareit.common.exception.UnsupportedBookingStateFilterException;
 
 import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
+import java.util.function.Supplier;
 
 @RestController
 @RequestMapping("/bookings")
@@ -28,6 +32,7 @@ class BookingController extends HttpRequestResponseLogger {
 
     private final BookingService bookingService;
     private final BookingMapper mapper;
+    private final BookingInbox bookingInbox;
 
     @PostMapping
     public BookingRetrieveDto createBooking(
@@ -42,6 +47,19 @@ class BookingController extends HttpRequestResponseLogger {
         return dto;
     }
 
+    @PostMapping("/batch")
+    public List<BookingRetrieveDto> createBookings(
+            @RequestHeader("X-Sharer-User-Id") final long userId,
+            @RequestBody @Valid final BookingBatchCreateDto bookingBatchCreateDto,
+            final HttpServletRequest request
+    ) {
+        logRequest(request, bookingBatchCreateDto);
+        final List<Booking> bookings = mapper.mapToBookings(bookingBatchCreateDto, userId);
+        final List<BookingRetrieveDto> dtos = mapper.mapToDto(bookingService.createBookings(bookings));
+        logResponse(request, dtos);
+        return dtos;
+    }
+
     @GetMapping("/{id}")
     public BookingRetrieveDto getBooking(
             @RequestHeader("X-Sharer-User-Id") final long userId,
@@ -55,35 +73,123 @@ class BookingController extends HttpRequestResponseLogger {
     }
 
     @GetMapping
-    public List<BookingRetrieveDto> getUserBookings(
+    public ResponseEntity<List<BookingRetrieveDto>> getUserBookings(
             @RequestHeader("X-Sharer-User-Id") final long userId,
             @RequestParam(defaultValue = "ALL") final String state,
             @RequestParam(defaultValue = "0") @PositiveOrZero final int from,
             @RequestParam(defaultValue = "10") @Positive final int size,
+            @RequestParam(defaultValue = "false") final boolean count,
             final HttpServletRequest request
     ) {
         logRequest(request);
         final BookingStatusFilter filter = convertToFilter(state);
         final List<BookingRetrieveDto> dtos = mapper.mapToDto(bookingService.getUserBookings(userId, filter, from,
                 size));
-        logResponse(request, dtos);
-        return dtos;
+        final ResponseEntity<List<BookingRetrieveDto>> response = withTotalCount(count,
+                () -> bookingService.getUserBookingCounts(userId), filter).body(dtos);
+        logResponse(request, response.getBody());
+        return response;
     }
 
     @GetMapping("/owner")
-    public List<BookingRetrieveDto> getOwnerBookings(
+    public ResponseEntity<List<BookingRetrieveDto>> getOwnerBookings(
             @RequestHeader("X-Sharer-User-Id") final long userId,
             @RequestParam(defaultValue = "ALL") final String state,
             @RequestParam(defaultValue = "0") @PositiveOrZero final int from,
             @RequestParam(defaultValue = "10") @Positive final int size,
+            @RequestParam(defaultValue = "false") final boolean count,
             final HttpServletRequest request
     ) {
         logRequest(request);
         final BookingStatusFilter filter = convertToFilter(state);
         final List<BookingRetrieveDto> dtos = mapper.mapToDto(bookingService.getOwnerBookings(userId, filter, from,
                 size));
-        logResponse(request, dtos);
-        return dtos;
+        final ResponseEntity<List<BookingRetrieveDto>> response = withTotalCount(count,
+                () -> bookingService.getOwnerBookingCounts(userId), filter).body(dtos);
+        logResponse(request, response.getBody());
+        return response;
+    }
+
+    @GetMapping(params = "cursor")
+    public ResponseEntity<List<BookingRetrieveDto>> getUserBookings(
+            @RequestHeader("X-Sharer-User-Id") final long userId,
+            @RequestParam(defaultValue = "ALL") final String state,
+            @RequestParam final String cursor,
+            @RequestParam(defaultValue = "10") @Positive final int size,
+            @RequestParam(defaultValue = "false") final boolean count,
+            final HttpServletRequest request
+    ) {
+        logRequest(request);
+        final BookingStatusFilter filter = convertToFilter(state);
+        final List<Booking> bookings = bookingService.getUserBookings(userId, filter, convertToCursor(cursor), size);
+        final ResponseEntity<List<BookingRetrieveDto>> response = withNextCursor(
+                withTotalCount(count, () -> bookingService.getUserBookingCounts(userId), filter), bookings, size);
+        logResponse(request, response.getBody());
+        return response;
+    }
+
+    @GetMapping(path = "/owner", params = "cursor")
+    public ResponseEntity<List<BookingRetrieveDto>> getOwnerBookings(
+            @RequestHeader("X-Sharer-User-Id") final long userId,
+            @RequestParam(defaultValue = "ALL") final String state,
+            @RequestParam final String cursor,
+            @RequestParam(defaultValue = "10") @Positive final int size,
+            @RequestParam(defaultValue = "false") final boolean count,
+            final HttpServletRequest request
+    ) {
+        logRequest(request);
+        final BookingStatusFilter filter = convertToFilter(state);
+        final List<Booking> bookings = bookingService.getOwnerBookings(userId, filter, convertToCursor(cursor), size);
+        final ResponseEntity<List<BookingRetrieveDto>> response = withNextCursor(
+                withTotalCount(count, () -> bookingService.getOwnerBookingCounts(userId), filter), bookings, size);
+        logResponse(request, response.getBody());
+        return response;
+    }
+
+    @GetMapping("/stats")
+    public Map<BookingStatusFilter, Long> getUserBookingCounts(
+            @RequestHeader("X-Sharer-User-Id") final long userId,
+            final HttpServletRequest request
+    ) {
+        logRequest(request);
+        final Map<BookingStatusFilter, Long> counts = bookingService.getUserBookingCounts(userId);
+        logResponse(request, counts);
+        return counts;
+    }
+
+    @GetMapping("/owner/stats")
+    public Map<BookingStatusFilter, Long> getOwnerBookingCounts(
+            @RequestHeader("X-Sharer-User-Id") final long userId,
+            final HttpServletRequest request
+    ) {
+        logRequest(request);
+        final Map<BookingStatusFilter, Long> counts = bookingService.getOwnerBookingCounts(userId);
+        logResponse(request, counts);
+        return counts;
+    }
+
+    @GetMapping("/owner/inbox")
+    public SseEmitter getOwnerInbox(
+            @RequestHeader("X-Sharer-User-Id") final long userId,
+            final HttpServletRequest request
+    ) {
+        logRequest(request);
+        final SseEmitter emitter = bookingInbox.subscribe(userId);
+        logResponse(request);
+        return emitter;
+    }
+
+    @PatchMapping("/owner/verdicts")
+    public List<BookingVerdictResult> applyBookingVerdicts(
+            @RequestHeader("X-Sharer-User-Id") final long userId,
+            @RequestBody @Valid final BookingVerdictBatchDto bookingVerdictBatchDto,
+            final HttpServletRequest request
+    ) {
+        logRequest(request, bookingVerdictBatchDto);
+        final List<BookingVerdictResult> results = bookingService.applyBookingVerdicts(
+                mapper.mapToVerdicts(bookingVerdictBatchDto), userId);
+        logResponse(request, results);
+        return results;
     }
 
     @PatchMapping("/{id}")
@@ -108,4 +214,26 @@ class BookingController extends HttpRequestResponseLogger {
                         () -> new UnsupportedBookingStateFilterException(state)
                 );
     }
+
+    private BookingCursor convertToCursor(final String cursor) {
+        return cursor.isEmpty() ? null : BookingCursor.decode(cursor);
+    }
+
+    // Counts cost an extra lookup per page, so they are only fetched when the client asks for them.
+    private ResponseEntity.BodyBuilder withTotalCount(final boolean count,
+            final Supplier<Map<BookingStatusFilter, Long>> counts, final BookingStatusFilter filter) {
+        final ResponseEntity.BodyBuilder builder = ResponseEntity.ok();
+        if (count) {
+            builder.header("X-Total-Count", String.valueOf(counts.get().get(filter)));
+        }
+        return builder;
+    }
+
+    private ResponseEntity<List<BookingRetrieveDto>> withNextCursor(final ResponseEntity.BodyBuilder builder,
+            final List<Booking> bookings, final int size) {
+        if (bookings.size() == size) {
+            builder.header("X-Next-Cursor", BookingCursor.of(bookings.getLast()).encode());
+        }
+        return builder.body(mapper.mapToDto(bookings));
+    }
 }
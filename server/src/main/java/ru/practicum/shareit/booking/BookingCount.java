@@ -0,0 +1,6 @@
+package ru.practicum.shareit.booking;
+
+// Both a stored counter and a change to apply to it, depending on where it is used
+record BookingCount(long userId, BookingRole role, BookingStatusFilter filter, long count) {
+
+}
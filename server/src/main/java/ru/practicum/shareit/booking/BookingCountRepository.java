@@ -0,0 +1,130 @@
+package ru.practicum.shareit.booking;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+
+// Counters are changed by deltas, so concurrent transactions need not see changes of each other. Rows are updated
+// in order of their keys, so such transactions cannot deadlock each other.
+@Repository
+@RequiredArgsConstructor
+class BookingCountRepository {
+
+    private static final String SELECT_COUNTS = "select user_id, role, status_filter, booking_count "
+            + "from booking_counts where user_id = ? and role = ?";
+    private static final String INSERT_COUNT = "insert into booking_counts (user_id, role, status_filter, "
+            + "booking_count) values (?, ?, ?, 0) on conflict do nothing";
+    private static final String UPDATE_COUNT = "update booking_counts set booking_count = booking_count + ? "
+            + "where user_id = ? and role = ? and status_filter = ?";
+    private static final String SET_COUNT = "update booking_counts set booking_count = ? "
+            + "where user_id = ? and role = ? and status_filter = ?";
+    private static final String INSERT_SET_COUNT = "insert into booking_counts (user_id, role, status_filter, "
+            + "booking_count) values (?, ?, ?, ?)";
+    private static final Comparator<BookingCount> KEY_ORDER = Comparator.comparingLong(BookingCount::userId)
+            .thenComparing(BookingCount::role)
+            .thenComparing(BookingCount::filter);
+
+    private final JdbcTemplate jdbcTemplate;
+
+    List<BookingCount> findAllByUserIdAndRole(final long userId, final BookingRole role) {
+        return jdbcTemplate.query(SELECT_COUNTS, (resultSet, rowNum) -> new BookingCount(
+                resultSet.getLong("user_id"),
+                BookingRole.valueOf(resultSet.getString("role")),
+                BookingStatusFilter.valueOf(resultSet.getString("status_filter")),
+                resultSet.getLong("booking_count")), userId, role.name());
+    }
+
+    void addAll(final List<BookingCount> deltas) {
+        final Map<BookingCount, Long> sums = new TreeMap<>(KEY_ORDER);
+        deltas.forEach(delta -> sums.merge(delta, delta.count(), Long::sum));
+        final List<BookingCount> sortedDeltas = sums.entrySet().stream()
+                .filter(sum -> sum.getValue() != 0L)
+                .map(sum -> new BookingCount(sum.getKey().userId(), sum.getKey().role(), sum.getKey().filter(),
+                        sum.getValue()))
+                .toList();
+        if (sortedDeltas.isEmpty()) {
+            return;
+        }
+        // A row inserted by a concurrent transaction is waited for, so once missing rows are inserted every key has
+        // a row which the deltas can be added to
+        insertMissing(sortedDeltas);
+        updateCounts(sortedDeltas);
+    }
+
+    // Every counter is locked until the end of transaction, so changes made by concurrent transactions either commit
+    // before it or wait and are added to the counts set afterward
+    void resetAll() {
+        jdbcTemplate.update("update booking_counts set booking_count = 0");
+    }
+
+    void setAll(final List<BookingCount> counts) {
+        final List<BookingCount> sortedCounts = counts.stream()
+                .sorted(KEY_ORDER)
+                .toList();
+        final int[][] updated = jdbcTemplate.batchUpdate(SET_COUNT, sortedCounts, sortedCounts.size(),
+                (statement, count) -> {
+                    statement.setLong(1, count.count());
+                    statement.setLong(2, count.userId());
+                    statement.setString(3, count.role().name());
+                    statement.setString(4, count.filter().name());
+                });
+        final List<BookingCount> missingCounts = new ArrayList<>();
+        int i = 0;
+        for (final int[] batch : updated) {
+            for (final int rows : batch) {
+                if (rows == 0) {
+                    missingCounts.add(sortedCounts.get(i));
+                }
+                i++;
+            }
+        }
+        jdbcTemplate.batchUpdate(INSERT_SET_COUNT, missingCounts, missingCounts.size(), (statement, count) -> {
+            statement.setLong(1, count.userId());
+            statement.setString(2, count.role().name());
+            statement.setString(3, count.filter().name());
+            statement.setLong(4, count.count());
+        });
+    }
+
+    private void insertMissing(final List<BookingCount> deltas) {
+        final Set<Long> userIds = deltas.stream()
+                .map(BookingCount::userId)
+                .collect(Collectors.toSet());
+        final Set<BookingCount> existingKeys = new HashSet<>(jdbcTemplate.query(
+                "select user_id, role, status_filter from booking_counts where user_id in ("
+                        + String.join(", ", Collections.nCopies(userIds.size(), "?")) + ")",
+                (resultSet, rowNum) -> new BookingCount(
+                        resultSet.getLong("user_id"),
+                        BookingRole.valueOf(resultSet.getString("role")),
+                        BookingStatusFilter.valueOf(resultSet.getString("status_filter")),
+                        0L), userIds.toArray()));
+        final List<BookingCount> missingKeys = deltas.stream()
+                .map(delta -> new BookingCount(delta.userId(), delta.role(), delta.filter(), 0L))
+                .filter(key -> !existingKeys.contains(key))
+                .toList();
+        jdbcTemplate.batchUpdate(INSERT_COUNT, missingKeys, missingKeys.size(), (statement, key) -> {
+            statement.setLong(1, key.userId());
+            statement.setString(2, key.role().name());
+            statement.setString(3, key.filter().name());
+        });
+    }
+
+    private void updateCounts(final List<BookingCount> deltas) {
+        jdbcTemplate.batchUpdate(UPDATE_COUNT, deltas, deltas.size(), (statement, delta) -> {
+            statement.setLong(1, delta.count());
+            statement.setLong(2, delta.userId());
+            statement.setString(3, delta.role().name());
+            statement.setString(4, delta.filter().name());
+        });
+    }
+}
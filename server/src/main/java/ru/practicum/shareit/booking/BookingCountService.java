@@ -0,0 +1,15 @@
+package ru.practicum.shareit.booking;
+
+import java.util.List;
+import java.util.Map;
+
+interface BookingCountService {
+
+    void countCreated(List<Booking> bookings);
+
+    void countVerdicts(List<Booking> bookings);
+
+    void countPhaseChanges(List<BookingPhaseChange> changes, Map<Long, Long> ownerIds, BookingPhase phase);
+
+    Map<BookingStatusFilter, Long> getCounts(long userId, BookingRole role);
+}
@@ -0,0 +1,105 @@
+package ru.practicum.shareit.booking;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+@Service
+@Transactional
+@RequiredArgsConstructor
+@Slf4j
+class BookingCountServiceImpl implements BookingCountService {
+
+    private final BookingCountRepository repository;
+
+    // Bookings should carry item owners
+    @Override
+    public void countCreated(final List<Booking> bookings) {
+        Objects.requireNonNull(bookings, "Cannot count created bookings: is null");
+        final List<BookingCount> deltas = new ArrayList<>();
+        for (final Booking booking : bookings) {
+            final long bookerId = booking.getBooker().getId();
+            final long ownerId = booking.getItem().getOwner().getId();
+            addDeltas(deltas, bookerId, ownerId, BookingStatusFilter.ALL, 1L);
+            addDeltas(deltas, bookerId, ownerId, toFilter(booking.getPhase()), 1L);
+            if (!BookingStatus.APPROVED.equals(booking.getStatus())) {
+                addDeltas(deltas, bookerId, ownerId, toFilter(booking.getStatus()), 1L);
+            }
+        }
+        repository.addAll(deltas);
+        log.debug("Counted {} created booking(s)", bookings.size());
+    }
+
+    // Bookings should carry item owners and statuses they were moved to from WAITING
+    @Override
+    public void countVerdicts(final List<Booking> bookings) {
+        Objects.requireNonNull(bookings, "Cannot count booking verdicts: is null");
+        final List<BookingCount> deltas = new ArrayList<>();
+        for (final Booking booking : bookings) {
+            final long bookerId = booking.getBooker().getId();
+            final long ownerId = booking.getItem().getOwner().getId();
+            addDeltas(deltas, bookerId, ownerId, BookingStatusFilter.WAITING, -1L);
+            if (BookingStatus.REJECTED.equals(booking.getStatus())) {
+                addDeltas(deltas, bookerId, ownerId, BookingStatusFilter.REJECTED, 1L);
+            }
+        }
+        repository.addAll(deltas);
+        log.debug("Counted {} booking verdict(s)", bookings.size());
+    }
+
+    @Override
+    public void countPhaseChanges(final List<BookingPhaseChange> changes, final Map<Long, Long> ownerIds,
+            final BookingPhase phase) {
+        Objects.requireNonNull(changes, "Cannot count booking phase changes: is null");
+        final List<BookingCount> deltas = new ArrayList<>();
+        for (final BookingPhaseChange change : changes) {
+            final long ownerId = ownerIds.get(change.itemId());
+            addDeltas(deltas, change.bookerId(), ownerId, toFilter(change.phase()), -1L);
+            addDeltas(deltas, change.bookerId(), ownerId, toFilter(phase), 1L);
+        }
+        repository.addAll(deltas);
+        log.debug("Counted {} booking(s) moved to phase {}", changes.size(), phase);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Map<BookingStatusFilter, Long> getCounts(final long userId, final BookingRole role) {
+        final Map<BookingStatusFilter, Long> counts = new EnumMap<>(BookingStatusFilter.class);
+        for (final BookingStatusFilter filter : BookingStatusFilter.values()) {
+            counts.put(filter, 0L);
+        }
+        repository.findAllByUserIdAndRole(userId, role).forEach(count -> counts.put(count.filter(), count.count()));
+        return counts;
+    }
+
+    private static void addDeltas(final List<BookingCount> deltas, final long bookerId, final long ownerId,
+            final BookingStatusFilter filter, final long delta) {
+        deltas.add(new BookingCount(bookerId, BookingRole.BOOKER, filter, delta));
+        deltas.add(new BookingCount(ownerId, BookingRole.OWNER, filter, delta));
+    }
+
+    private static BookingStatusFilter toFilter(final BookingPhase phase) {
+        return switch (phase) {
+            case FUTURE -> BookingStatusFilter.FUTURE;
+            case CURRENT -> BookingStatusFilter.CURRENT;
+            case PAST -> BookingStatusFilter.PAST;
+            case null -> throw new AssertionError();
+        };
+    }
+
+    private static BookingStatusFilter toFilter(final BookingStatus status) {
+        return switch (status) {
+            case WAITING -> BookingStatusFilter.WAITING;
+            case REJECTED -> BookingStatusFilter.REJECTED;
+            case APPROVED -> throw new IllegalArgumentException("Approved bookings are not counted by status");
+            case null -> throw new AssertionError();
+        };
+    }
+}
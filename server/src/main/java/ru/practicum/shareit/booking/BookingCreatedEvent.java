@@ -0,0 +1,5 @@
+package ru.practicum.shareit.booking;
+
+record BookingCreatedEvent(long ownerId, Booking booking) {
+
+}
@@ -0,0 +1,38 @@
+package ru.practicum.shareit.booking;
+
+import ru.practicum.shareit.common.exception.ValidationException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.Objects;
+
+record BookingCursor(LocalDateTime start, long id) {
+
+    private static final String SEPARATOR = "|";
+
+    BookingCursor {
+        Objects.requireNonNull(start, "Cannot create booking cursor: start is null");
+    }
+
+    static BookingCursor of(final Booking booking) {
+        return new BookingCursor(booking.getStart(), booking.getId());
+    }
+
+    static BookingCursor decode(final String cursor) {
+        try {
+            final String value = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            final int separatorIndex = value.lastIndexOf(SEPARATOR);
+            return new BookingCursor(LocalDateTime.parse(value.substring(0, separatorIndex)),
+                    Long.parseLong(value.substring(separatorIndex + 1)));
+        } catch (IllegalArgumentException | IndexOutOfBoundsException | DateTimeParseException e) {
+            throw new ValidationException("cursor", "malformed value");
+        }
+    }
+
+    String encode() {
+        final String value = start + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(value.getBytes(StandardCharsets.UTF_8));
+    }
+}
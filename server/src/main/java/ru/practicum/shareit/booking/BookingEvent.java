@@ -0,0 +1,9 @@
+package ru.practicum.shareit.booking;
+
+import java.time.LocalDateTime;
+
+// State of a booking after it was created or changed
+record BookingEvent(long bookingId, long itemId, long bookerId, long ownerId, BookingStatus status,
+        LocalDateTime start, LocalDateTime end, LocalDateTime occurred) {
+
+}
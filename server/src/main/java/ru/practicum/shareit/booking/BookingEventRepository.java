@@ -0,0 +1,94 @@
+package ru.practicum.shareit.booking;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+@RequiredArgsConstructor
+class BookingEventRepository {
+
+    private static final String INSERT_EVENT = "insert into booking_events (booking_id, item_id, booker_id, owner_id, "
+            + "status, booking_start, booking_end, occurred) values (?, ?, ?, ?, ?, ?, ?, ?)";
+    private static final String LATEST_EVENT = "not exists (select 1 from booking_events l "
+            + "where l.booking_id = e.booking_id and l.id > e.id)";
+    private static final String PROJECT_COUNTS = """
+            with latest as (
+              select e.booker_id, e.owner_id, e.status,
+                     case when e.booking_end <= ? then 'PAST' when e.booking_start > ? then 'FUTURE'
+                          else 'CURRENT' end as phase
+              from booking_events e
+              where %s)
+            select booker_id as user_id, 'BOOKER' as role, 'ALL' as status_filter, count(*) as booking_count
+            from latest group by booker_id
+            union all
+            select booker_id, 'BOOKER', phase, count(*) from latest group by booker_id, phase
+            union all
+            select booker_id, 'BOOKER', status, count(*) from latest where status in ('WAITING', 'REJECTED')
+            group by booker_id, status
+            union all
+            select owner_id, 'OWNER', 'ALL', count(*) from latest group by owner_id
+            union all
+            select owner_id, 'OWNER', phase, count(*) from latest group by owner_id, phase
+            union all
+            select owner_id, 'OWNER', status, count(*) from latest where status in ('WAITING', 'REJECTED')
+            group by owner_id, status
+            """.formatted(LATEST_EVENT);
+    private static final String LOCK_SUMMARIES = "select item_id from item_booking_summary for update";
+    private static final String INSERT_MISSING_SUMMARIES = """
+            insert into item_booking_summary (item_id)
+            select i.id from items i
+            where exists (select 1 from booking_events e where e.item_id = i.id)
+              and not exists (select 1 from item_booking_summary s where s.item_id = i.id)
+            """;
+    // Last booking may be already archived only if the summary was broken, and then it cannot be referenced
+    private static final String PROJECT_SUMMARIES = """
+            update item_booking_summary s
+            set last_booking_id = (select e.booking_id from booking_events e
+                                   where e.item_id = s.item_id and e.booking_start <= ? and e.status = 'APPROVED'
+                                     and %1$s and exists (select 1 from bookings b where b.id = e.booking_id)
+                                   order by e.booking_start desc, e.booking_id desc limit 1),
+                next_booking_id = (select e.booking_id from booking_events e
+                                   where e.item_id = s.item_id and e.booking_start > ? and e.status = 'APPROVED'
+                                     and %1$s
+                                   order by e.booking_start, e.booking_id limit 1),
+                next_booking_start = (select min(e.booking_start) from booking_events e
+                                      where e.item_id = s.item_id and e.booking_start > ?
+                                        and e.status = 'APPROVED' and %1$s)
+            """.formatted(LATEST_EVENT);
+
+    private final JdbcTemplate jdbcTemplate;
+
+    void appendAll(final List<BookingEvent> events) {
+        jdbcTemplate.batchUpdate(INSERT_EVENT, events, events.size(), (statement, event) -> {
+            statement.setLong(1, event.bookingId());
+            statement.setLong(2, event.itemId());
+            statement.setLong(3, event.bookerId());
+            statement.setLong(4, event.ownerId());
+            statement.setString(5, event.status().name());
+            statement.setObject(6, event.start());
+            statement.setObject(7, event.end());
+            statement.setObject(8, event.occurred());
+        });
+    }
+
+    // Counts bookings by their latest events and phases they are in now
+    List<BookingCount> projectBookingCounts(final LocalDateTime now) {
+        return jdbcTemplate.query(PROJECT_COUNTS, (resultSet, rowNum) -> new BookingCount(
+                resultSet.getLong("user_id"),
+                BookingRole.valueOf(resultSet.getString("role")),
+                BookingStatusFilter.valueOf(resultSet.getString("status_filter")),
+                resultSet.getLong("booking_count")), now, now);
+    }
+
+    // Summary rows are locked before they are projected, so a concurrent change to bookings of an item either commits
+    // first and is projected or waits and is applied on top of the projection
+    int projectItemBookingSummaries(final LocalDateTime now) {
+        jdbcTemplate.queryForList(LOCK_SUMMARIES, Long.class);
+        jdbcTemplate.update(INSERT_MISSING_SUMMARIES);
+        return jdbcTemplate.update(PROJECT_SUMMARIES, now, now, now);
+    }
+}
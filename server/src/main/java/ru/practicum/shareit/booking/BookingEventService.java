@@ -0,0 +1,8 @@
+package ru.practicum.shareit.booking;
+
+import java.util.List;
+
+interface BookingEventService {
+
+    void recordAll(List<Booking> bookings);
+}
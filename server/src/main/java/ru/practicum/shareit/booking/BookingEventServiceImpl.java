@@ -0,0 +1,38 @@
+package ru.practicum.shareit.booking;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Objects;
+
+// Events are appended in the transaction that changes bookings, so the log never misses or invents a change
+@Service
+@Transactional(propagation = Propagation.MANDATORY)
+@RequiredArgsConstructor
+@Slf4j
+class BookingEventServiceImpl implements BookingEventService {
+
+    private final BookingEventRepository repository;
+
+    // Bookings should carry item owners
+    @Override
+    public void recordAll(final List<Booking> bookings) {
+        Objects.requireNonNull(bookings, "Cannot record booking events: bookings is null");
+        if (bookings.isEmpty()) {
+            return;
+        }
+        final LocalDateTime now = LocalDateTime.now();
+        final List<BookingEvent> events = bookings.stream()
+                .map(booking -> new BookingEvent(booking.getId(), booking.getItem().getId(),
+                        booking.getBooker().getId(), booking.getItem().getOwner().getId(), booking.getStatus(),
+                        booking.getStart(), booking.getEnd(), now))
+                .toList();
+        repository.appendAll(events);
+        log.debug("Recorded {} booking event(s)", events.size());
+    }
+}
@@ -0,0 +1,93 @@
+package ru.practicum.shareit.booking;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import ru.practicum.shareit.common.exception.ActionNotAllowedException;
+import ru.practicum.shareit.item.ItemService;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+// Open event streams of item owners. Bookings are pushed to streams of the item owner once the transaction that
+// created them commits. Periodic comments keep idle streams open behind proxies and reveal disconnected clients.
+@Component
+@Slf4j
+class BookingInbox {
+
+    private final ItemService itemService;
+    private final BookingMapper mapper;
+    private final long timeout;
+    private final ConcurrentMap<Long, Set<SseEmitter>> emitters = new ConcurrentHashMap<>();
+
+    BookingInbox(
+            final ItemService itemService,
+            final BookingMapper mapper,
+            @Value("${shareit.booking-inbox.timeout:30m}") final Duration timeout
+    ) {
+        this.itemService = itemService;
+        this.mapper = mapper;
+        this.timeout = timeout.toMillis();
+    }
+
+    SseEmitter subscribe(final long ownerId) {
+        if (!itemService.existByOwnerId(ownerId)) {
+            throw new ActionNotAllowedException("You should owe items to get related bookings");
+        }
+        final SseEmitter emitter = new SseEmitter(timeout);
+        emitter.onCompletion(() -> remove(ownerId, emitter));
+        emitter.onTimeout(emitter::complete);
+        emitter.onError(error -> remove(ownerId, emitter));
+        // Response headers are only sent with the first event, so send one at once for clients to see the stream open
+        send(ownerId, emitter, SseEmitter.event().comment("subscribed"));
+        emitters.compute(ownerId, (id, ownerEmitters) -> {
+            final Set<SseEmitter> updated = ownerEmitters != null ? ownerEmitters : ConcurrentHashMap.newKeySet();
+            updated.add(emitter);
+            return updated;
+        });
+        log.info("Opened booking inbox of user id = {}", ownerId);
+        return emitter;
+    }
+
+    @TransactionalEventListener
+    void onBookingCreated(final BookingCreatedEvent event) {
+        final Set<SseEmitter> ownerEmitters = emitters.get(event.ownerId());
+        if (ownerEmitters == null) {
+            return;
+        }
+        final BookingRetrieveDto dto = mapper.mapToDto(event.booking());
+        ownerEmitters.forEach(emitter -> send(event.ownerId(), emitter, SseEmitter.event()
+                .id(String.valueOf(dto.getId()))
+                .name("booking")
+                .data(dto, MediaType.APPLICATION_JSON)));
+    }
+
+    @Scheduled(fixedDelayString = "${shareit.booking-inbox.heartbeat-delay:15000}")
+    void sendHeartbeats() {
+        emitters.forEach((ownerId, ownerEmitters) -> ownerEmitters.forEach(
+                emitter -> send(ownerId, emitter, SseEmitter.event().comment("heartbeat"))));
+    }
+
+    private void send(final long ownerId, final SseEmitter emitter, final SseEmitter.SseEventBuilder event) {
+        try {
+            emitter.send(event);
+        } catch (IOException | IllegalStateException e) {
+            remove(ownerId, emitter);
+            log.debug("Dropped booking inbox of user id = {}: {}", ownerId, e.getMessage());
+        }
+    }
+
+    private void remove(final long ownerId, final SseEmitter emitter) {
+        emitters.computeIfPresent(ownerId, (id, ownerEmitters) -> {
+            ownerEmitters.remove(emitter);
+            return ownerEmitters.isEmpty() ? null : ownerEmitters;
+        });
+    }
+}
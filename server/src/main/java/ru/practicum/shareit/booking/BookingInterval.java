@@ -0,0 +1,7 @@
+package ru.practicum.shareit.booking;
+
+import java.time.LocalDateTime;
+
+public record BookingInterval(LocalDateTime start, LocalDateTime end) {
+
+}
@@ -0,0 +1,130 @@
+package ru.practicum.shareit.booking;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+// Approved bookings of recently checked items as [start, end) intervals sorted by start. Approved bookings never
+// change later, so an index that missed a booking approved elsewhere can only report a taken slot as free: approval
+// rechecks under lock and the database constraint has the final word. An item is evicted after an approval commits
+// rather than patched: a load running at the same time may have read intervals before the commit, and eviction waits
+// for such a load and drops its result, so the next check reads the approved booking.
+@Component
+class BookingIntervalIndex {
+
+    private final BookingRepository repository;
+    private final Cache<Long, ItemIntervals> intervals;
+
+    BookingIntervalIndex(
+            final BookingRepository repository,
+            @Value("${shareit.booking-interval-index.maximum-size:10000}") final long maximumSize,
+            @Value("${shareit.booking-interval-index.time-to-live:10m}") final Duration timeToLive
+    ) {
+        this.repository = repository;
+        this.intervals = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(timeToLive)
+                .build();
+    }
+
+    boolean isFree(final long itemId, final LocalDateTime start, final LocalDateTime end) {
+        return !intervals.get(itemId, this::load).overlaps(start, end);
+    }
+
+    List<BookingInterval> getFreeIntervals(final long itemId, final LocalDateTime from, final LocalDateTime to) {
+        return intervals.get(itemId, this::load).gaps(from, to);
+    }
+
+    void evictAfterCommit(final long itemId) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            intervals.invalidate(itemId);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                intervals.invalidate(itemId);
+            }
+        });
+    }
+
+    private ItemIntervals load(final long itemId) {
+        return new ItemIntervals(repository.findApprovedIntervalsByItemId(itemId, LocalDateTime.now()));
+    }
+
+    static final class ItemIntervals {
+
+        private final LocalDateTime[] starts;
+        private final LocalDateTime[] ends;
+        // Latest end among intervals up to the index: keeps lookup correct if stored intervals overlap
+        private final LocalDateTime[] maxEnds;
+
+        ItemIntervals(final List<BookingInterval> intervals) {
+            final int size = intervals.size();
+            starts = new LocalDateTime[size];
+            ends = new LocalDateTime[size];
+            maxEnds = new LocalDateTime[size];
+            for (int i = 0; i < size; i++) {
+                starts[i] = intervals.get(i).start();
+                ends[i] = intervals.get(i).end();
+                maxEnds[i] = i == 0 || ends[i].isAfter(maxEnds[i - 1]) ? ends[i] : maxEnds[i - 1];
+            }
+        }
+
+        boolean overlaps(final LocalDateTime start, final LocalDateTime end) {
+            final int last = lastStartingBefore(end);
+            return last >= 0 && maxEnds[last].isAfter(start);
+        }
+
+        // Walks only intervals that start inside [from, to): those starting earlier are covered by their maxEnd
+        List<BookingInterval> gaps(final LocalDateTime from, final LocalDateTime to) {
+            final List<BookingInterval> gaps = new ArrayList<>();
+            final int first = lastStartingBefore(from);
+            LocalDateTime cursor = first >= 0 && maxEnds[first].isAfter(from) ? maxEnds[first] : from;
+            for (int i = first + 1; i < starts.length && starts[i].isBefore(to); i++) {
+                if (starts[i].isAfter(cursor)) {
+                    gaps.add(new BookingInterval(cursor, starts[i]));
+                }
+                if (ends[i].isAfter(cursor)) {
+                    cursor = ends[i];
+                }
+            }
+            if (cursor.isBefore(to)) {
+                gaps.add(new BookingInterval(cursor, to));
+            }
+            return gaps;
+        }
+
+        ItemIntervals with(final LocalDateTime start, final LocalDateTime end) {
+            final BookingInterval[] updated = new BookingInterval[starts.length + 1];
+            final int position = lastStartingBefore(start) + 1;
+            for (int i = 0; i < starts.length; i++) {
+                updated[i < position ? i : i + 1] = new BookingInterval(starts[i], ends[i]);
+            }
+            updated[position] = new BookingInterval(start, end);
+            return new ItemIntervals(Arrays.asList(updated));
+        }
+
+        // Index of the last interval that starts before the moment or -1 if there is none
+        private int lastStartingBefore(final LocalDateTime moment) {
+            final int index = Arrays.binarySearch(starts, moment);
+            if (index < 0) {
+                return -index - 2;
+            }
+            int last = index;
+            while (last >= 0 && !starts[last].isBefore(moment)) {
+                last--;
+            }
+            return last;
+        }
+    }
+}
@@ -13,6 +13,18 @@ interface BookingMapper {
     @Mapping(target = "status", expression = "java(BookingStatus.WAITING)")
     Booking mapToBooking(BookingCreateDto dto, Long userId);
 
+    default List<Booking> mapToBookings(BookingBatchCreateDto dto, Long userId) {
+        return dto.getBookings().stream()
+                .map(booking -> mapToBooking(booking, userId))
+                .toList();
+    }
+
+    default List<BookingVerdict> mapToVerdicts(BookingVerdictBatchDto dto) {
+        return dto.getVerdicts().stream()
+                .map(verdict -> new BookingVerdict(verdict.getId(), verdict.getApproved()))
+                .toList();
+    }
+
     BookingRetrieveDto mapToDto(Booking booking);
 
     List<BookingRetrieveDto> mapToDto(List<Booking> bookings);
@@ -0,0 +1,16 @@
+package ru.practicum.shareit.booking;
+
+import java.time.LocalDateTime;
+
+enum BookingPhase {
+    FUTURE,
+    CURRENT,
+    PAST;
+
+    static BookingPhase at(final LocalDateTime start, final LocalDateTime end, final LocalDateTime now) {
+        if (!end.isAfter(now)) {
+            return PAST;
+        }
+        return start.isAfter(now) ? FUTURE : CURRENT;
+    }
+}
@@ -0,0 +1,5 @@
+package ru.practicum.shareit.booking;
+
+record BookingPhaseChange(long id, long bookerId, long itemId, BookingPhase phase) {
+
+}
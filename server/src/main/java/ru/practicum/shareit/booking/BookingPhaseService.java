@@ -0,0 +1,6 @@
+package ru.practicum.shareit.booking;
+
+interface BookingPhaseService {
+
+    void rollOverPhases();
+}
@@ -0,0 +1,49 @@
+package ru.practicum.shareit.booking;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+@Service
+@Transactional
+@RequiredArgsConstructor
+@Slf4j
+class BookingPhaseServiceImpl implements BookingPhaseService {
+
+    private final BookingRepository repository;
+    private final BookingCountService bookingCountService;
+
+    // Bookings are locked before their phases are changed: a concurrent roll-over waits and then skips them, so
+    // booking counts move every booking once
+    @Override
+    @Scheduled(fixedDelayString = "${shareit.booking-phase.roll-over-delay:1000}")
+    public void rollOverPhases() {
+        final LocalDateTime now = LocalDateTime.now();
+        final List<BookingPhaseChange> ended = repository.findAllEndedForUpdate(now);
+        if (!ended.isEmpty()) {
+            repository.updatePhase(ended.stream().map(BookingPhaseChange::id).toList(), BookingPhase.PAST);
+        }
+        final List<BookingPhaseChange> started = repository.findAllStartedForUpdate(now);
+        if (!started.isEmpty()) {
+            repository.updatePhase(started.stream().map(BookingPhaseChange::id).toList(), BookingPhase.CURRENT);
+        }
+        if (ended.isEmpty() && started.isEmpty()) {
+            return;
+        }
+        final Map<Long, Long> ownerIds = repository.findItemOwners(Stream.concat(ended.stream(), started.stream())
+                        .map(BookingPhaseChange::itemId)
+                        .collect(Collectors.toSet())).stream()
+                .collect(Collectors.toMap(ItemOwner::itemId, ItemOwner::ownerId));
+        bookingCountService.countPhaseChanges(ended, ownerIds, BookingPhase.PAST);
+        bookingCountService.countPhaseChanges(started, ownerIds, BookingPhase.CURRENT);
+        log.info("Rolled over phases of {} started and {} ended booking(s)", started.size(), ended.size());
+    }
+}
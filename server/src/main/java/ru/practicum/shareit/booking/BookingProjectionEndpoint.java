@@ -0,0 +1,21 @@
+package ru.practicum.shareit.booking;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.stereotype.Component;
+
+// POST /actuator/bookingprojections rebuilds booking counts and item booking summaries from booking events
+@Component
+@Endpoint(id = "bookingprojections")
+@RequiredArgsConstructor
+class BookingProjectionEndpoint {
+
+    private final BookingProjector projector;
+
+    @WriteOperation
+    public void rebuild() {
+        projector.rebuildBookingCounts();
+        projector.rebuildItemBookingSummaries();
+    }
+}
@@ -0,0 +1,8 @@
+package ru.practicum.shareit.booking;
+
+interface BookingProjector {
+
+    void rebuildBookingCounts();
+
+    void rebuildItemBookingSummaries();
+}
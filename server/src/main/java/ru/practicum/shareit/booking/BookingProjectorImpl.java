@@ -0,0 +1,56 @@
+package ru.practicum.shareit.booking;
+
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import ru.practicum.shareit.item.Item;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+// Rebuilds read models from booking_events alone, so they can be repaired or backfilled without reading bookings and
+// archived_bookings. Both read models are kept up to date by booking changes themselves, so rebuilds are run on
+// demand only.
+@Service
+@Transactional
+@RequiredArgsConstructor
+@Slf4j
+class BookingProjectorImpl implements BookingProjector {
+
+    private final BookingEventRepository repository;
+    private final BookingCountRepository countRepository;
+    private final EntityManagerFactory entityManagerFactory;
+
+    @Override
+    public void rebuildBookingCounts() {
+        countRepository.resetAll();
+        final List<BookingCount> counts = repository.projectBookingCounts(LocalDateTime.now());
+        countRepository.setAll(counts);
+        log.info("Rebuilt {} booking count(s) from booking events", counts.size());
+    }
+
+    @Override
+    public void rebuildItemBookingSummaries() {
+        final int summaries = repository.projectItemBookingSummaries(LocalDateTime.now());
+        evictItemsAfterCommit();
+        log.info("Rebuilt booking summaries of {} item(s) from booking events", summaries);
+    }
+
+    // Cached items hold last and next booking ids read from item_booking_summary
+    private void evictItemsAfterCommit() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            entityManagerFactory.getCache().evict(Item.class);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                entityManagerFactory.getCache().evict(Item.class);
+            }
+        });
+    }
+}
@@ -1,18 +1,27 @@
 package ru.practicum.shareit.booking;
 
+import jakarta.persistence.LockModeType;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
-interface BookingRepository extends JpaRepository<Booking, Long> {
+interface BookingRepository extends JpaRepository<Booking, Long>, BookingBatchRepository {
 
     @Query("select b from Booking b join fetch b.booker join fetch b.item join fetch b.item.owner where b.id = :id")
     Optional<Booking> findByIdWithBookerAndItemOwner(@Param("id") long id);
 
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select b from Booking b join fetch b.booker join fetch b.item join fetch b.item.owner where b.id = :id")
+    Optional<Booking> findByIdWithBookerAndItemOwnerForUpdate(@Param("id") long id);
+
     @Query("select b from Booking b join fetch b.booker join fetch b.item join b.item.owner where b.id = :id and "
             + "(b.booker.id = :userId or b.item.owner.id = :userId)")
     Optional<Booking> findByIdAndBookerIdOrItemOwnerId(@Param("id") long id, @Param("userId") long userId);
@@ -21,45 +30,126 @@ interface BookingRepository extends JpaRepository<Booking, Long> {
     List<Booking> findAllByBookerId(@Param("userId") long userId, Pageable page);
 
     @Query("select b from Booking b join fetch b.booker join fetch b.item where b.booker.id = :userId "
-            + "and b.start <= current_timestamp and b.end > current_timestamp")
-    List<Booking> findCurrentByBookerId(@Param("userId") long userId, Pageable page);
-
-    @Query("select b from Booking b join fetch b.booker join fetch b.item where b.booker.id = :userId "
-            + "and b.end <= current_timestamp")
-    List<Booking> findPastByBookerId(@Param("userId") long userId, Pageable page);
-
-    @Query("select b from Booking b join fetch b.booker join fetch b.item where b.booker.id = :userId "
-            + "and b.start > current_timestamp")
-    List<Booking> findFutureByBookerId(@Param("userId") long userId, Pageable page);
+            + "and b.phase = :phase")
+    List<Booking> findAllByBookerIdAndPhase(@Param("userId") long userId, @Param("phase") BookingPhase phase,
+            Pageable page);
 
     @Query("select b from Booking b join fetch b.booker join fetch b.item where b.booker.id = :userId "
             + "and b.status = :status")
     List<Booking> findAllByBookerIdAndStatus(@Param("userId") long userId, @Param("status") BookingStatus status,
             Pageable page);
 
-    @Query("select b from Booking b join fetch b.booker join fetch b.item join b.item.owner "
-            + "where b.item.owner.id = :userId")
+    @Query("select b from Booking b join fetch b.booker join fetch b.item where b.ownerId = :userId")
     List<Booking> findAllByItemOwnerId(@Param("userId") long userId, Pageable page);
 
-    @Query("select b from Booking b join fetch b.booker join fetch b.item join b.item.owner "
-            + "where b.item.owner.id = :userId and b.start <= current_timestamp and b.end > current_timestamp")
-    List<Booking> findCurrentByItemOwnerId(@Param("userId") long userId, Pageable page);
-
-    @Query("select b from Booking b join fetch b.booker join fetch b.item join b.item.owner "
-            + "where b.item.owner.id = :userId and b.end <= current_timestamp")
-    List<Booking> findPastByItemOwnerId(@Param("userId") long userId, Pageable page);
-
-    @Query("select b from Booking b join fetch b.booker join fetch b.item join b.item.owner "
-            + "where b.item.owner.id = :userId and b.start > current_timestamp")
-    List<Booking> findFutureByItemOwnerId(@Param("userId") long userId, Pageable page);
+    @Query("select b from Booking b join fetch b.booker join fetch b.item where b.ownerId = :userId "
+            + "and b.phase = :phase")
+    List<Booking> findAllByItemOwnerIdAndPhase(@Param("userId") long userId, @Param("phase") BookingPhase phase,
+            Pageable page);
 
-    @Query("select b from Booking b join fetch b.booker join fetch b.item join b.item.owner "
-            + "where b.item.owner.id = :userId and b.status = :status")
+    @Query("select b from Booking b join fetch b.booker join fetch b.item where b.ownerId = :userId "
+            + "and b.status = :status")
     List<Booking> findAllByItemOwnerIdAndStatus(@Param("userId") long userId, @Param("status") BookingStatus status,
             Pageable page);
 
+    @Query("select b from Booking b join fetch b.booker join fetch b.item where b.booker.id = :userId "
+            + "and (b.start < :cursorStart or (b.start = :cursorStart and b.id < :cursorId))")
+    List<Booking> findAllByBookerIdAfterCursor(@Param("userId") long userId,
+            @Param("cursorStart") LocalDateTime cursorStart, @Param("cursorId") long cursorId, Pageable page);
+
+    @Query("select b from Booking b join fetch b.booker join fetch b.item where b.booker.id = :userId "
+            + "and b.phase = :phase "
+            + "and (b.start < :cursorStart or (b.start = :cursorStart and b.id < :cursorId))")
+    List<Booking> findAllByBookerIdAndPhaseAfterCursor(@Param("userId") long userId,
+            @Param("phase") BookingPhase phase, @Param("cursorStart") LocalDateTime cursorStart,
+            @Param("cursorId") long cursorId, Pageable page);
+
+    @Query("select b from Booking b join fetch b.booker join fetch b.item where b.booker.id = :userId "
+            + "and b.status = :status "
+            + "and (b.start < :cursorStart or (b.start = :cursorStart and b.id < :cursorId))")
+    List<Booking> findAllByBookerIdAndStatusAfterCursor(@Param("userId") long userId,
+            @Param("status") BookingStatus status, @Param("cursorStart") LocalDateTime cursorStart,
+            @Param("cursorId") long cursorId, Pageable page);
+
+    @Query("select b from Booking b join fetch b.booker join fetch b.item where b.ownerId = :userId "
+            + "and (b.start < :cursorStart or (b.start = :cursorStart and b.id < :cursorId))")
+    List<Booking> findAllByItemOwnerIdAfterCursor(@Param("userId") long userId,
+            @Param("cursorStart") LocalDateTime cursorStart, @Param("cursorId") long cursorId, Pageable page);
+
+    @Query("select b from Booking b join fetch b.booker join fetch b.item where b.ownerId = :userId "
+            + "and b.phase = :phase "
+            + "and (b.start < :cursorStart or (b.start = :cursorStart and b.id < :cursorId))")
+    List<Booking> findAllByItemOwnerIdAndPhaseAfterCursor(@Param("userId") long userId,
+            @Param("phase") BookingPhase phase, @Param("cursorStart") LocalDateTime cursorStart,
+            @Param("cursorId") long cursorId, Pageable page);
+
+    @Query("select b from Booking b join fetch b.booker join fetch b.item where b.ownerId = :userId "
+            + "and b.status = :status "
+            + "and (b.start < :cursorStart or (b.start = :cursorStart and b.id < :cursorId))")
+    List<Booking> findAllByItemOwnerIdAndStatusAfterCursor(@Param("userId") long userId,
+            @Param("status") BookingStatus status, @Param("cursorStart") LocalDateTime cursorStart,
+            @Param("cursorId") long cursorId, Pageable page);
+
     @Query("select b from Booking b join fetch b.booker join fetch b.item i left join fetch i.comments"
             + " where b.booker.id = :userId and b.item.id = :itemId and b.status = 'APPROVED'"
             + " and b.end <= current_timestamp")
     List<Booking> findAllCompleteBookingByBookerIdAndItemId(@Param("userId") long userId, @Param("itemId") long itemId);
+
+    @Query("select new ru.practicum.shareit.booking.BookingInterval(b.start, b.end) from Booking b "
+            + "where b.item.id = :itemId and b.status = 'APPROVED' and b.end > :now order by b.start")
+    List<BookingInterval> findApprovedIntervalsByItemId(@Param("itemId") long itemId,
+            @Param("now") LocalDateTime now);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select b from Booking b join fetch b.booker join fetch b.item where b.id in :ids "
+            + "and b.item.owner.id = :userId")
+    List<Booking> findAllByIdAndItemOwnerIdForUpdate(@Param("ids") Collection<Long> ids,
+            @Param("userId") long userId);
+
+    // Persistence context is cleared afterwards: bookings loaded before would keep the old status otherwise
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update Booking b set b.status = :status, b.version = b.version + 1 where b.id in :ids "
+            + "and b.status = 'WAITING' "
+            + "and b.item.id in (select i.id from Item i where i.owner.id = :userId)")
+    int updateWaitingStatus(@Param("ids") Collection<Long> ids, @Param("status") BookingStatus status,
+            @Param("userId") long userId);
+
+    @Query("select count(b) > 0 from Booking b where b.item.id = :itemId and b.status = 'APPROVED' "
+            + "and b.start < :end and b.end > :start")
+    boolean existsApprovedOverlapping(@Param("itemId") long itemId, @Param("start") LocalDateTime start,
+            @Param("end") LocalDateTime end);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select new ru.practicum.shareit.booking.BookingPhaseChange(b.id, b.booker.id, b.item.id, b.phase) "
+            + "from Booking b where b.phase in ('FUTURE', 'CURRENT') and b.end <= :now")
+    List<BookingPhaseChange> findAllEndedForUpdate(@Param("now") LocalDateTime now);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select new ru.practicum.shareit.booking.BookingPhaseChange(b.id, b.booker.id, b.item.id, b.phase) "
+            + "from Booking b where b.phase = 'FUTURE' and b.start <= :now")
+    List<BookingPhaseChange> findAllStartedForUpdate(@Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query("update Booking b set b.phase = :phase where b.id in :ids")
+    int updatePhase(@Param("ids") Collection<Long> ids, @Param("phase") BookingPhase phase);
+
+    // Last and next bookings of items stay: item_booking_summary refers to them
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select b.id from Booking b where b.phase = 'PAST' "
+            + "and (b.status = 'APPROVED' and b.end < :approvedEndedBefore "
+            + "or b.status = 'REJECTED' and b.end < :rejectedEndedBefore) "
+            + "and not exists (select s from ItemBookingSummary s where s.lastBooking = b) "
+            + "and not exists (select s from ItemBookingSummary s where s.nextBooking = b) "
+            + "order by b.end")
+    List<Long> findAllToArchiveForUpdate(@Param("approvedEndedBefore") LocalDateTime approvedEndedBefore,
+            @Param("rejectedEndedBefore") LocalDateTime rejectedEndedBefore, Pageable page);
+
+    @Query("select new ru.practicum.shareit.booking.ItemOwner(i.id, i.owner.id) from Item i where i.id in :itemIds")
+    List<ItemOwner> findItemOwners(@Param("itemIds") Collection<Long> itemIds);
+
+    Optional<Booking> findFirstByItemIdAndStatusAndStartLessThanEqualOrderByStartDescIdDesc(long itemId,
+            BookingStatus status, LocalDateTime start);
+
+    Optional<Booking> findFirstByItemIdAndStatusAndStartAfterOrderByStartAscIdAsc(long itemId, BookingStatus status,
+            LocalDateTime start);
 }
@@ -0,0 +1,6 @@
+package ru.practicum.shareit.booking;
+
+enum BookingRole {
+    BOOKER,
+    OWNER
+}
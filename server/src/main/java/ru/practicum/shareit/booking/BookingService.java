@@ -2,19 +2,35 @@ package ru.practicum.shareit.booking;
 
 import jakarta.validation.Valid;
 
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
 
 public interface BookingService {
 
     Booking createBooking(@Valid Booking booking);
 
+    List<Booking> createBookings(List<@Valid Booking> bookings);
+
     Booking getBooking(long id, long userId);
 
     List<Booking> getUserBookings(long userId, BookingStatusFilter filter, int from, int size);
 
+    List<Booking> getUserBookings(long userId, BookingStatusFilter filter, BookingCursor cursor, int size);
+
     List<Booking> getOwnerBookings(long userId, BookingStatusFilter filter, int from, int size);
 
+    List<Booking> getOwnerBookings(long userId, BookingStatusFilter filter, BookingCursor cursor, int size);
+
+    Map<BookingStatusFilter, Long> getUserBookingCounts(long userId);
+
+    Map<BookingStatusFilter, Long> getOwnerBookingCounts(long userId);
+
     List<Booking> findAllCompleteBookingByUserIdAndItemId(long userId, long itemId);
 
+    List<BookingInterval> getFreeIntervals(long itemId, LocalDateTime from, LocalDateTime to);
+
     Booking applyBookingVerdict(long id, boolean isApproved, long userId);
+
+    List<BookingVerdictResult> applyBookingVerdicts(List<BookingVerdict> verdicts, long userId);
 }
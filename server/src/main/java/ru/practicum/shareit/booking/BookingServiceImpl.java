@@ -2,6 +2,7 @@ package ru.practicum.shareit.booking;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
@@ -9,14 +10,28 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.validation.annotation.Validated;
 import ru.practicum.shareit.common.exception.ActionNotAllowedException;
+import ru.practicum.shareit.common.exception.ConflictException;
 import ru.practicum.shareit.common.exception.NotFoundException;
 import ru.practicum.shareit.common.exception.ValidationException;
 import ru.practicum.shareit.item.Item;
 import ru.practicum.shareit.item.ItemService;
 import ru.practicum.shareit.user.UserService;
 
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumSet;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 @Validated
@@ -25,99 +40,451 @@ import java.util.Objects;
 @Slf4j
 class BookingServiceImpl implements BookingService {
 
+    private static final String ALREADY_BOOKED = "Item is already booked for this time";
+    private static final Sort KEYSET_SORT = Sort.by(Sort.Direction.DESC, "start", "id");
+    private static final Comparator<Booking> NEWEST_FIRST = Comparator.comparing(Booking::getStart)
+            .thenComparing(Booking::getId)
+            .reversed();
+    // Only ended approved and rejected bookings get archived
+    private static final Set<BookingStatusFilter> ARCHIVED_FILTERS = EnumSet.of(BookingStatusFilter.ALL,
+            BookingStatusFilter.PAST, BookingStatusFilter.REJECTED);
+    // Offset pages reaching archived bookings skip bookings before them by keyset pages of this size
+    private static final int SKIPPED_PAGE_SIZE = 100;
+
     private final BookingRepository repository;
     private final UserService userService;
     private final ItemService itemService;
+    private final ItemBookingSummaryService itemBookingSummaryService;
+    private final BookingIntervalIndex intervalIndex;
+    private final ApplicationEventPublisher eventPublisher;
+    private final BookingCountService bookingCountService;
+    private final BookingArchiveService archiveService;
+    private final BookingEventService bookingEventService;
 
     @Override
     @Transactional
     public Booking createBooking(final Booking booking) {
-        Objects.requireNonNull(booking, "Cannot create booking: is null");
-        Objects.requireNonNull(booking.getItem(), "Cannot create booking: booking.item is null");
-        Objects.requireNonNull(booking.getItem().getId(), "Cannot create booking: booking.item.id is null");
-        Objects.requireNonNull(booking.getBooker(), "Cannot create booking: booking.booker is null");
-        Objects.requireNonNull(booking.getBooker().getId(), "Cannot create booking: booking.booker.id is null");
+        requireComplete(booking);
         if (!booking.getEnd().isAfter(booking.getStart())) {
             throw new ValidationException("end", "should be after start");
         }
-        userService.getUser(booking.getBooker().getId());
         final Item item = itemService.getItemToBook(booking.getItem().getId(), booking.getBooker().getId());
         if (!item.getAvailable()) {
             throw new ValidationException("item", "unavailable item");
         }
+        if (!intervalIndex.isFree(booking.getItem().getId(), booking.getStart(), booking.getEnd())) {
+            throw new ConflictException(ALREADY_BOOKED);
+        }
         booking.getItem().setName(item.getName());
+        booking.getItem().setOwner(item.getOwner());
+        booking.setOwnerId(item.getOwner().getId());
+        booking.setPhase(BookingPhase.at(booking.getStart(), booking.getEnd(), LocalDateTime.now()));
         final Booking createdBooking = repository.save(booking);
+        // Waiting bookings do not change item booking summaries, so the summary row is not locked for them
+        if (BookingStatus.APPROVED.equals(createdBooking.getStatus())) {
+            itemBookingSummaryService.update(createdBooking);
+        }
+        bookingCountService.countCreated(List.of(createdBooking));
+        bookingEventService.recordAll(List.of(createdBooking));
+        eventPublisher.publishEvent(new BookingCreatedEvent(item.getOwner().getId(), createdBooking));
         log.info("Created booking with id = {}: {}", createdBooking.getId(), createdBooking);
         return createdBooking;
     }
 
+    @Override
+    @Transactional
+    public List<Booking> createBookings(final List<Booking> bookings) {
+        Objects.requireNonNull(bookings, "Cannot create bookings: is null");
+        if (bookings.isEmpty()) {
+            return List.of();
+        }
+        bookings.forEach(BookingServiceImpl::requireComplete);
+        final long bookerId = bookings.getFirst().getBooker().getId();
+        for (int i = 0; i < bookings.size(); i++) {
+            final Booking booking = bookings.get(i);
+            if (!Objects.equals(booking.getBooker().getId(), bookerId)) {
+                throw new IllegalArgumentException("Cannot create bookings: bookings have different bookers");
+            }
+            if (!booking.getEnd().isAfter(booking.getStart())) {
+                throw new ValidationException("bookings[%d].end".formatted(i), "should be after start");
+            }
+        }
+        final Set<Long> itemIds = bookings.stream()
+                .map(booking -> booking.getItem().getId())
+                .collect(Collectors.toSet());
+        final Map<Long, Item> items = itemService.getItemsToBook(itemIds, bookerId).stream()
+                .collect(Collectors.toMap(Item::getId, Function.identity()));
+        for (int i = 0; i < bookings.size(); i++) {
+            final Booking booking = bookings.get(i);
+            final long itemId = booking.getItem().getId();
+            final Item item = items.get(itemId);
+            if (item == null) {
+                throw new NotFoundException(Item.class, itemId);
+            }
+            if (!item.getAvailable()) {
+                throw new ValidationException("bookings[%d].item".formatted(i), "unavailable item");
+            }
+            if (!intervalIndex.isFree(itemId, booking.getStart(), booking.getEnd())) {
+                throw new ConflictException(ALREADY_BOOKED);
+            }
+            booking.getItem().setName(item.getName());
+            booking.getItem().setOwner(item.getOwner());
+            booking.setOwnerId(item.getOwner().getId());
+        }
+        final LocalDateTime now = LocalDateTime.now();
+        bookings.forEach(booking -> booking.setPhase(BookingPhase.at(booking.getStart(), booking.getEnd(), now)));
+        // Waiting bookings do not change item booking summaries, so there is nothing to update
+        final List<Booking> createdBookings = repository.insertAll(bookings);
+        bookingCountService.countCreated(createdBookings);
+        bookingEventService.recordAll(createdBookings);
+        createdBookings.forEach(booking -> eventPublisher.publishEvent(new BookingCreatedEvent(
+                items.get(booking.getItem().getId()).getOwner().getId(), booking)));
+        log.info("Created {} booking(s) with ids = {}", createdBookings.size(),
+                createdBookings.stream().map(Booking::getId).toList());
+        return createdBookings;
+    }
+
     @Override
     public Booking getBooking(final long id, final long userId) {
-        return repository.findByIdAndBookerIdOrItemOwnerId(id, userId).orElseThrow(
-                () -> new NotFoundException(Booking.class, id)
-        );
+        return repository.findByIdAndBookerIdOrItemOwnerId(id, userId)
+                .or(() -> archiveService.getBooking(id, userId))
+                .orElseThrow(() -> new NotFoundException(Booking.class, id));
     }
 
     @Override
     public List<Booking> getUserBookings(final long userId, final BookingStatusFilter filter, final int from,
             final int size
     ) {
-        final Sort sort = Sort.by(Sort.Direction.DESC, "start");
-        final Pageable page = PageRequest.of(from / size, size, sort);
-        return switch (filter) {
-            case ALL -> repository.findAllByBookerId(userId, page);
-            case CURRENT -> repository.findCurrentByBookerId(userId, page);
-            case PAST -> repository.findPastByBookerId(userId, page);
-            case FUTURE -> repository.findFutureByBookerId(userId, page);
-            case WAITING -> repository.findAllByBookerIdAndStatus(userId, BookingStatus.WAITING, page);
-            case REJECTED -> repository.findAllByBookerIdAndStatus(userId, BookingStatus.REJECTED, page);
-            case null -> throw new AssertionError();
-        };
+        final Pageable page = PageRequest.of(from / size, size, KEYSET_SORT);
+        return withArchived(findUserBookings(userId, filter, page), userId, BookingRole.BOOKER, filter, page,
+                (cursor, count) -> findUserBookings(userId, filter, cursor, PageRequest.of(0, count, KEYSET_SORT)));
+    }
+
+    @Override
+    public List<Booking> getUserBookings(final long userId, final BookingStatusFilter filter,
+            final BookingCursor cursor, final int size
+    ) {
+        final List<Booking> bookings = findUserBookings(userId, filter, cursor,
+                PageRequest.of(0, size, KEYSET_SORT));
+        return withArchived(bookings, userId, BookingRole.BOOKER, filter, cursor, size);
     }
 
     @Override
     public List<Booking> getOwnerBookings(final long userId, final BookingStatusFilter filter, final int from,
             final int size
     ) {
-        if (!itemService.existByOwnerId(userId)) {
-            throw new ActionNotAllowedException("You should owe items to get related bookings");
+        final Pageable page = PageRequest.of(from / size, size, KEYSET_SORT);
+        return requireOwnerUnlessFound(withArchived(findOwnerBookings(userId, filter, page), userId,
+                BookingRole.OWNER, filter, page, (cursor, count) -> findOwnerBookings(userId, filter, cursor,
+                        PageRequest.of(0, count, KEYSET_SORT))), userId);
+    }
+
+    @Override
+    public List<Booking> getOwnerBookings(final long userId, final BookingStatusFilter filter,
+            final BookingCursor cursor, final int size
+    ) {
+        final List<Booking> bookings = findOwnerBookings(userId, filter, cursor,
+                PageRequest.of(0, size, KEYSET_SORT));
+        return requireOwnerUnlessFound(withArchived(bookings, userId, BookingRole.OWNER, filter, cursor, size),
+                userId);
+    }
+
+    @Override
+    public Map<BookingStatusFilter, Long> getUserBookingCounts(final long userId) {
+        return bookingCountService.getCounts(userId, BookingRole.BOOKER);
+    }
+
+    @Override
+    public Map<BookingStatusFilter, Long> getOwnerBookingCounts(final long userId) {
+        final Map<BookingStatusFilter, Long> counts = bookingCountService.getCounts(userId, BookingRole.OWNER);
+        if (counts.getOrDefault(BookingStatusFilter.ALL, 0L) == 0L) {
+            requireItemOwner(userId);
         }
-        final Sort sort = Sort.by(Sort.Direction.DESC, "start");
-        final Pageable page = PageRequest.of(from / size, size, sort);
-        return switch (filter) {
-            case ALL -> repository.findAllByItemOwnerId(userId, page);
-            case CURRENT -> repository.findCurrentByItemOwnerId(userId, page);
-            case PAST -> repository.findPastByItemOwnerId(userId, page);
-            case FUTURE -> repository.findFutureByItemOwnerId(userId, page);
-            case WAITING -> repository.findAllByItemOwnerIdAndStatus(userId, BookingStatus.WAITING, page);
-            case REJECTED -> repository.findAllByItemOwnerIdAndStatus(userId, BookingStatus.REJECTED, page);
-            case null -> throw new AssertionError();
-        };
+        return counts;
     }
 
     @Override
     public List<Booking> findAllCompleteBookingByUserIdAndItemId(long userId, long itemId) {
-        return repository.findAllCompleteBookingByBookerIdAndItemId(userId, itemId);
+        final List<Booking> bookings = repository.findAllCompleteBookingByBookerIdAndItemId(userId, itemId);
+        return bookings.isEmpty() ? archiveService.findAllCompleteBookings(userId, itemId) : bookings;
+    }
+
+    @Override
+    public List<BookingInterval> getFreeIntervals(final long itemId, final LocalDateTime from,
+            final LocalDateTime to
+    ) {
+        if (!to.isAfter(from)) {
+            throw new ValidationException("to", "should be after from");
+        }
+        if (!itemService.existsById(itemId)) {
+            throw new NotFoundException(Item.class, itemId);
+        }
+        // Index keeps only bookings that have not ended yet, so time in the past is never reported as free
+        final LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS);
+        final LocalDateTime start = from.isBefore(now) ? now : from;
+        if (!to.isAfter(start)) {
+            return List.of();
+        }
+        return intervalIndex.getFreeIntervals(itemId, start, to);
     }
 
     @Override
     @Transactional
     public Booking applyBookingVerdict(final long id, final boolean isApproved, final long userId) {
-        final Booking booking = repository.findByIdWithBookerAndItemOwner(id).orElseThrow(
+        // Booking is locked before its item as in applyBookingVerdicts(), so single and bulk verdicts cannot deadlock
+        final Booking booking = repository.findByIdWithBookerAndItemOwnerForUpdate(id).orElseThrow(
                 () -> new NotFoundException(Booking.class, id)
         );
-        if (!userService.existsById(userId)) {
-            throw new ActionNotAllowedException("Not authorized");
-        }
+        // Owner of the item surely exists, so any other user is looked up only to tell who is not authorized at all
         if (!Objects.equals(booking.getItem().getOwner().getId(), userId)) {
+            requireUser(userId);
             throw new NotFoundException(Booking.class, id);
         }
         if (!BookingStatus.WAITING.equals(booking.getStatus())) {
             throw new ValidationException("status", "booking should be in status " + BookingStatus.WAITING);
         }
+        if (isApproved) {
+            final long itemId = booking.getItem().getId();
+            itemBookingSummaryService.lockItem(itemId);
+            if (repository.existsApprovedOverlapping(itemId, booking.getStart(), booking.getEnd())) {
+                throw new ConflictException(ALREADY_BOOKED);
+            }
+            intervalIndex.evictAfterCommit(itemId);
+        }
         booking.setStatus(isApproved ? BookingStatus.APPROVED : BookingStatus.REJECTED);
         final Booking updatedBooking = repository.save(booking);
+        itemBookingSummaryService.update(updatedBooking);
+        bookingCountService.countVerdicts(List.of(updatedBooking));
+        bookingEventService.recordAll(List.of(updatedBooking));
         log.info("Changed status of booking id = {} to {}", id, updatedBooking.getStatus());
         return updatedBooking;
     }
+
+    @Override
+    @Transactional
+    public List<BookingVerdictResult> applyBookingVerdicts(final List<BookingVerdict> verdicts, final long userId) {
+        Objects.requireNonNull(verdicts, "Cannot apply booking verdicts: is null");
+        final Set<Long> ids = verdicts.stream()
+                .map(BookingVerdict::id)
+                .collect(Collectors.toSet());
+        final Map<Long, Booking> bookings = ids.isEmpty() ? Map.of() : repository
+                .findAllByIdAndItemOwnerIdForUpdate(ids, userId).stream()
+                .collect(Collectors.toMap(Booking::getId, Function.identity()));
+        // Owner of any booking found surely exists, so the user is looked up only when none is found
+        if (bookings.isEmpty()) {
+            requireUser(userId);
+        }
+        if (ids.size() != verdicts.size()) {
+            throw new ValidationException("verdicts", "should not repeat booking ids");
+        }
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        final Map<Long, BookingVerdictOutcome> outcomes = new HashMap<>();
+        final Map<Long, List<Booking>> bookingsToApprove = new TreeMap<>();
+        for (final BookingVerdict verdict : verdicts) {
+            final Booking booking = bookings.get(verdict.id());
+            if (booking == null) {
+                outcomes.put(verdict.id(), BookingVerdictOutcome.NOT_FOUND);
+            } else if (!BookingStatus.WAITING.equals(booking.getStatus())) {
+                outcomes.put(verdict.id(), BookingVerdictOutcome.NOT_WAITING);
+            } else if (!verdict.approved()) {
+                outcomes.put(verdict.id(), BookingVerdictOutcome.REJECTED);
+            } else {
+                bookingsToApprove.computeIfAbsent(booking.getItem().getId(), itemId -> new ArrayList<>())
+                        .add(booking);
+            }
+        }
+        // Items are locked in order of ids, so concurrent bulk verdicts cannot deadlock each other
+        final List<Booking> approvedBookings = new ArrayList<>();
+        bookingsToApprove.forEach((itemId, itemBookings) -> {
+            itemBookingSummaryService.lockItem(itemId);
+            final LocalDateTime earliestStart = itemBookings.stream()
+                    .map(Booking::getStart)
+                    .min(Comparator.naturalOrder())
+                    .orElseThrow();
+            BookingIntervalIndex.ItemIntervals intervals = new BookingIntervalIndex.ItemIntervals(
+                    repository.findApprovedIntervalsByItemId(itemId, earliestStart));
+            for (final Booking booking : itemBookings) {
+                if (intervals.overlaps(booking.getStart(), booking.getEnd())) {
+                    outcomes.put(booking.getId(), BookingVerdictOutcome.ALREADY_BOOKED);
+                } else {
+                    intervals = intervals.with(booking.getStart(), booking.getEnd());
+                    outcomes.put(booking.getId(), BookingVerdictOutcome.APPROVED);
+                    approvedBookings.add(booking);
+                }
+            }
+        });
+        updateWaitingStatus(verdicts, outcomes, BookingVerdictOutcome.APPROVED, BookingStatus.APPROVED, userId);
+        updateWaitingStatus(verdicts, outcomes, BookingVerdictOutcome.REJECTED, BookingStatus.REJECTED, userId);
+        final List<Booking> decidedBookings = new ArrayList<>(approvedBookings);
+        for (final Booking booking : approvedBookings) {
+            booking.setStatus(BookingStatus.APPROVED);
+            itemBookingSummaryService.update(booking);
+            intervalIndex.evictAfterCommit(booking.getItem().getId());
+        }
+        for (final BookingVerdict verdict : verdicts) {
+            if (BookingVerdictOutcome.REJECTED.equals(outcomes.get(verdict.id()))) {
+                final Booking booking = bookings.get(verdict.id());
+                booking.setStatus(BookingStatus.REJECTED);
+                decidedBookings.add(booking);
+            }
+        }
+        bookingCountService.countVerdicts(decidedBookings);
+        bookingEventService.recordAll(decidedBookings);
+        final List<BookingVerdictResult> results = verdicts.stream()
+                .map(verdict -> new BookingVerdictResult(verdict.id(), outcomes.get(verdict.id())))
+                .toList();
+        log.info("Applied booking verdicts of user id = {}: {}", userId, results);
+        return results;
+    }
+
+    private static void requireComplete(final Booking booking) {
+        Objects.requireNonNull(booking, "Cannot create booking: is null");
+        Objects.requireNonNull(booking.getItem(), "Cannot create booking: booking.item is null");
+        Objects.requireNonNull(booking.getItem().getId(), "Cannot create booking: booking.item.id is null");
+        Objects.requireNonNull(booking.getBooker(), "Cannot create booking: booking.booker is null");
+        Objects.requireNonNull(booking.getBooker().getId(), "Cannot create booking: booking.booker.id is null");
+    }
+
+    private void requireUser(final long userId) {
+        if (!userService.existsById(userId)) {
+            throw new ActionNotAllowedException("Not authorized");
+        }
+    }
+
+    // Whoever has bookings of own items owns items, so ownership is checked only when no bookings are found
+    private List<Booking> requireOwnerUnlessFound(final List<Booking> bookings, final long userId) {
+        if (bookings.isEmpty()) {
+            requireItemOwner(userId);
+        }
+        return bookings;
+    }
+
+    private void requireItemOwner(final long userId) {
+        if (!itemService.existByOwnerId(userId)) {
+            throw new ActionNotAllowedException("You should owe items to get related bookings");
+        }
+    }
+
+    private void updateWaitingStatus(final List<BookingVerdict> verdicts,
+            final Map<Long, BookingVerdictOutcome> outcomes, final BookingVerdictOutcome outcome,
+            final BookingStatus status, final long userId) {
+        final List<Long> ids = verdicts.stream()
+                .map(BookingVerdict::id)
+                .filter(id -> outcome.equals(outcomes.get(id)))
+                .toList();
+        if (!ids.isEmpty()) {
+            repository.updateWaitingStatus(ids, status, userId);
+        }
+    }
+
+    private List<Booking> findUserBookings(final long userId, final BookingStatusFilter filter, final Pageable page) {
+        return switch (filter) {
+            case ALL -> repository.findAllByBookerId(userId, page);
+            case CURRENT -> repository.findAllByBookerIdAndPhase(userId, BookingPhase.CURRENT, page);
+            case PAST -> repository.findAllByBookerIdAndPhase(userId, BookingPhase.PAST, page);
+            case FUTURE -> repository.findAllByBookerIdAndPhase(userId, BookingPhase.FUTURE, page);
+            case WAITING -> repository.findAllByBookerIdAndStatus(userId, BookingStatus.WAITING, page);
+            case REJECTED -> repository.findAllByBookerIdAndStatus(userId, BookingStatus.REJECTED, page);
+            case null -> throw new AssertionError();
+        };
+    }
+
+    private List<Booking> findUserBookings(final long userId, final BookingStatusFilter filter,
+            final BookingCursor cursor, final Pageable page) {
+        return cursor == null ? findUserBookings(userId, filter, page) : switch (filter) {
+            case ALL -> repository.findAllByBookerIdAfterCursor(userId, cursor.start(), cursor.id(), page);
+            case CURRENT -> repository.findAllByBookerIdAndPhaseAfterCursor(userId, BookingPhase.CURRENT,
+                    cursor.start(), cursor.id(), page);
+            case PAST -> repository.findAllByBookerIdAndPhaseAfterCursor(userId, BookingPhase.PAST,
+                    cursor.start(), cursor.id(), page);
+            case FUTURE -> repository.findAllByBookerIdAndPhaseAfterCursor(userId, BookingPhase.FUTURE,
+                    cursor.start(), cursor.id(), page);
+            case WAITING -> repository.findAllByBookerIdAndStatusAfterCursor(userId, BookingStatus.WAITING,
+                    cursor.start(), cursor.id(), page);
+            case REJECTED -> repository.findAllByBookerIdAndStatusAfterCursor(userId, BookingStatus.REJECTED,
+                    cursor.start(), cursor.id(), page);
+            case null -> throw new AssertionError();
+        };
+    }
+
+    private List<Booking> findOwnerBookings(final long userId, final BookingStatusFilter filter, final Pageable page) {
+        return switch (filter) {
+            case ALL -> repository.findAllByItemOwnerId(userId, page);
+            case CURRENT -> repository.findAllByItemOwnerIdAndPhase(userId, BookingPhase.CURRENT, page);
+            case PAST -> repository.findAllByItemOwnerIdAndPhase(userId, BookingPhase.PAST, page);
+            case FUTURE -> repository.findAllByItemOwnerIdAndPhase(userId, BookingPhase.FUTURE, page);
+            case WAITING -> repository.findAllByItemOwnerIdAndStatus(userId, BookingStatus.WAITING, page);
+            case REJECTED -> repository.findAllByItemOwnerIdAndStatus(userId, BookingStatus.REJECTED, page);
+            case null -> throw new AssertionError();
+        };
+    }
+
+    private List<Booking> findOwnerBookings(final long userId, final BookingStatusFilter filter,
+            final BookingCursor cursor, final Pageable page) {
+        return cursor == null ? findOwnerBookings(userId, filter, page) : switch (filter) {
+            case ALL -> repository.findAllByItemOwnerIdAfterCursor(userId, cursor.start(), cursor.id(), page);
+            case CURRENT -> repository.findAllByItemOwnerIdAndPhaseAfterCursor(userId, BookingPhase.CURRENT,
+                    cursor.start(), cursor.id(), page);
+            case PAST -> repository.findAllByItemOwnerIdAndPhaseAfterCursor(userId, BookingPhase.PAST,
+                    cursor.start(), cursor.id(), page);
+            case FUTURE -> repository.findAllByItemOwnerIdAndPhaseAfterCursor(userId, BookingPhase.FUTURE,
+                    cursor.start(), cursor.id(), page);
+            case WAITING -> repository.findAllByItemOwnerIdAndStatusAfterCursor(userId, BookingStatus.WAITING,
+                    cursor.start(), cursor.id(), page);
+            case REJECTED -> repository.findAllByItemOwnerIdAndStatusAfterCursor(userId, BookingStatus.REJECTED,
+                    cursor.start(), cursor.id(), page);
+            case null -> throw new AssertionError();
+        };
+    }
+
+    // A page needs archived bookings unless there are none or it is full and none of them starts at or after its
+    // last booking. Then bookings before the page are skipped by keyset pages of both lists, so that no query reads
+    // more than a keyset page from either of them. The first page is a keyset page itself.
+    private List<Booking> withArchived(final List<Booking> bookings, final long userId, final BookingRole role,
+            final BookingStatusFilter filter, final Pageable page,
+            final BiFunction<BookingCursor, Integer, List<Booking>> finder) {
+        final int size = page.getPageSize();
+        if (page.getOffset() == 0) {
+            return withArchived(bookings, userId, role, filter, (BookingCursor) null, size);
+        }
+        if (!ARCHIVED_FILTERS.contains(filter)) {
+            return bookings;
+        }
+        final LocalDateTime notBefore = bookings.size() < size ? null : bookings.getLast().getStart();
+        if (archiveService.getBookings(userId, role, filter, null, notBefore, 1).isEmpty()) {
+            return bookings;
+        }
+        BookingCursor cursor = null;
+        long skipped = 0;
+        while (skipped < page.getOffset()) {
+            final int count = (int) Math.min(SKIPPED_PAGE_SIZE, page.getOffset() - skipped);
+            final List<Booking> skippedBookings = withArchived(finder.apply(cursor, count), userId, role, filter,
+                    cursor, count);
+            if (skippedBookings.size() < count) {
+                return List.of();
+            }
+            skipped += count;
+            cursor = BookingCursor.of(skippedBookings.getLast());
+        }
+        return withArchived(finder.apply(cursor, size), userId, role, filter, cursor, size);
+    }
+
+    // Same for keyset pages, where archived bookings after the cursor are enough
+    private List<Booking> withArchived(final List<Booking> bookings, final long userId, final BookingRole role,
+            final BookingStatusFilter filter, final BookingCursor cursor, final int size) {
+        if (!ARCHIVED_FILTERS.contains(filter)) {
+            return bookings;
+        }
+        final LocalDateTime notBefore = bookings.size() < size ? null : bookings.getLast().getStart();
+        final List<Booking> archived = archiveService.getBookings(userId, role, filter, cursor, notBefore, size);
+        if (archived.isEmpty()) {
+            return bookings;
+        }
+        return Stream.concat(bookings.stream(), archived.stream())
+                .sorted(NEWEST_FIRST)
+                .limit(size)
+                .toList();
+    }
 }
@@ -0,0 +1,5 @@
+package ru.practicum.shareit.booking;
+
+record BookingVerdict(long id, boolean approved) {
+
+}
@@ -0,0 +1,9 @@
+package ru.practicum.shareit.booking;
+
+enum BookingVerdictOutcome {
+    APPROVED,
+    REJECTED,
+    NOT_FOUND,
+    NOT_WAITING,
+    ALREADY_BOOKED
+}
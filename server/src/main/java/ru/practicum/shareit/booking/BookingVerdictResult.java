@@ -0,0 +1,5 @@
+package ru.practicum.shareit.booking;
+
+record BookingVerdictResult(long id, BookingVerdictOutcome outcome) {
+
+}
@@ -0,0 +1,43 @@
+package ru.practicum.shareit.booking;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.FetchType;
+import jakarta.persistence.Id;
+import jakarta.persistence.ManyToOne;
+import jakarta.persistence.Table;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+@Entity
+@Table(name = "item_booking_summary")
+@Data
+@EqualsAndHashCode(of = "itemId")
+class ItemBookingSummary {
+
+    @Id
+    private Long itemId;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    private Booking lastBooking;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    private Booking nextBooking;
+
+    private LocalDateTime nextBookingStart;
+
+    // To avoid loading of lazy association in toString()
+    @ToString.Include
+    public Long lastBooking() {
+        return Optional.ofNullable(lastBooking).map(Booking::getId).orElse(null);
+    }
+
+    // To avoid loading of lazy association in toString()
+    @ToString.Include
+    public Long nextBooking() {
+        return Optional.ofNullable(nextBooking).map(Booking::getId).orElse(null);
+    }
+}
@@ -0,0 +1,28 @@
+package ru.practicum.shareit.booking;
+
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+interface ItemBookingSummaryRepository extends JpaRepository<ItemBookingSummary, Long> {
+
+    @Modifying
+    @Query(nativeQuery = true, value = "insert into item_booking_summary (item_id) values (:itemId) "
+            + "on conflict do nothing")
+    int insertIfAbsent(@Param("itemId") long itemId);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select s from ItemBookingSummary s where s.itemId = :itemId")
+    Optional<ItemBookingSummary> findByItemIdForUpdate(@Param("itemId") long itemId);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select s from ItemBookingSummary s where s.nextBookingStart <= :now")
+    List<ItemBookingSummary> findAllWithNextBookingStartedForUpdate(@Param("now") LocalDateTime now);
+}
@@ -0,0 +1,10 @@
+package ru.practicum.shareit.booking;
+
+interface ItemBookingSummaryService {
+
+    void lockItem(long itemId);
+
+    void update(Booking booking);
+
+    void rollOverStartedBookings();
+}
@@ -0,0 +1,102 @@
+package ru.practicum.shareit.booking;
+
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import ru.practicum.shareit.item.Item;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Objects;
+
+@Service
+@Transactional
+@RequiredArgsConstructor
+@Slf4j
+class ItemBookingSummaryServiceImpl implements ItemBookingSummaryService {
+
+    private final ItemBookingSummaryRepository repository;
+    private final BookingRepository bookingRepository;
+    private final EntityManagerFactory entityManagerFactory;
+
+    // Summary row of the item is locked until the end of transaction, so changes to bookings of the same item made by
+    // concurrent transactions are applied one by one
+    @Override
+    public void lockItem(final long itemId) {
+        findForUpdate(itemId);
+    }
+
+    @Override
+    public void update(final Booking booking) {
+        Objects.requireNonNull(booking, "Cannot update item booking summary: booking is null");
+        final long itemId = booking.getItem().getId();
+        final ItemBookingSummary summary = findForUpdate(itemId);
+        if (BookingStatus.APPROVED.equals(booking.getStatus())) {
+            if (booking.getStart().isAfter(LocalDateTime.now())) {
+                if (summary.getNextBooking() == null || booking.getStart().isBefore(summary.getNextBookingStart())) {
+                    summary.setNextBooking(booking);
+                    summary.setNextBookingStart(booking.getStart());
+                }
+            } else if (summary.getLastBooking() == null
+                    || booking.getStart().isAfter(summary.getLastBooking().getStart())) {
+                summary.setLastBooking(booking);
+            }
+        }
+        final ItemBookingSummary savedSummary = repository.save(summary);
+        evictItemAfterCommit(itemId);
+        log.debug("Updated booking summary of item id = {}: {}", itemId, savedSummary);
+    }
+
+    @Override
+    @Scheduled(fixedDelayString = "${shareit.item-booking-summary.roll-over-delay:1000}")
+    public void rollOverStartedBookings() {
+        final LocalDateTime now = LocalDateTime.now();
+        final List<ItemBookingSummary> summaries = repository.findAllWithNextBookingStartedForUpdate(now);
+        for (final ItemBookingSummary summary : summaries) {
+            summary.setLastBooking(bookingRepository
+                    .findFirstByItemIdAndStatusAndStartLessThanEqualOrderByStartDescIdDesc(summary.getItemId(),
+                            BookingStatus.APPROVED, now)
+                    .orElse(null));
+            final Booking nextBooking = bookingRepository
+                    .findFirstByItemIdAndStatusAndStartAfterOrderByStartAscIdAsc(summary.getItemId(),
+                            BookingStatus.APPROVED, now)
+                    .orElse(null);
+            summary.setNextBooking(nextBooking);
+            summary.setNextBookingStart(nextBooking == null ? null : nextBooking.getStart());
+        }
+        repository.saveAll(summaries);
+        summaries.forEach(summary -> evictItemAfterCommit(summary.getItemId()));
+        if (!summaries.isEmpty()) {
+            log.info("Rolled over next bookings of {} item(s)", summaries.size());
+        }
+    }
+
+    // Missing row is inserted unless a concurrent transaction has inserted it already, in which case the insert waits
+    // for that transaction and does nothing, so the row can be locked either way
+    private ItemBookingSummary findForUpdate(final long itemId) {
+        return repository.findByItemIdForUpdate(itemId).orElseGet(() -> {
+            repository.insertIfAbsent(itemId);
+            return repository.findByItemIdForUpdate(itemId).orElseThrow();
+        });
+    }
+
+    // Cached item holds last and next booking ids read from item_booking_summary. Evicted after commit, as an item
+    // loaded by concurrent transaction before that would put the old ids back into cache.
+    private void evictItemAfterCommit(final long itemId) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            entityManagerFactory.getCache().evict(Item.class, itemId);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                entityManagerFactory.getCache().evict(Item.class, itemId);
+            }
+        });
+    }
+}
@@ -0,0 +1,5 @@
+package ru.practicum.shareit.booking;
+
+record ItemOwner(long itemId, long ownerId) {
+
+}
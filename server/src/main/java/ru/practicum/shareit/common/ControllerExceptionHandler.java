@@ -8,6 +8,7 @@ import org.springframework.http.ProblemDetail;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
 import ru.practicum.shareit.common.exception.ActionNotAllowedException;
+import ru.practicum.shareit.common.exception.ConflictException;
 import ru.practicum.shareit.common.exception.NotFoundException;
 import ru.practicum.shareit.common.exception.UnsupportedBookingStateFilterException;
 import ru.practicum.shareit.common.exception.ValidationException;
@@ -73,12 +74,30 @@ public class ControllerExceptionHandler extends BaseExceptionHandler {
                     logResponse(request, response);
                     yield response;
                 }
+                case "bookings_item_id_period_excl" -> {
+                    log.warn(cause.getMessage());
+                    final ProblemDetail response = ProblemDetail.forStatusAndDetail(HttpStatus.CONFLICT,
+                            "Item is already booked for this time");
+                    logResponse(request, response);
+                    yield response;
+                }
                 case null, default -> handleThrowable(exception, request);
             };
         }
         return handleThrowable(exception, request);
     }
 
+    @ExceptionHandler
+    public ProblemDetail handleConflictException(
+            final ConflictException exception,
+            final HttpServletRequest request
+    ) {
+        log.warn(exception.getMessage());
+        final ProblemDetail response = ProblemDetail.forStatusAndDetail(HttpStatus.CONFLICT, exception.getMessage());
+        logResponse(request, response);
+        return response;
+    }
+
     @ExceptionHandler
     public ProblemDetail handleActionNotAllowedException(
             final ActionNotAllowedException exception,
@@ -0,0 +1,63 @@
+package ru.practicum.shareit.common;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import java.net.URI;
+import java.time.Duration;
+import java.util.List;
+import java.util.OptionalLong;
+import java.util.UUID;
+
+@Configuration
+class EntityCacheConfig {
+
+    private static final List<String> REGIONS = List.of("user", "item", "request");
+
+    // Own cache manager per application context: the provider default one is JVM-wide and would be shared by
+    // contexts that run against different databases
+    @Bean(destroyMethod = "close")
+    CacheManager entityCacheManager(
+            @Value("${shareit.entity-cache.maximum-size:10000}") final long maximumSize,
+            @Value("${shareit.entity-cache.time-to-live:10m}") final Duration timeToLive
+    ) {
+        final CacheManager cacheManager = Caching.getCachingProvider(CaffeineCachingProvider.class.getName())
+                .getCacheManager(URI.create("shareit-entity-cache-" + UUID.randomUUID()), getClass().getClassLoader());
+        for (final String region : REGIONS) {
+            final CaffeineConfiguration<Object, Object> configuration = new CaffeineConfiguration<>()
+                    .setMaximumSize(OptionalLong.of(maximumSize))
+                    .setExpireAfterWrite(OptionalLong.of(timeToLive.toNanos()))
+                    .setNativeStatisticsEnabled(true);
+            cacheManager.createCache(region, configuration);
+        }
+        return cacheManager;
+    }
+
+    @Bean
+    HibernatePropertiesCustomizer entityCacheCustomizer(final CacheManager entityCacheManager) {
+        return properties -> {
+            properties.put(AvailableSettings.USE_SECOND_LEVEL_CACHE, true);
+            properties.put(AvailableSettings.CACHE_REGION_FACTORY, "jcache");
+            properties.put(ConfigSettings.CACHE_MANAGER, entityCacheManager);
+            properties.put(ConfigSettings.MISSING_CACHE_STRATEGY, "fail");
+        };
+    }
+
+    // Exposed as cache.gets{cache=..., result=hit|miss} along with size and eviction meters
+    @Bean
+    MeterBinder entityCacheMetrics(final CacheManager entityCacheManager) {
+        return registry -> REGIONS.forEach(region -> CaffeineCacheMetrics.monitor(registry,
+                entityCacheManager.getCache(region).unwrap(Cache.class), region));
+    }
+}
@@ -0,0 +1,250 @@
+package ru.practicum.shareit.common;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ProblemDetail;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+// Repeated POST and PATCH requests with the same Idempotency-Key are answered with the response to the first one
+// instead of being executed again. Keys are scoped by X-Sharer-User-Id, method and path and kept in a bounded
+// in-memory cache, so a key is honoured for a limited time and by the instance that served the first request only.
+// The gateway passes the key on and relays Idempotent-Replayed back, so a request is deduplicated once, by the server.
+@Component
+@Slf4j
+class IdempotencyFilter extends OncePerRequestFilter {
+
+    static final String IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
+    static final String REPLAYED_HEADER = "Idempotent-Replayed";
+
+    private static final Set<String> METHODS = Set.of("POST", "PATCH");
+    private static final int MAX_KEY_LENGTH = 255;
+    private static final Set<String> NOT_STORED_HEADERS = Set.of(HttpHeaders.CONTENT_TYPE.toLowerCase(),
+            HttpHeaders.CONTENT_LENGTH.toLowerCase(), HttpHeaders.TRANSFER_ENCODING.toLowerCase(),
+            HttpHeaders.DATE.toLowerCase());
+
+    private final Cache<String, Entry> entries;
+    private final ObjectMapper objectMapper;
+
+    IdempotencyFilter(
+            @Value("${shareit.idempotency.maximum-size:10000}") final long maximumSize,
+            @Value("${shareit.idempotency.time-to-live:1h}") final Duration timeToLive,
+            final ObjectMapper objectMapper
+    ) {
+        this.entries = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(timeToLive)
+                .build();
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(final HttpServletRequest request) {
+        return !METHODS.contains(request.getMethod()) || request.getHeader(IDEMPOTENCY_KEY_HEADER) == null;
+    }
+
+    @Override
+    protected void doFilterInternal(final HttpServletRequest request, final HttpServletResponse response,
+            final FilterChain filterChain) throws ServletException, IOException {
+        final String idempotencyKey = request.getHeader(IDEMPOTENCY_KEY_HEADER);
+        if (idempotencyKey.isBlank() || idempotencyKey.length() > MAX_KEY_LENGTH) {
+            sendProblem(request, response, HttpStatus.BAD_REQUEST,
+                    "Idempotency-Key should be from 1 to %d characters long".formatted(MAX_KEY_LENGTH));
+            return;
+        }
+        final CachedBodyRequest cachedRequest = new CachedBodyRequest(request);
+        // Requests without X-Sharer-User-Id, as user creation, share keys of all clients: method and path keep such
+        // keys apart from keys of other endpoints at least
+        final String key = Objects.toString(request.getHeader("X-Sharer-User-Id"), "") + ":" + request.getMethod()
+                + " " + request.getRequestURI() + ":" + idempotencyKey;
+        final String fingerprint = fingerprint(cachedRequest);
+        final Entry inProgress = new Entry(fingerprint, null);
+        final Entry existing = entries.asMap().putIfAbsent(key, inProgress);
+        if (existing != null) {
+            replay(request, response, idempotencyKey, fingerprint, existing);
+            return;
+        }
+        final ContentCachingResponseWrapper cachingResponse = new ContentCachingResponseWrapper(response);
+        boolean isStored = false;
+        try {
+            filterChain.doFilter(cachedRequest, cachingResponse);
+            // Server errors are not stored, so such a request can be retried with the same key
+            if (cachingResponse.getStatus() < HttpStatus.INTERNAL_SERVER_ERROR.value()) {
+                entries.asMap().replace(key, inProgress, new Entry(fingerprint, store(cachingResponse)));
+                isStored = true;
+            }
+        } finally {
+            // Whatever was thrown, errors included, the request is not left in progress until the entry expires
+            if (!isStored) {
+                entries.asMap().remove(key, inProgress);
+            }
+        }
+        cachingResponse.copyBodyToResponse();
+    }
+
+    private void replay(final HttpServletRequest request, final HttpServletResponse response,
+            final String idempotencyKey, final String fingerprint, final Entry entry) throws IOException {
+        if (!entry.fingerprint().equals(fingerprint)) {
+            log.warn("Idempotency-Key {} reused for another request to {} {}", idempotencyKey, request.getMethod(),
+                    request.getRequestURI());
+            sendProblem(request, response, HttpStatus.UNPROCESSABLE_ENTITY,
+                    "Idempotency-Key was already used for another request");
+            return;
+        }
+        final StoredResponse storedResponse = entry.response();
+        if (storedResponse == null) {
+            log.warn("Idempotency-Key {} reused while request to {} {} is in progress", idempotencyKey,
+                    request.getMethod(), request.getRequestURI());
+            sendProblem(request, response, HttpStatus.CONFLICT,
+                    "Request with the same Idempotency-Key is still in progress");
+            return;
+        }
+        response.setStatus(storedResponse.status());
+        storedResponse.headers().forEach((name, values) -> values.forEach(value -> response.addHeader(name, value)));
+        if (storedResponse.contentType() != null) {
+            response.setContentType(storedResponse.contentType());
+        }
+        response.setHeader(REPLAYED_HEADER, "true");
+        response.setContentLength(storedResponse.body().length);
+        response.getOutputStream().write(storedResponse.body());
+        log.info("Replayed response to {} {} with Idempotency-Key {}: {}", request.getMethod(),
+                request.getRequestURI(), idempotencyKey, storedResponse.status());
+    }
+
+    private StoredResponse store(final ContentCachingResponseWrapper response) {
+        final Map<String, List<String>> headers = new LinkedHashMap<>();
+        for (final String name : response.getHeaderNames()) {
+            if (!NOT_STORED_HEADERS.contains(name.toLowerCase())) {
+                headers.put(name, new ArrayList<>(response.getHeaders(name)));
+            }
+        }
+        return new StoredResponse(response.getStatus(), response.getContentType(), headers,
+                response.getContentAsByteArray());
+    }
+
+    private void sendProblem(final HttpServletRequest request, final HttpServletResponse response,
+            final HttpStatus status, final String detail) throws IOException {
+        final ProblemDetail problem = ProblemDetail.forStatusAndDetail(status, detail);
+        problem.setInstance(URI.create(request.getRequestURI()));
+        response.setStatus(status.value());
+        response.setContentType(MediaType.APPLICATION_PROBLEM_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), problem);
+    }
+
+    private static String fingerprint(final CachedBodyRequest request) {
+        try {
+            final MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update((request.getMethod() + " " + request.getRequestURI() + "?"
+                    + Objects.toString(request.getQueryString(), "") + "\n").getBytes(StandardCharsets.UTF_8));
+            digest.update(request.body);
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    // Compared by identity, so a request removes or replaces its own entry only. Response is null while the request
+    // is in progress.
+    private static final class Entry {
+
+        private final String fingerprint;
+        private final StoredResponse response;
+
+        private Entry(final String fingerprint, final StoredResponse response) {
+            this.fingerprint = fingerprint;
+            this.response = response;
+        }
+
+        String fingerprint() {
+            return fingerprint;
+        }
+
+        StoredResponse response() {
+            return response;
+        }
+    }
+
+    private record StoredResponse(int status, String contentType, Map<String, List<String>> headers, byte[] body) {
+
+    }
+
+    // Body is read before the request is passed on to take its fingerprint, so it is served from memory afterwards
+    private static class CachedBodyRequest extends HttpServletRequestWrapper {
+
+        private final byte[] body;
+
+        CachedBodyRequest(final HttpServletRequest request) throws IOException {
+            super(request);
+            this.body = request.getInputStream().readAllBytes();
+        }
+
+        @Override
+        public ServletInputStream getInputStream() {
+            final ByteArrayInputStream inputStream = new ByteArrayInputStream(body);
+            return new ServletInputStream() {
+                @Override
+                public boolean isFinished() {
+                    return inputStream.available() == 0;
+                }
+
+                @Override
+                public boolean isReady() {
+                    return true;
+                }
+
+                @Override
+                public void setReadListener(final ReadListener readListener) {
+                    throw new UnsupportedOperationException();
+                }
+
+                @Override
+                public int read() {
+                    return inputStream.read();
+                }
+
+                @Override
+                public int read(final byte[] buffer, final int offset, final int length) {
+                    return inputStream.read(buffer, offset, length);
+                }
+            };
+        }
+
+        @Override
+        public BufferedReader getReader() throws IOException {
+            final String encoding = getCharacterEncoding();
+            return new BufferedReader(new InputStreamReader(getInputStream(),
+                    encoding != null ? encoding : StandardCharsets.UTF_8.name()));
+        }
+    }
+}
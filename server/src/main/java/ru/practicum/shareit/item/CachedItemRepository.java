@@ -0,0 +1,13 @@
+package ru.practicum.shareit.item;
+
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+interface CachedItemRepository {
+
+    // Items in order of ids given, ones that do not exist are skipped. Items found in entity cache are not queried.
+    // Session is unwrapped to load them, so the method needs a transaction of its own when called outside of one.
+    @Transactional(readOnly = true)
+    List<Item> findAllCachedById(List<Long> ids);
+}
@@ -1,6 +1,21 @@
 package ru.practicum.shareit.item;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Collection;
+import java.util.List;
 
 public interface CommentRepository extends JpaRepository<Comment, Long> {
+
+    @Query("select new ru.practicum.shareit.item.LatestComment(c.id, c.itemId, c.commentCount) "
+            + "from (select c.id as id, c.item.id as itemId, count(*) over (partition by c.item.id) as commentCount, "
+            + "row_number() over (partition by c.item.id order by c.created desc, c.id desc) as position "
+            + "from Comment c where c.item.id in :itemIds) c "
+            + "where c.position <= :limit")
+    List<LatestComment> findLatestByItemIds(@Param("itemIds") Collection<Long> itemIds, @Param("limit") int limit);
+
+    @Query("select c from Comment c join fetch c.author where c.id in :ids order by c.created desc, c.id desc")
+    List<Comment> findAllByIdWithAuthor(@Param("ids") Collection<Long> ids);
 }
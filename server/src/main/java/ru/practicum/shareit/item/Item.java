@@ -1,22 +1,24 @@
 package ru.practicum.shareit.item;
 
+import jakarta.persistence.Cacheable;
 import jakarta.persistence.Entity;
 import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
-import jakarta.persistence.JoinColumn;
-import jakarta.persistence.JoinTable;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.OneToMany;
-import jakarta.persistence.OneToOne;
 import jakarta.persistence.Table;
+import jakarta.persistence.Transient;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Size;
 import lombok.Data;
 import lombok.EqualsAndHashCode;
 import lombok.ToString;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.JoinFormula;
 import ru.practicum.shareit.booking.Booking;
 import ru.practicum.shareit.request.Request;
 import ru.practicum.shareit.user.User;
@@ -25,6 +27,8 @@ import java.util.Optional;
 import java.util.Set;
 
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "item")
 @Table(name = "items")
 @Data
 @EqualsAndHashCode(of = {"id"})
@@ -49,22 +53,23 @@ public class Item {
     @NotNull
     private Boolean available;
 
-    @OneToOne(fetch = FetchType.LAZY)
-    @JoinTable(name = "last_bookings",
-            joinColumns = @JoinColumn(name = "item_id", updatable = false, insertable = false),
-            inverseJoinColumns = @JoinColumn(name = "booking_id", updatable = false, insertable = false))
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinFormula("(select s.last_booking_id from item_booking_summary s where s.item_id = id)")
     private Booking lastBooking;
 
-    @OneToOne(fetch = FetchType.LAZY)
-    @JoinTable(name = "next_bookings",
-            joinColumns = @JoinColumn(name = "item_id", updatable = false, insertable = false),
-            inverseJoinColumns = @JoinColumn(name = "booking_id", updatable = false, insertable = false))
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinFormula("(select s.next_booking_id from item_booking_summary s where s.item_id = id)")
     private Booking nextBooking;
 
     @OneToMany(mappedBy = "item", fetch = FetchType.LAZY)
     @ToString.Exclude
     private Set<Comment> comments;
 
+    // Set when comments hold the latest comments of the item only
+    @Transient
+    @ToString.Exclude
+    private Long commentCount;
+
     @ManyToOne(fetch = FetchType.LAZY)
     private Request request;
 
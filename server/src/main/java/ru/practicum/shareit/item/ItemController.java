@@ -2,7 +2,10 @@ package ru.practicum.shareit.item;
 
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.PositiveOrZero;
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PatchMapping;
@@ -13,8 +16,11 @@ import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import ru.practicum.shareit.booking.BookingInterval;
+import ru.practicum.shareit.booking.BookingService;
 import ru.practicum.shareit.common.HttpRequestResponseLogger;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 @RestController
@@ -26,6 +32,7 @@ class ItemController extends HttpRequestResponseLogger {
     private final ItemMapper mapper;
     private final CommentService commentService;
     private final CommentMapper commentMapper;
+    private final BookingService bookingService;
 
     @PostMapping
     public ItemRetrieveDto createItem(
@@ -55,10 +62,12 @@ class ItemController extends HttpRequestResponseLogger {
     @GetMapping
     public List<ItemRetrieveDto> getItems(
             @RequestHeader("X-Sharer-User-Id") final long userId,
+            @RequestParam(defaultValue = "0") @PositiveOrZero final int from,
+            @RequestParam(defaultValue = "10") @Positive final int size,
             final HttpServletRequest request
     ) {
         logRequest(request);
-        final List<ItemRetrieveDto> dtos = mapper.mapToDto(itemService.getItems(userId));
+        final List<ItemRetrieveDto> dtos = mapper.mapToDto(itemService.getItems(userId, from, size));
         logResponse(request, dtos);
         return dtos;
     }
@@ -67,14 +76,30 @@ class ItemController extends HttpRequestResponseLogger {
     public List<ItemRetrieveDto> getItems(
             @RequestHeader("X-Sharer-User-Id") final long userId,
             @RequestParam final String text,
+            @RequestParam(defaultValue = "0") @PositiveOrZero final int from,
+            @RequestParam(defaultValue = "10") @Positive final int size,
             final HttpServletRequest request
     ) {
         logRequest(request);
-        final List<ItemRetrieveDto> dtos = mapper.mapToDto(itemService.getItems(text, userId));
+        final List<ItemRetrieveDto> dtos = mapper.mapToDto(itemService.getItems(text, userId, from, size));
         logResponse(request, dtos);
         return dtos;
     }
 
+    @GetMapping("/{id}/availability")
+    public List<BookingInterval> getAvailability(
+            @RequestHeader("X-Sharer-User-Id") final long userId,
+            @PathVariable final long id,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) final LocalDateTime from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) final LocalDateTime to,
+            final HttpServletRequest request
+    ) {
+        logRequest(request);
+        final List<BookingInterval> intervals = bookingService.getFreeIntervals(id, from, to);
+        logResponse(request, intervals);
+        return intervals;
+    }
+
     @PostMapping("/{id}/comment")
     public CommentRetrieveDto addComment(
             @RequestHeader("X-Sharer-User-Id") final long userId,
@@ -18,6 +18,7 @@ interface ItemMapper {
     Item mapToItem(ItemUpdateDto dto);
 
     @Mapping(target = "requestId", source = "request.id")
+    @Mapping(target = "commentCount", expression = "java(commentCount(item))")
     ItemRetrieveDto mapToDto(Item item);
 
     List<ItemRetrieveDto> mapToDto(List<Item> items);
@@ -25,6 +26,13 @@ interface ItemMapper {
     @Mapping(target = "bookerId", source = "booker.id")
     ItemBookingRetrieveDto mapToDto(Booking booking);
 
+    default Long commentCount(final Item item) {
+        if (item.getCommentCount() != null || item.getComments() == null) {
+            return item.getCommentCount();
+        }
+        return (long) item.getComments().size();
+    }
+
     default Request requestFromRequestId(final ItemCreateDto dto) {
         if (dto == null || dto.getRequestId() == null) {
             return null;
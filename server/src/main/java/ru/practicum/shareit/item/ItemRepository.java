@@ -1,30 +1,50 @@
 package ru.practicum.shareit.item;
 
-import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
-import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
+import ru.practicum.shareit.booking.Booking;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
-interface ItemRepository extends JpaRepository<Item, Long> {
+interface ItemRepository extends JpaRepository<Item, Long>, CachedItemRepository {
 
     @Query("select i from Item i left join fetch i.comments c left join fetch c.author where i.id = :id")
     Optional<Item> findByIdWithRelations(@Param("id") long id);
 
-    @Query("select i from Item i left join fetch i.comments c left join fetch c.author where i.owner.id = :userId")
-    List<Item> findByOwnerId(@Param("userId") long ownerId, Sort sort);
+    // Items to book are found only when the user booking them exists, which saves looking the user up on their own
+    @Query("select i from Item i where i.id = :id and exists (select u.id from User u where u.id = :userId)")
+    Optional<Item> findByIdIfUserExists(@Param("id") long id, @Param("userId") long userId);
 
-    @Query("select i from Item i left join fetch i.comments c left join c.author where i.available = true "
-            + "and (lower(i.name) like concat('%', lower(:text), '%') "
-            + "or lower(i.description) like concat('%', lower(:text), '%'))")
-    List<Item> findByNameOrDescription(@Param("text") String text, Sort sort);
+    @Query("select i from Item i where i.id in :ids and exists (select u.id from User u where u.id = :userId)")
+    List<Item> findAllByIdIfUserExists(@Param("ids") Collection<Long> ids, @Param("userId") long userId);
 
-    @Modifying
-    @Query("delete from Item i where i.id = :id")
-    int delete(@Param("id") long id);
+    List<Item> findAllByOwnerId(long ownerId, Pageable page);
+
+    // Wildcards of LIKE are escaped, so items are found by name or description containing the text as is, which is
+    // what ItemSearchCache relies on to evict texts found by written items
+    default List<Long> findIdsByNameOrDescription(final String text, final Pageable page) {
+        final String escapedText = text.replace("\\", "\\\\")
+                .replace("%", "\\%")
+                .replace("_", "\\_");
+        return findIdsByNameOrDescriptionLike(escapedText, page);
+    }
+
+    // Items matching by name are ranked above ones matching by description only
+    @Query("select i.id from Item i where i.available = true "
+            + "and (lower(i.name) like concat('%', lower(:text), '%') escape '\\' "
+            + "or lower(i.description) like concat('%', lower(:text), '%') escape '\\') "
+            + "order by case when lower(i.name) like concat('%', lower(:text), '%') escape '\\' then 0 else 1 end, "
+            + "i.id")
+    List<Long> findIdsByNameOrDescriptionLike(@Param("text") String escapedText, Pageable page);
 
     boolean existsByOwnerId(long userId);
+
+    // Items refer to their last and next bookings by ids read from item_booking_summary: loading the bookings of
+    // a number of items at once saves loading each of them on its own
+    @Query("select b from Booking b join fetch b.booker where b.id in :ids")
+    List<Booking> findAllBookingsById(@Param("ids") Collection<Long> ids);
 }
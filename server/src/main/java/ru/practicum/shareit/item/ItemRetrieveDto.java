@@ -17,4 +17,5 @@ class ItemRetrieveDto {
     private ItemBookingRetrieveDto lastBooking;
     private ItemBookingRetrieveDto nextBooking;
     private Set<CommentRetrieveDto> comments;
+    private Long commentCount;
 }
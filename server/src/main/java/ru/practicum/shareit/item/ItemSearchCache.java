@@ -0,0 +1,83 @@
+package ru.practicum.shareit.item;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Locale;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+// Ids of items found by frequent search texts. Search is case-insensitive, so texts are kept in lower case. An item
+// written is found by a text only if its name or description, old or new, contains the text: just those texts are
+// forgotten.
+@Component
+class ItemSearchCache {
+
+    private final Cache<SearchKey, List<Long>> results;
+    // Incremented before each invalidation, so that a search that ran concurrently with it does not keep its result
+    private final AtomicLong invalidations = new AtomicLong();
+
+    ItemSearchCache(
+            @Value("${shareit.item-search-cache.maximum-size:10000}") final long maximumSize,
+            @Value("${shareit.item-search-cache.time-to-live:10m}") final Duration timeToLive
+    ) {
+        this.results = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(timeToLive)
+                .build();
+    }
+
+    List<Long> getIds(final String text, final Pageable page, final Supplier<List<Long>> search) {
+        final SearchKey key = new SearchKey(normalize(text), page.getPageNumber(), page.getPageSize());
+        final List<Long> cached = results.getIfPresent(key);
+        if (cached != null) {
+            return cached;
+        }
+        final long version = invalidations.get();
+        final List<Long> ids = List.copyOf(search.get());
+        results.put(key, ids);
+        if (invalidations.get() != version) {
+            results.asMap().remove(key, ids);
+        }
+        return ids;
+    }
+
+    void invalidateAfterCommit(final String... texts) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            invalidate(texts);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                invalidate(texts);
+            }
+        });
+    }
+
+    private void invalidate(final String... texts) {
+        final List<String> normalized = Stream.of(texts)
+                .filter(Objects::nonNull)
+                .map(ItemSearchCache::normalize)
+                .toList();
+        invalidations.incrementAndGet();
+        results.asMap().keySet().removeIf(key -> normalized.stream().anyMatch(text -> text.contains(key.text())));
+    }
+
+    private static String normalize(final String text) {
+        return text.toLowerCase(Locale.ROOT);
+    }
+
+    private record SearchKey(String text, int pageNumber, int pageSize) {
+
+    }
+}
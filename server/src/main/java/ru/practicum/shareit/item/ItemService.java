@@ -2,6 +2,7 @@ package ru.practicum.shareit.item;
 
 import jakarta.validation.Valid;
 
+import java.util.Collection;
 import java.util.List;
 
 public interface ItemService {
@@ -12,9 +13,13 @@ public interface ItemService {
 
     Item getItemToBook(long id, long userId);
 
-    List<Item> getItems(long userId);
+    List<Item> getItemsToBook(Collection<Long> ids, long userId);
 
-    List<Item> getItems(String text, long userId);
+    List<Item> getItems(long userId, int from, int size);
+
+    List<Item> getItems(String text, long userId, int from, int size);
+
+    boolean existsById(long id);
 
     boolean existByOwnerId(long userId);
 
@@ -1,30 +1,61 @@
 package ru.practicum.shareit.item;
 
-import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.validation.annotation.Validated;
+import ru.practicum.shareit.booking.Booking;
 import ru.practicum.shareit.common.exception.ActionNotAllowedException;
 import ru.practicum.shareit.common.exception.NotFoundException;
 import ru.practicum.shareit.request.RequestService;
 import ru.practicum.shareit.user.UserService;
 
+import java.util.Collection;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 @Validated
 @Transactional(readOnly = true)
-@RequiredArgsConstructor
 @Slf4j
 class ItemServiceImpl implements ItemService {
 
     private final ItemRepository repository;
     private final UserService userService;
     private final RequestService requestService;
+    private final CommentRepository commentRepository;
+    private final ItemSearchCache searchCache;
+    private final int latestComments;
+    private final int maxPageSize;
+
+    ItemServiceImpl(
+            final ItemRepository repository,
+            final UserService userService,
+            final RequestService requestService,
+            final CommentRepository commentRepository,
+            final ItemSearchCache searchCache,
+            @Value("${shareit.items.latest-comments:5}") final int latestComments,
+            @Value("${shareit.items.max-page-size:100}") final int maxPageSize
+    ) {
+        this.repository = repository;
+        this.userService = userService;
+        this.requestService = requestService;
+        this.commentRepository = commentRepository;
+        this.searchCache = searchCache;
+        this.latestComments = latestComments;
+        this.maxPageSize = maxPageSize;
+    }
 
     @Override
     @Transactional
@@ -35,38 +66,81 @@ class ItemServiceImpl implements ItemService {
             requestService.getRequest(item.getRequest().getId());
         }
         final Item createdItem = repository.save(item);
+        searchCache.invalidateAfterCommit(createdItem.getName(), createdItem.getDescription());
         log.info("Created item with id = {}: {}", createdItem.getId(), createdItem);
         return createdItem;
     }
 
     @Override
     public Item getItem(final long id, final long userId) {
-        return repository.findByIdWithRelations(id)
-                .map(item -> maskDataByUserRights(item, userId))
+        final Item item = repository.findByIdWithRelations(id)
                 .orElseThrow(() -> new NotFoundException(Item.class, id));
+        attachBookings(List.of(item), userId);
+        return maskDataByUserRights(item, userId);
     }
 
     @Override
     public Item getItemToBook(final long id, final long userId) {
-        return repository.findById(id)
+        // The user is looked up on their own only when nothing is found, to report a missing user before the item
+        return repository.findByIdIfUserExists(id, userId)
                 .filter(item -> !Objects.equals(item.getOwner().getId(), userId))
-                .orElseThrow(() -> new NotFoundException(Item.class, id));
+                .orElseThrow(() -> {
+                    userService.getUser(userId);
+                    return new NotFoundException(Item.class, id);
+                });
     }
 
     @Override
-    public List<Item> getItems(final long userId) {
-        return repository.findByOwnerId(userId, Sort.by("id")).stream()
+    public List<Item> getItemsToBook(final Collection<Long> ids, final long userId) {
+        final List<Item> items = repository.findAllByIdIfUserExists(ids, userId);
+        if (items.isEmpty()) {
+            userService.getUser(userId);
+        }
+        return items.stream()
+                .filter(item -> !Objects.equals(item.getOwner().getId(), userId))
+                .toList();
+    }
+
+    @Override
+    public List<Item> getItems(final long userId, final int from, final int size) {
+        final List<Item> items = repository.findAllByOwnerId(userId, page(from, size, Sort.by("id")));
+        if (items.isEmpty()) {
+            return List.of();
+        }
+        attachLatestComments(items);
+        attachBookings(items, userId);
+        return items.stream()
                 .map(item -> maskDataByUserRights(item, userId))
                 .toList();
     }
 
     @Override
-    public List<Item> getItems(final String text, final long userId) {
-        return "".equals(text) ? List.of() : repository.findByNameOrDescription(text, Sort.by("id")).stream()
+    public List<Item> getItems(final String text, final long userId, final int from, final int size) {
+        if ("".equals(text)) {
+            return List.of();
+        }
+        final Pageable page = page(from, size, Sort.unsorted());
+        final List<Long> ids = searchCache.getIds(text, page, () -> repository.findIdsByNameOrDescription(text, page));
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        final List<Item> items = repository.findAllCachedById(ids);
+        if (items.isEmpty()) {
+            return List.of();
+        }
+        attachLatestComments(items);
+        attachBookings(items, userId);
+        return items.stream()
                 .map(item -> maskDataByUserRights(item, userId))
                 .toList();
     }
 
+    @Override
+    public boolean existsById(final long id) {
+        // Unlike count query behind existsById() lookup by id is served from entity cache
+        return repository.findById(id).isPresent();
+    }
+
     @Override
     public boolean existByOwnerId(long userId) {
         return repository.existsByOwnerId(userId);
@@ -82,6 +156,8 @@ class ItemServiceImpl implements ItemService {
         if (!Objects.equals(item.getOwner().getId(), userId)) {
             throw new ActionNotAllowedException("Only owner can update item");
         }
+        searchCache.invalidateAfterCommit(item.getName(), item.getDescription(), update.getName(),
+                update.getDescription());
         Optional.ofNullable(update.getName()).ifPresent(item::setName);
         Optional.ofNullable(update.getDescription()).ifPresent(item::setDescription);
         Optional.ofNullable(update.getAvailable()).ifPresent(item::setAvailable);
@@ -93,15 +169,66 @@ class ItemServiceImpl implements ItemService {
     @Override
     @Transactional
     public void deleteItem(final long id, final long userId) {
-        repository.findById(id)
-                .filter(item -> !Objects.equals(item.getOwner().getId(), userId))
-                .ifPresent(item -> {
+        final Optional<Item> item = repository.findById(id);
+        item.filter(i -> !Objects.equals(i.getOwner().getId(), userId))
+                .ifPresent(i -> {
                     throw new ActionNotAllowedException("Only owner can delete item");
                 });
-        if (repository.delete(id) != 0) {
+        // Entity is removed rather than deleted by query to evict it from entity cache alone: bulk delete clears
+        // the whole cache region
+        item.ifPresentOrElse(i -> {
+            repository.delete(i);
+            searchCache.invalidateAfterCommit(i.getName(), i.getDescription());
             log.info("Deleted item with id = {}", id);
-        } else {
-            log.info("No item deleted: item with id = {} does not exist", id);
+        }, () -> log.info("No item deleted: item with id = {} does not exist", id));
+    }
+
+    // Page size is capped, so that a single request cannot read an unbounded number of items into memory
+    private Pageable page(final int from, final int size, final Sort sort) {
+        final int pageSize = Math.min(size, maxPageSize);
+        return PageRequest.of(from / pageSize, pageSize, sort);
+    }
+
+    // Listed items carry the number of their comments and the latest of them only, so neither a page nor its
+    // comments grow with the number of comments an item has
+    private void attachLatestComments(final List<Item> items) {
+        final List<Long> itemIds = items.stream()
+                .map(Item::getId)
+                .toList();
+        final List<LatestComment> latest = commentRepository.findLatestByItemIds(itemIds, latestComments);
+        final Map<Long, Long> commentCounts = latest.stream()
+                .collect(Collectors.toMap(LatestComment::itemId, LatestComment::commentCount, (count, same) -> count));
+        final Map<Long, Set<Comment>> comments = latest.isEmpty() ? Map.of() : commentRepository
+                .findAllByIdWithAuthor(latest.stream().map(LatestComment::id).toList()).stream()
+                .collect(Collectors.groupingBy(comment -> comment.getItem().getId(),
+                        Collectors.toCollection(LinkedHashSet::new)));
+        for (final Item item : items) {
+            item.setComments(comments.getOrDefault(item.getId(), Set.of()));
+            item.setCommentCount(commentCounts.getOrDefault(item.getId(), 0L));
+        }
+    }
+
+    // Last and next bookings are shown to the owner only, so bookings of items of other users are left unloaded
+    private void attachBookings(final Collection<Item> items, final long userId) {
+        final List<Item> ownItems = items.stream()
+                .filter(item -> Objects.equals(item.getOwner().getId(), userId))
+                .toList();
+        final List<Long> bookingIds = ownItems.stream()
+                .flatMap(item -> Stream.of(item.getLastBooking(), item.getNextBooking()))
+                .filter(Objects::nonNull)
+                .map(Booking::getId)
+                .distinct()
+                .toList();
+        if (bookingIds.isEmpty()) {
+            return;
+        }
+        final Map<Long, Booking> bookings = repository.findAllBookingsById(bookingIds).stream()
+                .collect(Collectors.toMap(Booking::getId, Function.identity()));
+        for (final Item item : ownItems) {
+            Optional.ofNullable(item.getLastBooking())
+                    .ifPresent(booking -> item.setLastBooking(bookings.get(booking.getId())));
+            Optional.ofNullable(item.getNextBooking())
+                    .ifPresent(booking -> item.setNextBooking(bookings.get(booking.getId())));
         }
     }
 
@@ -0,0 +1,6 @@
+package ru.practicum.shareit.item;
+
+// One of the latest comments of an item along with the number of all comments of the item
+record LatestComment(long id, long itemId, long commentCount) {
+
+}
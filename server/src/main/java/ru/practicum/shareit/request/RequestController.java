@@ -45,7 +45,7 @@ class RequestController extends HttpRequestResponseLogger {
             final HttpServletRequest request
     ) {
         logRequest(request);
-        final RequestRetrieveDto dto = mapper.mapToDto(requestService.getRequestWithRelations(id, userId));
+        final RequestRetrieveDto dto = requestService.getRequestWithRelations(id, userId);
         logResponse(request, dto);
         return dto;
     }
@@ -58,7 +58,7 @@ class RequestController extends HttpRequestResponseLogger {
             final HttpServletRequest request
     ) {
         logRequest(request);
-        final List<RequestRetrieveDto> dtos = mapper.mapToDto(requestService.getOwnRequests(userId, from, size));
+        final List<RequestRetrieveDto> dtos = requestService.getOwnRequests(userId, from, size);
         logResponse(request, dtos);
         return dtos;
     }
@@ -71,7 +71,7 @@ class RequestController extends HttpRequestResponseLogger {
             final HttpServletRequest request
     ) {
         logRequest(request);
-        final List<RequestRetrieveDto> dtos = mapper.mapToDto(requestService.getOthersRequests(userId, from, size));
+        final List<RequestRetrieveDto> dtos = requestService.getOthersRequests(userId, from, size);
         logResponse(request, dtos);
         return dtos;
     }
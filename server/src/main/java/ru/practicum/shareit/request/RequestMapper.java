@@ -5,6 +5,9 @@ import org.mapstruct.Mapping;
 import ru.practicum.shareit.item.Item;
 
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 @Mapper
 interface RequestMapper {
@@ -16,9 +19,21 @@ interface RequestMapper {
 
     RequestRetrieveDto mapToDto(Request request);
 
-    List<RequestRetrieveDto> mapToDto(List<Request> requests);
-
     @Mapping(target = "ownerId", source = "owner.id")
     @Mapping(target = "requestId", source = "request.id")
     ItemRetrieveDto mapToDto(Item item);
+
+    // Requests and their items are read by separate projections, items of the whole page of requests at once
+    default List<RequestRetrieveDto> mapToDto(List<RequestRetrieveDto> requests, List<ItemRetrieveDto> items) {
+        if (requests == null) {
+            return null;
+        }
+        final Map<Long, Set<ItemRetrieveDto>> itemsByRequestId = items == null ? Map.of() : items.stream()
+                .collect(Collectors.groupingBy(ItemRetrieveDto::requestId, Collectors.toSet()));
+        return requests.stream()
+                .map(request -> request.toBuilder()
+                        .items(itemsByRequestId.getOrDefault(request.id(), Set.of()))
+                        .build())
+                .toList();
+    }
 }
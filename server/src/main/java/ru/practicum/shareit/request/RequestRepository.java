@@ -5,17 +5,25 @@ import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 interface RequestRepository extends JpaRepository<Request, Long> {
 
-    @Query("select r from Request r left join fetch r.items where r.id = :id")
-    Optional<Request> findByIdWithRelations(@Param("id") long id);
+    @Query("select new ru.practicum.shareit.request.RequestRetrieveDto(r.id, r.description, r.created) "
+            + "from Request r where r.id = :id")
+    Optional<RequestRetrieveDto> findDtoById(@Param("id") long id);
 
-    @Query("select r from Request r left join fetch r.items where r.requester.id = :userId")
-    List<Request> findAllByRequesterId(@Param("userId") long userId, Pageable page);
+    @Query("select new ru.practicum.shareit.request.RequestRetrieveDto(r.id, r.description, r.created) "
+            + "from Request r where r.requester.id = :userId")
+    List<RequestRetrieveDto> findAllDtoByRequesterId(@Param("userId") long userId, Pageable page);
 
-    @Query("select r from Request r left join fetch r.items where r.requester.id != :userId")
-    List<Request> findAllOtherByRequesterId(@Param("userId") long userId, Pageable page);
+    @Query("select new ru.practicum.shareit.request.RequestRetrieveDto(r.id, r.description, r.created) "
+            + "from Request r where r.requester.id != :userId")
+    List<RequestRetrieveDto> findAllOtherDtoByRequesterId(@Param("userId") long userId, Pageable page);
+
+    @Query("select new ru.practicum.shareit.request.ItemRetrieveDto(i.id, i.owner.id, i.name, i.description, "
+            + "i.available, i.request.id) from Item i where i.request.id in :requestIds")
+    List<ItemRetrieveDto> findAllItemDtoByRequestId(@Param("requestIds") Collection<Long> requestIds);
 }
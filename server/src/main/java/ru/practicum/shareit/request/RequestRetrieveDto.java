@@ -13,4 +13,8 @@ record RequestRetrieveDto(
         LocalDateTime created,
         Set<ItemRetrieveDto> items) {
 
+    // Items of requests are read by a query of their own
+    RequestRetrieveDto(final Long id, final String description, final LocalDateTime created) {
+        this(id, description, created, null);
+    }
 }
@@ -10,9 +10,9 @@ public interface RequestService {
 
     Request getRequest(long id);
 
-    Request getRequestWithRelations(long id, long userId);
+    RequestRetrieveDto getRequestWithRelations(long id, long userId);
 
-    List<Request> getOwnRequests(long userId, int from, int size);
+    List<RequestRetrieveDto> getOwnRequests(long userId, int from, int size);
 
-    List<Request> getOthersRequests(long userId, int from, int size);
+    List<RequestRetrieveDto> getOthersRequests(long userId, int from, int size);
 }
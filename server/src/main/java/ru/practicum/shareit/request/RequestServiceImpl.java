@@ -23,6 +23,7 @@ class RequestServiceImpl implements RequestService {
 
     private final RequestRepository repository;
     private final UserService userService;
+    private final RequestMapper mapper;
 
     @Override
     @Transactional
@@ -48,26 +49,39 @@ class RequestServiceImpl implements RequestService {
     }
 
     @Override
-    public Request getRequestWithRelations(final long id, long userId) {
+    public RequestRetrieveDto getRequestWithRelations(final long id, long userId) {
         userService.getUser(userId);
-        return repository.findByIdWithRelations(id).orElseThrow(
+        final RequestRetrieveDto request = repository.findDtoById(id).orElseThrow(
                 () -> new NotFoundException(Request.class, id)
         );
+        return withItems(List.of(request)).getFirst();
     }
 
     @Override
-    public List<Request> getOwnRequests(final long userId, final int from, final int size) {
+    public List<RequestRetrieveDto> getOwnRequests(final long userId, final int from, final int size) {
         userService.getUser(userId);
         final Sort sort = Sort.by(Sort.Direction.DESC, "created");
         final Pageable page = PageRequest.of(from / size, size, sort);
-        return repository.findAllByRequesterId(userId, page);
+        return withItems(repository.findAllDtoByRequesterId(userId, page));
     }
 
     @Override
-    public List<Request> getOthersRequests(final long userId, final int from, final int size) {
+    public List<RequestRetrieveDto> getOthersRequests(final long userId, final int from, final int size) {
         userService.getUser(userId);
         final Sort sort = Sort.by(Sort.Direction.DESC, "created");
         final Pageable page = PageRequest.of(from / size, size, sort);
-        return repository.findAllOtherByRequesterId(userId, page);
+        return withItems(repository.findAllOtherDtoByRequesterId(userId, page));
+    }
+
+    // Requests are paged by the database and their items are read at once for the whole page. Fetching items along
+    // with requests would make Hibernate read all matching requests and page them in memory.
+    private List<RequestRetrieveDto> withItems(final List<RequestRetrieveDto> requests) {
+        if (requests.isEmpty()) {
+            return List.of();
+        }
+        final List<Long> requestIds = requests.stream()
+                .map(RequestRetrieveDto::id)
+                .toList();
+        return mapper.mapToDto(requests, repository.findAllItemDtoByRequestId(requestIds));
     }
 }
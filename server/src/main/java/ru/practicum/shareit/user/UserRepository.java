@@ -1,13 +1,7 @@
 package ru.practicum.shareit.user;
 
 import org.springframework.data.jpa.repository.JpaRepository;
-import org.springframework.data.jpa.repository.Modifying;
-import org.springframework.data.jpa.repository.Query;
-import org.springframework.data.repository.query.Param;
 
 interface UserRepository extends JpaRepository<User, Long> {
 
-    @Modifying
-    @Query("delete from User u where u.id = :id")
-    int delete(@Param("id") long id);
 }
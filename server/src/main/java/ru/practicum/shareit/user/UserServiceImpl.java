@@ -43,7 +43,8 @@ class UserServiceImpl implements UserService {
 
     @Override
     public boolean existsById(final long id) {
-        return repository.existsById(id);
+        // Unlike count query behind existsById() lookup by id is served from entity cache
+        return repository.findById(id).isPresent();
     }
 
     @Override
@@ -60,11 +61,12 @@ class UserServiceImpl implements UserService {
     @Override
     @Transactional
     public void deleteUser(final long id) {
-        if (repository.delete(id) != 0) {
+        // Entity is removed rather than deleted by query to evict it from entity cache alone: bulk delete clears
+        // the whole cache region
+        repository.findById(id).ifPresentOrElse(user -> {
+            repository.delete(user);
             log.info("Deleted user with id = {}", id);
-        } else {
-            log.info("No user deleted: user with id = {} does not exist", id);
-        }
+        }, () -> log.info("No user deleted: user with id = {} does not exist", id));
     }
 
     private void patchUserInternal(final User user, final UserPatch patch) {
@@ -0,0 +1,28 @@
+-- Append-only: every event carries the state of the booking after it, so the latest event of a booking is its current
+-- state. No foreign keys, as events outlive archived bookings.
+CREATE TABLE IF NOT EXISTS booking_events
+(
+  id            BIGINT GENERATED ALWAYS AS IDENTITY PRIMARY KEY,
+  booking_id    BIGINT                      NOT NULL,
+  item_id       BIGINT                      NOT NULL,
+  booker_id     BIGINT                      NOT NULL,
+  owner_id      BIGINT                      NOT NULL,
+  status        VARCHAR(10)                 NOT NULL,
+  booking_start TIMESTAMP WITHOUT TIME ZONE NOT NULL,
+  booking_end   TIMESTAMP WITHOUT TIME ZONE NOT NULL,
+  occurred      TIMESTAMP WITHOUT TIME ZONE NOT NULL,
+  CONSTRAINT event_status_values CHECK (status IN ('WAITING', 'APPROVED', 'REJECTED'))
+);
+
+CREATE INDEX IF NOT EXISTS booking_events_booking_id_idx ON booking_events (booking_id, id);
+
+CREATE INDEX IF NOT EXISTS booking_events_item_id_start_idx ON booking_events (item_id, booking_start);
+
+INSERT INTO booking_events (booking_id, item_id, booker_id, owner_id, status, booking_start, booking_end, occurred)
+SELECT b.id, b.item_id, b.booker_id, i.owner_id, b.status, b.booking_start, b.booking_end, CURRENT_TIMESTAMP
+FROM bookings b
+JOIN items i ON i.id = b.item_id
+UNION ALL
+SELECT a.id, a.item_id, a.booker_id, i.owner_id, a.status, a.booking_start, a.booking_end, CURRENT_TIMESTAMP
+FROM archived_bookings a
+JOIN items i ON i.id = a.item_id;
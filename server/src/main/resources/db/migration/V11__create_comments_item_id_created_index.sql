@@ -0,0 +1,4 @@
+-- Serves both lookups by item and the latest comments of items, so replaces the index on item_id alone
+CREATE INDEX IF NOT EXISTS comments_item_id_created_idx ON comments (item_id, created DESC, id DESC);
+
+DROP INDEX IF EXISTS comments_item_id_idx;
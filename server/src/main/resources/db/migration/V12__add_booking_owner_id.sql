@@ -0,0 +1,29 @@
+-- Owner of the booked item is copied to bookings, so that owner listings are read from indexes on bookings alone
+-- instead of from all bookings of all items of the owner. Items never change their owner.
+ALTER TABLE bookings ADD COLUMN IF NOT EXISTS owner_id BIGINT REFERENCES users (id);
+
+UPDATE bookings b
+SET owner_id = (SELECT i.owner_id FROM items i WHERE i.id = b.item_id)
+WHERE owner_id IS NULL;
+
+ALTER TABLE bookings ALTER COLUMN owner_id SET NOT NULL;
+
+CREATE INDEX IF NOT EXISTS bookings_owner_id_start_idx ON bookings (owner_id, booking_start DESC, id DESC);
+
+CREATE INDEX IF NOT EXISTS bookings_owner_id_phase_start_idx ON bookings (owner_id, phase, booking_start DESC, id DESC);
+
+CREATE INDEX IF NOT EXISTS bookings_owner_id_status_start_idx ON bookings (owner_id, status, booking_start DESC, id DESC);
+
+ALTER TABLE archived_bookings ADD COLUMN IF NOT EXISTS owner_id BIGINT REFERENCES users (id);
+
+UPDATE archived_bookings a
+SET owner_id = (SELECT i.owner_id FROM items i WHERE i.id = a.item_id)
+WHERE owner_id IS NULL;
+
+ALTER TABLE archived_bookings ALTER COLUMN owner_id SET NOT NULL;
+
+CREATE INDEX IF NOT EXISTS archived_bookings_owner_id_start_idx
+  ON archived_bookings (owner_id, booking_start DESC, id DESC);
+
+CREATE INDEX IF NOT EXISTS archived_bookings_owner_id_status_start_idx
+  ON archived_bookings (owner_id, status, booking_start DESC, id DESC);
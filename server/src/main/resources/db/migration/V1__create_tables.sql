@@ -45,27 +45,3 @@ CREATE TABLE IF NOT EXISTS comments
   text      VARCHAR(2000)               NOT NULL,
   created   TIMESTAMP WITHOUT TIME ZONE NOT NULL
 );
-
-CREATE OR REPLACE VIEW last_bookings
-AS
-SELECT id AS booking_id,
-       item_id
-FROM (SELECT id,
-             item_id,
-             ROW_NUMBER() OVER (PARTITION BY item_id ORDER BY booking_start DESC) AS r
-      FROM bookings
-      WHERE status = 'APPROVED'
-        AND booking_start <= CURRENT_TIMESTAMP) AS t
-WHERE r = 1;
-
-CREATE OR REPLACE VIEW next_bookings
-AS
-SELECT id AS booking_id,
-       item_id
-FROM (SELECT id,
-             item_id,
-             ROW_NUMBER() OVER (PARTITION BY item_id ORDER BY booking_start) AS r
-      FROM bookings
-      WHERE status = 'APPROVED'
-        AND booking_start > CURRENT_TIMESTAMP) AS t
-WHERE r = 1;
@@ -0,0 +1,38 @@
+DROP VIEW IF EXISTS last_bookings;
+
+DROP VIEW IF EXISTS next_bookings;
+
+CREATE TABLE IF NOT EXISTS item_booking_summary
+(
+  item_id            BIGINT PRIMARY KEY REFERENCES items (id) ON DELETE CASCADE,
+  last_booking_id    BIGINT                      NULL REFERENCES bookings (id),
+  next_booking_id    BIGINT                      NULL REFERENCES bookings (id),
+  next_booking_start TIMESTAMP WITHOUT TIME ZONE NULL
+);
+
+CREATE INDEX IF NOT EXISTS item_booking_summary_next_booking_start_idx ON item_booking_summary (next_booking_start);
+
+INSERT INTO item_booking_summary (item_id, last_booking_id, next_booking_id, next_booking_start)
+SELECT i.id,
+       (SELECT b.id
+        FROM bookings b
+        WHERE b.item_id = i.id
+          AND b.status = 'APPROVED'
+          AND b.booking_start <= CURRENT_TIMESTAMP
+        ORDER BY b.booking_start DESC, b.id DESC
+        LIMIT 1),
+       (SELECT b.id
+        FROM bookings b
+        WHERE b.item_id = i.id
+          AND b.status = 'APPROVED'
+          AND b.booking_start > CURRENT_TIMESTAMP
+        ORDER BY b.booking_start, b.id
+        LIMIT 1),
+       (SELECT MIN(b.booking_start)
+        FROM bookings b
+        WHERE b.item_id = i.id
+          AND b.status = 'APPROVED'
+          AND b.booking_start > CURRENT_TIMESTAMP)
+FROM items i
+WHERE EXISTS (SELECT 1 FROM bookings b WHERE b.item_id = i.id)
+  AND NOT EXISTS (SELECT 1 FROM item_booking_summary s WHERE s.item_id = i.id);
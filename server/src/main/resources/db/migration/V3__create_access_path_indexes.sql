@@ -0,0 +1,13 @@
+CREATE INDEX IF NOT EXISTS requests_requester_id_created_idx ON requests (requester_id, created DESC);
+
+CREATE INDEX IF NOT EXISTS items_owner_id_idx ON items (owner_id);
+
+CREATE INDEX IF NOT EXISTS items_request_id_idx ON items (request_id);
+
+CREATE INDEX IF NOT EXISTS bookings_booker_id_start_idx ON bookings (booker_id, booking_start DESC, id DESC);
+
+CREATE INDEX IF NOT EXISTS bookings_booker_id_status_start_idx ON bookings (booker_id, status, booking_start DESC, id DESC);
+
+CREATE INDEX IF NOT EXISTS bookings_item_id_status_start_idx ON bookings (item_id, status, booking_start, id);
+
+CREATE INDEX IF NOT EXISTS comments_item_id_idx ON comments (item_id);
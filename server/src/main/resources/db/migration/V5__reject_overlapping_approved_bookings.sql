@@ -0,0 +1,44 @@
+-- Bookings approved before overlaps were checked may overlap, and the constraint added by PostgreSQL migration V5_1
+-- cannot be created over them. Of overlapping approved bookings of an item the one starting first (the lower id
+-- on a tie) stays approved: every approved booking that overlaps an approved booking starting before it is
+-- rejected. Overlaps are found before any booking is rejected, so the outcome does not depend on the order rows
+-- are updated in. A booking is thus rejected even if the only one it overlaps is rejected as well.
+CREATE TABLE overlapping_bookings AS
+SELECT b.id, b.item_id
+FROM bookings b
+WHERE b.status = 'APPROVED'
+  AND EXISTS (SELECT 1
+              FROM bookings e
+              WHERE e.item_id = b.item_id
+                AND e.status = 'APPROVED'
+                AND e.booking_start < b.booking_end
+                AND b.booking_start < e.booking_end
+                AND (e.booking_start < b.booking_start OR (e.booking_start = b.booking_start AND e.id < b.id)));
+
+UPDATE bookings
+SET status = 'REJECTED'
+WHERE id IN (SELECT id FROM overlapping_bookings);
+
+UPDATE item_booking_summary s
+SET last_booking_id    = (SELECT b.id
+                          FROM bookings b
+                          WHERE b.item_id = s.item_id
+                            AND b.status = 'APPROVED'
+                            AND b.booking_start <= CURRENT_TIMESTAMP
+                          ORDER BY b.booking_start DESC, b.id DESC
+                          LIMIT 1),
+    next_booking_id    = (SELECT b.id
+                          FROM bookings b
+                          WHERE b.item_id = s.item_id
+                            AND b.status = 'APPROVED'
+                            AND b.booking_start > CURRENT_TIMESTAMP
+                          ORDER BY b.booking_start, b.id
+                          LIMIT 1),
+    next_booking_start = (SELECT MIN(b.booking_start)
+                          FROM bookings b
+                          WHERE b.item_id = s.item_id
+                            AND b.status = 'APPROVED'
+                            AND b.booking_start > CURRENT_TIMESTAMP)
+WHERE s.item_id IN (SELECT item_id FROM overlapping_bookings);
+
+DROP TABLE overlapping_bookings;
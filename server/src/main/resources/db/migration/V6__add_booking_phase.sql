@@ -0,0 +1,21 @@
+ALTER TABLE bookings ADD COLUMN IF NOT EXISTS phase VARCHAR(10);
+
+UPDATE bookings
+SET phase = CASE
+              WHEN booking_end <= CURRENT_TIMESTAMP THEN 'PAST'
+              WHEN booking_start <= CURRENT_TIMESTAMP THEN 'CURRENT'
+              ELSE 'FUTURE'
+            END
+WHERE phase IS NULL;
+
+ALTER TABLE bookings ALTER COLUMN phase SET NOT NULL;
+
+ALTER TABLE bookings ADD CONSTRAINT phase_values CHECK (phase IN ('FUTURE', 'CURRENT', 'PAST'));
+
+CREATE INDEX IF NOT EXISTS bookings_booker_id_phase_start_idx ON bookings (booker_id, phase, booking_start DESC, id DESC);
+
+CREATE INDEX IF NOT EXISTS bookings_item_id_phase_start_idx ON bookings (item_id, phase, booking_start DESC, id DESC);
+
+CREATE INDEX IF NOT EXISTS bookings_phase_start_idx ON bookings (phase, booking_start);
+
+CREATE INDEX IF NOT EXISTS bookings_phase_end_idx ON bookings (phase, booking_end);
@@ -0,0 +1,26 @@
+CREATE TABLE IF NOT EXISTS booking_counts
+(
+  user_id       BIGINT      NOT NULL REFERENCES users (id) ON DELETE CASCADE,
+  role          VARCHAR(10) NOT NULL,
+  status_filter VARCHAR(10) NOT NULL,
+  booking_count BIGINT      NOT NULL,
+  CONSTRAINT booking_counts_pk PRIMARY KEY (user_id, role, status_filter),
+  CONSTRAINT role_values CHECK (role IN ('BOOKER', 'OWNER'))
+);
+
+INSERT INTO booking_counts (user_id, role, status_filter, booking_count)
+SELECT booker_id, 'BOOKER', 'ALL', COUNT(*) FROM bookings GROUP BY booker_id
+UNION ALL
+SELECT booker_id, 'BOOKER', phase, COUNT(*) FROM bookings GROUP BY booker_id, phase
+UNION ALL
+SELECT booker_id, 'BOOKER', status, COUNT(*) FROM bookings WHERE status IN ('WAITING', 'REJECTED')
+GROUP BY booker_id, status
+UNION ALL
+SELECT i.owner_id, 'OWNER', 'ALL', COUNT(*) FROM bookings b JOIN items i ON i.id = b.item_id GROUP BY i.owner_id
+UNION ALL
+SELECT i.owner_id, 'OWNER', b.phase, COUNT(*) FROM bookings b JOIN items i ON i.id = b.item_id
+GROUP BY i.owner_id, b.phase
+UNION ALL
+SELECT i.owner_id, 'OWNER', b.status, COUNT(*) FROM bookings b JOIN items i ON i.id = b.item_id
+WHERE b.status IN ('WAITING', 'REJECTED')
+GROUP BY i.owner_id, b.status;
@@ -0,0 +1,25 @@
+CREATE TABLE IF NOT EXISTS archived_bookings
+(
+  id            BIGINT PRIMARY KEY,
+  item_id       BIGINT                      NOT NULL REFERENCES items (id),
+  booker_id     BIGINT                      NOT NULL REFERENCES users (id),
+  booking_start TIMESTAMP WITHOUT TIME ZONE NOT NULL,
+  booking_end   TIMESTAMP WITHOUT TIME ZONE NOT NULL,
+  status        VARCHAR(10)                 NOT NULL,
+  archived      TIMESTAMP WITHOUT TIME ZONE NOT NULL,
+  CONSTRAINT archived_start_end_order CHECK (booking_start < booking_end),
+  CONSTRAINT archived_status_values CHECK (status IN ('APPROVED', 'REJECTED'))
+);
+
+CREATE INDEX IF NOT EXISTS archived_bookings_booker_id_start_idx
+  ON archived_bookings (booker_id, booking_start DESC, id DESC);
+
+CREATE INDEX IF NOT EXISTS archived_bookings_booker_id_status_start_idx
+  ON archived_bookings (booker_id, status, booking_start DESC, id DESC);
+
+CREATE INDEX IF NOT EXISTS archived_bookings_item_id_start_idx
+  ON archived_bookings (item_id, booking_start DESC, id DESC);
+
+CREATE INDEX IF NOT EXISTS item_booking_summary_last_booking_id_idx ON item_booking_summary (last_booking_id);
+
+CREATE INDEX IF NOT EXISTS item_booking_summary_next_booking_id_idx ON item_booking_summary (next_booking_id);
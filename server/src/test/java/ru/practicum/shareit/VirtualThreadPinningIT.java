@@ -0,0 +1,132 @@
+package ru.practicum.shareit;
+
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordingStream;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.equalTo;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = "spring.threads.virtual.enabled=true")
+class VirtualThreadPinningIT {
+
+    private static final int USERS = 200;
+    private static final Pattern ID = Pattern.compile("\"id\"\\s*:\\s*(\\d+)");
+
+    // Packages on request handling path of the server: a virtual thread parked while pinned inside any of them
+    // would block its carrier thread. H2 is left out as it is used by tests only.
+    private static final List<String> CHECKED_PACKAGES = List.of(
+            "ru.practicum.shareit.",
+            "com.zaxxer.hikari.",
+            "ch.qos.logback.",
+            "org.hibernate.",
+            "org.springframework.");
+
+    @LocalServerPort
+    private int port;
+
+    @Test
+    void testRequestHandlingDoesNotPinVirtualThreads() throws Exception {
+        final List<RecordedEvent> events = new CopyOnWriteArrayList<>();
+        try (RecordingStream recording = new RecordingStream();
+                HttpClient client = HttpClient.newBuilder()
+                        .executor(Executors.newVirtualThreadPerTaskExecutor())
+                        .build();
+                ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            recording.enable("jdk.VirtualThreadPinned").withStackTrace().withThreshold(Duration.ZERO);
+            recording.onEvent("jdk.VirtualThreadPinned", events::add);
+            recording.startAsync();
+
+            final List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < USERS; i++) {
+                final int n = i;
+                futures.add(executor.submit(() -> {
+                    runUserScenario(client, n);
+                    return null;
+                }));
+            }
+            for (final Future<?> future : futures) {
+                future.get();
+            }
+            recording.stop();
+        }
+
+        assertThat(events.stream().filter(this::isInCheckedPackages).map(this::describe).toList(), empty());
+    }
+
+    private void runUserScenario(final HttpClient client, final int n) throws Exception {
+        final long userId = extractId(send(client, "POST", "/users", null,
+                "{\"name\":\"User %d\",\"email\":\"user%d@mail.com\"}".formatted(n, n)));
+        final long itemId = extractId(send(client, "POST", "/items", userId,
+                "{\"name\":\"Item %d\",\"description\":\"Description %d\",\"available\":true}".formatted(n, n)));
+        send(client, "GET", "/items/" + itemId, userId, null);
+        send(client, "GET", "/items", userId, null);
+        send(client, "GET", "/bookings?state=ALL", userId, null);
+        send(client, "GET", "/items/search?text=item", userId, null);
+    }
+
+    private String send(final HttpClient client, final String method, final String path, final Long userId,
+            final String body) throws Exception {
+        final HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create("http://localhost:" + port + path))
+                .header("Accept", "application/json")
+                .method(method, body == null
+                        ? HttpRequest.BodyPublishers.noBody()
+                        : HttpRequest.BodyPublishers.ofString(body));
+        if (body != null) {
+            builder.header("Content-Type", "application/json");
+        }
+        if (userId != null) {
+            builder.header("X-Sharer-User-Id", String.valueOf(userId));
+        }
+        final HttpResponse<String> response = client.send(builder.build(), HttpResponse.BodyHandlers.ofString());
+        assertThat(method + " " + path + ": " + response.body(), response.statusCode(), equalTo(200));
+        return response.body();
+    }
+
+    private long extractId(final String json) {
+        final Matcher matcher = ID.matcher(json);
+        if (!matcher.find()) {
+            throw new AssertionError("No id in response: " + json);
+        }
+        return Long.parseLong(matcher.group(1));
+    }
+
+    private boolean isInCheckedPackages(final RecordedEvent event) {
+        final List<String> frames = frames(event);
+        return frames.stream().noneMatch(frame -> frame.startsWith("org.h2."))
+                && frames.stream().anyMatch(frame -> CHECKED_PACKAGES.stream().anyMatch(frame::startsWith));
+    }
+
+    private String describe(final RecordedEvent event) {
+        return "pinned for " + event.getDuration() + " at\n  " + String.join("\n  ", frames(event));
+    }
+
+    private List<String> frames(final RecordedEvent event) {
+        if (event.getStackTrace() == null) {
+            return List.of();
+        }
+        return event.getStackTrace().getFrames().stream()
+                .map(RecordedFrame::getMethod)
+                .map(method -> method.getType().getName() + "." + method.getName())
+                .toList();
+    }
+}
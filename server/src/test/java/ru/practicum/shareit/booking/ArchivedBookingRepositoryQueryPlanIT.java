@@ -0,0 +1,60 @@
+package ru.practicum.shareit.booking;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.common.AbstractQueryPlanIT;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+class ArchivedBookingRepositoryQueryPlanIT extends AbstractQueryPlanIT {
+
+    private static final long USER_ID = 42L;
+    private static final long ITEM_ID = 13L;
+    private static final long BOOKING_ID = 100001L;
+    private static final int SIZE = 10;
+    private static final BookingCursor CURSOR = new BookingCursor(LocalDateTime.now().minusDays(300L), 100500L);
+    private static final LocalDateTime NOT_BEFORE = LocalDateTime.now().minusDays(400L);
+
+    @Autowired
+    private ArchivedBookingRepository repository;
+
+    @Test
+    void testFindByIdAndBookerIdOrItemOwnerId() {
+        assertIndexedAccess(() -> repository.findByIdAndBookerIdOrItemOwnerId(BOOKING_ID, USER_ID));
+    }
+
+    @Test
+    void testFindAllApprovedByBookerIdAndItemId() {
+        assertIndexedAccess(() -> repository.findAllApprovedByBookerIdAndItemId(USER_ID, ITEM_ID));
+    }
+
+    @Test
+    void testFindPageOfBooker() {
+        assertIndexedAccess(() -> repository.findPage(USER_ID, BookingRole.BOOKER, null, null, null, SIZE));
+    }
+
+    @Test
+    void testFindPageOfBookerWhenStatusAndCursor() {
+        assertIndexedAccess(() -> repository.findPage(USER_ID, BookingRole.BOOKER, BookingStatus.REJECTED, CURSOR,
+                NOT_BEFORE, SIZE));
+    }
+
+    @Test
+    void testFindPageOfOwner() {
+        assertIndexedAccess(() -> repository.findPage(USER_ID, BookingRole.OWNER, null, null, null, SIZE));
+    }
+
+    @Test
+    void testFindPageOfOwnerWhenStatusAndCursor() {
+        assertIndexedAccess(() -> repository.findPage(USER_ID, BookingRole.OWNER, BookingStatus.REJECTED, CURSOR,
+                NOT_BEFORE, SIZE));
+    }
+
+    @Test
+    @Transactional
+    void testInsertFromBookings() {
+        assertIndexedAccess(() -> repository.insertFromBookings(List.of(1L), LocalDateTime.now()));
+    }
+}
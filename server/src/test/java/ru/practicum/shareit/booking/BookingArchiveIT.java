@@ -0,0 +1,187 @@
+package ru.practicum.shareit.booking;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import ru.practicum.shareit.common.exception.NotFoundException;
+import ru.practicum.shareit.item.Item;
+import ru.practicum.shareit.item.ItemService;
+import ru.practicum.shareit.user.User;
+import ru.practicum.shareit.user.UserService;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.equalTo;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@SpringBootTest
+class BookingArchiveIT {
+
+    private static final AtomicInteger sequence = new AtomicInteger();
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private ItemService itemService;
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private BookingArchiveService bookingArchiveService;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private ArchivedBookingRepository archivedBookingRepository;
+
+    private User owner;
+    private User booker;
+    private Item item;
+    private Booking oldApproved;
+    private Booking lastApproved;
+    private Booking rejected;
+    private Booking waiting;
+    private Booking future;
+    private Map<BookingStatusFilter, Long> counts;
+
+    @BeforeEach
+    void setUp() {
+        owner = createUser();
+        booker = createUser();
+        item = createItem(owner);
+        final Item anotherItem = createItem(owner);
+        final LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS);
+        oldApproved = approve(createBooking(item, booker, now.minusDays(300L)));
+        lastApproved = approve(createBooking(item, booker, now.minusDays(200L)));
+        rejected = bookingService.applyBookingVerdict(createBooking(anotherItem, booker, now.minusDays(250L)).getId(),
+                false, owner.getId());
+        waiting = createBooking(anotherItem, booker, now.minusDays(260L));
+        future = createBooking(anotherItem, booker, now.plusDays(1L));
+        counts = bookingService.getUserBookingCounts(booker.getId());
+
+        bookingArchiveService.archiveBookings();
+    }
+
+    @Test
+    void testArchiveBookingsMovesEndedApprovedAndRejectedBookings() {
+        assertThat(bookingRepository.findById(oldApproved.getId()).isPresent(), equalTo(false));
+        assertThat(bookingRepository.findById(rejected.getId()).isPresent(), equalTo(false));
+        assertThat(archivedBookingRepository.findById(oldApproved.getId()).isPresent(), equalTo(true));
+        assertThat(archivedBookingRepository.findById(rejected.getId()).isPresent(), equalTo(true));
+        // Last booking of item, waiting and future bookings stay
+        assertThat(bookingRepository.findById(lastApproved.getId()).isPresent(), equalTo(true));
+        assertThat(bookingRepository.findById(waiting.getId()).isPresent(), equalTo(true));
+        assertThat(bookingRepository.findById(future.getId()).isPresent(), equalTo(true));
+        assertThat(bookingService.getUserBookingCounts(booker.getId()), equalTo(counts));
+    }
+
+    @Test
+    void testGetUserBookingsWithOffsetAcrossArchive() {
+        assertThat(ids(bookingService.getUserBookings(booker.getId(), BookingStatusFilter.ALL, 0, 2)),
+                contains(future.getId(), lastApproved.getId()));
+        assertThat(ids(bookingService.getUserBookings(booker.getId(), BookingStatusFilter.ALL, 2, 2)),
+                contains(rejected.getId(), waiting.getId()));
+        assertThat(ids(bookingService.getUserBookings(booker.getId(), BookingStatusFilter.ALL, 4, 2)),
+                contains(oldApproved.getId()));
+        assertThat(ids(bookingService.getUserBookings(booker.getId(), BookingStatusFilter.PAST, 0, 10)),
+                contains(lastApproved.getId(), rejected.getId(), waiting.getId(), oldApproved.getId()));
+        assertThat(ids(bookingService.getUserBookings(booker.getId(), BookingStatusFilter.REJECTED, 0, 10)),
+                contains(rejected.getId()));
+        assertThat(ids(bookingService.getUserBookings(booker.getId(), BookingStatusFilter.WAITING, 0, 10)),
+                contains(future.getId(), waiting.getId()));
+    }
+
+    @Test
+    void testGetOwnerBookingsWithCursorAcrossArchive() {
+        final List<Booking> firstPage = bookingService.getOwnerBookings(owner.getId(), BookingStatusFilter.ALL,
+                (BookingCursor) null, 2);
+        final List<Booking> secondPage = bookingService.getOwnerBookings(owner.getId(), BookingStatusFilter.ALL,
+                BookingCursor.of(firstPage.getLast()), 2);
+        final List<Booking> lastPage = bookingService.getOwnerBookings(owner.getId(), BookingStatusFilter.ALL,
+                BookingCursor.of(secondPage.getLast()), 2);
+
+        assertThat(ids(firstPage), contains(future.getId(), lastApproved.getId()));
+        assertThat(ids(secondPage), contains(rejected.getId(), waiting.getId()));
+        assertThat(ids(lastPage), contains(oldApproved.getId()));
+        assertThat(lastPage.getFirst().getItem().getName(), equalTo(item.getName()));
+        assertThat(lastPage.getFirst().getBooker().getName(), equalTo(booker.getName()));
+    }
+
+    @Test
+    void testGetBookingWhenArchived() {
+        final User anotherUser = createUser();
+
+        assertThat(bookingService.getBooking(oldApproved.getId(), booker.getId()).getStatus(),
+                equalTo(BookingStatus.APPROVED));
+        assertThat(bookingService.getBooking(rejected.getId(), owner.getId()).getStatus(),
+                equalTo(BookingStatus.REJECTED));
+        assertThrows(NotFoundException.class, () -> bookingService.getBooking(oldApproved.getId(),
+                anotherUser.getId()));
+    }
+
+    @Test
+    void testFindAllCompleteBookingWhenArchived() {
+        final User anotherBooker = createUser();
+        final Item anotherItem = createItem(owner);
+        final LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS);
+        final Booking archived = approve(createBooking(anotherItem, booker, now.minusDays(300L)));
+        approve(createBooking(anotherItem, anotherBooker, now.minusDays(200L)));
+
+        bookingArchiveService.archiveBookings();
+
+        assertThat(ids(bookingService.findAllCompleteBookingByUserIdAndItemId(booker.getId(), anotherItem.getId())),
+                contains(archived.getId()));
+        assertThat(bookingService.findAllCompleteBookingByUserIdAndItemId(createUser().getId(), anotherItem.getId()),
+                empty());
+    }
+
+    private List<Long> ids(final List<Booking> bookings) {
+        return bookings.stream()
+                .map(Booking::getId)
+                .toList();
+    }
+
+    private Booking approve(final Booking booking) {
+        return bookingService.applyBookingVerdict(booking.getId(), true, booking.getItem().getOwner().getId());
+    }
+
+    private Booking createBooking(final Item item, final User booker, final LocalDateTime start) {
+        final Booking booking = new Booking();
+        final Item bookedItem = new Item();
+        bookedItem.setId(item.getId());
+        booking.setItem(bookedItem);
+        booking.setBooker(booker);
+        booking.setStart(start);
+        booking.setEnd(start.plusDays(1L));
+        booking.setStatus(BookingStatus.WAITING);
+        return bookingService.createBooking(booking);
+    }
+
+    private User createUser() {
+        final int n = sequence.incrementAndGet();
+        final User user = new User();
+        user.setName("User " + n);
+        user.setEmail("booking.archive.user%d@mail.com".formatted(n));
+        return userService.createUser(user);
+    }
+
+    private Item createItem(final User owner) {
+        final Item item = new Item();
+        item.setOwner(owner);
+        item.setName("Item " + sequence.incrementAndGet());
+        item.setDescription("Item description");
+        item.setAvailable(true);
+        return itemService.createItem(item);
+    }
+}
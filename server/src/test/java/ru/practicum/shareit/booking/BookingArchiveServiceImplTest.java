@@ -0,0 +1,234 @@
+package ru.practicum.shareit.booking;
+
+import org.json.JSONException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.MockitoAnnotations;
+import org.springframework.data.domain.PageRequest;
+import ru.practicum.shareit.common.LogListener;
+import ru.practicum.shareit.item.Item;
+import ru.practicum.shareit.user.User;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.Month;
+import java.util.List;
+import java.util.Optional;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.when;
+import static ru.practicum.shareit.booking.BookingUtils.makeBookingProxy;
+import static ru.practicum.shareit.common.CommonUtils.assertLogs;
+
+class BookingArchiveServiceImplTest {
+
+    private static final LogListener logListener = new LogListener(BookingArchiveServiceImpl.class);
+
+    private static final long BOOKING_ID = 1L;
+    private static final long USER_ID = 42L;
+    private static final long ITEM_ID = 13L;
+    private static final int SIZE = 10;
+    private static final int BATCH_SIZE = 100;
+    private static final Duration RETENTION = Duration.ofDays(90L);
+    private static final Duration REJECTED_RETENTION = Duration.ofDays(1L);
+    private static final BookingCursor CURSOR = new BookingCursor(LocalDateTime.of(2001, Month.MAY, 1, 0, 0), 5L);
+    private static final LocalDateTime NOT_BEFORE = LocalDateTime.of(2001, Month.APRIL, 1, 0, 0);
+
+    private AutoCloseable openMocks;
+
+    @Mock
+    private ArchivedBookingRepository mockRepository;
+
+    @Mock
+    private BookingRepository mockBookingRepository;
+
+    @Captor
+    private ArgumentCaptor<LocalDateTime> approvedEndedBeforeCaptor;
+
+    @Captor
+    private ArgumentCaptor<LocalDateTime> rejectedEndedBeforeCaptor;
+
+    @Captor
+    private ArgumentCaptor<LocalDateTime> archivedCaptor;
+
+    private InOrder inOrder;
+
+    private BookingArchiveService service;
+
+    @BeforeEach
+    void setUp() {
+        openMocks = MockitoAnnotations.openMocks(this);
+        service = new BookingArchiveServiceImpl(mockRepository, mockBookingRepository, RETENTION, REJECTED_RETENTION,
+                BATCH_SIZE);
+        logListener.startListen();
+        logListener.reset();
+        inOrder = Mockito.inOrder(mockRepository, mockBookingRepository);
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        logListener.stopListen();
+        Mockito.verifyNoMoreInteractions(mockRepository, mockBookingRepository);
+        openMocks.close();
+    }
+
+    @Test
+    void testArchiveBookings() throws JSONException, IOException {
+        when(mockBookingRepository.findAllToArchiveForUpdate(any(LocalDateTime.class), any(LocalDateTime.class),
+                eq(PageRequest.of(0, BATCH_SIZE)))).thenReturn(List.of(1L, 2L));
+
+        service.archiveBookings();
+
+        inOrder.verify(mockBookingRepository).findAllToArchiveForUpdate(approvedEndedBeforeCaptor.capture(),
+                rejectedEndedBeforeCaptor.capture(), eq(PageRequest.of(0, BATCH_SIZE)));
+        inOrder.verify(mockRepository).insertFromBookings(eq(List.of(1L, 2L)), archivedCaptor.capture());
+        inOrder.verify(mockBookingRepository).deleteAllByIdInBatch(List.of(1L, 2L));
+        assertThat(approvedEndedBeforeCaptor.getValue(), equalTo(archivedCaptor.getValue().minus(RETENTION)));
+        assertThat(rejectedEndedBeforeCaptor.getValue(),
+                equalTo(archivedCaptor.getValue().minus(REJECTED_RETENTION)));
+        assertLogs(logListener.getEvents(), "archive_bookings.json", getClass());
+    }
+
+    @Test
+    void testArchiveBookingsWhenNothingToArchive() {
+        when(mockBookingRepository.findAllToArchiveForUpdate(any(LocalDateTime.class), any(LocalDateTime.class),
+                eq(PageRequest.of(0, BATCH_SIZE)))).thenReturn(List.of());
+
+        service.archiveBookings();
+
+        inOrder.verify(mockBookingRepository).findAllToArchiveForUpdate(any(LocalDateTime.class),
+                any(LocalDateTime.class), eq(PageRequest.of(0, BATCH_SIZE)));
+        assertThat(logListener.getEvents(), empty());
+    }
+
+    @Test
+    void testGetBooking() {
+        when(mockRepository.findByIdAndBookerIdOrItemOwnerId(BOOKING_ID, USER_ID))
+                .thenReturn(Optional.of(makeArchivedBooking()));
+
+        final Optional<Booking> actual = service.getBooking(BOOKING_ID, USER_ID);
+
+        inOrder.verify(mockRepository).findByIdAndBookerIdOrItemOwnerId(BOOKING_ID, USER_ID);
+        assertThat(actual.map(this::makeProxy), equalTo(Optional.of(makeBookingProxy())));
+    }
+
+    @Test
+    void testGetBookingWhenNotFound() {
+        when(mockRepository.findByIdAndBookerIdOrItemOwnerId(BOOKING_ID, USER_ID)).thenReturn(Optional.empty());
+
+        final Optional<Booking> actual = service.getBooking(BOOKING_ID, USER_ID);
+
+        inOrder.verify(mockRepository).findByIdAndBookerIdOrItemOwnerId(BOOKING_ID, USER_ID);
+        assertThat(actual, equalTo(Optional.empty()));
+    }
+
+    @Test
+    void testGetBookingsWhenAll() {
+        when(mockRepository.findPage(USER_ID, BookingRole.BOOKER, null, CURSOR, NOT_BEFORE, SIZE))
+                .thenReturn(List.of(makeArchivedBooking()));
+
+        final List<Booking> actual = service.getBookings(USER_ID, BookingRole.BOOKER, BookingStatusFilter.ALL, CURSOR,
+                NOT_BEFORE, SIZE);
+
+        inOrder.verify(mockRepository).findPage(USER_ID, BookingRole.BOOKER, null, CURSOR, NOT_BEFORE, SIZE);
+        assertThat(actual.stream().map(this::makeProxy).toList(), contains(makeBookingProxy()));
+    }
+
+    @Test
+    void testGetBookingsWhenPast() {
+        when(mockRepository.findPage(USER_ID, BookingRole.OWNER, null, null, null, SIZE))
+                .thenReturn(List.of(makeArchivedBooking()));
+
+        final List<Booking> actual = service.getBookings(USER_ID, BookingRole.OWNER, BookingStatusFilter.PAST, null,
+                null, SIZE);
+
+        inOrder.verify(mockRepository).findPage(USER_ID, BookingRole.OWNER, null, null, null, SIZE);
+        assertThat(actual.stream().map(this::makeProxy).toList(), contains(makeBookingProxy()));
+    }
+
+    @Test
+    void testGetBookingsWhenRejected() {
+        final ArchivedBooking archivedBooking = makeArchivedBooking();
+        archivedBooking.setStatus(BookingStatus.REJECTED);
+        when(mockRepository.findPage(USER_ID, BookingRole.BOOKER, BookingStatus.REJECTED, null, null, SIZE))
+                .thenReturn(List.of(archivedBooking));
+
+        final List<Booking> actual = service.getBookings(USER_ID, BookingRole.BOOKER, BookingStatusFilter.REJECTED,
+                null, null, SIZE);
+
+        inOrder.verify(mockRepository).findPage(USER_ID, BookingRole.BOOKER, BookingStatus.REJECTED, null, null,
+                SIZE);
+        assertThat(actual.stream().map(this::makeProxy).toList(),
+                contains(makeBookingProxy().withStatus(BookingStatus.REJECTED)));
+    }
+
+    @Test
+    void testGetBookingsWhenNeverArchived() {
+        final IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+                () -> service.getBookings(USER_ID, BookingRole.BOOKER, BookingStatusFilter.WAITING, null, null, SIZE));
+
+        assertThat(exception.getMessage(),
+                equalTo("Cannot get archived bookings: WAITING bookings are never archived"));
+    }
+
+    @Test
+    void testGetBookingsWhenFilterNull() {
+        assertThrows(AssertionError.class,
+                () -> service.getBookings(USER_ID, BookingRole.BOOKER, null, null, null, SIZE));
+    }
+
+    @Test
+    void testFindAllCompleteBookings() {
+        final ArchivedBooking archivedBooking = makeArchivedBooking();
+        when(mockRepository.findAllApprovedByBookerIdAndItemId(USER_ID, ITEM_ID)).thenReturn(List.of(archivedBooking));
+
+        final List<Booking> actual = service.findAllCompleteBookings(USER_ID, ITEM_ID);
+
+        inOrder.verify(mockRepository).findAllApprovedByBookerIdAndItemId(USER_ID, ITEM_ID);
+        assertThat(actual.stream().map(this::makeProxy).toList(), contains(makeBookingProxy()));
+        assertThat(actual.getFirst().getBooker(), sameInstance(archivedBooking.getBooker()));
+    }
+
+    private ArchivedBooking makeArchivedBooking() {
+        final Booking booking = makeBookingProxy();
+        final ArchivedBooking archivedBooking = new ArchivedBooking();
+        archivedBooking.setId(booking.getId());
+        archivedBooking.setItem(new Item());
+        archivedBooking.getItem().setId(booking.getItem().getId());
+        archivedBooking.getItem().setName(booking.getItem().getName());
+        archivedBooking.setBooker(new User());
+        archivedBooking.getBooker().setId(booking.getBooker().getId());
+        archivedBooking.setStart(booking.getStart());
+        archivedBooking.setEnd(booking.getEnd());
+        archivedBooking.setStatus(booking.getStatus());
+        archivedBooking.setArchived(LocalDateTime.of(2001, Month.OCTOBER, 1, 0, 0));
+        return archivedBooking;
+    }
+
+    // BookingProxy compares item names as well, unlike Booking that is equal to any booking with the same id
+    private BookingProxy makeProxy(final Booking booking) {
+        final BookingProxy proxy = new BookingProxy();
+        proxy.setId(booking.getId());
+        proxy.setItem(booking.getItem());
+        proxy.setBooker(booking.getBooker());
+        proxy.setStart(booking.getStart());
+        proxy.setEnd(booking.getEnd());
+        proxy.setStatus(booking.getStatus());
+        proxy.setPhase(booking.getPhase());
+        return proxy;
+    }
+}
@@ -0,0 +1,198 @@
+package ru.practicum.shareit.booking;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import ru.practicum.shareit.common.exception.ConflictException;
+import ru.practicum.shareit.common.exception.ValidationException;
+import ru.practicum.shareit.item.Item;
+import ru.practicum.shareit.item.ItemService;
+import ru.practicum.shareit.user.User;
+import ru.practicum.shareit.user.UserService;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.instanceOf;
+import static org.hamcrest.Matchers.notNullValue;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@SpringBootTest
+class BookingBatchIT {
+
+    private static final int BOOKINGS = 8;
+    private static final AtomicInteger sequence = new AtomicInteger();
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private ItemService itemService;
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Test
+    void testCreateBookings() {
+        final User owner = createUser();
+        final User booker = createUser();
+        final Item item = createItem(owner);
+        final Item anotherItem = createItem(owner);
+        final LocalDateTime start = LocalDateTime.now().plusDays(1L).truncatedTo(ChronoUnit.SECONDS);
+
+        final List<Booking> created = bookingService.createBookings(List.of(
+                makeBooking(item, booker, start, start.plusDays(1L)),
+                makeBooking(anotherItem, booker, start, start.plusDays(2L))));
+
+        assertThat(created.get(0).getId(), notNullValue());
+        assertThat(created.get(1).getId(), notNullValue());
+        final Booking saved = bookingService.getBooking(created.get(1).getId(), booker.getId());
+        assertThat(saved.getItem().getId(), equalTo(anotherItem.getId()));
+        assertThat(saved.getOwnerId(), equalTo(owner.getId()));
+        assertThat(saved.getStart(), equalTo(start));
+        assertThat(saved.getEnd(), equalTo(start.plusDays(2L)));
+        assertThat(saved.getStatus(), equalTo(BookingStatus.WAITING));
+    }
+
+    @Test
+    void testCreateBookingsWhenSlotTakenCreatesNone() {
+        final User owner = createUser();
+        final User booker = createUser();
+        final Item item = createItem(owner);
+        final Item anotherItem = createItem(owner);
+        final LocalDateTime start = LocalDateTime.now().plusDays(1L).truncatedTo(ChronoUnit.SECONDS);
+        final Booking approved = bookingService.createBooking(makeBooking(anotherItem, createUser(), start,
+                start.plusDays(2L)));
+        bookingService.applyBookingVerdict(approved.getId(), true, owner.getId());
+
+        assertThrows(ConflictException.class, () -> bookingService.createBookings(List.of(
+                makeBooking(item, booker, start, start.plusDays(1L)),
+                makeBooking(anotherItem, booker, start.plusDays(1L), start.plusDays(3L)))));
+
+        assertThat(bookingService.getUserBookings(booker.getId(), BookingStatusFilter.ALL, 0, 10), empty());
+    }
+
+    @Test
+    void testApplyBookingVerdicts() {
+        final User owner = createUser();
+        final Item item = createItem(owner);
+        final Item foreignItem = createItem(createUser());
+        final LocalDateTime start = LocalDateTime.now().plusDays(1L).truncatedTo(ChronoUnit.SECONDS);
+        final Booking first = bookingService.createBooking(makeBooking(item, createUser(), start,
+                start.plusDays(2L)));
+        final Booking overlapping = bookingService.createBooking(makeBooking(item, createUser(),
+                start.plusDays(1L), start.plusDays(3L)));
+        final Booking rejected = bookingService.createBooking(makeBooking(item, createUser(), start,
+                start.plusDays(1L)));
+        final Booking foreign = bookingService.createBooking(makeBooking(foreignItem, createUser(), start,
+                start.plusDays(1L)));
+        bookingService.getFreeIntervals(item.getId(), start, start.plusDays(5L));
+
+        final List<BookingVerdictResult> results = bookingService.applyBookingVerdicts(List.of(
+                new BookingVerdict(first.getId(), true),
+                new BookingVerdict(overlapping.getId(), true),
+                new BookingVerdict(rejected.getId(), false),
+                new BookingVerdict(foreign.getId(), true)), owner.getId());
+
+        assertThat(results, contains(
+                new BookingVerdictResult(first.getId(), BookingVerdictOutcome.APPROVED),
+                new BookingVerdictResult(overlapping.getId(), BookingVerdictOutcome.ALREADY_BOOKED),
+                new BookingVerdictResult(rejected.getId(), BookingVerdictOutcome.REJECTED),
+                new BookingVerdictResult(foreign.getId(), BookingVerdictOutcome.NOT_FOUND)));
+        assertThat(bookingService.getBooking(first.getId(), owner.getId()).getStatus(),
+                equalTo(BookingStatus.APPROVED));
+        assertThat(bookingService.getBooking(overlapping.getId(), owner.getId()).getStatus(),
+                equalTo(BookingStatus.WAITING));
+        assertThat(bookingService.getBooking(rejected.getId(), owner.getId()).getStatus(),
+                equalTo(BookingStatus.REJECTED));
+        assertThat(bookingService.getFreeIntervals(item.getId(), start, start.plusDays(5L)),
+                contains(new BookingInterval(start.plusDays(2L), start.plusDays(5L))));
+    }
+
+    @Test
+    void testApplyBookingVerdictsWhenConcurrentSingleVerdicts() throws Exception {
+        final User owner = createUser();
+        final Item item = createItem(owner);
+        final LocalDateTime start = LocalDateTime.now().plusDays(1L).truncatedTo(ChronoUnit.SECONDS);
+        final List<Booking> bookings = new ArrayList<>();
+        for (int i = 0; i < BOOKINGS; i++) {
+            bookings.add(bookingService.createBooking(makeBooking(item, createUser(), start.plusDays(i),
+                    start.plusDays(i + 1L))));
+        }
+        final List<BookingVerdict> verdicts = bookings.stream()
+                .map(booking -> new BookingVerdict(booking.getId(), true))
+                .toList();
+
+        final CountDownLatch startLine = new CountDownLatch(1);
+        final List<Future<?>> singleVerdicts = new ArrayList<>();
+        final Future<List<BookingVerdictResult>> bulkVerdict;
+        try (ExecutorService executor = Executors.newFixedThreadPool(BOOKINGS + 1)) {
+            bulkVerdict = executor.submit(() -> {
+                startLine.await();
+                return bookingService.applyBookingVerdicts(verdicts, owner.getId());
+            });
+            for (final Booking booking : bookings.reversed()) {
+                singleVerdicts.add(executor.submit(() -> {
+                    startLine.await();
+                    return bookingService.applyBookingVerdict(booking.getId(), true, owner.getId());
+                }));
+            }
+            startLine.countDown();
+        }
+
+        bulkVerdict.get();
+        for (final Future<?> verdict : singleVerdicts) {
+            try {
+                verdict.get();
+            } catch (ExecutionException e) {
+                assertThat(e.getCause(), instanceOf(ValidationException.class));
+            }
+        }
+        for (final Booking booking : bookings) {
+            assertThat(bookingService.getBooking(booking.getId(), owner.getId()).getStatus(),
+                    equalTo(BookingStatus.APPROVED));
+        }
+    }
+
+    private Booking makeBooking(final Item item, final User booker, final LocalDateTime start,
+            final LocalDateTime end) {
+        final Booking booking = new Booking();
+        final Item bookedItem = new Item();
+        bookedItem.setId(item.getId());
+        booking.setItem(bookedItem);
+        booking.setBooker(booker);
+        booking.setStart(start);
+        booking.setEnd(end);
+        booking.setStatus(BookingStatus.WAITING);
+        return booking;
+    }
+
+    private User createUser() {
+        final int n = sequence.incrementAndGet();
+        final User user = new User();
+        user.setName("User " + n);
+        user.setEmail("booking.batch.user%d@mail.com".formatted(n));
+        return userService.createUser(user);
+    }
+
+    private Item createItem(final User owner) {
+        final Item item = new Item();
+        item.setOwner(owner);
+        item.setName("Item");
+        item.setDescription("Item description");
+        item.setAvailable(true);
+        return itemService.createItem(item);
+    }
+}
@@ -7,16 +7,24 @@ import org.junit.jupiter.api.Test;
 import org.mockito.InOrder;
 import org.mockito.Mock;
 import org.mockito.Mockito;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 import ru.practicum.shareit.common.AbstractControllerTest;
 import ru.practicum.shareit.common.LogListener;
 import ru.practicum.shareit.common.exception.UnsupportedBookingStateFilterException;
 
 import java.io.IOException;
+import java.time.LocalDateTime;
+import java.time.Month;
 import java.util.List;
+import java.util.Map;
 
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.empty;
 import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.sameInstance;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.Mockito.inOrder;
 import static org.mockito.Mockito.when;
@@ -37,6 +45,10 @@ class BookingControllerTest extends AbstractControllerTest {
     private static final int FROM = 0;
     private static final int SIZE = 10;
     private static final boolean APPROVED = true;
+    private static final String CURSOR = "MjAwMS0wNi0wMVQwOToxMDoxMXwx";
+    private static final Map<BookingStatusFilter, Long> COUNTS = Map.of(BookingStatusFilter.ALL, 5L);
+    private static final BookingCursor DECODED_CURSOR = new BookingCursor(LocalDateTime.of(2001, Month.JUNE, 1, 9,
+            10, 11), 1L);
 
     @Mock
     private BookingService mockService;
@@ -44,6 +56,9 @@ class BookingControllerTest extends AbstractControllerTest {
     @Mock
     private BookingMapper mockMapper;
 
+    @Mock
+    private BookingInbox mockInbox;
+
     private InOrder inOrder;
 
     private BookingController controller;
@@ -52,17 +67,17 @@ class BookingControllerTest extends AbstractControllerTest {
     @BeforeEach
     protected void setUp() {
         super.setUp();
-        controller = new BookingController(mockService, mockMapper);
+        controller = new BookingController(mockService, mockMapper, mockInbox);
         logListener.startListen();
         logListener.reset();
-        inOrder = inOrder(mockService, mockMapper);
+        inOrder = inOrder(mockService, mockMapper, mockInbox);
     }
 
     @Override
     @AfterEach
     protected void tearDown() throws Exception {
         logListener.stopListen();
-        Mockito.verifyNoMoreInteractions(mockService, mockMapper);
+        Mockito.verifyNoMoreInteractions(mockService, mockMapper, mockInbox);
         super.tearDown();
     }
 
@@ -82,6 +97,23 @@ class BookingControllerTest extends AbstractControllerTest {
         assertLogs(logListener.getEvents(), "create_booking.json", getClass());
     }
 
+    @Test
+    void testCreateBookings() throws JSONException, IOException {
+        final BookingBatchCreateDto dto = new BookingBatchCreateDto();
+        dto.setBookings(List.of(makeBookingCreateDtoProxy()));
+        when(mockMapper.mapToBookings(dto, USER_ID)).thenReturn(List.of(makeBookingProxy()));
+        when(mockService.createBookings(List.of(makeBookingProxy()))).thenReturn(List.of(makeBookingProxy()));
+        when(mockMapper.mapToDto(List.of(makeBookingProxy()))).thenReturn(List.of(makeBookingRetrieveDtoProxy()));
+
+        final List<BookingRetrieveDto> actual = controller.createBookings(USER_ID, dto, mockHttpRequest);
+
+        inOrder.verify(mockMapper).mapToBookings(dto, USER_ID);
+        inOrder.verify(mockService).createBookings(List.of(makeBookingProxy()));
+        inOrder.verify(mockMapper).mapToDto(List.of(makeBookingProxy()));
+        assertThat(actual, contains(makeBookingRetrieveDtoProxy()));
+        assertLogs(logListener.getEvents(), "create_bookings.json", getClass());
+    }
+
     @Test
     void testGetBooking() throws JSONException, IOException {
         when(mockService.getBooking(BOOKING_ID, USER_ID)).thenReturn(makeBookingProxy());
@@ -99,12 +131,67 @@ class BookingControllerTest extends AbstractControllerTest {
     void testGetUserBookings() throws JSONException, IOException {
         when(mockService.getUserBookings(USER_ID, FILTER, FROM, SIZE)).thenReturn(List.of(makeBookingProxy()));
         when(mockMapper.mapToDto(List.of(makeBookingProxy()))).thenReturn(List.of(makeBookingRetrieveDtoProxy()));
+        when(mockService.getUserBookingCounts(USER_ID)).thenReturn(COUNTS);
 
-        final List<BookingRetrieveDto> actual = controller.getUserBookings(USER_ID, STATE, FROM, SIZE, mockHttpRequest);
+        final ResponseEntity<List<BookingRetrieveDto>> actual = controller.getUserBookings(USER_ID, STATE, FROM, SIZE,
+                true, mockHttpRequest);
 
         inOrder.verify(mockService).getUserBookings(USER_ID, FILTER, FROM, SIZE);
         inOrder.verify(mockMapper).mapToDto(List.of(makeBookingProxy()));
-        assertThat(actual, contains(makeBookingRetrieveDtoProxy()));
+        inOrder.verify(mockService).getUserBookingCounts(USER_ID);
+        assertThat(actual.getHeaders().getFirst("X-Total-Count"), equalTo("5"));
+        assertThat(actual.getBody(), contains(makeBookingRetrieveDtoProxy()));
+        assertLogs(logListener.getEvents(), "get_user_bookings.json", getClass());
+    }
+
+    @Test
+    void testGetUserBookingsWhenCountNotRequested() throws JSONException, IOException {
+        when(mockService.getUserBookings(USER_ID, FILTER, FROM, SIZE)).thenReturn(List.of(makeBookingProxy()));
+        when(mockMapper.mapToDto(List.of(makeBookingProxy()))).thenReturn(List.of(makeBookingRetrieveDtoProxy()));
+
+        final ResponseEntity<List<BookingRetrieveDto>> actual = controller.getUserBookings(USER_ID, STATE, FROM, SIZE,
+                false, mockHttpRequest);
+
+        inOrder.verify(mockService).getUserBookings(USER_ID, FILTER, FROM, SIZE);
+        inOrder.verify(mockMapper).mapToDto(List.of(makeBookingProxy()));
+        assertThat(actual.getHeaders().getOrEmpty("X-Total-Count"), empty());
+        assertThat(actual.getBody(), contains(makeBookingRetrieveDtoProxy()));
+        assertLogs(logListener.getEvents(), "get_user_bookings.json", getClass());
+    }
+
+    @Test
+    void testGetUserBookingsWithCursorWhenFirstPage() throws JSONException, IOException {
+        when(mockService.getUserBookings(USER_ID, FILTER, null, SIZE)).thenReturn(List.of(makeBookingProxy()));
+        when(mockService.getUserBookingCounts(USER_ID)).thenReturn(COUNTS);
+        when(mockMapper.mapToDto(List.of(makeBookingProxy()))).thenReturn(List.of(makeBookingRetrieveDtoProxy()));
+
+        final ResponseEntity<List<BookingRetrieveDto>> actual = controller.getUserBookings(USER_ID, STATE, "", SIZE,
+                true, mockHttpRequest);
+
+        inOrder.verify(mockService).getUserBookings(USER_ID, FILTER, null, SIZE);
+        inOrder.verify(mockService).getUserBookingCounts(USER_ID);
+        inOrder.verify(mockMapper).mapToDto(List.of(makeBookingProxy()));
+        assertThat(actual.getStatusCode(), equalTo(HttpStatus.OK));
+        assertThat(actual.getHeaders().getOrEmpty("X-Next-Cursor"), empty());
+        assertThat(actual.getHeaders().getFirst("X-Total-Count"), equalTo("5"));
+        assertThat(actual.getBody(), contains(makeBookingRetrieveDtoProxy()));
+        assertLogs(logListener.getEvents(), "get_user_bookings.json", getClass());
+    }
+
+    @Test
+    void testGetUserBookingsWithCursorWhenPageFull() throws JSONException, IOException {
+        when(mockService.getUserBookings(USER_ID, FILTER, DECODED_CURSOR, 1)).thenReturn(List.of(makeBookingProxy()));
+        when(mockService.getUserBookingCounts(USER_ID)).thenReturn(COUNTS);
+        when(mockMapper.mapToDto(List.of(makeBookingProxy()))).thenReturn(List.of(makeBookingRetrieveDtoProxy()));
+
+        final ResponseEntity<List<BookingRetrieveDto>> actual = controller.getUserBookings(USER_ID, STATE, CURSOR, 1,
+                true, mockHttpRequest);
+
+        inOrder.verify(mockService).getUserBookings(USER_ID, FILTER, DECODED_CURSOR, 1);
+        inOrder.verify(mockService).getUserBookingCounts(USER_ID);
+        inOrder.verify(mockMapper).mapToDto(List.of(makeBookingProxy()));
+        assertThat(actual.getHeaders().getFirst("X-Next-Cursor"), equalTo(CURSOR));
+        assertThat(actual.getBody(), contains(makeBookingRetrieveDtoProxy()));
         assertLogs(logListener.getEvents(), "get_user_bookings.json", getClass());
     }
 
@@ -113,7 +200,7 @@ class BookingControllerTest extends AbstractControllerTest {
 
         final UnsupportedBookingStateFilterException exception = assertThrows(
                 UnsupportedBookingStateFilterException.class,
-                () -> controller.getUserBookings(USER_ID, WRONG_STATE, FROM, SIZE, mockHttpRequest));
+                () -> controller.getUserBookings(USER_ID, WRONG_STATE, FROM, SIZE, false, mockHttpRequest));
 
         assertThat(exception.getInvalidValue(), equalTo(WRONG_STATE));
         assertLogs(logListener.getEvents(), "get_user_bookings_wrong_filter.json", getClass());
@@ -128,13 +215,49 @@ class BookingControllerTest extends AbstractControllerTest {
     void testGetOwnerBookings() throws JSONException, IOException {
         when(mockService.getOwnerBookings(USER_ID, FILTER, FROM, SIZE)).thenReturn(List.of(makeBookingProxy()));
         when(mockMapper.mapToDto(List.of(makeBookingProxy()))).thenReturn(List.of(makeBookingRetrieveDtoProxy()));
+        when(mockService.getOwnerBookingCounts(USER_ID)).thenReturn(COUNTS);
 
-        final List<BookingRetrieveDto> actual = controller.getOwnerBookings(USER_ID, STATE, FROM, SIZE,
-                mockHttpRequest);
+        final ResponseEntity<List<BookingRetrieveDto>> actual = controller.getOwnerBookings(USER_ID, STATE, FROM, SIZE,
+                true, mockHttpRequest);
 
         inOrder.verify(mockService).getOwnerBookings(USER_ID, FILTER, FROM, SIZE);
         inOrder.verify(mockMapper).mapToDto(List.of(makeBookingProxy()));
-        assertThat(actual, contains(makeBookingRetrieveDtoProxy()));
+        inOrder.verify(mockService).getOwnerBookingCounts(USER_ID);
+        assertThat(actual.getHeaders().getFirst("X-Total-Count"), equalTo("5"));
+        assertThat(actual.getBody(), contains(makeBookingRetrieveDtoProxy()));
+        assertLogs(logListener.getEvents(), "get_owner_bookings.json", getClass());
+    }
+
+    @Test
+    void testGetOwnerBookingsWithCursorWhenCountNotRequested() throws JSONException, IOException {
+        when(mockService.getOwnerBookings(USER_ID, FILTER, DECODED_CURSOR, 1)).thenReturn(List.of(makeBookingProxy()));
+        when(mockMapper.mapToDto(List.of(makeBookingProxy()))).thenReturn(List.of(makeBookingRetrieveDtoProxy()));
+
+        final ResponseEntity<List<BookingRetrieveDto>> actual = controller.getOwnerBookings(USER_ID, STATE, CURSOR, 1,
+                false, mockHttpRequest);
+
+        inOrder.verify(mockService).getOwnerBookings(USER_ID, FILTER, DECODED_CURSOR, 1);
+        inOrder.verify(mockMapper).mapToDto(List.of(makeBookingProxy()));
+        assertThat(actual.getHeaders().getFirst("X-Next-Cursor"), equalTo(CURSOR));
+        assertThat(actual.getHeaders().getOrEmpty("X-Total-Count"), empty());
+        assertThat(actual.getBody(), contains(makeBookingRetrieveDtoProxy()));
+        assertLogs(logListener.getEvents(), "get_owner_bookings.json", getClass());
+    }
+
+    @Test
+    void testGetOwnerBookingsWithCursorWhenPageFull() throws JSONException, IOException {
+        when(mockService.getOwnerBookings(USER_ID, FILTER, DECODED_CURSOR, 1)).thenReturn(List.of(makeBookingProxy()));
+        when(mockService.getOwnerBookingCounts(USER_ID)).thenReturn(COUNTS);
+        when(mockMapper.mapToDto(List.of(makeBookingProxy()))).thenReturn(List.of(makeBookingRetrieveDtoProxy()));
+
+        final ResponseEntity<List<BookingRetrieveDto>> actual = controller.getOwnerBookings(USER_ID, STATE, CURSOR, 1,
+                true, mockHttpRequest);
+
+        inOrder.verify(mockService).getOwnerBookings(USER_ID, FILTER, DECODED_CURSOR, 1);
+        inOrder.verify(mockService).getOwnerBookingCounts(USER_ID);
+        inOrder.verify(mockMapper).mapToDto(List.of(makeBookingProxy()));
+        assertThat(actual.getHeaders().getFirst("X-Next-Cursor"), equalTo(CURSOR));
+        assertThat(actual.getBody(), contains(makeBookingRetrieveDtoProxy()));
         assertLogs(logListener.getEvents(), "get_owner_bookings.json", getClass());
     }
 
@@ -143,7 +266,7 @@ class BookingControllerTest extends AbstractControllerTest {
 
         final UnsupportedBookingStateFilterException exception = assertThrows(
                 UnsupportedBookingStateFilterException.class,
-                () -> controller.getOwnerBookings(USER_ID, WRONG_STATE, FROM, SIZE, mockHttpRequest));
+                () -> controller.getOwnerBookings(USER_ID, WRONG_STATE, FROM, SIZE, false, mockHttpRequest));
 
         assertThat(exception.getInvalidValue(), equalTo(WRONG_STATE));
         assertLogs(logListener.getEvents(), "get_owner_bookings_wrong_filter.json", getClass());
@@ -154,6 +277,57 @@ class BookingControllerTest extends AbstractControllerTest {
         mockHttpRequest.getQueryString();
     }
 
+    @Test
+    void testGetUserBookingCounts() throws JSONException, IOException {
+        when(mockService.getUserBookingCounts(USER_ID)).thenReturn(COUNTS);
+
+        final Map<BookingStatusFilter, Long> actual = controller.getUserBookingCounts(USER_ID, mockHttpRequest);
+
+        inOrder.verify(mockService).getUserBookingCounts(USER_ID);
+        assertThat(actual, sameInstance(COUNTS));
+        assertLogs(logListener.getEvents(), "get_booking_counts.json", getClass());
+    }
+
+    @Test
+    void testGetOwnerBookingCounts() throws JSONException, IOException {
+        when(mockService.getOwnerBookingCounts(USER_ID)).thenReturn(COUNTS);
+
+        final Map<BookingStatusFilter, Long> actual = controller.getOwnerBookingCounts(USER_ID, mockHttpRequest);
+
+        inOrder.verify(mockService).getOwnerBookingCounts(USER_ID);
+        assertThat(actual, sameInstance(COUNTS));
+        assertLogs(logListener.getEvents(), "get_booking_counts.json", getClass());
+    }
+
+    @Test
+    void testGetOwnerInbox() throws JSONException, IOException {
+        final SseEmitter emitter = new SseEmitter();
+        when(mockInbox.subscribe(USER_ID)).thenReturn(emitter);
+
+        final SseEmitter actual = controller.getOwnerInbox(USER_ID, mockHttpRequest);
+
+        inOrder.verify(mockInbox).subscribe(USER_ID);
+        assertThat(actual, sameInstance(emitter));
+        assertLogs(logListener.getEvents(), "get_owner_inbox.json", getClass());
+    }
+
+    @Test
+    void testApplyBookingVerdicts() throws JSONException, IOException {
+        final BookingVerdictBatchDto dto = makeBookingVerdictBatchDto();
+        final List<BookingVerdict> verdicts = List.of(new BookingVerdict(BOOKING_ID, APPROVED));
+        final List<BookingVerdictResult> results = List.of(new BookingVerdictResult(BOOKING_ID,
+                BookingVerdictOutcome.APPROVED));
+        when(mockMapper.mapToVerdicts(dto)).thenReturn(verdicts);
+        when(mockService.applyBookingVerdicts(verdicts, USER_ID)).thenReturn(results);
+
+        final List<BookingVerdictResult> actual = controller.applyBookingVerdicts(USER_ID, dto, mockHttpRequest);
+
+        inOrder.verify(mockMapper).mapToVerdicts(dto);
+        inOrder.verify(mockService).applyBookingVerdicts(verdicts, USER_ID);
+        assertThat(actual, equalTo(results));
+        assertLogs(logListener.getEvents(), "apply_booking_verdicts.json", getClass());
+    }
+
     @Test
     void testProcessBookingRequest() throws JSONException, IOException {
         when(mockService.applyBookingVerdict(BOOKING_ID, APPROVED, USER_ID)).thenReturn(makeBookingProxy());
@@ -167,4 +341,13 @@ class BookingControllerTest extends AbstractControllerTest {
         assertThat(actual, equalTo(makeBookingRetrieveDtoProxy()));
         assertLogs(logListener.getEvents(), "process_booking_request.json", getClass());
     }
-}
\ No newline at end of file
+
+    private static BookingVerdictBatchDto makeBookingVerdictBatchDto() {
+        final BookingVerdictDto verdict = new BookingVerdictDto();
+        verdict.setId(BOOKING_ID);
+        verdict.setApproved(APPROVED);
+        final BookingVerdictBatchDto dto = new BookingVerdictBatchDto();
+        dto.setVerdicts(List.of(verdict));
+        return dto;
+    }
+}
@@ -0,0 +1,141 @@
+package ru.practicum.shareit.booking;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import ru.practicum.shareit.item.Item;
+import ru.practicum.shareit.item.ItemService;
+import ru.practicum.shareit.user.User;
+import ru.practicum.shareit.user.UserService;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+
+@SpringBootTest(properties = "shareit.booking-phase.roll-over-delay=3600000")
+class BookingCountIT {
+
+    private static final AtomicInteger sequence = new AtomicInteger();
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private ItemService itemService;
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private BookingPhaseService bookingPhaseService;
+
+    @Test
+    void testBookingCountsFollowBookings() throws InterruptedException {
+        final User owner = createUser();
+        final User booker = createUser();
+        final Item item = createItem(owner);
+        final Item anotherItem = createItem(owner);
+        final LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.MILLIS);
+        final Booking past = bookingService.createBooking(makeBooking(item, booker, now.minusDays(2L),
+                now.minusDays(1L)));
+        final Booking ending = bookingService.createBooking(makeBooking(item, booker, now.minusHours(1L),
+                now.plus(500L, ChronoUnit.MILLIS)));
+        final List<Booking> futures = bookingService.createBookings(List.of(
+                makeBooking(item, booker, now.plus(500L, ChronoUnit.MILLIS), now.plusDays(1L)),
+                makeBooking(anotherItem, booker, now.plusDays(1L), now.plusDays(2L))));
+        bookingService.applyBookingVerdict(past.getId(), false, owner.getId());
+        bookingService.applyBookingVerdicts(List.of(
+                new BookingVerdict(ending.getId(), true),
+                new BookingVerdict(futures.getLast().getId(), false)), owner.getId());
+        assertCountsMatchBookings(owner, booker);
+
+        Thread.sleep(600L);
+        bookingPhaseService.rollOverPhases();
+
+        assertCountsMatchBookings(owner, booker);
+        assertThat(bookingService.getUserBookingCounts(booker.getId()), equalTo(Map.of(
+                BookingStatusFilter.ALL, 4L,
+                BookingStatusFilter.CURRENT, 1L,
+                BookingStatusFilter.PAST, 2L,
+                BookingStatusFilter.FUTURE, 1L,
+                BookingStatusFilter.WAITING, 1L,
+                BookingStatusFilter.REJECTED, 2L)));
+    }
+
+    @Test
+    void testBookingCountsWhenCreatedConcurrently() throws Exception {
+        final User owner = createUser();
+        final LocalDateTime start = LocalDateTime.now().plusDays(1L).truncatedTo(ChronoUnit.SECONDS);
+        final List<User> bookers = new ArrayList<>();
+        final List<Item> items = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            bookers.add(createUser());
+            items.add(createItem(owner));
+        }
+        try (ExecutorService executor = Executors.newFixedThreadPool(bookers.size())) {
+            final List<Future<Booking>> futures = new ArrayList<>();
+            for (int i = 0; i < bookers.size(); i++) {
+                final Booking booking = makeBooking(items.get(i), bookers.get(i), start, start.plusDays(1L));
+                futures.add(executor.submit(() -> bookingService.createBooking(booking)));
+            }
+            for (final Future<Booking> future : futures) {
+                future.get();
+            }
+        }
+
+        assertThat(bookingService.getOwnerBookingCounts(owner.getId()).get(BookingStatusFilter.ALL),
+                equalTo((long) bookers.size()));
+        assertThat(bookingService.getOwnerBookingCounts(owner.getId()).get(BookingStatusFilter.FUTURE),
+                equalTo((long) bookers.size()));
+    }
+
+    private void assertCountsMatchBookings(final User owner, final User booker) {
+        final Map<BookingStatusFilter, Long> userCounts = bookingService.getUserBookingCounts(booker.getId());
+        final Map<BookingStatusFilter, Long> ownerCounts = bookingService.getOwnerBookingCounts(owner.getId());
+        for (final BookingStatusFilter filter : BookingStatusFilter.values()) {
+            assertThat(filter.name(), userCounts.get(filter), equalTo((long) bookingService
+                    .getUserBookings(booker.getId(), filter, 0, 100).size()));
+            assertThat(filter.name(), ownerCounts.get(filter), equalTo((long) bookingService
+                    .getOwnerBookings(owner.getId(), filter, 0, 100).size()));
+        }
+    }
+
+    private Booking makeBooking(final Item item, final User booker, final LocalDateTime start,
+            final LocalDateTime end) {
+        final Booking booking = new Booking();
+        final Item bookedItem = new Item();
+        bookedItem.setId(item.getId());
+        booking.setItem(bookedItem);
+        booking.setBooker(booker);
+        booking.setStart(start);
+        booking.setEnd(end);
+        booking.setStatus(BookingStatus.WAITING);
+        return booking;
+    }
+
+    private User createUser() {
+        final int n = sequence.incrementAndGet();
+        final User user = new User();
+        user.setName("User " + n);
+        user.setEmail("booking.count.user%d@mail.com".formatted(n));
+        return userService.createUser(user);
+    }
+
+    private Item createItem(final User owner) {
+        final Item item = new Item();
+        item.setOwner(owner);
+        item.setName("Item");
+        item.setDescription("Item description");
+        item.setAvailable(true);
+        return itemService.createItem(item);
+    }
+}
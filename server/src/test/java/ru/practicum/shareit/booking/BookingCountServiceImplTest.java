@@ -0,0 +1,124 @@
+package ru.practicum.shareit.booking;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.MockitoAnnotations;
+import ru.practicum.shareit.user.User;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.hamcrest.Matchers.equalTo;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static ru.practicum.shareit.booking.BookingUtils.makeBookingProxy;
+
+class BookingCountServiceImplTest {
+
+    private static final long BOOKER_ID = 42L;
+    private static final long OWNER_ID = 43L;
+    private static final long ITEM_ID = 13L;
+
+    private AutoCloseable openMocks;
+
+    @Mock
+    private BookingCountRepository mockRepository;
+
+    @Captor
+    private ArgumentCaptor<List<BookingCount>> deltasCaptor;
+
+    private BookingCountService service;
+
+    @BeforeEach
+    void setUp() {
+        openMocks = MockitoAnnotations.openMocks(this);
+        service = new BookingCountServiceImpl(mockRepository);
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        Mockito.verifyNoMoreInteractions(mockRepository);
+        openMocks.close();
+    }
+
+    @Test
+    void testCountCreated() {
+        final Booking booking = makeOwnedBooking().withStatus(BookingStatus.WAITING).withPhase(BookingPhase.FUTURE);
+
+        service.countCreated(List.of(booking));
+
+        verify(mockRepository).addAll(deltasCaptor.capture());
+        assertThat(deltasCaptor.getValue(), containsInAnyOrder(
+                new BookingCount(BOOKER_ID, BookingRole.BOOKER, BookingStatusFilter.ALL, 1L),
+                new BookingCount(OWNER_ID, BookingRole.OWNER, BookingStatusFilter.ALL, 1L),
+                new BookingCount(BOOKER_ID, BookingRole.BOOKER, BookingStatusFilter.FUTURE, 1L),
+                new BookingCount(OWNER_ID, BookingRole.OWNER, BookingStatusFilter.FUTURE, 1L),
+                new BookingCount(BOOKER_ID, BookingRole.BOOKER, BookingStatusFilter.WAITING, 1L),
+                new BookingCount(OWNER_ID, BookingRole.OWNER, BookingStatusFilter.WAITING, 1L)));
+    }
+
+    @Test
+    void testCountVerdicts() {
+        final Booking approved = makeOwnedBooking();
+        final Booking rejected = makeOwnedBooking().withId(2L).withStatus(BookingStatus.REJECTED);
+
+        service.countVerdicts(List.of(approved, rejected));
+
+        verify(mockRepository).addAll(deltasCaptor.capture());
+        assertThat(deltasCaptor.getValue(), containsInAnyOrder(
+                new BookingCount(BOOKER_ID, BookingRole.BOOKER, BookingStatusFilter.WAITING, -1L),
+                new BookingCount(OWNER_ID, BookingRole.OWNER, BookingStatusFilter.WAITING, -1L),
+                new BookingCount(BOOKER_ID, BookingRole.BOOKER, BookingStatusFilter.WAITING, -1L),
+                new BookingCount(OWNER_ID, BookingRole.OWNER, BookingStatusFilter.WAITING, -1L),
+                new BookingCount(BOOKER_ID, BookingRole.BOOKER, BookingStatusFilter.REJECTED, 1L),
+                new BookingCount(OWNER_ID, BookingRole.OWNER, BookingStatusFilter.REJECTED, 1L)));
+    }
+
+    @Test
+    void testCountPhaseChanges() {
+        final List<BookingPhaseChange> changes = List.of(
+                new BookingPhaseChange(1L, BOOKER_ID, ITEM_ID, BookingPhase.FUTURE));
+
+        service.countPhaseChanges(changes, Map.of(ITEM_ID, OWNER_ID), BookingPhase.PAST);
+
+        verify(mockRepository).addAll(deltasCaptor.capture());
+        assertThat(deltasCaptor.getValue(), containsInAnyOrder(
+                new BookingCount(BOOKER_ID, BookingRole.BOOKER, BookingStatusFilter.FUTURE, -1L),
+                new BookingCount(OWNER_ID, BookingRole.OWNER, BookingStatusFilter.FUTURE, -1L),
+                new BookingCount(BOOKER_ID, BookingRole.BOOKER, BookingStatusFilter.PAST, 1L),
+                new BookingCount(OWNER_ID, BookingRole.OWNER, BookingStatusFilter.PAST, 1L)));
+    }
+
+    @Test
+    void testGetCounts() {
+        when(mockRepository.findAllByUserIdAndRole(OWNER_ID, BookingRole.OWNER)).thenReturn(List.of(
+                new BookingCount(OWNER_ID, BookingRole.OWNER, BookingStatusFilter.ALL, 3L),
+                new BookingCount(OWNER_ID, BookingRole.OWNER, BookingStatusFilter.PAST, 3L),
+                new BookingCount(OWNER_ID, BookingRole.OWNER, BookingStatusFilter.WAITING, 0L)));
+
+        final Map<BookingStatusFilter, Long> actual = service.getCounts(OWNER_ID, BookingRole.OWNER);
+
+        verify(mockRepository).findAllByUserIdAndRole(OWNER_ID, BookingRole.OWNER);
+        assertThat(actual, equalTo(Map.of(
+                BookingStatusFilter.ALL, 3L,
+                BookingStatusFilter.CURRENT, 0L,
+                BookingStatusFilter.PAST, 3L,
+                BookingStatusFilter.FUTURE, 0L,
+                BookingStatusFilter.WAITING, 0L,
+                BookingStatusFilter.REJECTED, 0L)));
+    }
+
+    private BookingProxy makeOwnedBooking() {
+        final BookingProxy booking = makeBookingProxy();
+        booking.getItem().setOwner(new User());
+        booking.getItem().getOwner().setId(OWNER_ID);
+        return booking;
+    }
+}
@@ -0,0 +1,52 @@
+package ru.practicum.shareit.booking;
+
+import org.junit.jupiter.api.Test;
+import ru.practicum.shareit.common.exception.ValidationException;
+
+import java.time.LocalDateTime;
+import java.time.Month;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static ru.practicum.shareit.booking.BookingUtils.makeBookingProxy;
+
+class BookingCursorTest {
+
+    private static final String ENCODED = "MjAwMS0wNi0wMVQwOToxMDoxMXwx";
+    private static final BookingCursor CURSOR = new BookingCursor(LocalDateTime.of(2001, Month.JUNE, 1, 9, 10, 11), 1L);
+
+    @Test
+    void testOf() {
+        assertThat(BookingCursor.of(makeBookingProxy()), equalTo(CURSOR));
+    }
+
+    @Test
+    void testEncode() {
+        assertThat(CURSOR.encode(), equalTo(ENCODED));
+    }
+
+    @Test
+    void testDecode() {
+        assertThat(BookingCursor.decode(ENCODED), equalTo(CURSOR));
+    }
+
+    @Test
+    void testDecodeWhenNotBase64() {
+        final ValidationException exception = assertThrows(ValidationException.class,
+                () -> BookingCursor.decode("#$%"));
+
+        assertThat(exception.getProperty(), equalTo("cursor"));
+        assertThat(exception.getViolation(), equalTo("malformed value"));
+    }
+
+    @Test
+    void testDecodeWhenNoSeparator() {
+        assertThrows(ValidationException.class, () -> BookingCursor.decode("MjAwMS0wNi0wMVQwOToxMDoxMQ"));
+    }
+
+    @Test
+    void testDecodeWhenWrongId() {
+        assertThrows(ValidationException.class, () -> BookingCursor.decode("MjAwMS0wNi0wMVQwOToxMDoxMXx4"));
+    }
+}
@@ -0,0 +1,157 @@
+package ru.practicum.shareit.booking;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import ru.practicum.shareit.item.Item;
+import ru.practicum.shareit.item.ItemService;
+import ru.practicum.shareit.user.User;
+import ru.practicum.shareit.user.UserService;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.equalTo;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "management.endpoints.web.exposure.include=bookingprojections",
+        "shareit.booking-phase.roll-over-delay=3600000"
+})
+class BookingEventIT {
+
+    private static final AtomicInteger sequence = new AtomicInteger();
+    private static final String SELECT_SUMMARY = "select last_booking_id, next_booking_id, next_booking_start "
+            + "from item_booking_summary where item_id = ?";
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private ItemService itemService;
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private BookingArchiveService bookingArchiveService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void testBookingChangesAreRecorded() {
+        final User owner = createUser();
+        final User booker = createUser();
+        final Item item = createItem(owner);
+        final LocalDateTime start = LocalDateTime.now().plusDays(1L).truncatedTo(ChronoUnit.SECONDS);
+        final Booking approved = createBooking(item, booker, start);
+        final List<Booking> bookings = bookingService.createBookings(List.of(
+                makeBooking(item, booker, start.plusDays(2L)),
+                makeBooking(item, booker, start.plusDays(4L))));
+        bookingService.applyBookingVerdict(approved.getId(), true, owner.getId());
+        bookingService.applyBookingVerdicts(List.of(
+                new BookingVerdict(bookings.getFirst().getId(), false)), owner.getId());
+
+        assertThat(statuses(approved.getId()), contains("WAITING", "APPROVED"));
+        assertThat(statuses(bookings.getFirst().getId()), contains("WAITING", "REJECTED"));
+        assertThat(statuses(bookings.getLast().getId()), contains("WAITING"));
+        assertThat(jdbcTemplate.queryForObject("select distinct owner_id from booking_events where booking_id = ?",
+                Long.class, approved.getId()), equalTo(owner.getId()));
+    }
+
+    @Test
+    void testRebuildRestoresReadModels() throws Exception {
+        final User owner = createUser();
+        final User booker = createUser();
+        final Item item = createItem(owner);
+        final LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS);
+        final Booking archived = approve(createBooking(item, booker, now.minusDays(300L)));
+        approve(createBooking(item, booker, now.minusDays(200L)));
+        approve(createBooking(item, booker, now.plusDays(2L)));
+        approve(createBooking(item, booker, now.plusDays(1L)));
+        bookingService.applyBookingVerdict(createBooking(item, booker, now.plusDays(3L)).getId(), false,
+                owner.getId());
+        createBooking(item, booker, now.plusDays(4L));
+        bookingArchiveService.archiveBookings();
+        assertThat(jdbcTemplate.queryForObject("select count(*) from bookings where id = ?", Long.class,
+                archived.getId()), equalTo(0L));
+        final Map<BookingStatusFilter, Long> userCounts = bookingService.getUserBookingCounts(booker.getId());
+        final Map<BookingStatusFilter, Long> ownerCounts = bookingService.getOwnerBookingCounts(owner.getId());
+        final Map<String, Object> summary = jdbcTemplate.queryForMap(SELECT_SUMMARY, item.getId());
+        jdbcTemplate.update("update booking_counts set booking_count = 99 where user_id in (?, ?)", owner.getId(),
+                booker.getId());
+        jdbcTemplate.update("delete from booking_counts where user_id = ? and status_filter = 'FUTURE'",
+                booker.getId());
+        jdbcTemplate.update("update item_booking_summary set last_booking_id = null, next_booking_id = null, "
+                + "next_booking_start = null where item_id = ?", item.getId());
+
+        try (HttpClient client = HttpClient.newHttpClient()) {
+            final HttpResponse<Void> response = client.send(HttpRequest.newBuilder(URI.create(
+                            "http://localhost:%d/actuator/bookingprojections".formatted(port)))
+                    .POST(HttpRequest.BodyPublishers.noBody())
+                    .build(), HttpResponse.BodyHandlers.discarding());
+            assertThat(response.statusCode(), equalTo(204));
+        }
+
+        assertThat(bookingService.getUserBookingCounts(booker.getId()), equalTo(userCounts));
+        assertThat(bookingService.getOwnerBookingCounts(owner.getId()), equalTo(ownerCounts));
+        assertThat(userCounts.get(BookingStatusFilter.ALL), equalTo(6L));
+        assertThat(jdbcTemplate.queryForMap(SELECT_SUMMARY, item.getId()), equalTo(summary));
+    }
+
+    private List<String> statuses(final long bookingId) {
+        return jdbcTemplate.queryForList("select status from booking_events where booking_id = ? order by id",
+                String.class, bookingId);
+    }
+
+    private Booking approve(final Booking booking) {
+        return bookingService.applyBookingVerdict(booking.getId(), true, booking.getItem().getOwner().getId());
+    }
+
+    private Booking createBooking(final Item item, final User booker, final LocalDateTime start) {
+        return bookingService.createBooking(makeBooking(item, booker, start));
+    }
+
+    private Booking makeBooking(final Item item, final User booker, final LocalDateTime start) {
+        final Booking booking = new Booking();
+        final Item bookedItem = new Item();
+        bookedItem.setId(item.getId());
+        booking.setItem(bookedItem);
+        booking.setBooker(booker);
+        booking.setStart(start);
+        booking.setEnd(start.plusDays(1L));
+        booking.setStatus(BookingStatus.WAITING);
+        return booking;
+    }
+
+    private User createUser() {
+        final int n = sequence.incrementAndGet();
+        final User user = new User();
+        user.setName("User " + n);
+        user.setEmail("booking.event.user%d@mail.com".formatted(n));
+        return userService.createUser(user);
+    }
+
+    private Item createItem(final User owner) {
+        final Item item = new Item();
+        item.setOwner(owner);
+        item.setName("Item");
+        item.setDescription("Item description");
+        item.setAvailable(true);
+        return itemService.createItem(item);
+    }
+}
@@ -0,0 +1,88 @@
+package ru.practicum.shareit.booking;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.MockitoAnnotations;
+import ru.practicum.shareit.user.User;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.equalTo;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.verify;
+import static ru.practicum.shareit.booking.BookingUtils.makeBookingProxy;
+
+class BookingEventServiceImplTest {
+
+    private static final long BOOKER_ID = 42L;
+    private static final long OWNER_ID = 43L;
+    private static final long ITEM_ID = 13L;
+
+    private AutoCloseable openMocks;
+
+    @Mock
+    private BookingEventRepository mockRepository;
+
+    @Captor
+    private ArgumentCaptor<List<BookingEvent>> eventsCaptor;
+
+    private BookingEventService service;
+
+    @BeforeEach
+    void setUp() {
+        openMocks = MockitoAnnotations.openMocks(this);
+        service = new BookingEventServiceImpl(mockRepository);
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        Mockito.verifyNoMoreInteractions(mockRepository);
+        openMocks.close();
+    }
+
+    @Test
+    void testRecordAll() {
+        final Booking approved = makeOwnedBooking();
+        final Booking rejected = makeOwnedBooking().withId(2L).withStatus(BookingStatus.REJECTED);
+
+        service.recordAll(List.of(approved, rejected));
+
+        verify(mockRepository).appendAll(eventsCaptor.capture());
+        final LocalDateTime occurred = eventsCaptor.getValue().getFirst().occurred();
+        assertThat(eventsCaptor.getValue(), contains(
+                new BookingEvent(1L, ITEM_ID, BOOKER_ID, OWNER_ID, BookingStatus.APPROVED, approved.getStart(),
+                        approved.getEnd(), occurred),
+                new BookingEvent(2L, ITEM_ID, BOOKER_ID, OWNER_ID, BookingStatus.REJECTED, rejected.getStart(),
+                        rejected.getEnd(), occurred)));
+    }
+
+    @Test
+    void testRecordAllWhenEmpty() {
+        service.recordAll(List.of());
+
+        Mockito.verifyNoInteractions(mockRepository);
+    }
+
+    @Test
+    void testRecordAllWhenNull() {
+        final NullPointerException exception = assertThrows(NullPointerException.class,
+                () -> service.recordAll(null));
+
+        assertThat(exception.getMessage(), equalTo("Cannot record booking events: bookings is null"));
+    }
+
+    private BookingProxy makeOwnedBooking() {
+        final BookingProxy booking = makeBookingProxy();
+        booking.getItem().setOwner(new User());
+        booking.getItem().getOwner().setId(OWNER_ID);
+        return booking;
+    }
+}
@@ -0,0 +1,163 @@
+package ru.practicum.shareit.booking;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import ru.practicum.shareit.item.Item;
+import ru.practicum.shareit.item.ItemService;
+import ru.practicum.shareit.user.User;
+import ru.practicum.shareit.user.UserService;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.not;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+class BookingIdempotencyIT {
+
+    private static final AtomicInteger sequence = new AtomicInteger();
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private ItemService itemService;
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Test
+    void testCreateBookingWhenRepeatedWithSameKey() throws Exception {
+        final User owner = createUser();
+        final User booker = createUser();
+        final Item item = createItem(owner);
+        final String body = makeBody(item);
+        final String key = UUID.randomUUID().toString();
+        try (HttpClient client = HttpClient.newHttpClient()) {
+            final HttpResponse<String> first = send(client, "POST", "/bookings", booker.getId(), key, body);
+            final HttpResponse<String> second = send(client, "POST", "/bookings", booker.getId(), key, body);
+
+            assertThat(first.statusCode(), equalTo(200));
+            assertThat(first.headers().firstValue("Idempotent-Replayed").isPresent(), equalTo(false));
+            assertThat(second.statusCode(), equalTo(200));
+            assertThat(second.headers().firstValue("Idempotent-Replayed").orElseThrow(), equalTo("true"));
+            assertThat(second.headers().firstValue("Content-Type").orElseThrow(), equalTo("application/json"));
+            assertThat(second.body(), equalTo(first.body()));
+        }
+        assertThat(bookingService.getUserBookings(booker.getId(), BookingStatusFilter.ALL, 0, 10), hasSize(1));
+    }
+
+    @Test
+    void testCreateBookingWhenKeyReusedForAnotherRequest() throws Exception {
+        final User owner = createUser();
+        final User booker = createUser();
+        final Item item = createItem(owner);
+        final Item anotherItem = createItem(owner);
+        final String key = UUID.randomUUID().toString();
+        try (HttpClient client = HttpClient.newHttpClient()) {
+            send(client, "POST", "/bookings", booker.getId(), key, makeBody(item));
+            final HttpResponse<String> response = send(client, "POST", "/bookings", booker.getId(), key,
+                    makeBody(anotherItem));
+
+            assertThat(response.statusCode(), equalTo(422));
+        }
+        assertThat(bookingService.getUserBookings(booker.getId(), BookingStatusFilter.ALL, 0, 10), hasSize(1));
+    }
+
+    @Test
+    void testCreateBookingWhenSameKeyUsedByAnotherUser() throws Exception {
+        final User owner = createUser();
+        final User booker = createUser();
+        final User anotherBooker = createUser();
+        final Item item = createItem(owner);
+        final Item anotherItem = createItem(owner);
+        final String key = UUID.randomUUID().toString();
+        try (HttpClient client = HttpClient.newHttpClient()) {
+            final HttpResponse<String> first = send(client, "POST", "/bookings", booker.getId(), key,
+                    makeBody(item));
+            final HttpResponse<String> second = send(client, "POST", "/bookings", anotherBooker.getId(), key,
+                    makeBody(anotherItem));
+
+            assertThat(second.statusCode(), equalTo(200));
+            assertThat(second.body(), not(equalTo(first.body())));
+        }
+    }
+
+    @Test
+    void testProcessBookingRequestWhenRepeatedWithSameKey() throws Exception {
+        final User owner = createUser();
+        final User booker = createUser();
+        final Item item = createItem(owner);
+        final String key = UUID.randomUUID().toString();
+        try (HttpClient client = HttpClient.newHttpClient()) {
+            final HttpResponse<String> created = send(client, "POST", "/bookings", booker.getId(), null,
+                    makeBody(item));
+            final String id = created.body().replaceFirst("^\\{\"id\":(\\d+),.*$", "$1");
+            final String path = "/bookings/%s?approved=true".formatted(id);
+
+            final HttpResponse<String> first = send(client, "PATCH", path, owner.getId(), key, null);
+            final HttpResponse<String> second = send(client, "PATCH", path, owner.getId(), key, null);
+            final HttpResponse<String> withoutKey = send(client, "PATCH", path, owner.getId(), null, null);
+
+            assertThat(first.statusCode(), equalTo(200));
+            assertThat(second.statusCode(), equalTo(200));
+            assertThat(second.body(), equalTo(first.body()));
+            assertThat(withoutKey.statusCode(), equalTo(400));
+        }
+    }
+
+    private HttpResponse<String> send(final HttpClient client, final String method, final String path,
+            final long userId, final String key, final String body) throws Exception {
+        final HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create("http://localhost:%d%s"
+                        .formatted(port, path)))
+                .header("Accept", "application/json")
+                .header("X-Sharer-User-Id", String.valueOf(userId))
+                .method(method, body == null
+                        ? HttpRequest.BodyPublishers.noBody()
+                        : HttpRequest.BodyPublishers.ofString(body));
+        if (body != null) {
+            builder.header("Content-Type", "application/json");
+        }
+        if (key != null) {
+            builder.header("Idempotency-Key", key);
+        }
+        return client.send(builder.build(), HttpResponse.BodyHandlers.ofString());
+    }
+
+    private String makeBody(final Item item) {
+        final LocalDateTime start = LocalDateTime.now().plusDays(1L).truncatedTo(ChronoUnit.SECONDS);
+        return "{\"itemId\":%d,\"start\":\"%s\",\"end\":\"%s\"}".formatted(item.getId(), start,
+                start.plusDays(1L));
+    }
+
+    private User createUser() {
+        final int n = sequence.incrementAndGet();
+        final User user = new User();
+        user.setName("User " + n);
+        user.setEmail("booking.idempotency.user%d@mail.com".formatted(n));
+        return userService.createUser(user);
+    }
+
+    private Item createItem(final User owner) {
+        final Item item = new Item();
+        item.setOwner(owner);
+        item.setName("Item");
+        item.setDescription("Item description");
+        item.setAvailable(true);
+        return itemService.createItem(item);
+    }
+}
@@ -0,0 +1,155 @@
+package ru.practicum.shareit.booking;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import ru.practicum.shareit.item.Item;
+import ru.practicum.shareit.item.ItemService;
+import ru.practicum.shareit.user.User;
+import ru.practicum.shareit.user.UserService;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.startsWith;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = "shareit.booking-inbox.heartbeat-delay=100")
+class BookingInboxIT {
+
+    private static final AtomicInteger sequence = new AtomicInteger();
+    private static final Duration TIMEOUT = Duration.ofSeconds(10L);
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private ItemService itemService;
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Test
+    void testGetOwnerInboxStreamsCreatedBookings() throws Exception {
+        final User owner = createUser();
+        final User booker = createUser();
+        final Item item = createItem(owner);
+        final Item anotherItem = createItem(owner);
+        final LocalDateTime start = LocalDateTime.now().plusDays(1L).truncatedTo(ChronoUnit.SECONDS);
+        try (HttpClient client = HttpClient.newHttpClient()) {
+            final HttpResponse<Stream<String>> response = openInbox(client, owner.getId());
+            assertThat(response.statusCode(), equalTo(200));
+            assertThat(response.headers().firstValue("Content-Type").orElseThrow(), startsWith("text/event-stream"));
+            final Iterator<String> lines = response.body().iterator();
+            assertThat(lines.next(), equalTo(":subscribed"));
+
+            final Booking booking = bookingService.createBooking(makeBooking(item, booker, start, start.plusDays(1L)));
+            final List<Booking> bookings = bookingService.createBookings(List.of(
+                    makeBooking(anotherItem, booker, start, start.plusDays(2L))));
+
+            assertThat(nextEventData(lines, booking.getId()), containsString("\"name\":\"Item\""));
+            nextEventData(lines, bookings.getFirst().getId());
+            response.body().close();
+        }
+    }
+
+    @Test
+    void testGetOwnerInboxSendsHeartbeats() throws Exception {
+        final User owner = createUser();
+        createItem(owner);
+        try (HttpClient client = HttpClient.newHttpClient()) {
+            final HttpResponse<Stream<String>> response = openInbox(client, owner.getId());
+            final Iterator<String> lines = response.body().iterator();
+
+            assertTimeoutPreemptively(TIMEOUT, () -> {
+                String line = lines.next();
+                while (!line.equals(":heartbeat")) {
+                    line = lines.next();
+                }
+            });
+            response.body().close();
+        }
+    }
+
+    @Test
+    void testGetOwnerInboxWhenNoItems() throws Exception {
+        final User user = createUser();
+        try (HttpClient client = HttpClient.newHttpClient()) {
+            final HttpResponse<Stream<String>> response = openInbox(client, user.getId());
+
+            assertThat(response.statusCode(), equalTo(403));
+            response.body().close();
+        }
+    }
+
+    private HttpResponse<Stream<String>> openInbox(final HttpClient client, final long userId) throws Exception {
+        final HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:%d/bookings/owner/inbox"
+                        .formatted(port)))
+                .header("Accept", "text/event-stream, application/json")
+                .header("X-Sharer-User-Id", String.valueOf(userId))
+                .build();
+        return client.send(request, HttpResponse.BodyHandlers.ofLines());
+    }
+
+    // Skips comments and blank lines up to the event, checks its id and returns its data
+    private String nextEventData(final Iterator<String> lines, final long bookingId) {
+        return assertTimeoutPreemptively(TIMEOUT, () -> {
+            String line = lines.next();
+            while (line.isEmpty() || line.startsWith(":")) {
+                line = lines.next();
+            }
+            assertThat(line, equalTo("id:" + bookingId));
+            assertThat(lines.next(), equalTo("event:booking"));
+            final String data = lines.next();
+            assertThat(data, startsWith("data:{\"id\":" + bookingId + ","));
+            return data;
+        });
+    }
+
+    private Booking makeBooking(final Item item, final User booker, final LocalDateTime start,
+            final LocalDateTime end) {
+        final Booking booking = new Booking();
+        final Item bookedItem = new Item();
+        bookedItem.setId(item.getId());
+        booking.setItem(bookedItem);
+        booking.setBooker(booker);
+        booking.setStart(start);
+        booking.setEnd(end);
+        booking.setStatus(BookingStatus.WAITING);
+        return booking;
+    }
+
+    private User createUser() {
+        final int n = sequence.incrementAndGet();
+        final User user = new User();
+        user.setName("User " + n);
+        user.setEmail("booking.inbox.user%d@mail.com".formatted(n));
+        return userService.createUser(user);
+    }
+
+    private Item createItem(final User owner) {
+        final Item item = new Item();
+        item.setOwner(owner);
+        item.setName("Item");
+        item.setDescription("Item description");
+        item.setAvailable(true);
+        return itemService.createItem(item);
+    }
+}
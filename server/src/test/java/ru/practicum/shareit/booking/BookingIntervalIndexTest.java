@@ -0,0 +1,159 @@
+package ru.practicum.shareit.booking;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.MockitoAnnotations;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.Month;
+import java.util.List;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.equalTo;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static ru.practicum.shareit.common.CommonUtils.ITEM_ID;
+
+class BookingIntervalIndexTest {
+
+    private static final LocalDateTime DAY = LocalDateTime.of(2030, Month.MAY, 1, 0, 0);
+
+    private AutoCloseable openMocks;
+
+    @Mock
+    private BookingRepository mockRepository;
+
+    private BookingIntervalIndex index;
+
+    @BeforeEach
+    void setUp() {
+        openMocks = MockitoAnnotations.openMocks(this);
+        index = new BookingIntervalIndex(mockRepository, 100L, Duration.ofMinutes(10L));
+        when(mockRepository.findApprovedIntervalsByItemId(eq(ITEM_ID), any())).thenReturn(List.of(
+                interval(1, 3),
+                interval(5, 6),
+                interval(8, 12)));
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        Mockito.verifyNoMoreInteractions(mockRepository);
+        openMocks.close();
+    }
+
+    @Test
+    void testIsFreeWhenBetweenIntervals() {
+        assertThat(index.isFree(ITEM_ID, day(3), day(5)), equalTo(true));
+
+        verify(mockRepository).findApprovedIntervalsByItemId(eq(ITEM_ID), any());
+    }
+
+    @Test
+    void testIsFreeWhenBeforeAndAfterAllIntervals() {
+        assertThat(index.isFree(ITEM_ID, day(0), day(1)), equalTo(true));
+        assertThat(index.isFree(ITEM_ID, day(12), day(20)), equalTo(true));
+
+        verify(mockRepository).findApprovedIntervalsByItemId(eq(ITEM_ID), any());
+    }
+
+    @Test
+    void testIsFreeWhenOverlapsStartOrEnd() {
+        assertThat(index.isFree(ITEM_ID, day(0), day(2)), equalTo(false));
+        assertThat(index.isFree(ITEM_ID, day(2), day(4)), equalTo(false));
+        assertThat(index.isFree(ITEM_ID, day(11), day(13)), equalTo(false));
+
+        verify(mockRepository).findApprovedIntervalsByItemId(eq(ITEM_ID), any());
+    }
+
+    @Test
+    void testIsFreeWhenInsideOrAroundInterval() {
+        assertThat(index.isFree(ITEM_ID, day(9), day(10)), equalTo(false));
+        assertThat(index.isFree(ITEM_ID, day(4), day(7)), equalTo(false));
+        assertThat(index.isFree(ITEM_ID, day(5), day(6)), equalTo(false));
+
+        verify(mockRepository).findApprovedIntervalsByItemId(eq(ITEM_ID), any());
+    }
+
+    @Test
+    void testIsFreeWhenStoredIntervalsOverlap() {
+        when(mockRepository.findApprovedIntervalsByItemId(eq(ITEM_ID), any())).thenReturn(List.of(
+                interval(1, 10),
+                interval(2, 3)));
+
+        assertThat(index.isFree(ITEM_ID, day(5), day(6)), equalTo(false));
+
+        verify(mockRepository).findApprovedIntervalsByItemId(eq(ITEM_ID), any());
+    }
+
+    @Test
+    void testEvictAfterCommitWhenItemLoaded() {
+        index.isFree(ITEM_ID, day(3), day(5));
+
+        index.evictAfterCommit(ITEM_ID);
+
+        assertThat(index.isFree(ITEM_ID, day(3), day(5)), equalTo(true));
+        verify(mockRepository, times(2)).findApprovedIntervalsByItemId(eq(ITEM_ID), any());
+    }
+
+    @Test
+    void testEvictAfterCommitWhenItemNotLoaded() {
+        index.evictAfterCommit(ITEM_ID);
+
+        assertThat(index.isFree(ITEM_ID, day(3), day(5)), equalTo(true));
+        verify(mockRepository).findApprovedIntervalsByItemId(eq(ITEM_ID), any());
+    }
+
+    @Test
+    void testGetFreeIntervalsWhenPeriodCoversIntervals() {
+        final List<BookingInterval> actual = index.getFreeIntervals(ITEM_ID, day(0), day(20));
+
+        assertThat(actual, contains(interval(0, 1), interval(3, 5), interval(6, 8), interval(12, 20)));
+        verify(mockRepository).findApprovedIntervalsByItemId(eq(ITEM_ID), any());
+    }
+
+    @Test
+    void testGetFreeIntervalsWhenPeriodStartsAndEndsInsideIntervals() {
+        final List<BookingInterval> actual = index.getFreeIntervals(ITEM_ID, day(2), day(9));
+
+        assertThat(actual, contains(interval(3, 5), interval(6, 8)));
+        verify(mockRepository).findApprovedIntervalsByItemId(eq(ITEM_ID), any());
+    }
+
+    @Test
+    void testGetFreeIntervalsWhenPeriodInsideInterval() {
+        final List<BookingInterval> actual = index.getFreeIntervals(ITEM_ID, day(9), day(10));
+
+        assertThat(actual, empty());
+        verify(mockRepository).findApprovedIntervalsByItemId(eq(ITEM_ID), any());
+    }
+
+    @Test
+    void testGetFreeIntervalsWhenStoredIntervalsOverlap() {
+        when(mockRepository.findApprovedIntervalsByItemId(eq(ITEM_ID), any())).thenReturn(List.of(
+                interval(1, 10),
+                interval(2, 3),
+                interval(4, 12)));
+
+        final List<BookingInterval> actual = index.getFreeIntervals(ITEM_ID, day(3), day(15));
+
+        assertThat(actual, contains(interval(12, 15)));
+        verify(mockRepository).findApprovedIntervalsByItemId(eq(ITEM_ID), any());
+    }
+
+    private static BookingInterval interval(final int startDay, final int endDay) {
+        return new BookingInterval(day(startDay), day(endDay));
+    }
+
+    private static LocalDateTime day(final int day) {
+        return DAY.plusDays(day);
+    }
+}
@@ -63,6 +63,33 @@ class BookingMapperImplTest {
         assertThat(actual, nullValue());
     }
 
+    @Test
+    void testMapToBookings() {
+        final BookingBatchCreateDto dto = new BookingBatchCreateDto();
+        dto.setBookings(List.of(makeBookingCreateDtoProxy(), makeBookingCreateDtoProxy()));
+
+        final List<Booking> actual = mapper.mapToBookings(dto, 42L);
+
+        assertThat(actual, contains(samePropertyValuesAs(makeTestBooking()),
+                samePropertyValuesAs(makeTestBooking())));
+    }
+
+    @Test
+    void testMapToVerdicts() {
+        final BookingVerdictDto approval = new BookingVerdictDto();
+        approval.setId(1L);
+        approval.setApproved(true);
+        final BookingVerdictDto rejection = new BookingVerdictDto();
+        rejection.setId(2L);
+        rejection.setApproved(false);
+        final BookingVerdictBatchDto dto = new BookingVerdictBatchDto();
+        dto.setVerdicts(List.of(approval, rejection));
+
+        final List<BookingVerdict> actual = mapper.mapToVerdicts(dto);
+
+        assertThat(actual, contains(new BookingVerdict(1L, true), new BookingVerdict(2L, false)));
+    }
+
     @Test
     void testMapToDtoWhenSingleBooking() {
         final BookingRetrieveDto expected = makeTestBookingRetrieveDto();
@@ -0,0 +1,137 @@
+package ru.practicum.shareit.booking;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import ru.practicum.shareit.common.exception.ConflictException;
+import ru.practicum.shareit.item.Item;
+import ru.practicum.shareit.item.ItemService;
+import ru.practicum.shareit.user.User;
+import ru.practicum.shareit.user.UserService;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.instanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@SpringBootTest
+class BookingOverlapIT {
+
+    private static final int BOOKERS = 8;
+    private static final AtomicInteger sequence = new AtomicInteger();
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private ItemService itemService;
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Test
+    void testApplyBookingVerdictWhenConcurrentOverlappingApprovals() throws Exception {
+        final User owner = createUser();
+        final Item item = createItem(owner);
+        final LocalDateTime start = LocalDateTime.now().plusDays(1L).truncatedTo(ChronoUnit.SECONDS);
+        final List<Booking> bookings = new ArrayList<>();
+        for (int i = 0; i < BOOKERS; i++) {
+            bookings.add(createBooking(item, createUser(), start.plusHours(i), start.plusHours(i).plusDays(1L)));
+        }
+
+        final CountDownLatch startLine = new CountDownLatch(1);
+        final List<Future<Booking>> verdicts = new ArrayList<>();
+        try (ExecutorService executor = Executors.newFixedThreadPool(BOOKERS)) {
+            for (final Booking booking : bookings) {
+                verdicts.add(executor.submit(() -> {
+                    startLine.await();
+                    return bookingService.applyBookingVerdict(booking.getId(), true, owner.getId());
+                }));
+            }
+            startLine.countDown();
+        }
+
+        int approved = 0;
+        for (final Future<Booking> verdict : verdicts) {
+            try {
+                verdict.get();
+                approved++;
+            } catch (ExecutionException e) {
+                assertThat(e.getCause(), instanceOf(ConflictException.class));
+            }
+        }
+        assertThat(approved, equalTo(1));
+    }
+
+    @Test
+    void testCreateBookingWhenSlotTaken() {
+        final User owner = createUser();
+        final Item item = createItem(owner);
+        final LocalDateTime start = LocalDateTime.now().plusDays(1L).truncatedTo(ChronoUnit.SECONDS);
+        final Booking booking = createBooking(item, createUser(), start, start.plusDays(2L));
+        bookingService.applyBookingVerdict(booking.getId(), true, owner.getId());
+
+        assertThrows(ConflictException.class,
+                () -> createBooking(item, createUser(), start.plusDays(1L), start.plusDays(3L)));
+        createBooking(item, createUser(), start.plusDays(2L), start.plusDays(3L));
+    }
+
+    @Test
+    void testGetFreeIntervalsAfterApproval() {
+        final User owner = createUser();
+        final Item item = createItem(owner);
+        final LocalDateTime start = LocalDateTime.now().plusDays(1L).truncatedTo(ChronoUnit.SECONDS);
+        final LocalDateTime end = start.plusDays(10L);
+        bookingService.getFreeIntervals(item.getId(), start, end);
+        final Booking approved = createBooking(item, createUser(), start.plusDays(2L), start.plusDays(4L));
+        bookingService.applyBookingVerdict(approved.getId(), true, owner.getId());
+        createBooking(item, createUser(), start.plusDays(6L), start.plusDays(8L));
+
+        final List<BookingInterval> actual = bookingService.getFreeIntervals(item.getId(), start, end);
+
+        assertThat(actual, contains(new BookingInterval(start, start.plusDays(2L)),
+                new BookingInterval(start.plusDays(4L), end)));
+    }
+
+    private Booking createBooking(final Item item, final User booker, final LocalDateTime start,
+            final LocalDateTime end) {
+        final Booking booking = new Booking();
+        final Item bookedItem = new Item();
+        bookedItem.setId(item.getId());
+        booking.setItem(bookedItem);
+        booking.setBooker(booker);
+        booking.setStart(start);
+        booking.setEnd(end);
+        booking.setStatus(BookingStatus.WAITING);
+        return bookingService.createBooking(booking);
+    }
+
+    private User createUser() {
+        final int n = sequence.incrementAndGet();
+        final User user = new User();
+        user.setName("User " + n);
+        user.setEmail("booking.overlap.user%d@mail.com".formatted(n));
+        return userService.createUser(user);
+    }
+
+    private Item createItem(final User owner) {
+        final Item item = new Item();
+        item.setOwner(owner);
+        item.setName("Item");
+        item.setDescription("Item description");
+        item.setAvailable(true);
+        return itemService.createItem(item);
+    }
+}
@@ -0,0 +1,122 @@
+package ru.practicum.shareit.booking;
+
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import javax.sql.DataSource;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+
+// Migration V5 has to leave no overlapping approved bookings for the constraint added by PostgreSQL migration V5_1
+class BookingOverlapMigrationIT {
+
+    private static final String URL = "jdbc:h2:mem:overlap-migration-%s;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;"
+            + "DB_CLOSE_DELAY=-1";
+    private static final String INSERT_BOOKING = "insert into bookings (item_id, booker_id, booking_start, "
+            + "booking_end, status) values (?, ?, ?, ?, ?)";
+
+    private DataSource dataSource;
+    private JdbcTemplate jdbcTemplate;
+    private LocalDateTime now;
+    private long bookerId;
+
+    @BeforeEach
+    void setUp() {
+        dataSource = new DriverManagerDataSource(URL.formatted(UUID.randomUUID()), "sa", "");
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        migrate("3");
+        now = LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS);
+        jdbcTemplate.update("insert into users (name, email) values ('Booker', 'booker@mail.com')");
+        bookerId = jdbcTemplate.queryForObject("select max(id) from users", Long.class);
+    }
+
+    @Test
+    void testEarliestOfOverlappingApprovedBookingsStaysApproved() {
+        final long itemId = createItem();
+        final long first = createBooking(itemId, 1, 5, "APPROVED");
+        final long inside = createBooking(itemId, 2, 3, "APPROVED");
+        final long crossingEnd = createBooking(itemId, 4, 6, "APPROVED");
+        final long adjoining = createBooking(itemId, 5, 7, "APPROVED");
+        final long separate = createBooking(itemId, 8, 9, "APPROVED");
+        final long waiting = createBooking(itemId, 2, 3, "WAITING");
+        final long tieFirst = createBooking(itemId, 10, 11, "APPROVED");
+        final long tieSecond = createBooking(itemId, 10, 11, "APPROVED");
+
+        migrate("5");
+
+        assertThat(status(first), equalTo("APPROVED"));
+        assertThat(status(inside), equalTo("REJECTED"));
+        assertThat(status(crossingEnd), equalTo("REJECTED"));
+        // Overlaps a booking that is rejected too: overlaps are found before any booking is rejected
+        assertThat(status(adjoining), equalTo("REJECTED"));
+        assertThat(status(separate), equalTo("APPROVED"));
+        assertThat(status(waiting), equalTo("WAITING"));
+        assertThat(status(tieFirst), equalTo("APPROVED"));
+        assertThat(status(tieSecond), equalTo("REJECTED"));
+    }
+
+    @Test
+    void testSummaryOfItemWithOverlapsIsRebuilt() {
+        final long itemId = createItem();
+        final long last = createBooking(itemId, -10, -1, "APPROVED");
+        final long overlappingLast = createBooking(itemId, -5, -2, "APPROVED");
+        final long next = createBooking(itemId, 2, 4, "APPROVED");
+        final long overlappingNext = createBooking(itemId, 3, 5, "APPROVED");
+        final long otherItemId = createItem();
+        final long otherNext = createBooking(otherItemId, 3, 5, "APPROVED");
+        jdbcTemplate.update("insert into item_booking_summary (item_id, last_booking_id, next_booking_id, "
+                + "next_booking_start) values (?, ?, ?, ?)", itemId, overlappingLast, next, now.plusDays(2L));
+        jdbcTemplate.update("insert into item_booking_summary (item_id, last_booking_id, next_booking_id, "
+                + "next_booking_start) values (?, null, ?, ?)", otherItemId, otherNext, now.plusDays(3L));
+
+        migrate("5");
+
+        assertThat(status(overlappingNext), equalTo("REJECTED"));
+        assertThat(summary(itemId), equalTo(Map.of("last_booking_id", last, "next_booking_id", next,
+                "next_booking_start", now.plusDays(2L))));
+        assertThat(summary(otherItemId), equalTo(Map.of("last_booking_id", 0L, "next_booking_id", otherNext,
+                "next_booking_start", now.plusDays(3L))));
+    }
+
+    private void migrate(final String target) {
+        Flyway.configure()
+                .dataSource(dataSource)
+                .locations("classpath:db/migration")
+                .target(target)
+                .load()
+                .migrate();
+    }
+
+    private long createItem() {
+        jdbcTemplate.update("insert into items (owner_id, name, description, available) values (?, 'Item', "
+                + "'Item description', true)", bookerId);
+        return jdbcTemplate.queryForObject("select max(id) from items", Long.class);
+    }
+
+    private long createBooking(final long itemId, final int startDay, final int endDay, final String status) {
+        jdbcTemplate.update(INSERT_BOOKING, itemId, bookerId, now.plusDays(startDay), now.plusDays(endDay), status);
+        return jdbcTemplate.queryForObject("select max(id) from bookings", Long.class);
+    }
+
+    private String status(final long bookingId) {
+        return jdbcTemplate.queryForObject("select status from bookings where id = ?", String.class, bookingId);
+    }
+
+    private Map<String, Object> summary(final long itemId) {
+        return jdbcTemplate.queryForObject("select coalesce(last_booking_id, 0) as last_booking_id, "
+                + "next_booking_id, next_booking_start from item_booking_summary where item_id = ?",
+                (resultSet, rowNum) -> Map.of(
+                        "last_booking_id", resultSet.getLong("last_booking_id"),
+                        "next_booking_id", resultSet.getLong("next_booking_id"),
+                        "next_booking_start", resultSet.getObject("next_booking_start", LocalDateTime.class)),
+                itemId);
+    }
+}
@@ -0,0 +1,94 @@
+package ru.practicum.shareit.booking;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import ru.practicum.shareit.item.Item;
+import ru.practicum.shareit.item.ItemService;
+import ru.practicum.shareit.user.User;
+import ru.practicum.shareit.user.UserService;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.empty;
+
+@SpringBootTest(properties = "shareit.booking-phase.roll-over-delay=3600000")
+class BookingPhaseIT {
+
+    private static final AtomicInteger sequence = new AtomicInteger();
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private ItemService itemService;
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private BookingPhaseService bookingPhaseService;
+
+    @Test
+    void testGetBookingsByPhaseAfterRollOver() throws InterruptedException {
+        final User owner = createUser();
+        final User booker = createUser();
+        final Item item = createItem(owner);
+        final LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.MILLIS);
+        final Booking current = bookingService.createBooking(makeBooking(item, booker, now.minusHours(1L),
+                now.plus(500L, ChronoUnit.MILLIS)));
+        final Booking future = bookingService.createBooking(makeBooking(item, booker, now.plus(500L, ChronoUnit.MILLIS),
+                now.plusDays(1L)));
+        assertThat(ids(booker, BookingStatusFilter.CURRENT), contains(current.getId()));
+        assertThat(ids(booker, BookingStatusFilter.FUTURE), contains(future.getId()));
+        assertThat(ids(booker, BookingStatusFilter.PAST), empty());
+
+        Thread.sleep(600L);
+        bookingPhaseService.rollOverPhases();
+
+        assertThat(ids(booker, BookingStatusFilter.PAST), contains(current.getId()));
+        assertThat(ids(booker, BookingStatusFilter.CURRENT), contains(future.getId()));
+        assertThat(ids(booker, BookingStatusFilter.FUTURE), empty());
+    }
+
+    private List<Long> ids(final User booker, final BookingStatusFilter filter) {
+        return bookingService.getUserBookings(booker.getId(), filter, 0, 10).stream()
+                .map(Booking::getId)
+                .toList();
+    }
+
+    private Booking makeBooking(final Item item, final User booker, final LocalDateTime start,
+            final LocalDateTime end) {
+        final Booking booking = new Booking();
+        final Item bookedItem = new Item();
+        bookedItem.setId(item.getId());
+        booking.setItem(bookedItem);
+        booking.setBooker(booker);
+        booking.setStart(start);
+        booking.setEnd(end);
+        booking.setStatus(BookingStatus.WAITING);
+        return booking;
+    }
+
+    private User createUser() {
+        final int n = sequence.incrementAndGet();
+        final User user = new User();
+        user.setName("User " + n);
+        user.setEmail("booking.phase.user%d@mail.com".formatted(n));
+        return userService.createUser(user);
+    }
+
+    private Item createItem(final User owner) {
+        final Item item = new Item();
+        item.setOwner(owner);
+        item.setName("Item");
+        item.setDescription("Item description");
+        item.setAvailable(true);
+        return itemService.createItem(item);
+    }
+}
@@ -0,0 +1,108 @@
+package ru.practicum.shareit.booking;
+
+import org.json.JSONException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.MockitoAnnotations;
+import ru.practicum.shareit.common.LogListener;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+import static ru.practicum.shareit.common.CommonUtils.assertLogs;
+
+class BookingPhaseServiceImplTest {
+
+    private static final LogListener logListener = new LogListener(BookingPhaseServiceImpl.class);
+
+    private static final long BOOKER_ID = 42L;
+    private static final long OWNER_ID = 43L;
+    private static final long ITEM_ID = 13L;
+    private static final long ANOTHER_ITEM_ID = 14L;
+    private static final List<BookingPhaseChange> ENDED = List.of(
+            new BookingPhaseChange(1L, BOOKER_ID, ITEM_ID, BookingPhase.CURRENT),
+            new BookingPhaseChange(2L, BOOKER_ID, ITEM_ID, BookingPhase.FUTURE));
+    private static final List<BookingPhaseChange> STARTED = List.of(
+            new BookingPhaseChange(3L, BOOKER_ID, ANOTHER_ITEM_ID, BookingPhase.FUTURE));
+
+    private AutoCloseable openMocks;
+
+    @Mock
+    private BookingRepository mockRepository;
+
+    @Mock
+    private BookingCountService mockBookingCountService;
+
+    @Captor
+    private ArgumentCaptor<LocalDateTime> endedNowCaptor;
+
+    @Captor
+    private ArgumentCaptor<LocalDateTime> startedNowCaptor;
+
+    private InOrder inOrder;
+
+    private BookingPhaseService service;
+
+    @BeforeEach
+    void setUp() {
+        openMocks = MockitoAnnotations.openMocks(this);
+        service = new BookingPhaseServiceImpl(mockRepository, mockBookingCountService);
+        logListener.startListen();
+        logListener.reset();
+        inOrder = Mockito.inOrder(mockRepository, mockBookingCountService);
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        logListener.stopListen();
+        Mockito.verifyNoMoreInteractions(mockRepository, mockBookingCountService);
+        openMocks.close();
+    }
+
+    @Test
+    void testRollOverPhases() throws JSONException, IOException {
+        when(mockRepository.findAllEndedForUpdate(any(LocalDateTime.class))).thenReturn(ENDED);
+        when(mockRepository.findAllStartedForUpdate(any(LocalDateTime.class))).thenReturn(STARTED);
+        when(mockRepository.findItemOwners(Set.of(ITEM_ID, ANOTHER_ITEM_ID))).thenReturn(List.of(
+                new ItemOwner(ITEM_ID, OWNER_ID), new ItemOwner(ANOTHER_ITEM_ID, OWNER_ID)));
+        final Map<Long, Long> ownerIds = Map.of(ITEM_ID, OWNER_ID, ANOTHER_ITEM_ID, OWNER_ID);
+
+        service.rollOverPhases();
+
+        inOrder.verify(mockRepository).findAllEndedForUpdate(endedNowCaptor.capture());
+        inOrder.verify(mockRepository).updatePhase(List.of(1L, 2L), BookingPhase.PAST);
+        inOrder.verify(mockRepository).findAllStartedForUpdate(startedNowCaptor.capture());
+        inOrder.verify(mockRepository).updatePhase(List.of(3L), BookingPhase.CURRENT);
+        inOrder.verify(mockRepository).findItemOwners(Set.of(ITEM_ID, ANOTHER_ITEM_ID));
+        inOrder.verify(mockBookingCountService).countPhaseChanges(ENDED, ownerIds, BookingPhase.PAST);
+        inOrder.verify(mockBookingCountService).countPhaseChanges(STARTED, ownerIds, BookingPhase.CURRENT);
+        assertThat(startedNowCaptor.getValue(), sameInstance(endedNowCaptor.getValue()));
+        assertLogs(logListener.getEvents(), "roll_over_phases.json", getClass());
+    }
+
+    @Test
+    void testRollOverPhasesWhenNothingChanged() {
+        when(mockRepository.findAllEndedForUpdate(any(LocalDateTime.class))).thenReturn(List.of());
+        when(mockRepository.findAllStartedForUpdate(any(LocalDateTime.class))).thenReturn(List.of());
+
+        service.rollOverPhases();
+
+        inOrder.verify(mockRepository).findAllEndedForUpdate(any(LocalDateTime.class));
+        inOrder.verify(mockRepository).findAllStartedForUpdate(any(LocalDateTime.class));
+        assertThat(logListener.getEvents(), empty());
+    }
+}
@@ -0,0 +1,35 @@
+package ru.practicum.shareit.booking;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.time.Month;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+
+class BookingPhaseTest {
+
+    private static final LocalDateTime START = LocalDateTime.of(2001, Month.JUNE, 1, 9, 10, 11);
+    private static final LocalDateTime END = LocalDateTime.of(2001, Month.JUNE, 30, 10, 11, 12);
+
+    @Test
+    void testAtWhenBeforeStart() {
+        assertThat(BookingPhase.at(START, END, START.minusSeconds(1L)), equalTo(BookingPhase.FUTURE));
+    }
+
+    @Test
+    void testAtWhenAtStart() {
+        assertThat(BookingPhase.at(START, END, START), equalTo(BookingPhase.CURRENT));
+    }
+
+    @Test
+    void testAtWhenBeforeEnd() {
+        assertThat(BookingPhase.at(START, END, END.minusSeconds(1L)), equalTo(BookingPhase.CURRENT));
+    }
+
+    @Test
+    void testAtWhenAtEnd() {
+        assertThat(BookingPhase.at(START, END, END), equalTo(BookingPhase.PAST));
+    }
+}
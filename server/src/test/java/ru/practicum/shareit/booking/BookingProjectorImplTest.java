@@ -0,0 +1,90 @@
+package ru.practicum.shareit.booking;
+
+import jakarta.persistence.Cache;
+import jakarta.persistence.EntityManagerFactory;
+import org.json.JSONException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.MockitoAnnotations;
+import ru.practicum.shareit.common.LogListener;
+import ru.practicum.shareit.item.Item;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+import static ru.practicum.shareit.common.CommonUtils.assertLogs;
+
+class BookingProjectorImplTest {
+
+    private static final LogListener logListener = new LogListener(BookingProjectorImpl.class);
+
+    private static final long USER_ID = 42L;
+
+    private AutoCloseable openMocks;
+
+    @Mock
+    private BookingEventRepository mockRepository;
+
+    @Mock
+    private BookingCountRepository mockCountRepository;
+
+    @Mock
+    private EntityManagerFactory mockEntityManagerFactory;
+
+    @Mock
+    private Cache mockCache;
+
+    private InOrder inOrder;
+
+    private BookingProjector projector;
+
+    @BeforeEach
+    void setUp() {
+        openMocks = MockitoAnnotations.openMocks(this);
+        when(mockEntityManagerFactory.getCache()).thenReturn(mockCache);
+        projector = new BookingProjectorImpl(mockRepository, mockCountRepository, mockEntityManagerFactory);
+        logListener.startListen();
+        logListener.reset();
+        inOrder = Mockito.inOrder(mockRepository, mockCountRepository, mockCache);
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        logListener.stopListen();
+        Mockito.verifyNoMoreInteractions(mockRepository, mockCountRepository, mockCache);
+        openMocks.close();
+    }
+
+    @Test
+    void testRebuildBookingCounts() throws JSONException, IOException {
+        final List<BookingCount> counts = List.of(
+                new BookingCount(USER_ID, BookingRole.BOOKER, BookingStatusFilter.ALL, 2L),
+                new BookingCount(USER_ID, BookingRole.BOOKER, BookingStatusFilter.PAST, 2L));
+        when(mockRepository.projectBookingCounts(any(LocalDateTime.class))).thenReturn(counts);
+
+        projector.rebuildBookingCounts();
+
+        inOrder.verify(mockCountRepository).resetAll();
+        inOrder.verify(mockRepository).projectBookingCounts(any(LocalDateTime.class));
+        inOrder.verify(mockCountRepository).setAll(counts);
+        assertLogs(logListener.getEvents(), "rebuild_booking_counts.json", getClass());
+    }
+
+    @Test
+    void testRebuildItemBookingSummaries() throws JSONException, IOException {
+        when(mockRepository.projectItemBookingSummaries(any(LocalDateTime.class))).thenReturn(3);
+
+        projector.rebuildItemBookingSummaries();
+
+        inOrder.verify(mockRepository).projectItemBookingSummaries(any(LocalDateTime.class));
+        inOrder.verify(mockCache).evict(Item.class);
+        assertLogs(logListener.getEvents(), "rebuild_item_booking_summaries.json", getClass());
+    }
+}
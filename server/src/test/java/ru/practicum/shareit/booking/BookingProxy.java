@@ -1,5 +1,6 @@
 package ru.practicum.shareit.booking;
 
+import java.time.LocalDateTime;
 import java.util.Objects;
 
 class BookingProxy extends Booking {
@@ -14,11 +15,21 @@ class BookingProxy extends Booking {
         return this;
     }
 
+    BookingProxy withStart(final LocalDateTime start) {
+        super.setStart(start);
+        return this;
+    }
+
     BookingProxy withStatus(final BookingStatus status) {
         super.setStatus(status);
         return this;
     }
 
+    BookingProxy withPhase(final BookingPhase phase) {
+        super.setPhase(phase);
+        return this;
+    }
+
     @Override
     public boolean equals(final Object obj) {
         if (this == obj) {
@@ -38,12 +49,13 @@ class BookingProxy extends Booking {
                 && Objects.equals(this.getBooker(), other.getBooker())
                 && Objects.equals(this.getStart(), other.getStart())
                 && Objects.equals(this.getEnd(), other.getEnd())
-                && Objects.equals(this.getStatus(), other.getStatus());
+                && Objects.equals(this.getStatus(), other.getStatus())
+                && Objects.equals(this.getPhase(), other.getPhase());
     }
 
     @Override
     public int hashCode() {
         return Objects.hash(this.getId(), this.getItem(), this.getBooker(), this.getStart(), this.getEnd(),
-                this.getStatus());
+                this.getStatus(), this.getPhase());
     }
 }
@@ -0,0 +1,214 @@
+package ru.practicum.shareit.booking;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.common.AbstractQueryPlanIT;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+class BookingRepositoryQueryPlanIT extends AbstractQueryPlanIT {
+
+    private static final long USER_ID = 42L;
+    private static final long ITEM_ID = 13L;
+    private static final long BOOKING_ID = 1L;
+    private static final Pageable PAGE = PageRequest.of(2, 10, Sort.by(Sort.Direction.DESC, "start", "id"));
+    private static final Pageable KEYSET_PAGE = PageRequest.of(0, 10, Sort.by(Sort.Direction.DESC, "start", "id"));
+    private static final LocalDateTime CURSOR_START = LocalDateTime.now();
+    private static final long CURSOR_ID = 100L;
+
+    @Autowired
+    private BookingRepository repository;
+
+    @Autowired
+    private ItemBookingSummaryRepository summaryRepository;
+
+    @Test
+    void testFindByIdWithBookerAndItemOwner() {
+        assertIndexedAccess(() -> repository.findByIdWithBookerAndItemOwner(BOOKING_ID));
+    }
+
+    @Test
+    void testFindByIdAndBookerIdOrItemOwnerId() {
+        assertIndexedAccess(() -> repository.findByIdAndBookerIdOrItemOwnerId(BOOKING_ID, USER_ID));
+    }
+
+    @Test
+    void testFindAllByBookerId() {
+        assertIndexedAccess(() -> repository.findAllByBookerId(USER_ID, PAGE));
+    }
+
+    @Test
+    void testFindAllByBookerIdAndPhaseWhenCurrent() {
+        assertIndexedAccess(() -> repository.findAllByBookerIdAndPhase(USER_ID, BookingPhase.CURRENT, PAGE));
+    }
+
+    @Test
+    void testFindAllByBookerIdAndPhaseWhenPast() {
+        assertIndexedAccess(() -> repository.findAllByBookerIdAndPhase(USER_ID, BookingPhase.PAST, PAGE));
+    }
+
+    @Test
+    void testFindAllByBookerIdAndPhaseWhenFuture() {
+        assertIndexedAccess(() -> repository.findAllByBookerIdAndPhase(USER_ID, BookingPhase.FUTURE, PAGE));
+    }
+
+    @Test
+    void testFindAllByBookerIdAndStatus() {
+        assertIndexedAccess(() -> repository.findAllByBookerIdAndStatus(USER_ID, BookingStatus.WAITING, PAGE));
+    }
+
+    @Test
+    void testFindAllByItemOwnerId() {
+        assertIndexedAccess(() -> repository.findAllByItemOwnerId(USER_ID, PAGE));
+    }
+
+    @Test
+    void testFindAllByItemOwnerIdAndPhaseWhenCurrent() {
+        assertIndexedAccess(() -> repository.findAllByItemOwnerIdAndPhase(USER_ID, BookingPhase.CURRENT, PAGE));
+    }
+
+    @Test
+    void testFindAllByItemOwnerIdAndPhaseWhenPast() {
+        assertIndexedAccess(() -> repository.findAllByItemOwnerIdAndPhase(USER_ID, BookingPhase.PAST, PAGE));
+    }
+
+    @Test
+    void testFindAllByItemOwnerIdAndPhaseWhenFuture() {
+        assertIndexedAccess(() -> repository.findAllByItemOwnerIdAndPhase(USER_ID, BookingPhase.FUTURE, PAGE));
+    }
+
+    @Test
+    void testFindAllByItemOwnerIdAndStatus() {
+        assertIndexedAccess(() -> repository.findAllByItemOwnerIdAndStatus(USER_ID, BookingStatus.WAITING, PAGE));
+    }
+
+    @Test
+    void testFindAllByBookerIdAfterCursor() {
+        assertIndexedAccess(() -> repository.findAllByBookerIdAfterCursor(USER_ID, CURSOR_START, CURSOR_ID,
+                KEYSET_PAGE));
+    }
+
+    @Test
+    void testFindAllByBookerIdAndPhaseAfterCursorWhenCurrent() {
+        assertIndexedAccess(() -> repository.findAllByBookerIdAndPhaseAfterCursor(USER_ID, BookingPhase.CURRENT,
+                CURSOR_START, CURSOR_ID, KEYSET_PAGE));
+    }
+
+    @Test
+    void testFindAllByBookerIdAndPhaseAfterCursorWhenPast() {
+        assertIndexedAccess(() -> repository.findAllByBookerIdAndPhaseAfterCursor(USER_ID, BookingPhase.PAST,
+                CURSOR_START, CURSOR_ID, KEYSET_PAGE));
+    }
+
+    @Test
+    void testFindAllByBookerIdAndPhaseAfterCursorWhenFuture() {
+        assertIndexedAccess(() -> repository.findAllByBookerIdAndPhaseAfterCursor(USER_ID, BookingPhase.FUTURE,
+                CURSOR_START, CURSOR_ID, KEYSET_PAGE));
+    }
+
+    @Test
+    void testFindAllByBookerIdAndStatusAfterCursor() {
+        assertIndexedAccess(() -> repository.findAllByBookerIdAndStatusAfterCursor(USER_ID, BookingStatus.WAITING,
+                CURSOR_START, CURSOR_ID, KEYSET_PAGE));
+    }
+
+    @Test
+    void testFindAllByItemOwnerIdAfterCursor() {
+        assertIndexedAccess(() -> repository.findAllByItemOwnerIdAfterCursor(USER_ID, CURSOR_START, CURSOR_ID,
+                KEYSET_PAGE));
+    }
+
+    @Test
+    void testFindAllByItemOwnerIdAndPhaseAfterCursorWhenCurrent() {
+        assertIndexedAccess(() -> repository.findAllByItemOwnerIdAndPhaseAfterCursor(USER_ID, BookingPhase.CURRENT,
+                CURSOR_START, CURSOR_ID, KEYSET_PAGE));
+    }
+
+    @Test
+    void testFindAllByItemOwnerIdAndPhaseAfterCursorWhenPast() {
+        assertIndexedAccess(() -> repository.findAllByItemOwnerIdAndPhaseAfterCursor(USER_ID, BookingPhase.PAST,
+                CURSOR_START, CURSOR_ID, KEYSET_PAGE));
+    }
+
+    @Test
+    void testFindAllByItemOwnerIdAndPhaseAfterCursorWhenFuture() {
+        assertIndexedAccess(() -> repository.findAllByItemOwnerIdAndPhaseAfterCursor(USER_ID, BookingPhase.FUTURE,
+                CURSOR_START, CURSOR_ID, KEYSET_PAGE));
+    }
+
+    @Test
+    void testFindAllByItemOwnerIdAndStatusAfterCursor() {
+        assertIndexedAccess(() -> repository.findAllByItemOwnerIdAndStatusAfterCursor(USER_ID,
+                BookingStatus.WAITING, CURSOR_START, CURSOR_ID, KEYSET_PAGE));
+    }
+
+    @Test
+    void testFindAllCompleteBookingByBookerIdAndItemId() {
+        assertIndexedAccess(() -> repository.findAllCompleteBookingByBookerIdAndItemId(USER_ID, ITEM_ID));
+    }
+
+    @Test
+    @Transactional
+    void testFindAllEndedForUpdate() {
+        assertIndexedAccess(() -> repository.findAllEndedForUpdate(LocalDateTime.now()));
+    }
+
+    @Test
+    @Transactional
+    void testFindAllStartedForUpdate() {
+        assertIndexedAccess(() -> repository.findAllStartedForUpdate(LocalDateTime.now()));
+    }
+
+    @Test
+    @Transactional
+    void testUpdatePhase() {
+        assertIndexedAccess(() -> repository.updatePhase(List.of(BOOKING_ID), BookingPhase.PAST));
+    }
+
+    @Test
+    @Transactional
+    void testFindAllToArchiveForUpdate() {
+        assertIndexedAccess(() -> repository.findAllToArchiveForUpdate(LocalDateTime.now().minusDays(90L),
+                LocalDateTime.now().minusDays(1L), PageRequest.of(0, 1000)));
+    }
+
+    @Test
+    @Transactional
+    void testDeleteAllByIdInBatch() {
+        assertIndexedAccess(() -> repository.deleteAllByIdInBatch(List.of(BOOKING_ID)));
+    }
+
+    @Test
+    void testFindItemOwners() {
+        assertIndexedAccess(() -> repository.findItemOwners(List.of(ITEM_ID)));
+    }
+
+    @Test
+    void testFindFirstByItemIdAndStatusAndStartLessThanEqual() {
+        assertIndexedAccess(() -> repository.findFirstByItemIdAndStatusAndStartLessThanEqualOrderByStartDescIdDesc(
+                ITEM_ID, BookingStatus.APPROVED, LocalDateTime.now()));
+    }
+
+    @Test
+    void testFindFirstByItemIdAndStatusAndStartAfter() {
+        assertIndexedAccess(() -> repository.findFirstByItemIdAndStatusAndStartAfterOrderByStartAscIdAsc(ITEM_ID,
+                BookingStatus.APPROVED, LocalDateTime.now()));
+    }
+
+    @Test
+    @Transactional
+    void testFindByItemIdForUpdate() {
+        assertIndexedAccess(() -> summaryRepository.findByItemIdForUpdate(ITEM_ID));
+    }
+
+    @Test
+    @Transactional
+    void testFindAllWithNextBookingStartedForUpdate() {
+        assertIndexedAccess(() -> summaryRepository.findAllWithNextBookingStartedForUpdate(LocalDateTime.now()));
+    }
+}
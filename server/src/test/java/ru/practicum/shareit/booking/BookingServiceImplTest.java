@@ -8,11 +8,13 @@ import org.mockito.InOrder;
 import org.mockito.Mock;
 import org.mockito.Mockito;
 import org.mockito.MockitoAnnotations;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import ru.practicum.shareit.common.LogListener;
 import ru.practicum.shareit.common.exception.ActionNotAllowedException;
+import ru.practicum.shareit.common.exception.ConflictException;
 import ru.practicum.shareit.common.exception.NotFoundException;
 import ru.practicum.shareit.common.exception.ValidationException;
 import ru.practicum.shareit.item.Item;
@@ -21,14 +23,23 @@ import ru.practicum.shareit.user.User;
 import ru.practicum.shareit.user.UserService;
 
 import java.io.IOException;
+import java.time.LocalDateTime;
+import java.time.Month;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.empty;
 import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.sameInstance;
 import static org.hamcrest.Matchers.samePropertyValuesAs;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static ru.practicum.shareit.booking.BookingUtils.makeBookingProxy;
@@ -43,9 +54,13 @@ class BookingServiceImplTest {
     private static final LogListener logListener = new LogListener(BookingServiceImpl.class);
 
     private static final long BOOKING_ID = 1L;
+    private static final long ANOTHER_ITEM_ID = 14L;
     private static final int FROM = 0;
     private static final int SIZE = 10;
-    private static final Pageable PAGE = PageRequest.of(FROM / SIZE, SIZE, Sort.by(Sort.Direction.DESC, "start"));
+    private static final Pageable PAGE = PageRequest.of(FROM / SIZE, SIZE, Sort.by(Sort.Direction.DESC, "start",
+            "id"));
+    private static final Pageable KEYSET_PAGE = PageRequest.of(0, SIZE, Sort.by(Sort.Direction.DESC, "start", "id"));
+    private static final BookingCursor CURSOR = new BookingCursor(LocalDateTime.of(2001, Month.MAY, 1, 0, 0), 5L);
 
     private AutoCloseable openMocks;
 
@@ -58,6 +73,24 @@ class BookingServiceImplTest {
     @Mock
     private ItemService itemService;
 
+    @Mock
+    private ItemBookingSummaryService itemBookingSummaryService;
+
+    @Mock
+    private BookingIntervalIndex intervalIndex;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private BookingCountService bookingCountService;
+
+    @Mock
+    private BookingArchiveService archiveService;
+
+    @Mock
+    private BookingEventService bookingEventService;
+
     private InOrder inOrder;
 
     private BookingService service;
@@ -65,16 +98,19 @@ class BookingServiceImplTest {
     @BeforeEach
     void setUp() {
         openMocks = MockitoAnnotations.openMocks(this);
-        service = new BookingServiceImpl(mockRepository, userService, itemService);
+        service = new BookingServiceImpl(mockRepository, userService, itemService, itemBookingSummaryService,
+                intervalIndex, eventPublisher, bookingCountService, archiveService, bookingEventService);
         logListener.startListen();
         logListener.reset();
-        inOrder = Mockito.inOrder(mockRepository, userService, itemService);
+        inOrder = Mockito.inOrder(mockRepository, userService, itemService, itemBookingSummaryService,
+                intervalIndex, eventPublisher, bookingCountService, archiveService, bookingEventService);
     }
 
     @AfterEach
     void tearDown() throws Exception {
         logListener.stopListen();
-        Mockito.verifyNoMoreInteractions(mockRepository, userService, itemService);
+        Mockito.verifyNoMoreInteractions(mockRepository, userService, itemService, itemBookingSummaryService,
+                intervalIndex, eventPublisher, bookingCountService, archiveService, bookingEventService);
         openMocks.close();
     }
 
@@ -84,20 +120,57 @@ class BookingServiceImplTest {
         final Item item = new Item();
         item.setName("The thing");
         item.setAvailable(true);
+        item.setOwner(new User());
+        item.getOwner().setId(ANOTHER_USER_ID);
         when(itemService.getItemToBook(makeBookingProxy().getItem().getId(), makeBookingProxy().getBooker().getId()))
                 .thenReturn(item);
+        when(intervalIndex.isFree(ITEM_ID, makeBookingProxy().getStart(), makeBookingProxy().getEnd()))
+                .thenReturn(true);
         when(mockRepository.save(bookingToSave)).thenReturn(makeBookingProxy());
 
         final Booking actual = service.createBooking(makeBookingProxy().withId(null));
 
-        inOrder.verify(userService).getUser(makeBookingProxy().getBooker().getId());
         inOrder.verify(itemService).getItemToBook(makeBookingProxy().getItem().getId(),
                 makeBookingProxy().getBooker().getId());
+        inOrder.verify(intervalIndex).isFree(ITEM_ID, makeBookingProxy().getStart(), makeBookingProxy().getEnd());
         inOrder.verify(mockRepository).save(bookingToSave);
+        inOrder.verify(itemBookingSummaryService).update(makeBookingProxy());
+        inOrder.verify(bookingCountService).countCreated(List.of(makeBookingProxy()));
+        inOrder.verify(bookingEventService).recordAll(List.of(makeBookingProxy()));
+        inOrder.verify(eventPublisher).publishEvent(new BookingCreatedEvent(ANOTHER_USER_ID, makeBookingProxy()));
         assertThat(actual, equalTo(makeBookingProxy()));
         assertLogs(logListener.getEvents(), "create_booking.json", getClass());
     }
 
+    @Test
+    void testCreateBookingWhenWaiting() {
+        final Booking bookingToSave = makeBookingProxy().withId(null).withItemName("The thing")
+                .withStatus(BookingStatus.WAITING);
+        final Booking savedBooking = makeBookingProxy().withStatus(BookingStatus.WAITING);
+        final Item item = new Item();
+        item.setName("The thing");
+        item.setAvailable(true);
+        item.setOwner(new User());
+        item.getOwner().setId(ANOTHER_USER_ID);
+        when(itemService.getItemToBook(makeBookingProxy().getItem().getId(), makeBookingProxy().getBooker().getId()))
+                .thenReturn(item);
+        when(intervalIndex.isFree(ITEM_ID, makeBookingProxy().getStart(), makeBookingProxy().getEnd()))
+                .thenReturn(true);
+        when(mockRepository.save(bookingToSave)).thenReturn(savedBooking);
+
+        final Booking actual = service.createBooking(makeBookingProxy().withId(null)
+                .withStatus(BookingStatus.WAITING));
+
+        inOrder.verify(itemService).getItemToBook(makeBookingProxy().getItem().getId(),
+                makeBookingProxy().getBooker().getId());
+        inOrder.verify(intervalIndex).isFree(ITEM_ID, makeBookingProxy().getStart(), makeBookingProxy().getEnd());
+        inOrder.verify(mockRepository).save(bookingToSave);
+        inOrder.verify(bookingCountService).countCreated(List.of(savedBooking));
+        inOrder.verify(bookingEventService).recordAll(List.of(savedBooking));
+        inOrder.verify(eventPublisher).publishEvent(new BookingCreatedEvent(ANOTHER_USER_ID, savedBooking));
+        assertThat(actual, equalTo(savedBooking));
+    }
+
     @Test
     void testCreateBookingWhenWrongDates() {
         final Booking booking = makeBookingProxy().withId(null);
@@ -112,13 +185,14 @@ class BookingServiceImplTest {
 
     @Test
     void testCreateBookingWhenUserNotFound() {
-        when(userService.getUser(makeBookingProxy().getBooker().getId()))
+        when(itemService.getItemToBook(makeBookingProxy().getItem().getId(), makeBookingProxy().getBooker().getId()))
                 .thenThrow(new NotFoundException(User.class, USER_ID));
 
         final NotFoundException exception = assertThrows(NotFoundException.class,
                 () -> service.createBooking(makeBookingProxy().withId(null)));
 
-        inOrder.verify(userService).getUser(makeBookingProxy().getBooker().getId());
+        inOrder.verify(itemService).getItemToBook(makeBookingProxy().getItem().getId(),
+                makeBookingProxy().getBooker().getId());
         assertThat(exception.getModelName(), equalTo("user"));
         assertThat(exception.getModelId(), equalTo(USER_ID));
     }
@@ -134,13 +208,131 @@ class BookingServiceImplTest {
         final ValidationException exception = assertThrows(ValidationException.class,
                 () -> service.createBooking(makeBookingProxy().withId(null)));
 
-        inOrder.verify(userService).getUser(makeBookingProxy().getBooker().getId());
         inOrder.verify(itemService).getItemToBook(makeBookingProxy().getItem().getId(),
                 makeBookingProxy().getBooker().getId());
         assertThat(exception.getProperty(), equalTo("item"));
         assertThat(exception.getViolation(), equalTo("unavailable item"));
     }
 
+    @Test
+    void testCreateBookingWhenItemAlreadyBooked() {
+        final Item item = new Item();
+        item.setName("The thing");
+        item.setAvailable(true);
+        when(itemService.getItemToBook(makeBookingProxy().getItem().getId(), makeBookingProxy().getBooker().getId()))
+                .thenReturn(item);
+        when(intervalIndex.isFree(ITEM_ID, makeBookingProxy().getStart(), makeBookingProxy().getEnd()))
+                .thenReturn(false);
+
+        final ConflictException exception = assertThrows(ConflictException.class,
+                () -> service.createBooking(makeBookingProxy().withId(null)));
+
+        inOrder.verify(itemService).getItemToBook(makeBookingProxy().getItem().getId(),
+                makeBookingProxy().getBooker().getId());
+        inOrder.verify(intervalIndex).isFree(ITEM_ID, makeBookingProxy().getStart(), makeBookingProxy().getEnd());
+        assertThat(exception.getMessage(), equalTo("Item is already booked for this time"));
+    }
+
+    @Test
+    void testCreateBookings() throws JSONException, IOException {
+        final List<Booking> bookingsToSave = List.of(makeBookingProxy().withId(null),
+                makeAnotherBookingProxy().withId(null));
+        when(itemService.getItemsToBook(Set.of(ITEM_ID, ANOTHER_ITEM_ID), USER_ID))
+                .thenReturn(List.of(makeItem(ITEM_ID, true), makeItem(ANOTHER_ITEM_ID, true)));
+        when(intervalIndex.isFree(ITEM_ID, makeBookingProxy().getStart(), makeBookingProxy().getEnd()))
+                .thenReturn(true);
+        when(intervalIndex.isFree(ANOTHER_ITEM_ID, makeBookingProxy().getStart(), makeBookingProxy().getEnd()))
+                .thenReturn(true);
+        when(mockRepository.insertAll(bookingsToSave))
+                .thenReturn(List.of(makeBookingProxy(), makeAnotherBookingProxy()));
+
+        final List<Booking> actual = service.createBookings(List.of(makeBookingProxy().withId(null).withItemName(null),
+                makeAnotherBookingProxy().withId(null).withItemName(null)));
+
+        inOrder.verify(itemService).getItemsToBook(Set.of(ITEM_ID, ANOTHER_ITEM_ID), USER_ID);
+        inOrder.verify(intervalIndex).isFree(ITEM_ID, makeBookingProxy().getStart(), makeBookingProxy().getEnd());
+        inOrder.verify(intervalIndex).isFree(ANOTHER_ITEM_ID, makeBookingProxy().getStart(),
+                makeBookingProxy().getEnd());
+        inOrder.verify(mockRepository).insertAll(bookingsToSave);
+        inOrder.verify(bookingCountService).countCreated(List.of(makeBookingProxy(), makeAnotherBookingProxy()));
+        inOrder.verify(bookingEventService).recordAll(List.of(makeBookingProxy(), makeAnotherBookingProxy()));
+        inOrder.verify(eventPublisher).publishEvent(new BookingCreatedEvent(ANOTHER_USER_ID, makeBookingProxy()));
+        inOrder.verify(eventPublisher).publishEvent(new BookingCreatedEvent(ANOTHER_USER_ID,
+                makeAnotherBookingProxy()));
+        assertThat(actual, contains(makeBookingProxy(), makeAnotherBookingProxy()));
+        assertLogs(logListener.getEvents(), "create_bookings.json", getClass());
+    }
+
+    @Test
+    void testCreateBookingsWhenEmpty() {
+        final List<Booking> actual = service.createBookings(List.of());
+
+        assertThat(actual, empty());
+    }
+
+    @Test
+    void testCreateBookingsWhenWrongDates() {
+        final Booking booking = makeAnotherBookingProxy().withId(null);
+        booking.setStart(booking.getStart().plusMonths(2L));
+
+        final ValidationException exception = assertThrows(ValidationException.class,
+                () -> service.createBookings(List.of(makeBookingProxy().withId(null), booking)));
+
+        assertThat(exception.getProperty(), equalTo("bookings[1].end"));
+        assertThat(exception.getViolation(), equalTo("should be after start"));
+    }
+
+    @Test
+    void testCreateBookingsWhenItemNotFound() {
+        when(itemService.getItemsToBook(Set.of(ITEM_ID, ANOTHER_ITEM_ID), USER_ID))
+                .thenReturn(List.of(makeItem(ITEM_ID, true)));
+        when(intervalIndex.isFree(ITEM_ID, makeBookingProxy().getStart(), makeBookingProxy().getEnd()))
+                .thenReturn(true);
+
+        final NotFoundException exception = assertThrows(NotFoundException.class,
+                () -> service.createBookings(List.of(makeBookingProxy().withId(null),
+                        makeAnotherBookingProxy().withId(null))));
+
+        inOrder.verify(itemService).getItemsToBook(Set.of(ITEM_ID, ANOTHER_ITEM_ID), USER_ID);
+        inOrder.verify(intervalIndex).isFree(ITEM_ID, makeBookingProxy().getStart(), makeBookingProxy().getEnd());
+        assertThat(exception.getModelName(), equalTo("item"));
+        assertThat(exception.getModelId(), equalTo(ANOTHER_ITEM_ID));
+    }
+
+    @Test
+    void testCreateBookingsWhenItemUnavailable() {
+        when(itemService.getItemsToBook(Set.of(ITEM_ID, ANOTHER_ITEM_ID), USER_ID))
+                .thenReturn(List.of(makeItem(ITEM_ID, false), makeItem(ANOTHER_ITEM_ID, true)));
+
+        final ValidationException exception = assertThrows(ValidationException.class,
+                () -> service.createBookings(List.of(makeBookingProxy().withId(null),
+                        makeAnotherBookingProxy().withId(null))));
+
+        inOrder.verify(itemService).getItemsToBook(Set.of(ITEM_ID, ANOTHER_ITEM_ID), USER_ID);
+        assertThat(exception.getProperty(), equalTo("bookings[0].item"));
+        assertThat(exception.getViolation(), equalTo("unavailable item"));
+    }
+
+    @Test
+    void testCreateBookingsWhenItemAlreadyBooked() {
+        when(itemService.getItemsToBook(Set.of(ITEM_ID, ANOTHER_ITEM_ID), USER_ID))
+                .thenReturn(List.of(makeItem(ITEM_ID, true), makeItem(ANOTHER_ITEM_ID, true)));
+        when(intervalIndex.isFree(ITEM_ID, makeBookingProxy().getStart(), makeBookingProxy().getEnd()))
+                .thenReturn(true);
+        when(intervalIndex.isFree(ANOTHER_ITEM_ID, makeBookingProxy().getStart(), makeBookingProxy().getEnd()))
+                .thenReturn(false);
+
+        final ConflictException exception = assertThrows(ConflictException.class,
+                () -> service.createBookings(List.of(makeBookingProxy().withId(null),
+                        makeAnotherBookingProxy().withId(null))));
+
+        inOrder.verify(itemService).getItemsToBook(Set.of(ITEM_ID, ANOTHER_ITEM_ID), USER_ID);
+        inOrder.verify(intervalIndex).isFree(ITEM_ID, makeBookingProxy().getStart(), makeBookingProxy().getEnd());
+        inOrder.verify(intervalIndex).isFree(ANOTHER_ITEM_ID, makeBookingProxy().getStart(),
+                makeBookingProxy().getEnd());
+        assertThat(exception.getMessage(), equalTo("Item is already booked for this time"));
+    }
+
     @Test
     void testGetBooking() {
         when(mockRepository.findByIdAndBookerIdOrItemOwnerId(BOOKING_ID, USER_ID))
@@ -159,11 +351,24 @@ class BookingServiceImplTest {
         final NotFoundException exception = assertThrows(NotFoundException.class,
                 () -> service.getBooking(BOOKING_ID, USER_ID));
 
-        verify(mockRepository).findByIdAndBookerIdOrItemOwnerId(BOOKING_ID, USER_ID);
+        inOrder.verify(mockRepository).findByIdAndBookerIdOrItemOwnerId(BOOKING_ID, USER_ID);
+        inOrder.verify(archiveService).getBooking(BOOKING_ID, USER_ID);
         assertThat(exception.getModelName(), equalTo("booking"));
         assertThat(exception.getModelId(), equalTo(BOOKING_ID));
     }
 
+    @Test
+    void testGetBookingWhenArchived() {
+        when(mockRepository.findByIdAndBookerIdOrItemOwnerId(BOOKING_ID, USER_ID)).thenReturn(Optional.empty());
+        when(archiveService.getBooking(BOOKING_ID, USER_ID)).thenReturn(Optional.of(makeBookingProxy()));
+
+        final Booking actual = service.getBooking(BOOKING_ID, USER_ID);
+
+        inOrder.verify(mockRepository).findByIdAndBookerIdOrItemOwnerId(BOOKING_ID, USER_ID);
+        inOrder.verify(archiveService).getBooking(BOOKING_ID, USER_ID);
+        assertThat(actual, equalTo(makeBookingProxy()));
+    }
+
     @Test
     void testGetUserBookingsWhenAll() {
         when(mockRepository.findAllByBookerId(USER_ID, PAGE)).thenReturn(List.of(makeBookingProxy()));
@@ -171,36 +376,41 @@ class BookingServiceImplTest {
         final List<Booking> actual = service.getUserBookings(USER_ID, BookingStatusFilter.ALL, FROM, SIZE);
 
         verify(mockRepository).findAllByBookerId(USER_ID, PAGE);
+        verify(archiveService).getBookings(USER_ID, BookingRole.BOOKER, BookingStatusFilter.ALL, null, null, SIZE);
         assertThat(actual, contains(makeBookingProxy()));
     }
 
     @Test
     void testGetUserBookingsWhenCurrent() {
-        when(mockRepository.findCurrentByBookerId(USER_ID, PAGE)).thenReturn(List.of(makeBookingProxy()));
+        when(mockRepository.findAllByBookerIdAndPhase(USER_ID, BookingPhase.CURRENT, PAGE))
+                .thenReturn(List.of(makeBookingProxy()));
 
         final List<Booking> actual = service.getUserBookings(USER_ID, BookingStatusFilter.CURRENT, FROM, SIZE);
 
-        verify(mockRepository).findCurrentByBookerId(USER_ID, PAGE);
+        verify(mockRepository).findAllByBookerIdAndPhase(USER_ID, BookingPhase.CURRENT, PAGE);
         assertThat(actual, contains(makeBookingProxy()));
     }
 
     @Test
     void testGetUserBookingsWhenPast() {
-        when(mockRepository.findPastByBookerId(USER_ID, PAGE)).thenReturn(List.of(makeBookingProxy()));
+        when(mockRepository.findAllByBookerIdAndPhase(USER_ID, BookingPhase.PAST, PAGE))
+                .thenReturn(List.of(makeBookingProxy()));
 
         final List<Booking> actual = service.getUserBookings(USER_ID, BookingStatusFilter.PAST, FROM, SIZE);
 
-        verify(mockRepository).findPastByBookerId(USER_ID, PAGE);
+        verify(mockRepository).findAllByBookerIdAndPhase(USER_ID, BookingPhase.PAST, PAGE);
+        verify(archiveService).getBookings(USER_ID, BookingRole.BOOKER, BookingStatusFilter.PAST, null, null, SIZE);
         assertThat(actual, contains(makeBookingProxy()));
     }
 
     @Test
     void testGetUserBookingsWhenFuture() {
-        when(mockRepository.findFutureByBookerId(USER_ID, PAGE)).thenReturn(List.of(makeBookingProxy()));
+        when(mockRepository.findAllByBookerIdAndPhase(USER_ID, BookingPhase.FUTURE, PAGE))
+                .thenReturn(List.of(makeBookingProxy()));
 
         final List<Booking> actual = service.getUserBookings(USER_ID, BookingStatusFilter.FUTURE, FROM, SIZE);
 
-        verify(mockRepository).findFutureByBookerId(USER_ID, PAGE);
+        verify(mockRepository).findAllByBookerIdAndPhase(USER_ID, BookingPhase.FUTURE, PAGE);
         assertThat(actual, contains(makeBookingProxy()));
     }
 
@@ -223,6 +433,7 @@ class BookingServiceImplTest {
         final List<Booking> actual = service.getUserBookings(USER_ID, BookingStatusFilter.REJECTED, FROM, SIZE);
 
         verify(mockRepository).findAllByBookerIdAndStatus(USER_ID, BookingStatus.REJECTED, PAGE);
+        verify(archiveService).getBookings(USER_ID, BookingRole.BOOKER, BookingStatusFilter.REJECTED, null, null, SIZE);
         assertThat(actual, contains(makeBookingProxy()));
     }
 
@@ -231,87 +442,273 @@ class BookingServiceImplTest {
         assertThrows(AssertionError.class, () -> service.getUserBookings(USER_ID, null, FROM, SIZE));
     }
 
+    @Test
+    void testGetUserBookingsWhenPageReachesArchive() {
+        final Booking archived = makeBookingProxy().withId(2L).withStart(makeBookingProxy().getStart().minusDays(1L));
+        when(mockRepository.findAllByBookerId(USER_ID, PAGE)).thenReturn(List.of(makeBookingProxy()));
+        when(archiveService.getBookings(USER_ID, BookingRole.BOOKER, BookingStatusFilter.ALL, null, null, SIZE))
+                .thenReturn(List.of(archived));
+
+        final List<Booking> actual = service.getUserBookings(USER_ID, BookingStatusFilter.ALL, FROM, SIZE);
+
+        inOrder.verify(mockRepository).findAllByBookerId(USER_ID, PAGE);
+        inOrder.verify(archiveService).getBookings(USER_ID, BookingRole.BOOKER, BookingStatusFilter.ALL, null, null,
+                SIZE);
+        assertThat(actual, contains(makeBookingProxy(), archived));
+    }
+
+    @Test
+    void testGetUserBookingsWhenFullPageBeforeArchive() {
+        final Pageable page = PageRequest.of(0, 1, Sort.by(Sort.Direction.DESC, "start", "id"));
+        when(mockRepository.findAllByBookerIdAndPhase(USER_ID, BookingPhase.PAST, page))
+                .thenReturn(List.of(makeBookingProxy()));
+
+        final List<Booking> actual = service.getUserBookings(USER_ID, BookingStatusFilter.PAST, 0, 1);
+
+        inOrder.verify(mockRepository).findAllByBookerIdAndPhase(USER_ID, BookingPhase.PAST, page);
+        inOrder.verify(archiveService).getBookings(USER_ID, BookingRole.BOOKER, BookingStatusFilter.PAST, null,
+                makeBookingProxy().getStart(), 1);
+        assertThat(actual, contains(makeBookingProxy()));
+    }
+
+    @Test
+    void testGetUserBookingsWhenFullPageReachesArchive() {
+        final Sort sort = Sort.by(Sort.Direction.DESC, "start", "id");
+        final Booking newer = makeBookingProxy().withId(3L).withStart(makeBookingProxy().getStart().plusDays(2L));
+        final Booking archived = makeBookingProxy().withId(2L).withStart(makeBookingProxy().getStart().plusDays(1L));
+        final BookingCursor cursor = BookingCursor.of(newer);
+        when(mockRepository.findAllByBookerIdAndStatus(USER_ID, BookingStatus.REJECTED, PageRequest.of(1, 1, sort)))
+                .thenReturn(List.of(makeBookingProxy()));
+        when(archiveService.getBookings(USER_ID, BookingRole.BOOKER, BookingStatusFilter.REJECTED, null,
+                makeBookingProxy().getStart(), 1)).thenReturn(List.of(archived));
+        when(mockRepository.findAllByBookerIdAndStatus(USER_ID, BookingStatus.REJECTED, PageRequest.of(0, 1, sort)))
+                .thenReturn(List.of(newer));
+        when(mockRepository.findAllByBookerIdAndStatusAfterCursor(USER_ID, BookingStatus.REJECTED, cursor.start(),
+                cursor.id(), PageRequest.of(0, 1, sort))).thenReturn(List.of(makeBookingProxy()));
+        when(archiveService.getBookings(USER_ID, BookingRole.BOOKER, BookingStatusFilter.REJECTED, cursor,
+                makeBookingProxy().getStart(), 1)).thenReturn(List.of(archived));
+
+        final List<Booking> actual = service.getUserBookings(USER_ID, BookingStatusFilter.REJECTED, 1, 1);
+
+        inOrder.verify(mockRepository).findAllByBookerIdAndStatus(USER_ID, BookingStatus.REJECTED,
+                PageRequest.of(1, 1, sort));
+        inOrder.verify(archiveService).getBookings(USER_ID, BookingRole.BOOKER, BookingStatusFilter.REJECTED, null,
+                makeBookingProxy().getStart(), 1);
+        inOrder.verify(mockRepository).findAllByBookerIdAndStatus(USER_ID, BookingStatus.REJECTED,
+                PageRequest.of(0, 1, sort));
+        inOrder.verify(archiveService).getBookings(USER_ID, BookingRole.BOOKER, BookingStatusFilter.REJECTED, null,
+                newer.getStart(), 1);
+        inOrder.verify(mockRepository).findAllByBookerIdAndStatusAfterCursor(USER_ID, BookingStatus.REJECTED,
+                cursor.start(), cursor.id(), PageRequest.of(0, 1, sort));
+        inOrder.verify(archiveService).getBookings(USER_ID, BookingRole.BOOKER, BookingStatusFilter.REJECTED, cursor,
+                makeBookingProxy().getStart(), 1);
+        assertThat(actual, contains(archived));
+    }
+
+    @Test
+    void testGetUserBookingsWhenPageAfterAllBookings() {
+        final Sort sort = Sort.by(Sort.Direction.DESC, "start", "id");
+        final Booking archived = makeBookingProxy().withId(2L).withStart(makeBookingProxy().getStart().minusDays(1L));
+        when(archiveService.getBookings(USER_ID, BookingRole.BOOKER, BookingStatusFilter.ALL, null, null, 1))
+                .thenReturn(List.of(archived));
+        when(archiveService.getBookings(USER_ID, BookingRole.BOOKER, BookingStatusFilter.ALL, null, null, 2))
+                .thenReturn(List.of(archived));
+
+        final List<Booking> actual = service.getUserBookings(USER_ID, BookingStatusFilter.ALL, 2, 2);
+
+        inOrder.verify(mockRepository).findAllByBookerId(USER_ID, PageRequest.of(1, 2, sort));
+        inOrder.verify(archiveService).getBookings(USER_ID, BookingRole.BOOKER, BookingStatusFilter.ALL, null, null,
+                1);
+        inOrder.verify(mockRepository).findAllByBookerId(USER_ID, PageRequest.of(0, 2, sort));
+        inOrder.verify(archiveService).getBookings(USER_ID, BookingRole.BOOKER, BookingStatusFilter.ALL, null, null,
+                2);
+        assertThat(actual, empty());
+    }
+
+    @Test
+    void testGetUserBookingsWithCursorWhenFirstPage() {
+        when(mockRepository.findAllByBookerId(USER_ID, KEYSET_PAGE)).thenReturn(List.of(makeBookingProxy()));
+
+        final List<Booking> actual = service.getUserBookings(USER_ID, BookingStatusFilter.ALL, null, SIZE);
+
+        verify(mockRepository).findAllByBookerId(USER_ID, KEYSET_PAGE);
+        verify(archiveService).getBookings(USER_ID, BookingRole.BOOKER, BookingStatusFilter.ALL, null, null, SIZE);
+        assertThat(actual, contains(makeBookingProxy()));
+    }
+
+    @Test
+    void testGetUserBookingsWithCursorWhenAll() {
+        when(mockRepository.findAllByBookerIdAfterCursor(USER_ID, CURSOR.start(), CURSOR.id(), KEYSET_PAGE))
+                .thenReturn(List.of(makeBookingProxy()));
+
+        final List<Booking> actual = service.getUserBookings(USER_ID, BookingStatusFilter.ALL, CURSOR, SIZE);
+
+        verify(mockRepository).findAllByBookerIdAfterCursor(USER_ID, CURSOR.start(), CURSOR.id(), KEYSET_PAGE);
+        verify(archiveService).getBookings(USER_ID, BookingRole.BOOKER, BookingStatusFilter.ALL, CURSOR, null, SIZE);
+        assertThat(actual, contains(makeBookingProxy()));
+    }
+
+    @Test
+    void testGetUserBookingsWithCursorWhenCurrent() {
+        when(mockRepository.findAllByBookerIdAndPhaseAfterCursor(USER_ID, BookingPhase.CURRENT,
+                CURSOR.start(), CURSOR.id(), KEYSET_PAGE))
+                .thenReturn(List.of(makeBookingProxy()));
+
+        final List<Booking> actual = service.getUserBookings(USER_ID, BookingStatusFilter.CURRENT, CURSOR, SIZE);
+
+        verify(mockRepository).findAllByBookerIdAndPhaseAfterCursor(USER_ID, BookingPhase.CURRENT,
+                CURSOR.start(), CURSOR.id(), KEYSET_PAGE);
+        assertThat(actual, contains(makeBookingProxy()));
+    }
+
+    @Test
+    void testGetUserBookingsWithCursorWhenPast() {
+        when(mockRepository.findAllByBookerIdAndPhaseAfterCursor(USER_ID, BookingPhase.PAST,
+                CURSOR.start(), CURSOR.id(), KEYSET_PAGE))
+                .thenReturn(List.of(makeBookingProxy()));
+
+        final List<Booking> actual = service.getUserBookings(USER_ID, BookingStatusFilter.PAST, CURSOR, SIZE);
+
+        verify(mockRepository).findAllByBookerIdAndPhaseAfterCursor(USER_ID, BookingPhase.PAST,
+                CURSOR.start(), CURSOR.id(), KEYSET_PAGE);
+        verify(archiveService).getBookings(USER_ID, BookingRole.BOOKER, BookingStatusFilter.PAST, CURSOR, null, SIZE);
+        assertThat(actual, contains(makeBookingProxy()));
+    }
+
+    @Test
+    void testGetUserBookingsWithCursorWhenFuture() {
+        when(mockRepository.findAllByBookerIdAndPhaseAfterCursor(USER_ID, BookingPhase.FUTURE,
+                CURSOR.start(), CURSOR.id(), KEYSET_PAGE))
+                .thenReturn(List.of(makeBookingProxy()));
+
+        final List<Booking> actual = service.getUserBookings(USER_ID, BookingStatusFilter.FUTURE, CURSOR, SIZE);
+
+        verify(mockRepository).findAllByBookerIdAndPhaseAfterCursor(USER_ID, BookingPhase.FUTURE,
+                CURSOR.start(), CURSOR.id(), KEYSET_PAGE);
+        assertThat(actual, contains(makeBookingProxy()));
+    }
+
+    @Test
+    void testGetUserBookingsWithCursorWhenWaiting() {
+        when(mockRepository.findAllByBookerIdAndStatusAfterCursor(USER_ID, BookingStatus.WAITING,
+                CURSOR.start(), CURSOR.id(), KEYSET_PAGE))
+                .thenReturn(List.of(makeBookingProxy()));
+
+        final List<Booking> actual = service.getUserBookings(USER_ID, BookingStatusFilter.WAITING, CURSOR, SIZE);
+
+        verify(mockRepository).findAllByBookerIdAndStatusAfterCursor(USER_ID, BookingStatus.WAITING,
+                CURSOR.start(), CURSOR.id(), KEYSET_PAGE);
+        assertThat(actual, contains(makeBookingProxy()));
+    }
+
+    @Test
+    void testGetUserBookingsWithCursorWhenRejected() {
+        when(mockRepository.findAllByBookerIdAndStatusAfterCursor(USER_ID, BookingStatus.REJECTED,
+                CURSOR.start(), CURSOR.id(), KEYSET_PAGE))
+                .thenReturn(List.of(makeBookingProxy()));
+
+        final List<Booking> actual = service.getUserBookings(USER_ID, BookingStatusFilter.REJECTED, CURSOR, SIZE);
+
+        verify(mockRepository).findAllByBookerIdAndStatusAfterCursor(USER_ID, BookingStatus.REJECTED,
+                CURSOR.start(), CURSOR.id(), KEYSET_PAGE);
+        verify(archiveService).getBookings(USER_ID, BookingRole.BOOKER, BookingStatusFilter.REJECTED, CURSOR, null,
+                SIZE);
+        assertThat(actual, contains(makeBookingProxy()));
+    }
+
+    @Test
+    void testGetUserBookingsWithCursorWhenFilterNull() {
+        assertThrows(AssertionError.class, () -> service.getUserBookings(USER_ID, null, CURSOR, SIZE));
+    }
+
     @Test
     void testGetOwnerBookingsWhenAll() {
-        when(itemService.existByOwnerId(USER_ID)).thenReturn(true);
         when(mockRepository.findAllByItemOwnerId(USER_ID, PAGE)).thenReturn(List.of(makeBookingProxy()));
 
         final List<Booking> actual = service.getOwnerBookings(USER_ID, BookingStatusFilter.ALL, FROM, SIZE);
 
-        inOrder.verify(itemService).existByOwnerId(USER_ID);
         inOrder.verify(mockRepository).findAllByItemOwnerId(USER_ID, PAGE);
+        inOrder.verify(archiveService).getBookings(USER_ID, BookingRole.OWNER, BookingStatusFilter.ALL, null, null,
+                SIZE);
         assertThat(actual, contains(makeBookingProxy()));
     }
 
     @Test
     void testGetOwnerBookingsWhenCurrent() {
-        when(itemService.existByOwnerId(USER_ID)).thenReturn(true);
-        when(mockRepository.findCurrentByItemOwnerId(USER_ID, PAGE)).thenReturn(List.of(makeBookingProxy()));
+        when(mockRepository.findAllByItemOwnerIdAndPhase(USER_ID, BookingPhase.CURRENT, PAGE))
+                .thenReturn(List.of(makeBookingProxy()));
 
         final List<Booking> actual = service.getOwnerBookings(USER_ID, BookingStatusFilter.CURRENT, FROM, SIZE);
 
-        inOrder.verify(itemService).existByOwnerId(USER_ID);
-        inOrder.verify(mockRepository).findCurrentByItemOwnerId(USER_ID, PAGE);
+        inOrder.verify(mockRepository).findAllByItemOwnerIdAndPhase(USER_ID, BookingPhase.CURRENT, PAGE);
         assertThat(actual, contains(makeBookingProxy()));
     }
 
     @Test
     void testGetOwnerBookingsWhenPast() {
-        when(itemService.existByOwnerId(USER_ID)).thenReturn(true);
-        when(mockRepository.findPastByItemOwnerId(USER_ID, PAGE)).thenReturn(List.of(makeBookingProxy()));
+        when(mockRepository.findAllByItemOwnerIdAndPhase(USER_ID, BookingPhase.PAST, PAGE))
+                .thenReturn(List.of(makeBookingProxy()));
 
         final List<Booking> actual = service.getOwnerBookings(USER_ID, BookingStatusFilter.PAST, FROM, SIZE);
 
-        inOrder.verify(itemService).existByOwnerId(USER_ID);
-        inOrder.verify(mockRepository).findPastByItemOwnerId(USER_ID, PAGE);
+        inOrder.verify(mockRepository).findAllByItemOwnerIdAndPhase(USER_ID, BookingPhase.PAST, PAGE);
+        inOrder.verify(archiveService).getBookings(USER_ID, BookingRole.OWNER, BookingStatusFilter.PAST, null, null,
+                SIZE);
         assertThat(actual, contains(makeBookingProxy()));
     }
 
     @Test
     void testGetOwnerBookingsWhenFuture() {
-        when(itemService.existByOwnerId(USER_ID)).thenReturn(true);
-        when(mockRepository.findFutureByItemOwnerId(USER_ID, PAGE)).thenReturn(List.of(makeBookingProxy()));
+        when(mockRepository.findAllByItemOwnerIdAndPhase(USER_ID, BookingPhase.FUTURE, PAGE))
+                .thenReturn(List.of(makeBookingProxy()));
 
         final List<Booking> actual = service.getOwnerBookings(USER_ID, BookingStatusFilter.FUTURE, FROM, SIZE);
 
-        inOrder.verify(itemService).existByOwnerId(USER_ID);
-        inOrder.verify(mockRepository).findFutureByItemOwnerId(USER_ID, PAGE);
+        inOrder.verify(mockRepository).findAllByItemOwnerIdAndPhase(USER_ID, BookingPhase.FUTURE, PAGE);
         assertThat(actual, contains(makeBookingProxy()));
     }
 
     @Test
     void testGetOwnerBookingsWhenWaiting() {
-        when(itemService.existByOwnerId(USER_ID)).thenReturn(true);
         when(mockRepository.findAllByItemOwnerIdAndStatus(USER_ID, BookingStatus.WAITING, PAGE))
                 .thenReturn(List.of(makeBookingProxy()));
 
         final List<Booking> actual = service.getOwnerBookings(USER_ID, BookingStatusFilter.WAITING, FROM, SIZE);
 
-        inOrder.verify(itemService).existByOwnerId(USER_ID);
         inOrder.verify(mockRepository).findAllByItemOwnerIdAndStatus(USER_ID, BookingStatus.WAITING, PAGE);
         assertThat(actual, contains(makeBookingProxy()));
     }
 
     @Test
     void testGetOwnerBookingsWhenRejected() {
-        when(itemService.existByOwnerId(USER_ID)).thenReturn(true);
         when(mockRepository.findAllByItemOwnerIdAndStatus(USER_ID, BookingStatus.REJECTED, PAGE))
                 .thenReturn(List.of(makeBookingProxy()));
 
         final List<Booking> actual = service.getOwnerBookings(USER_ID, BookingStatusFilter.REJECTED, FROM, SIZE);
 
-        inOrder.verify(itemService).existByOwnerId(USER_ID);
         inOrder.verify(mockRepository).findAllByItemOwnerIdAndStatus(USER_ID, BookingStatus.REJECTED, PAGE);
+        inOrder.verify(archiveService).getBookings(USER_ID, BookingRole.OWNER, BookingStatusFilter.REJECTED, null, null,
+                SIZE);
         assertThat(actual, contains(makeBookingProxy()));
     }
 
     @Test
     void testGetOwnerBookingsWhenFilterNull() {
+        assertThrows(AssertionError.class, () -> service.getOwnerBookings(USER_ID, null, FROM, SIZE));
+
+    }
+
+    @Test
+    void testGetOwnerBookingsWhenNothingFound() {
         when(itemService.existByOwnerId(USER_ID)).thenReturn(true);
 
-        assertThrows(AssertionError.class, () -> service.getOwnerBookings(USER_ID, null, FROM, SIZE));
+        final List<Booking> actual = service.getOwnerBookings(USER_ID, BookingStatusFilter.REJECTED, FROM, SIZE);
 
-        verify(itemService).existByOwnerId(USER_ID);
+        inOrder.verify(mockRepository).findAllByItemOwnerIdAndStatus(USER_ID, BookingStatus.REJECTED, PAGE);
+        inOrder.verify(archiveService).getBookings(USER_ID, BookingRole.OWNER, BookingStatusFilter.REJECTED, null, null,
+                SIZE);
+        inOrder.verify(itemService).existByOwnerId(USER_ID);
+        assertThat(actual, empty());
     }
 
     @Test
@@ -321,6 +718,190 @@ class BookingServiceImplTest {
         final ActionNotAllowedException exception = assertThrows(ActionNotAllowedException.class,
                 () -> service.getOwnerBookings(USER_ID, BookingStatusFilter.REJECTED, FROM, SIZE));
 
+        inOrder.verify(mockRepository).findAllByItemOwnerIdAndStatus(USER_ID, BookingStatus.REJECTED, PAGE);
+        inOrder.verify(archiveService).getBookings(USER_ID, BookingRole.OWNER, BookingStatusFilter.REJECTED, null, null,
+                SIZE);
+        inOrder.verify(itemService).existByOwnerId(USER_ID);
+        assertThat(exception.getMessage(), equalTo("You should owe items to get related bookings"));
+    }
+
+    @Test
+    void testGetOwnerBookingsWithCursorWhenFirstPage() {
+        when(mockRepository.findAllByItemOwnerId(USER_ID, KEYSET_PAGE)).thenReturn(List.of(makeBookingProxy()));
+
+        final List<Booking> actual = service.getOwnerBookings(USER_ID, BookingStatusFilter.ALL, null, SIZE);
+
+        inOrder.verify(mockRepository).findAllByItemOwnerId(USER_ID, KEYSET_PAGE);
+        inOrder.verify(archiveService).getBookings(USER_ID, BookingRole.OWNER, BookingStatusFilter.ALL, null, null,
+                SIZE);
+        assertThat(actual, contains(makeBookingProxy()));
+    }
+
+    @Test
+    void testGetOwnerBookingsWithCursorWhenAll() {
+        when(mockRepository.findAllByItemOwnerIdAfterCursor(USER_ID, CURSOR.start(), CURSOR.id(), KEYSET_PAGE))
+                .thenReturn(List.of(makeBookingProxy()));
+
+        final List<Booking> actual = service.getOwnerBookings(USER_ID, BookingStatusFilter.ALL, CURSOR, SIZE);
+
+        inOrder.verify(mockRepository).findAllByItemOwnerIdAfterCursor(USER_ID,
+                CURSOR.start(), CURSOR.id(), KEYSET_PAGE);
+        inOrder.verify(archiveService).getBookings(USER_ID, BookingRole.OWNER, BookingStatusFilter.ALL, CURSOR, null,
+                SIZE);
+        assertThat(actual, contains(makeBookingProxy()));
+    }
+
+    @Test
+    void testGetOwnerBookingsWithCursorWhenCurrent() {
+        when(mockRepository.findAllByItemOwnerIdAndPhaseAfterCursor(USER_ID, BookingPhase.CURRENT,
+                CURSOR.start(), CURSOR.id(), KEYSET_PAGE))
+                .thenReturn(List.of(makeBookingProxy()));
+
+        final List<Booking> actual = service.getOwnerBookings(USER_ID, BookingStatusFilter.CURRENT, CURSOR, SIZE);
+
+        inOrder.verify(mockRepository).findAllByItemOwnerIdAndPhaseAfterCursor(USER_ID, BookingPhase.CURRENT,
+                CURSOR.start(), CURSOR.id(), KEYSET_PAGE);
+        assertThat(actual, contains(makeBookingProxy()));
+    }
+
+    @Test
+    void testGetOwnerBookingsWithCursorWhenPast() {
+        when(mockRepository.findAllByItemOwnerIdAndPhaseAfterCursor(USER_ID, BookingPhase.PAST,
+                CURSOR.start(), CURSOR.id(), KEYSET_PAGE))
+                .thenReturn(List.of(makeBookingProxy()));
+
+        final List<Booking> actual = service.getOwnerBookings(USER_ID, BookingStatusFilter.PAST, CURSOR, SIZE);
+
+        inOrder.verify(mockRepository).findAllByItemOwnerIdAndPhaseAfterCursor(USER_ID, BookingPhase.PAST,
+                CURSOR.start(), CURSOR.id(), KEYSET_PAGE);
+        inOrder.verify(archiveService).getBookings(USER_ID, BookingRole.OWNER, BookingStatusFilter.PAST, CURSOR, null,
+                SIZE);
+        assertThat(actual, contains(makeBookingProxy()));
+    }
+
+    @Test
+    void testGetOwnerBookingsWithCursorWhenFuture() {
+        when(mockRepository.findAllByItemOwnerIdAndPhaseAfterCursor(USER_ID, BookingPhase.FUTURE,
+                CURSOR.start(), CURSOR.id(), KEYSET_PAGE))
+                .thenReturn(List.of(makeBookingProxy()));
+
+        final List<Booking> actual = service.getOwnerBookings(USER_ID, BookingStatusFilter.FUTURE, CURSOR, SIZE);
+
+        inOrder.verify(mockRepository).findAllByItemOwnerIdAndPhaseAfterCursor(USER_ID, BookingPhase.FUTURE,
+                CURSOR.start(), CURSOR.id(), KEYSET_PAGE);
+        assertThat(actual, contains(makeBookingProxy()));
+    }
+
+    @Test
+    void testGetOwnerBookingsWithCursorWhenWaiting() {
+        when(mockRepository.findAllByItemOwnerIdAndStatusAfterCursor(USER_ID, BookingStatus.WAITING,
+                CURSOR.start(), CURSOR.id(), KEYSET_PAGE))
+                .thenReturn(List.of(makeBookingProxy()));
+
+        final List<Booking> actual = service.getOwnerBookings(USER_ID, BookingStatusFilter.WAITING, CURSOR, SIZE);
+
+        inOrder.verify(mockRepository).findAllByItemOwnerIdAndStatusAfterCursor(USER_ID, BookingStatus.WAITING,
+                CURSOR.start(), CURSOR.id(), KEYSET_PAGE);
+        assertThat(actual, contains(makeBookingProxy()));
+    }
+
+    @Test
+    void testGetOwnerBookingsWithCursorWhenRejected() {
+        when(mockRepository.findAllByItemOwnerIdAndStatusAfterCursor(USER_ID, BookingStatus.REJECTED,
+                CURSOR.start(), CURSOR.id(), KEYSET_PAGE))
+                .thenReturn(List.of(makeBookingProxy()));
+
+        final List<Booking> actual = service.getOwnerBookings(USER_ID, BookingStatusFilter.REJECTED, CURSOR, SIZE);
+
+        inOrder.verify(mockRepository).findAllByItemOwnerIdAndStatusAfterCursor(USER_ID, BookingStatus.REJECTED,
+                CURSOR.start(), CURSOR.id(), KEYSET_PAGE);
+        inOrder.verify(archiveService).getBookings(USER_ID, BookingRole.OWNER, BookingStatusFilter.REJECTED,
+                CURSOR, null, SIZE);
+        assertThat(actual, contains(makeBookingProxy()));
+    }
+
+    @Test
+    void testGetOwnerBookingsWithCursorWhenFullPageReachesArchive() {
+        final Pageable page = PageRequest.of(0, 2, Sort.by(Sort.Direction.DESC, "start", "id"));
+        final Booking newer = makeBookingProxy().withId(3L).withStart(makeBookingProxy().getStart().plusDays(2L));
+        final Booking archived = makeBookingProxy().withId(2L).withStart(makeBookingProxy().getStart().plusDays(1L));
+        when(mockRepository.findAllByItemOwnerIdAfterCursor(USER_ID, CURSOR.start(), CURSOR.id(), page))
+                .thenReturn(List.of(newer, makeBookingProxy()));
+        when(archiveService.getBookings(USER_ID, BookingRole.OWNER, BookingStatusFilter.ALL, CURSOR,
+                makeBookingProxy().getStart(), 2)).thenReturn(List.of(archived));
+
+        final List<Booking> actual = service.getOwnerBookings(USER_ID, BookingStatusFilter.ALL, CURSOR, 2);
+
+        inOrder.verify(mockRepository).findAllByItemOwnerIdAfterCursor(USER_ID, CURSOR.start(), CURSOR.id(), page);
+        inOrder.verify(archiveService).getBookings(USER_ID, BookingRole.OWNER, BookingStatusFilter.ALL, CURSOR,
+                makeBookingProxy().getStart(), 2);
+        assertThat(actual, contains(newer, archived));
+    }
+
+    @Test
+    void testGetOwnerBookingsWithCursorWhenFilterNull() {
+        assertThrows(AssertionError.class, () -> service.getOwnerBookings(USER_ID, null, CURSOR, SIZE));
+
+    }
+
+    @Test
+    void testGetOwnerBookingsWithCursorWhenNoItem() {
+        when(itemService.existByOwnerId(USER_ID)).thenReturn(false);
+
+        final ActionNotAllowedException exception = assertThrows(ActionNotAllowedException.class,
+                () -> service.getOwnerBookings(USER_ID, BookingStatusFilter.ALL, CURSOR, SIZE));
+
+        inOrder.verify(mockRepository).findAllByItemOwnerIdAfterCursor(USER_ID, CURSOR.start(), CURSOR.id(),
+                KEYSET_PAGE);
+        inOrder.verify(archiveService).getBookings(USER_ID, BookingRole.OWNER, BookingStatusFilter.ALL, CURSOR, null,
+                SIZE);
+        inOrder.verify(itemService).existByOwnerId(USER_ID);
+        assertThat(exception.getMessage(), equalTo("You should owe items to get related bookings"));
+    }
+
+    @Test
+    void testGetUserBookingCounts() {
+        final Map<BookingStatusFilter, Long> counts = Map.of(BookingStatusFilter.ALL, 5L);
+        when(bookingCountService.getCounts(USER_ID, BookingRole.BOOKER)).thenReturn(counts);
+
+        final Map<BookingStatusFilter, Long> actual = service.getUserBookingCounts(USER_ID);
+
+        inOrder.verify(bookingCountService).getCounts(USER_ID, BookingRole.BOOKER);
+        assertThat(actual, sameInstance(counts));
+    }
+
+    @Test
+    void testGetOwnerBookingCounts() {
+        final Map<BookingStatusFilter, Long> counts = Map.of(BookingStatusFilter.ALL, 5L);
+        when(bookingCountService.getCounts(USER_ID, BookingRole.OWNER)).thenReturn(counts);
+
+        final Map<BookingStatusFilter, Long> actual = service.getOwnerBookingCounts(USER_ID);
+
+        inOrder.verify(bookingCountService).getCounts(USER_ID, BookingRole.OWNER);
+        assertThat(actual, sameInstance(counts));
+    }
+
+    @Test
+    void testGetOwnerBookingCountsWhenNoBookings() {
+        final Map<BookingStatusFilter, Long> counts = Map.of(BookingStatusFilter.ALL, 0L);
+        when(bookingCountService.getCounts(USER_ID, BookingRole.OWNER)).thenReturn(counts);
+        when(itemService.existByOwnerId(USER_ID)).thenReturn(true);
+
+        final Map<BookingStatusFilter, Long> actual = service.getOwnerBookingCounts(USER_ID);
+
+        inOrder.verify(bookingCountService).getCounts(USER_ID, BookingRole.OWNER);
+        inOrder.verify(itemService).existByOwnerId(USER_ID);
+        assertThat(actual, sameInstance(counts));
+    }
+
+    @Test
+    void testGetOwnerBookingCountsWhenNoItem() {
+        when(itemService.existByOwnerId(USER_ID)).thenReturn(false);
+
+        final ActionNotAllowedException exception = assertThrows(ActionNotAllowedException.class,
+                () -> service.getOwnerBookingCounts(USER_ID));
+
+        inOrder.verify(bookingCountService).getCounts(USER_ID, BookingRole.OWNER);
         inOrder.verify(itemService).existByOwnerId(USER_ID);
         assertThat(exception.getMessage(), equalTo("You should owe items to get related bookings"));
     }
@@ -336,64 +917,171 @@ class BookingServiceImplTest {
         assertThat(actual, contains(makeBookingProxy()));
     }
 
+    @Test
+    void testFindAllCompleteBookingByUserIdAndItemIdWhenArchived() {
+        when(archiveService.findAllCompleteBookings(USER_ID, ITEM_ID)).thenReturn(List.of(makeBookingProxy()));
+
+        final List<Booking> actual = service.findAllCompleteBookingByUserIdAndItemId(USER_ID, ITEM_ID);
+
+        inOrder.verify(mockRepository).findAllCompleteBookingByBookerIdAndItemId(USER_ID, ITEM_ID);
+        inOrder.verify(archiveService).findAllCompleteBookings(USER_ID, ITEM_ID);
+        assertThat(actual, contains(makeBookingProxy()));
+    }
+
+    @Test
+    void testGetFreeIntervals() {
+        final LocalDateTime from = LocalDateTime.now().plusDays(1L);
+        final LocalDateTime to = from.plusDays(10L);
+        final List<BookingInterval> intervals = List.of(new BookingInterval(from, from.plusDays(2L)),
+                new BookingInterval(from.plusDays(5L), to));
+        when(itemService.existsById(ITEM_ID)).thenReturn(true);
+        when(intervalIndex.getFreeIntervals(ITEM_ID, from, to)).thenReturn(intervals);
+
+        final List<BookingInterval> actual = service.getFreeIntervals(ITEM_ID, from, to);
+
+        inOrder.verify(itemService).existsById(ITEM_ID);
+        inOrder.verify(intervalIndex).getFreeIntervals(ITEM_ID, from, to);
+        assertThat(actual, equalTo(intervals));
+    }
+
+    @Test
+    void testGetFreeIntervalsWhenFromInPast() {
+        final LocalDateTime from = LocalDateTime.now().minusDays(1L);
+        final LocalDateTime to = from.plusDays(10L);
+        when(itemService.existsById(ITEM_ID)).thenReturn(true);
+        when(intervalIndex.getFreeIntervals(eq(ITEM_ID), any(), eq(to))).thenReturn(List.of());
+
+        service.getFreeIntervals(ITEM_ID, from, to);
+
+        inOrder.verify(itemService).existsById(ITEM_ID);
+        inOrder.verify(intervalIndex).getFreeIntervals(eq(ITEM_ID),
+                argThat(start -> start.isAfter(from.plusHours(23L))), eq(to));
+    }
+
+    @Test
+    void testGetFreeIntervalsWhenToInPast() {
+        final LocalDateTime from = LocalDateTime.of(2001, Month.MAY, 1, 0, 0);
+        when(itemService.existsById(ITEM_ID)).thenReturn(true);
+
+        final List<BookingInterval> actual = service.getFreeIntervals(ITEM_ID, from, from.plusDays(10L));
+
+        verify(itemService).existsById(ITEM_ID);
+        assertThat(actual, empty());
+    }
+
+    @Test
+    void testGetFreeIntervalsWhenWrongPeriod() {
+        final LocalDateTime from = LocalDateTime.now().plusDays(1L);
+
+        final ValidationException exception = assertThrows(ValidationException.class,
+                () -> service.getFreeIntervals(ITEM_ID, from, from));
+
+        assertThat(exception.getProperty(), equalTo("to"));
+        assertThat(exception.getViolation(), equalTo("should be after from"));
+    }
+
+    @Test
+    void testGetFreeIntervalsWhenItemNotFound() {
+        final LocalDateTime from = LocalDateTime.now().plusDays(1L);
+        when(itemService.existsById(ITEM_ID)).thenReturn(false);
+
+        final NotFoundException exception = assertThrows(NotFoundException.class,
+                () -> service.getFreeIntervals(ITEM_ID, from, from.plusDays(1L)));
+
+        verify(itemService).existsById(ITEM_ID);
+        assertThat(exception.getModelName(), equalTo("item"));
+        assertThat(exception.getModelId(), equalTo(ITEM_ID));
+    }
+
     @Test
     void testApplyBookingVerdictWhenApprove() throws JSONException, IOException {
         final Booking booking = makeBookingProxy().withStatus(BookingStatus.WAITING);
         booking.getItem().setOwner(new User());
         booking.getItem().getOwner().setId(USER_ID);
-        when(mockRepository.findByIdWithBookerAndItemOwner(BOOKING_ID)).thenReturn(Optional.of(booking));
-        when(userService.existsById(USER_ID)).thenReturn(true);
+        when(mockRepository.findByIdWithBookerAndItemOwnerForUpdate(BOOKING_ID)).thenReturn(Optional.of(booking));
+        when(mockRepository.existsApprovedOverlapping(ITEM_ID, booking.getStart(), booking.getEnd()))
+                .thenReturn(false);
         when(mockRepository.save(makeBookingProxy())).thenReturn(makeBookingProxy());
 
         final Booking actual = service.applyBookingVerdict(BOOKING_ID, true, USER_ID);
 
-        inOrder.verify(mockRepository).findByIdWithBookerAndItemOwner(BOOKING_ID);
-        inOrder.verify(userService).existsById(USER_ID);
+        inOrder.verify(mockRepository).findByIdWithBookerAndItemOwnerForUpdate(BOOKING_ID);
+        inOrder.verify(itemBookingSummaryService).lockItem(ITEM_ID);
+        inOrder.verify(mockRepository).existsApprovedOverlapping(ITEM_ID, booking.getStart(), booking.getEnd());
+        inOrder.verify(intervalIndex).evictAfterCommit(ITEM_ID);
         inOrder.verify(mockRepository).save(makeBookingProxy());
+        inOrder.verify(itemBookingSummaryService).update(makeBookingProxy());
+        inOrder.verify(bookingCountService).countVerdicts(List.of(makeBookingProxy()));
+        inOrder.verify(bookingEventService).recordAll(List.of(makeBookingProxy()));
         assertThat(actual, equalTo(makeBookingProxy()));
         assertLogs(logListener.getEvents(), "approve_booking.json", getClass());
     }
 
+    @Test
+    void testApplyBookingVerdictWhenApproveAndItemAlreadyBooked() {
+        final Booking booking = makeBookingProxy().withStatus(BookingStatus.WAITING);
+        booking.getItem().setOwner(new User());
+        booking.getItem().getOwner().setId(USER_ID);
+        when(mockRepository.findByIdWithBookerAndItemOwnerForUpdate(BOOKING_ID)).thenReturn(Optional.of(booking));
+        when(mockRepository.existsApprovedOverlapping(ITEM_ID, booking.getStart(), booking.getEnd()))
+                .thenReturn(true);
+
+        final ConflictException exception = assertThrows(ConflictException.class,
+                () -> service.applyBookingVerdict(BOOKING_ID, true, USER_ID));
+
+        inOrder.verify(mockRepository).findByIdWithBookerAndItemOwnerForUpdate(BOOKING_ID);
+        inOrder.verify(itemBookingSummaryService).lockItem(ITEM_ID);
+        inOrder.verify(mockRepository).existsApprovedOverlapping(ITEM_ID, booking.getStart(), booking.getEnd());
+        assertThat(exception.getMessage(), equalTo("Item is already booked for this time"));
+        assertThat(booking.getStatus(), equalTo(BookingStatus.WAITING));
+    }
+
     @Test
     void testApplyBookingVerdictWhenReject() throws JSONException, IOException {
         final Booking booking = makeBookingProxy().withStatus(BookingStatus.WAITING);
         booking.getItem().setOwner(new User());
         booking.getItem().getOwner().setId(USER_ID);
-        when(mockRepository.findByIdWithBookerAndItemOwner(BOOKING_ID)).thenReturn(Optional.of(booking));
-        when(userService.existsById(USER_ID)).thenReturn(true);
+        when(mockRepository.findByIdWithBookerAndItemOwnerForUpdate(BOOKING_ID)).thenReturn(Optional.of(booking));
         when(mockRepository.save(makeBookingProxy().withStatus(BookingStatus.REJECTED)))
                 .thenReturn(makeBookingProxy().withStatus(BookingStatus.REJECTED));
 
         final Booking actual = service.applyBookingVerdict(BOOKING_ID, false, USER_ID);
 
-        inOrder.verify(mockRepository).findByIdWithBookerAndItemOwner(BOOKING_ID);
-        inOrder.verify(userService).existsById(USER_ID);
+        inOrder.verify(mockRepository).findByIdWithBookerAndItemOwnerForUpdate(BOOKING_ID);
         inOrder.verify(mockRepository).save(makeBookingProxy().withStatus(BookingStatus.REJECTED));
+        inOrder.verify(itemBookingSummaryService).update(makeBookingProxy().withStatus(BookingStatus.REJECTED));
+        inOrder.verify(bookingCountService).countVerdicts(List.of(makeBookingProxy()
+                .withStatus(BookingStatus.REJECTED)));
+        inOrder.verify(bookingEventService).recordAll(List.of(makeBookingProxy()
+                .withStatus(BookingStatus.REJECTED)));
         assertThat(actual, equalTo(makeBookingProxy().withStatus(BookingStatus.REJECTED)));
         assertLogs(logListener.getEvents(), "reject_booking.json", getClass());
     }
 
     @Test
     void testApplyBookingVerdictWhenBookingNotFound() {
-        when(mockRepository.findByIdWithBookerAndItemOwner(BOOKING_ID)).thenReturn(Optional.empty());
+        when(mockRepository.findByIdWithBookerAndItemOwnerForUpdate(BOOKING_ID)).thenReturn(Optional.empty());
 
         final NotFoundException exception = assertThrows(NotFoundException.class,
                 () -> service.applyBookingVerdict(BOOKING_ID, false, USER_ID));
 
-        inOrder.verify(mockRepository).findByIdWithBookerAndItemOwner(BOOKING_ID);
+        inOrder.verify(mockRepository).findByIdWithBookerAndItemOwnerForUpdate(BOOKING_ID);
         assertThat(exception.getModelName(), equalTo("booking"));
         assertThat(exception.getModelId(), equalTo(BOOKING_ID));
     }
 
     @Test
     void testApplyBookingVerdictUserNotExist() {
-        when(mockRepository.findByIdWithBookerAndItemOwner(BOOKING_ID)).thenReturn(Optional.of(makeBookingProxy()));
+        final Booking booking = makeBookingProxy().withStatus(BookingStatus.WAITING);
+        booking.getItem().setOwner(new User());
+        booking.getItem().getOwner().setId(ANOTHER_USER_ID);
+        when(mockRepository.findByIdWithBookerAndItemOwnerForUpdate(BOOKING_ID)).thenReturn(Optional.of(booking));
         when(userService.existsById(USER_ID)).thenReturn(false);
 
         final ActionNotAllowedException exception = assertThrows(ActionNotAllowedException.class,
                 () -> service.applyBookingVerdict(BOOKING_ID, false, USER_ID));
 
-        inOrder.verify(mockRepository).findByIdWithBookerAndItemOwner(BOOKING_ID);
+        inOrder.verify(mockRepository).findByIdWithBookerAndItemOwnerForUpdate(BOOKING_ID);
         inOrder.verify(userService).existsById(USER_ID);
         assertThat(exception.getMessage(), equalTo("Not authorized"));
     }
@@ -403,13 +1091,13 @@ class BookingServiceImplTest {
         final Booking booking = makeBookingProxy().withStatus(BookingStatus.WAITING);
         booking.getItem().setOwner(new User());
         booking.getItem().getOwner().setId(ANOTHER_USER_ID);
-        when(mockRepository.findByIdWithBookerAndItemOwner(BOOKING_ID)).thenReturn(Optional.of(booking));
+        when(mockRepository.findByIdWithBookerAndItemOwnerForUpdate(BOOKING_ID)).thenReturn(Optional.of(booking));
         when(userService.existsById(USER_ID)).thenReturn(true);
 
         final NotFoundException exception = assertThrows(NotFoundException.class,
                 () -> service.applyBookingVerdict(BOOKING_ID, false, USER_ID));
 
-        inOrder.verify(mockRepository).findByIdWithBookerAndItemOwner(BOOKING_ID);
+        inOrder.verify(mockRepository).findByIdWithBookerAndItemOwnerForUpdate(BOOKING_ID);
         inOrder.verify(userService).existsById(USER_ID);
         assertThat(exception.getModelName(), equalTo("booking"));
         assertThat(exception.getModelId(), equalTo(BOOKING_ID));
@@ -420,15 +1108,136 @@ class BookingServiceImplTest {
         final Booking booking = makeBookingProxy();
         booking.getItem().setOwner(new User());
         booking.getItem().getOwner().setId(USER_ID);
-        when(mockRepository.findByIdWithBookerAndItemOwner(BOOKING_ID)).thenReturn(Optional.of(booking));
-        when(userService.existsById(USER_ID)).thenReturn(true);
+        when(mockRepository.findByIdWithBookerAndItemOwnerForUpdate(BOOKING_ID)).thenReturn(Optional.of(booking));
 
         final ValidationException exception = assertThrows(ValidationException.class,
                 () -> service.applyBookingVerdict(BOOKING_ID, false, USER_ID));
 
-        inOrder.verify(mockRepository).findByIdWithBookerAndItemOwner(BOOKING_ID);
-        inOrder.verify(userService).existsById(USER_ID);
+        inOrder.verify(mockRepository).findByIdWithBookerAndItemOwnerForUpdate(BOOKING_ID);
         assertThat(exception.getProperty(), equalTo("status"));
         assertThat(exception.getViolation(), equalTo("booking should be in status WAITING"));
     }
-}
\ No newline at end of file
+
+    @Test
+    void testApplyBookingVerdicts() throws JSONException, IOException {
+        final Booking approved = makeBookingProxy().withStatus(BookingStatus.WAITING);
+        final Booking rejected = makeBookingProxy().withId(2L).withStatus(BookingStatus.WAITING);
+        final Booking notWaiting = makeBookingProxy().withId(4L);
+        final Booking alreadyBooked = makeAnotherBookingProxy().withId(5L).withStatus(BookingStatus.WAITING);
+        when(mockRepository.findAllByIdAndItemOwnerIdForUpdate(Set.of(1L, 2L, 3L, 4L, 5L), USER_ID))
+                .thenReturn(List.of(approved, rejected, notWaiting, alreadyBooked));
+        when(mockRepository.findApprovedIntervalsByItemId(ITEM_ID, approved.getStart())).thenReturn(List.of());
+        when(mockRepository.findApprovedIntervalsByItemId(ANOTHER_ITEM_ID, alreadyBooked.getStart()))
+                .thenReturn(List.of(new BookingInterval(alreadyBooked.getStart().minusDays(1L),
+                        alreadyBooked.getStart().plusDays(1L))));
+
+        final List<BookingVerdictResult> actual = service.applyBookingVerdicts(List.of(
+                new BookingVerdict(1L, true),
+                new BookingVerdict(2L, false),
+                new BookingVerdict(3L, true),
+                new BookingVerdict(4L, true),
+                new BookingVerdict(5L, true)), USER_ID);
+
+        inOrder.verify(mockRepository).findAllByIdAndItemOwnerIdForUpdate(Set.of(1L, 2L, 3L, 4L, 5L), USER_ID);
+        inOrder.verify(itemBookingSummaryService).lockItem(ITEM_ID);
+        inOrder.verify(mockRepository).findApprovedIntervalsByItemId(ITEM_ID, approved.getStart());
+        inOrder.verify(itemBookingSummaryService).lockItem(ANOTHER_ITEM_ID);
+        inOrder.verify(mockRepository).findApprovedIntervalsByItemId(ANOTHER_ITEM_ID, alreadyBooked.getStart());
+        inOrder.verify(mockRepository).updateWaitingStatus(List.of(1L), BookingStatus.APPROVED, USER_ID);
+        inOrder.verify(mockRepository).updateWaitingStatus(List.of(2L), BookingStatus.REJECTED, USER_ID);
+        inOrder.verify(itemBookingSummaryService).update(makeBookingProxy());
+        inOrder.verify(intervalIndex).evictAfterCommit(ITEM_ID);
+        inOrder.verify(bookingCountService).countVerdicts(List.of(makeBookingProxy(),
+                makeBookingProxy().withId(2L).withStatus(BookingStatus.REJECTED)));
+        inOrder.verify(bookingEventService).recordAll(List.of(makeBookingProxy(),
+                makeBookingProxy().withId(2L).withStatus(BookingStatus.REJECTED)));
+        assertThat(actual, contains(
+                new BookingVerdictResult(1L, BookingVerdictOutcome.APPROVED),
+                new BookingVerdictResult(2L, BookingVerdictOutcome.REJECTED),
+                new BookingVerdictResult(3L, BookingVerdictOutcome.NOT_FOUND),
+                new BookingVerdictResult(4L, BookingVerdictOutcome.NOT_WAITING),
+                new BookingVerdictResult(5L, BookingVerdictOutcome.ALREADY_BOOKED)));
+        assertLogs(logListener.getEvents(), "apply_booking_verdicts.json", getClass());
+    }
+
+    @Test
+    void testApplyBookingVerdictsWhenApprovalsOverlap() {
+        final Booking first = makeBookingProxy().withStatus(BookingStatus.WAITING);
+        final Booking second = makeBookingProxy().withId(2L).withStatus(BookingStatus.WAITING);
+        second.setStart(first.getStart().plusDays(1L));
+        when(mockRepository.findAllByIdAndItemOwnerIdForUpdate(Set.of(1L, 2L), USER_ID))
+                .thenReturn(List.of(first, second));
+        when(mockRepository.findApprovedIntervalsByItemId(ITEM_ID, first.getStart())).thenReturn(List.of());
+
+        final List<BookingVerdictResult> actual = service.applyBookingVerdicts(List.of(
+                new BookingVerdict(1L, true),
+                new BookingVerdict(2L, true)), USER_ID);
+
+        inOrder.verify(mockRepository).findAllByIdAndItemOwnerIdForUpdate(Set.of(1L, 2L), USER_ID);
+        inOrder.verify(itemBookingSummaryService).lockItem(ITEM_ID);
+        inOrder.verify(mockRepository).findApprovedIntervalsByItemId(ITEM_ID, first.getStart());
+        inOrder.verify(mockRepository).updateWaitingStatus(List.of(1L), BookingStatus.APPROVED, USER_ID);
+        inOrder.verify(itemBookingSummaryService).update(makeBookingProxy());
+        inOrder.verify(intervalIndex).evictAfterCommit(ITEM_ID);
+        inOrder.verify(bookingCountService).countVerdicts(List.of(makeBookingProxy()));
+        inOrder.verify(bookingEventService).recordAll(List.of(makeBookingProxy()));
+        assertThat(actual, contains(
+                new BookingVerdictResult(1L, BookingVerdictOutcome.APPROVED),
+                new BookingVerdictResult(2L, BookingVerdictOutcome.ALREADY_BOOKED)));
+    }
+
+    @Test
+    void testApplyBookingVerdictsWhenRepeatedIds() {
+        when(userService.existsById(USER_ID)).thenReturn(true);
+
+        final ValidationException exception = assertThrows(ValidationException.class,
+                () -> service.applyBookingVerdicts(List.of(
+                        new BookingVerdict(1L, true),
+                        new BookingVerdict(1L, false)), USER_ID));
+
+        inOrder.verify(mockRepository).findAllByIdAndItemOwnerIdForUpdate(Set.of(1L), USER_ID);
+        inOrder.verify(userService).existsById(USER_ID);
+        assertThat(exception.getProperty(), equalTo("verdicts"));
+        assertThat(exception.getViolation(), equalTo("should not repeat booking ids"));
+    }
+
+    @Test
+    void testApplyBookingVerdictsWhenNoVerdicts() {
+        when(userService.existsById(USER_ID)).thenReturn(true);
+
+        final List<BookingVerdictResult> actual = service.applyBookingVerdicts(List.of(), USER_ID);
+
+        verify(userService).existsById(USER_ID);
+        assertThat(actual, empty());
+    }
+
+    @Test
+    void testApplyBookingVerdictsWhenUserNotExist() {
+        when(userService.existsById(USER_ID)).thenReturn(false);
+
+        final ActionNotAllowedException exception = assertThrows(ActionNotAllowedException.class,
+                () -> service.applyBookingVerdicts(List.of(new BookingVerdict(1L, true)), USER_ID));
+
+        inOrder.verify(mockRepository).findAllByIdAndItemOwnerIdForUpdate(Set.of(1L), USER_ID);
+        inOrder.verify(userService).existsById(USER_ID);
+        assertThat(exception.getMessage(), equalTo("Not authorized"));
+    }
+
+    private static BookingProxy makeAnotherBookingProxy() {
+        final BookingProxy booking = makeBookingProxy().withId(2L);
+        booking.setItem(new Item());
+        booking.getItem().setId(ANOTHER_ITEM_ID);
+        booking.getItem().setName("The next big thing");
+        return booking;
+    }
+
+    private static Item makeItem(final long id, final boolean available) {
+        final Item item = new Item();
+        item.setId(id);
+        item.setName(id == ITEM_ID ? "The thing" : "The next big thing");
+        item.setAvailable(available);
+        item.setOwner(new User());
+        item.getOwner().setId(ANOTHER_USER_ID);
+        return item;
+    }
+}
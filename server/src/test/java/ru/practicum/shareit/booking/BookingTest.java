@@ -11,9 +11,12 @@ class BookingTest {
     @Test
     void testToString() {
         final String expected = "Booking(id=null, start=2000-07-01T13:10:25, end=2000-07-31T12:50:55, status=WAITING, "
-                + "item=13, booker=42)";
+                + "phase=PAST, version=null, item=13, booker=42)";
 
-        final String actual = makeTestBooking().toString();
+        final Booking booking = makeTestBooking();
+        booking.setPhase(BookingPhase.PAST);
+
+        final String actual = booking.toString();
 
         assertThat(actual, equalTo(expected));
     }
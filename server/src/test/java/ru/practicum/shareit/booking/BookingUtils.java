@@ -53,6 +53,7 @@ final class BookingUtils {
         booking.setStart(LocalDateTime.of(2001, Month.JUNE, 1, 9, 10, 11));
         booking.setEnd(LocalDateTime.of(2001, Month.JUNE, 30, 10, 11, 12));
         booking.setStatus(BookingStatus.APPROVED);
+        booking.setPhase(BookingPhase.PAST);
         return booking;
     }
 
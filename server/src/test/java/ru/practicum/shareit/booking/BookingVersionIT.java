@@ -0,0 +1,112 @@
+package ru.practicum.shareit.booking;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.shareit.item.Item;
+import ru.practicum.shareit.item.ItemService;
+import ru.practicum.shareit.user.User;
+import ru.practicum.shareit.user.UserService;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@SpringBootTest
+class BookingVersionIT {
+
+    private static final AtomicInteger sequence = new AtomicInteger();
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private ItemService itemService;
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    void testSaveBookingWhenChangedByConcurrentVerdict() {
+        final User owner = createUser();
+        final User booker = createUser();
+        final Item item = createItem(owner);
+        final LocalDateTime start = LocalDateTime.now().plusDays(1L).truncatedTo(ChronoUnit.SECONDS);
+        final Booking booking = bookingService.createBooking(makeBooking(item, booker, start, start.plusDays(1L)));
+        final TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        final TransactionTemplate concurrentTransaction = new TransactionTemplate(transactionManager);
+        concurrentTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+
+        assertThrows(ObjectOptimisticLockingFailureException.class, () -> transaction.executeWithoutResult(status -> {
+            final Booking staleBooking = bookingRepository.findByIdWithBookerAndItemOwner(booking.getId())
+                    .orElseThrow();
+            concurrentTransaction.executeWithoutResult(concurrentStatus -> bookingService.applyBookingVerdict(
+                    booking.getId(), true, owner.getId()));
+            staleBooking.setStatus(BookingStatus.REJECTED);
+            bookingRepository.saveAndFlush(staleBooking);
+        }));
+
+        assertThat(bookingService.getBooking(booking.getId(), owner.getId()).getStatus(),
+                equalTo(BookingStatus.APPROVED));
+    }
+
+    @Test
+    void testApplyBookingVerdictsIncrementsVersion() {
+        final User owner = createUser();
+        final User booker = createUser();
+        final Item item = createItem(owner);
+        final LocalDateTime start = LocalDateTime.now().plusDays(1L).truncatedTo(ChronoUnit.SECONDS);
+        final Booking booking = bookingService.createBookings(List.of(makeBooking(item, booker, start,
+                start.plusDays(1L)))).getFirst();
+
+        bookingService.applyBookingVerdicts(List.of(new BookingVerdict(booking.getId(), false)),
+                owner.getId());
+
+        assertThat(bookingService.getBooking(booking.getId(), owner.getId()).getVersion(), equalTo(1L));
+    }
+
+    private Booking makeBooking(final Item item, final User booker, final LocalDateTime start,
+            final LocalDateTime end) {
+        final Booking booking = new Booking();
+        final Item bookedItem = new Item();
+        bookedItem.setId(item.getId());
+        booking.setItem(bookedItem);
+        booking.setBooker(booker);
+        booking.setStart(start);
+        booking.setEnd(end);
+        booking.setStatus(BookingStatus.WAITING);
+        return booking;
+    }
+
+    private User createUser() {
+        final int n = sequence.incrementAndGet();
+        final User user = new User();
+        user.setName("User " + n);
+        user.setEmail("booking.version.user%d@mail.com".formatted(n));
+        return userService.createUser(user);
+    }
+
+    private Item createItem(final User owner) {
+        final Item item = new Item();
+        item.setOwner(owner);
+        item.setName("Item");
+        item.setDescription("Item description");
+        item.setAvailable(true);
+        return itemService.createItem(item);
+    }
+}
@@ -0,0 +1,135 @@
+package ru.practicum.shareit.booking;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import ru.practicum.shareit.common.AbstractQueryCountIT;
+import ru.practicum.shareit.item.Item;
+import ru.practicum.shareit.item.ItemService;
+import ru.practicum.shareit.user.User;
+import ru.practicum.shareit.user.UserService;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+
+// Last and next bookings of listed items are loaded at once, so the number of statements does not grow with items
+class ItemBookingQueryCountIT extends AbstractQueryCountIT {
+
+    private static final AtomicInteger sequence = new AtomicInteger();
+    private static final int ITEMS = 3;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private ItemService itemService;
+
+    @Autowired
+    private BookingService bookingService;
+
+    private User owner;
+    private User booker;
+    private String name;
+    private List<Item> items;
+    private List<Booking> lastBookings;
+    private List<Booking> nextBookings;
+
+    @BeforeEach
+    void setUp() {
+        owner = createUser();
+        booker = createUser();
+        name = "Counted item " + sequence.incrementAndGet();
+        items = new ArrayList<>();
+        lastBookings = new ArrayList<>();
+        nextBookings = new ArrayList<>();
+        final LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS);
+        for (int i = 0; i < ITEMS; i++) {
+            final Item item = createItem(owner);
+            items.add(item);
+            lastBookings.add(approve(createBooking(item, booker, now.minusDays(2L))));
+            nextBookings.add(approve(createBooking(item, booker, now.plusDays(2L))));
+        }
+    }
+
+    @Test
+    void testGetItemWhenOwner() throws Exception {
+        assertStatementCount(get("/items/{id}", items.getFirst().getId())
+                .header("X-Sharer-User-Id", owner.getId()), 2);
+
+        mockMvc.perform(get("/items/{id}", items.getFirst().getId()).header("X-Sharer-User-Id", owner.getId()))
+                .andExpect(jsonPath("$.lastBooking.id").value(lastBookings.getFirst().getId()))
+                .andExpect(jsonPath("$.nextBooking.id").value(nextBookings.getFirst().getId()));
+    }
+
+    @Test
+    void testGetItemWhenNotOwner() throws Exception {
+        assertStatementCount(get("/items/{id}", items.getFirst().getId())
+                .header("X-Sharer-User-Id", booker.getId()), 1);
+    }
+
+    @Test
+    void testGetItemsWhenOwner() throws Exception {
+        assertStatementCount(get("/items").header("X-Sharer-User-Id", owner.getId()), 3);
+
+        mockMvc.perform(get("/items").header("X-Sharer-User-Id", owner.getId()))
+                .andExpect(jsonPath("$.length()").value(ITEMS))
+                .andExpect(jsonPath("$[2].lastBooking.id").value(lastBookings.getLast().getId()))
+                .andExpect(jsonPath("$[2].nextBooking.id").value(nextBookings.getLast().getId()));
+    }
+
+    @Test
+    void testGetItemsWithTextWhenOwner() throws Exception {
+        assertStatementCount(get("/items/search").param("text", name)
+                .header("X-Sharer-User-Id", owner.getId()), 4);
+
+        mockMvc.perform(get("/items/search").param("text", name).header("X-Sharer-User-Id", owner.getId()))
+                .andExpect(jsonPath("$.length()").value(ITEMS))
+                .andExpect(jsonPath("$[1].lastBooking.id").value(lastBookings.get(1).getId()))
+                .andExpect(jsonPath("$[1].nextBooking.id").value(nextBookings.get(1).getId()));
+    }
+
+    @Test
+    void testGetItemsWithTextWhenNotOwner() throws Exception {
+        assertStatementCount(get("/items/search").param("text", name)
+                .header("X-Sharer-User-Id", booker.getId()), 3);
+    }
+
+    private Booking approve(final Booking booking) {
+        return bookingService.applyBookingVerdict(booking.getId(), true, owner.getId());
+    }
+
+    private Booking createBooking(final Item item, final User booker, final LocalDateTime start) {
+        final Booking booking = new Booking();
+        final Item bookedItem = new Item();
+        bookedItem.setId(item.getId());
+        booking.setItem(bookedItem);
+        booking.setBooker(booker);
+        booking.setStart(start);
+        booking.setEnd(start.plusDays(1L));
+        booking.setStatus(BookingStatus.WAITING);
+        return bookingService.createBooking(booking);
+    }
+
+    private User createUser() {
+        final int n = sequence.incrementAndGet();
+        final User user = new User();
+        user.setName("User " + n);
+        user.setEmail("item.booking.query.count.user%d@mail.com".formatted(n));
+        return userService.createUser(user);
+    }
+
+    private Item createItem(final User owner) {
+        final Item item = new Item();
+        item.setOwner(owner);
+        item.setName(name);
+        item.setDescription("Item description");
+        item.setAvailable(true);
+        return itemService.createItem(item);
+    }
+}
@@ -0,0 +1,80 @@
+package ru.practicum.shareit.booking;
+
+import jakarta.persistence.Cache;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import ru.practicum.shareit.item.Item;
+import ru.practicum.shareit.item.ItemService;
+import ru.practicum.shareit.user.User;
+import ru.practicum.shareit.user.UserService;
+
+import java.time.LocalDateTime;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+
+@SpringBootTest
+class ItemBookingSummaryCacheIT {
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private ItemService itemService;
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Cache cache;
+
+    @BeforeEach
+    void setUp() {
+        cache = entityManagerFactory.getCache();
+        cache.evictAll();
+    }
+
+    @Test
+    void testCreateBookingEvictsBookedItem() {
+        final User owner = createUser("owner");
+        final User booker = createUser("booker");
+        final Item item = createItem(owner);
+        final Item anotherItem = createItem(owner);
+        itemService.existsById(item.getId());
+        itemService.existsById(anotherItem.getId());
+        final Booking booking = new Booking();
+        final Item bookedItem = new Item();
+        bookedItem.setId(item.getId());
+        booking.setItem(bookedItem);
+        booking.setBooker(booker);
+        booking.setStart(LocalDateTime.now().plusDays(1L));
+        booking.setEnd(LocalDateTime.now().plusDays(2L));
+        booking.setStatus(BookingStatus.WAITING);
+
+        bookingService.createBooking(booking);
+
+        assertThat(cache.contains(Item.class, item.getId()), equalTo(false));
+        assertThat(cache.contains(Item.class, anotherItem.getId()), equalTo(true));
+    }
+
+    private User createUser(final String name) {
+        final User user = new User();
+        user.setName(name);
+        user.setEmail("item.booking.summary.%s@mail.com".formatted(name));
+        return userService.createUser(user);
+    }
+
+    private Item createItem(final User owner) {
+        final Item item = new Item();
+        item.setOwner(owner);
+        item.setName("Item");
+        item.setDescription("Item description");
+        item.setAvailable(true);
+        return itemService.createItem(item);
+    }
+}
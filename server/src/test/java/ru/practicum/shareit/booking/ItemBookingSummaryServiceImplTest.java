@@ -0,0 +1,270 @@
+package ru.practicum.shareit.booking;
+
+import jakarta.persistence.Cache;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.MockitoAnnotations;
+import ru.practicum.shareit.item.Item;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.nullValue;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.when;
+import static ru.practicum.shareit.booking.BookingUtils.makeBookingProxy;
+import static ru.practicum.shareit.common.CommonUtils.ITEM_ID;
+
+class ItemBookingSummaryServiceImplTest {
+
+    private AutoCloseable openMocks;
+
+    @Mock
+    private ItemBookingSummaryRepository mockRepository;
+
+    @Mock
+    private BookingRepository mockBookingRepository;
+
+    @Mock
+    private EntityManagerFactory mockEntityManagerFactory;
+
+    @Mock
+    private Cache mockCache;
+
+    @Captor
+    private ArgumentCaptor<ItemBookingSummary> summaryCaptor;
+
+    @Captor
+    private ArgumentCaptor<List<ItemBookingSummary>> summariesCaptor;
+
+    private InOrder inOrder;
+
+    private ItemBookingSummaryService service;
+
+    @BeforeEach
+    void setUp() {
+        openMocks = MockitoAnnotations.openMocks(this);
+        when(mockEntityManagerFactory.getCache()).thenReturn(mockCache);
+        service = new ItemBookingSummaryServiceImpl(mockRepository, mockBookingRepository, mockEntityManagerFactory);
+        inOrder = Mockito.inOrder(mockRepository, mockBookingRepository, mockCache);
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        Mockito.verifyNoMoreInteractions(mockRepository, mockBookingRepository, mockCache);
+        openMocks.close();
+    }
+
+    @Test
+    void testLockItem() {
+        when(mockRepository.findByItemIdForUpdate(ITEM_ID)).thenReturn(Optional.of(makeSummary()));
+
+        service.lockItem(ITEM_ID);
+
+        inOrder.verify(mockRepository).findByItemIdForUpdate(ITEM_ID);
+    }
+
+    @Test
+    void testLockItemWhenNoSummary() {
+        when(mockRepository.findByItemIdForUpdate(ITEM_ID)).thenReturn(Optional.empty(),
+                Optional.of(makeSummary()));
+
+        service.lockItem(ITEM_ID);
+
+        inOrder.verify(mockRepository).findByItemIdForUpdate(ITEM_ID);
+        inOrder.verify(mockRepository).insertIfAbsent(ITEM_ID);
+        inOrder.verify(mockRepository).findByItemIdForUpdate(ITEM_ID);
+    }
+
+    @Test
+    void testUpdateWhenNull() {
+        final NullPointerException exception = assertThrows(NullPointerException.class, () -> service.update(null));
+
+        assertThat(exception.getMessage(), equalTo("Cannot update item booking summary: booking is null"));
+    }
+
+    @Test
+    void testUpdateWhenNewBookingAndNoSummary() {
+        final Booking booking = makeBookingProxy().withStatus(BookingStatus.WAITING);
+        when(mockRepository.findByItemIdForUpdate(ITEM_ID)).thenReturn(Optional.empty(),
+                Optional.of(makeSummary()));
+
+        service.update(booking);
+
+        inOrder.verify(mockRepository).findByItemIdForUpdate(ITEM_ID);
+        inOrder.verify(mockRepository).insertIfAbsent(ITEM_ID);
+        inOrder.verify(mockRepository).findByItemIdForUpdate(ITEM_ID);
+        inOrder.verify(mockRepository).save(summaryCaptor.capture());
+        inOrder.verify(mockCache).evict(Item.class, ITEM_ID);
+        assertThat(summaryCaptor.getValue().getItemId(), equalTo(ITEM_ID));
+        assertThat(summaryCaptor.getValue().getLastBooking(), nullValue());
+        assertThat(summaryCaptor.getValue().getNextBooking(), nullValue());
+        assertThat(summaryCaptor.getValue().getNextBookingStart(), nullValue());
+    }
+
+    @Test
+    void testUpdateWhenApprovedPastBookingAndNoLastBooking() {
+        final Booking booking = makeBookingProxy();
+        when(mockRepository.findByItemIdForUpdate(ITEM_ID)).thenReturn(Optional.of(makeSummary()));
+
+        service.update(booking);
+
+        inOrder.verify(mockRepository).findByItemIdForUpdate(ITEM_ID);
+        inOrder.verify(mockRepository).save(summaryCaptor.capture());
+        inOrder.verify(mockCache).evict(Item.class, ITEM_ID);
+        assertThat(summaryCaptor.getValue().getLastBooking(), sameInstance(booking));
+        assertThat(summaryCaptor.getValue().getNextBooking(), nullValue());
+    }
+
+    @Test
+    void testUpdateWhenApprovedPastBookingOlderThanLastBooking() {
+        final Booking booking = makeBookingProxy();
+        final Booking lastBooking = makeBookingProxy().withId(2L);
+        lastBooking.setStart(booking.getStart().plusDays(1L));
+        final ItemBookingSummary summary = makeSummary();
+        summary.setLastBooking(lastBooking);
+        when(mockRepository.findByItemIdForUpdate(ITEM_ID)).thenReturn(Optional.of(summary));
+
+        service.update(booking);
+
+        inOrder.verify(mockRepository).findByItemIdForUpdate(ITEM_ID);
+        inOrder.verify(mockRepository).save(summaryCaptor.capture());
+        inOrder.verify(mockCache).evict(Item.class, ITEM_ID);
+        assertThat(summaryCaptor.getValue().getLastBooking(), sameInstance(lastBooking));
+    }
+
+    @Test
+    void testUpdateWhenApprovedFutureBookingAndNoNextBooking() {
+        final Booking booking = makeFutureBooking(3L, 10L);
+        when(mockRepository.findByItemIdForUpdate(ITEM_ID)).thenReturn(Optional.of(makeSummary()));
+
+        service.update(booking);
+
+        inOrder.verify(mockRepository).findByItemIdForUpdate(ITEM_ID);
+        inOrder.verify(mockRepository).save(summaryCaptor.capture());
+        inOrder.verify(mockCache).evict(Item.class, ITEM_ID);
+        assertThat(summaryCaptor.getValue().getLastBooking(), nullValue());
+        assertThat(summaryCaptor.getValue().getNextBooking(), sameInstance(booking));
+        assertThat(summaryCaptor.getValue().getNextBookingStart(), equalTo(booking.getStart()));
+    }
+
+    @Test
+    void testUpdateWhenApprovedFutureBookingEarlierThanNextBooking() {
+        final Booking booking = makeFutureBooking(3L, 10L);
+        final Booking nextBooking = makeFutureBooking(4L, 20L);
+        final ItemBookingSummary summary = makeSummary();
+        summary.setNextBooking(nextBooking);
+        summary.setNextBookingStart(nextBooking.getStart());
+        when(mockRepository.findByItemIdForUpdate(ITEM_ID)).thenReturn(Optional.of(summary));
+
+        service.update(booking);
+
+        inOrder.verify(mockRepository).findByItemIdForUpdate(ITEM_ID);
+        inOrder.verify(mockRepository).save(summaryCaptor.capture());
+        inOrder.verify(mockCache).evict(Item.class, ITEM_ID);
+        assertThat(summaryCaptor.getValue().getNextBooking(), sameInstance(booking));
+        assertThat(summaryCaptor.getValue().getNextBookingStart(), equalTo(booking.getStart()));
+    }
+
+    @Test
+    void testUpdateWhenApprovedFutureBookingLaterThanNextBooking() {
+        final Booking booking = makeFutureBooking(3L, 20L);
+        final Booking nextBooking = makeFutureBooking(4L, 10L);
+        final ItemBookingSummary summary = makeSummary();
+        summary.setNextBooking(nextBooking);
+        summary.setNextBookingStart(nextBooking.getStart());
+        when(mockRepository.findByItemIdForUpdate(ITEM_ID)).thenReturn(Optional.of(summary));
+
+        service.update(booking);
+
+        inOrder.verify(mockRepository).findByItemIdForUpdate(ITEM_ID);
+        inOrder.verify(mockRepository).save(summaryCaptor.capture());
+        inOrder.verify(mockCache).evict(Item.class, ITEM_ID);
+        assertThat(summaryCaptor.getValue().getNextBooking(), sameInstance(nextBooking));
+        assertThat(summaryCaptor.getValue().getNextBookingStart(), equalTo(nextBooking.getStart()));
+    }
+
+    @Test
+    void testRollOverStartedBookings() {
+        final Booking lastBooking = makeBookingProxy();
+        final Booking nextBooking = makeFutureBooking(3L, 10L);
+        final ItemBookingSummary summary = makeSummary();
+        summary.setNextBooking(makeBookingProxy().withId(2L));
+        summary.setNextBookingStart(LocalDateTime.now().minusSeconds(1L));
+        when(mockRepository.findAllWithNextBookingStartedForUpdate(any(LocalDateTime.class)))
+                .thenReturn(List.of(summary));
+        when(mockBookingRepository.findFirstByItemIdAndStatusAndStartLessThanEqualOrderByStartDescIdDesc(eq(ITEM_ID),
+                eq(BookingStatus.APPROVED), any(LocalDateTime.class))).thenReturn(Optional.of(lastBooking));
+        when(mockBookingRepository.findFirstByItemIdAndStatusAndStartAfterOrderByStartAscIdAsc(eq(ITEM_ID),
+                eq(BookingStatus.APPROVED), any(LocalDateTime.class))).thenReturn(Optional.of(nextBooking));
+
+        service.rollOverStartedBookings();
+
+        inOrder.verify(mockRepository).findAllWithNextBookingStartedForUpdate(any(LocalDateTime.class));
+        inOrder.verify(mockBookingRepository).findFirstByItemIdAndStatusAndStartLessThanEqualOrderByStartDescIdDesc(
+                eq(ITEM_ID), eq(BookingStatus.APPROVED), any(LocalDateTime.class));
+        inOrder.verify(mockBookingRepository).findFirstByItemIdAndStatusAndStartAfterOrderByStartAscIdAsc(eq(ITEM_ID),
+                eq(BookingStatus.APPROVED), any(LocalDateTime.class));
+        inOrder.verify(mockRepository).saveAll(summariesCaptor.capture());
+        inOrder.verify(mockCache).evict(Item.class, ITEM_ID);
+        assertThat(summariesCaptor.getValue(), contains(summary));
+        assertThat(summary.getLastBooking(), sameInstance(lastBooking));
+        assertThat(summary.getNextBooking(), sameInstance(nextBooking));
+        assertThat(summary.getNextBookingStart(), equalTo(nextBooking.getStart()));
+    }
+
+    @Test
+    void testRollOverStartedBookingsWhenNoNextBookingLeft() {
+        final Booking lastBooking = makeBookingProxy();
+        final ItemBookingSummary summary = makeSummary();
+        summary.setNextBooking(lastBooking);
+        summary.setNextBookingStart(LocalDateTime.now().minusSeconds(1L));
+        when(mockRepository.findAllWithNextBookingStartedForUpdate(any(LocalDateTime.class)))
+                .thenReturn(List.of(summary));
+        when(mockBookingRepository.findFirstByItemIdAndStatusAndStartLessThanEqualOrderByStartDescIdDesc(eq(ITEM_ID),
+                eq(BookingStatus.APPROVED), any(LocalDateTime.class))).thenReturn(Optional.of(lastBooking));
+        when(mockBookingRepository.findFirstByItemIdAndStatusAndStartAfterOrderByStartAscIdAsc(eq(ITEM_ID),
+                eq(BookingStatus.APPROVED), any(LocalDateTime.class))).thenReturn(Optional.empty());
+
+        service.rollOverStartedBookings();
+
+        inOrder.verify(mockRepository).findAllWithNextBookingStartedForUpdate(any(LocalDateTime.class));
+        inOrder.verify(mockBookingRepository).findFirstByItemIdAndStatusAndStartLessThanEqualOrderByStartDescIdDesc(
+                eq(ITEM_ID), eq(BookingStatus.APPROVED), any(LocalDateTime.class));
+        inOrder.verify(mockBookingRepository).findFirstByItemIdAndStatusAndStartAfterOrderByStartAscIdAsc(eq(ITEM_ID),
+                eq(BookingStatus.APPROVED), any(LocalDateTime.class));
+        inOrder.verify(mockRepository).saveAll(anyList());
+        inOrder.verify(mockCache).evict(Item.class, ITEM_ID);
+        assertThat(summary.getLastBooking(), sameInstance(lastBooking));
+        assertThat(summary.getNextBooking(), nullValue());
+        assertThat(summary.getNextBookingStart(), nullValue());
+    }
+
+    private ItemBookingSummary makeSummary() {
+        final ItemBookingSummary summary = new ItemBookingSummary();
+        summary.setItemId(ITEM_ID);
+        return summary;
+    }
+
+    private Booking makeFutureBooking(final long id, final long daysFromNow) {
+        final Booking booking = makeBookingProxy().withId(id);
+        booking.setStart(LocalDateTime.now().plusDays(daysFromNow));
+        booking.setEnd(booking.getStart().plusDays(1L));
+        return booking;
+    }
+}
@@ -0,0 +1,49 @@
+package ru.practicum.shareit.common;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.RequestBuilder;
+
+import java.util.List;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.hasSize;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@Import(StatementCollectorConfig.class)
+public abstract class AbstractQueryCountIT {
+
+    @Autowired
+    protected MockMvc mockMvc;
+
+    @Autowired
+    private StatementCollector collector;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    // MockMvc serves a request on the calling thread, so statements of scheduled jobs are not counted. Entity cache
+    // is cleared beforehand for a request to issue the same statements whatever requests were served before it.
+    protected MvcResult assertStatementCount(final RequestBuilder request, final int expected) throws Exception {
+        entityManagerFactory.getCache().evictAll();
+        return assertWarmStatementCount(request, expected);
+    }
+
+    // Entity cache is kept as requests served before left it
+    protected MvcResult assertWarmStatementCount(final RequestBuilder request, final int expected) throws Exception {
+        collector.reset();
+        final MvcResult result = mockMvc.perform(request)
+                .andExpect(status().is2xxSuccessful())
+                .andReturn();
+        final List<String> statements = collector.getStatements();
+        assertThat("statements issued:\n" + String.join("\n", statements), statements, hasSize(expected));
+        return result;
+    }
+}
@@ -0,0 +1,104 @@
+package ru.practicum.shareit.common;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Types;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:query-plan;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE",
+        "spring.flyway.locations=classpath:db/migration,classpath:db/query-plan",
+        "spring.jpa.show-sql=false"
+})
+@Import(StatementCollectorConfig.class)
+public abstract class AbstractQueryPlanIT {
+
+    private static final Pattern TABLE_SCAN = Pattern.compile("/\\* public\\.(\\w+)\\.tableScan");
+    private static final Pattern INDEX_LOOKUP = Pattern.compile("/\\* public\\.(\\w+):");
+
+    @Autowired
+    private StatementCollector collector;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Map<String, String> foreignKeyIndexes;
+    private Set<String> declaredIndexes;
+
+    @BeforeEach
+    void setUp() {
+        collector.reset();
+        // H2 silently indexes every foreign key while PostgreSQL does not, so lookups via such indexes are only
+        // accepted when migrations declare an index with the same leading column
+        foreignKeyIndexes = jdbcTemplate.query("""
+                SELECT c.index_name, c.table_name || '.' || i.column_name
+                FROM information_schema.table_constraints c
+                JOIN information_schema.index_columns i
+                  ON i.index_name = c.index_name AND i.table_schema = c.table_schema AND i.ordinal_position = 1
+                WHERE c.table_schema = 'public' AND c.constraint_type = 'FOREIGN KEY'
+                  AND c.index_name NOT IN (SELECT index_name FROM information_schema.table_constraints
+                                           WHERE table_schema = 'public' AND constraint_type IN ('PRIMARY KEY', 'UNIQUE'))
+                """, (resultSet, rowNum) -> Map.entry(resultSet.getString(1), resultSet.getString(2)))
+                .stream()
+                .collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue));
+        declaredIndexes = jdbcTemplate.query("""
+                SELECT index_name, table_name || '.' || column_name
+                FROM information_schema.index_columns
+                WHERE table_schema = 'public' AND ordinal_position = 1
+                """, (resultSet, rowNum) -> Map.entry(resultSet.getString(1), resultSet.getString(2)))
+                .stream()
+                .filter(index -> !foreignKeyIndexes.containsKey(index.getKey()))
+                .map(Map.Entry::getValue)
+                .collect(Collectors.toSet());
+    }
+
+    protected void assertIndexedAccess(final Runnable query, final String... tablesAllowedToScan) {
+        query.run();
+        final List<String> statements = collector.getStatements();
+        assertThat("query issued no SQL statements", statements, is(not(empty())));
+        final Set<String> allowedToScan = Set.of(tablesAllowedToScan);
+        for (final String sql : statements) {
+            final String plan = explain(sql);
+            final Matcher tableScan = TABLE_SCAN.matcher(plan);
+            while (tableScan.find()) {
+                assertThat("sequential scan of " + tableScan.group(1) + " in plan:\n" + plan,
+                        allowedToScan.contains(tableScan.group(1)), is(true));
+            }
+            final Matcher indexLookup = INDEX_LOOKUP.matcher(plan);
+            while (indexLookup.find()) {
+                final String foreignKeyColumn = foreignKeyIndexes.get(indexLookup.group(1));
+                assertThat("no declared index on " + foreignKeyColumn + " in plan:\n" + plan,
+                        foreignKeyColumn == null || declaredIndexes.contains(foreignKeyColumn), is(true));
+            }
+        }
+    }
+
+    private String explain(final String sql) {
+        return jdbcTemplate.query("EXPLAIN " + sql, statement -> {
+            final int parameterCount = statement.getParameterMetaData().getParameterCount();
+            for (int i = 1; i <= parameterCount; i++) {
+                statement.setNull(i, Types.NULL);
+            }
+        }, resultSet -> {
+            final StringBuilder plan = new StringBuilder();
+            while (resultSet.next()) {
+                plan.append(resultSet.getString(1));
+            }
+            return plan.toString();
+        });
+    }
+}
@@ -12,6 +12,7 @@ import org.mockito.MockitoAnnotations;
 import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.http.ProblemDetail;
 import ru.practicum.shareit.common.exception.ActionNotAllowedException;
+import ru.practicum.shareit.common.exception.ConflictException;
 import ru.practicum.shareit.common.exception.NotFoundException;
 import ru.practicum.shareit.common.exception.UnsupportedBookingStateFilterException;
 import ru.practicum.shareit.common.exception.ValidationException;
@@ -126,6 +127,23 @@ class ControllerExceptionHandlerTest {
         assertLogs(logListener.getEvents(), "data_integrity_violation_exception_user.json", getClass());
     }
 
+    @Test
+    void testHandleDataIntegrityViolationExceptionWhenBookingsOverlap() throws JSONException, IOException {
+        final ConstraintViolationException mockCause = Mockito.mock(ConstraintViolationException.class);
+        Mockito.when(mockCause.getMessage()).thenReturn("root message");
+        Mockito.when(mockCause.getConstraintName()).thenReturn("bookings_item_id_period_excl");
+        final DataIntegrityViolationException exception = new DataIntegrityViolationException("message", mockCause);
+
+        final ProblemDetail response = handler.handleDataIntegrityViolationException(exception, mockHttpRequest);
+
+        Mockito.verify(mockCause).getMessage();
+        Mockito.verify(mockCause).getConstraintName();
+        Mockito.verifyNoMoreInteractions(mockCause);
+        assertThat(response.getStatus(), equalTo(409));
+        assertThat(response.getDetail(), equalTo("Item is already booked for this time"));
+        assertLogs(logListener.getEvents(), "data_integrity_violation_exception_booking_overlap.json", getClass());
+    }
+
     @Test
     void testHandleDataIntegrityViolationExceptionWhenUnknownConstraint() throws JSONException, IOException {
         final ConstraintViolationException mockCause = Mockito.mock(ConstraintViolationException.class);
@@ -166,6 +184,17 @@ class ControllerExceptionHandlerTest {
         assertLogs(logListener.getEvents(), "data_integrity_violation_exception_not_constraint.json", getClass());
     }
 
+    @Test
+    void testHandleConflictException() throws JSONException, IOException {
+        final ConflictException exception = new ConflictException("Item is already booked for this time");
+
+        final ProblemDetail response = handler.handleConflictException(exception, mockHttpRequest);
+
+        assertThat(response.getStatus(), equalTo(409));
+        assertThat(response.getDetail(), equalTo("Item is already booked for this time"));
+        assertLogs(logListener.getEvents(), "conflict_exception.json", getClass());
+    }
+
     @Test
     void testHandleActionNotAllowedException() throws JSONException, IOException {
         final ActionNotAllowedException exception = new ActionNotAllowedException("not enough power");
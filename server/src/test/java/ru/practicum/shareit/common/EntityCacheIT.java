@@ -0,0 +1,136 @@
+package ru.practicum.shareit.common;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.Cache;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import ru.practicum.shareit.common.exception.NotFoundException;
+import ru.practicum.shareit.item.Item;
+import ru.practicum.shareit.item.ItemService;
+import ru.practicum.shareit.user.User;
+import ru.practicum.shareit.user.UserPatch;
+import ru.practicum.shareit.user.UserService;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@SpringBootTest
+class EntityCacheIT {
+
+    private static final AtomicInteger sequence = new AtomicInteger();
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private ItemService itemService;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private Cache cache;
+
+    @BeforeEach
+    void setUp() {
+        cache = entityManagerFactory.getCache();
+        cache.evictAll();
+    }
+
+    @Test
+    void testGetUserWhenCached() {
+        final User user = createUser();
+        userService.getUser(user.getId());
+        final double hits = hits("user");
+
+        userService.getUser(user.getId());
+        userService.getUser(user.getId());
+
+        assertThat(hits("user") - hits, equalTo(2.0));
+    }
+
+    @Test
+    void testExistsByIdWhenCached() {
+        final User user = createUser();
+        userService.getUser(user.getId());
+        final double hits = hits("user");
+
+        final boolean exists = userService.existsById(user.getId());
+
+        assertThat(exists, equalTo(true));
+        assertThat(hits("user") - hits, equalTo(1.0));
+    }
+
+    @Test
+    void testPatchUserUpdatesCachedUser() {
+        final User user = createUser();
+        userService.getUser(user.getId());
+        final UserPatch patch = new UserPatch();
+        patch.setUserId(user.getId());
+        patch.setName("Patched Name");
+
+        userService.patchUser(patch);
+
+        assertThat(userService.getUser(user.getId()).getName(), equalTo("Patched Name"));
+    }
+
+    @Test
+    void testDeleteUserEvictsDeletedUserOnly() {
+        final User user = createUser();
+        final User anotherUser = createUser();
+        userService.getUser(user.getId());
+        userService.getUser(anotherUser.getId());
+
+        userService.deleteUser(user.getId());
+
+        final double hits = hits("user");
+        userService.getUser(anotherUser.getId());
+        assertThat(hits("user") - hits, equalTo(1.0));
+        assertThrows(NotFoundException.class, () -> userService.getUser(user.getId()));
+    }
+
+    @Test
+    void testDeleteItemEvictsDeletedItemOnly() {
+        final User owner = createUser();
+        final Item item = createItem(owner);
+        final Item anotherItem = createItem(owner);
+        itemService.existsById(item.getId());
+        itemService.existsById(anotherItem.getId());
+
+        itemService.deleteItem(item.getId(), owner.getId());
+
+        final double hits = hits("item");
+        itemService.existsById(anotherItem.getId());
+        assertThat(hits("item") - hits, equalTo(1.0));
+        assertThat(itemService.existsById(item.getId()), equalTo(false));
+    }
+
+    private User createUser() {
+        final int n = sequence.incrementAndGet();
+        final User user = new User();
+        user.setName("User " + n);
+        user.setEmail("entity.cache.user%d@mail.com".formatted(n));
+        return userService.createUser(user);
+    }
+
+    private Item createItem(final User owner) {
+        final Item item = new Item();
+        item.setOwner(owner);
+        item.setName("Item");
+        item.setDescription("Item description");
+        item.setAvailable(true);
+        return itemService.createItem(item);
+    }
+
+    private double hits(final String region) {
+        return meterRegistry.get("cache.gets").tag("cache", region).tag("result", "hit").functionCounter().count();
+    }
+}
@@ -0,0 +1,240 @@
+package ru.practicum.shareit.common;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.nullValue;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class IdempotencyFilterTest {
+
+    private static final String KEY = "b8c2d1f0-3e4a-4c5b-9d6e-7f8a9b0c1d2e";
+    private static final String BODY = "{\"itemId\":13}";
+    private static final String RESPONSE_BODY = "{\"id\":1}";
+
+    private IdempotencyFilter filter;
+    private AtomicInteger calls;
+
+    @BeforeEach
+    void setUp() {
+        filter = new IdempotencyFilter(100L, Duration.ofMinutes(1L), new ObjectMapper());
+        calls = new AtomicInteger();
+    }
+
+    @Test
+    void testDoFilterWhenRepeated() throws Exception {
+        final MockHttpServletResponse first = doFilter(makeRequest("POST", "42", KEY, BODY), respondWith(200));
+        final MockHttpServletResponse second = doFilter(makeRequest("POST", "42", KEY, BODY), respondWith(200));
+
+        assertThat(calls.get(), equalTo(1));
+        assertThat(first.getStatus(), equalTo(200));
+        assertThat(first.getHeader(IdempotencyFilter.REPLAYED_HEADER), nullValue());
+        assertThat(first.getContentAsString(), equalTo(RESPONSE_BODY));
+        assertThat(second.getStatus(), equalTo(200));
+        assertThat(second.getHeader(IdempotencyFilter.REPLAYED_HEADER), equalTo("true"));
+        assertThat(second.getHeader("X-Total-Count"), equalTo("1"));
+        assertThat(second.getContentType(), equalTo("application/json"));
+        assertThat(second.getContentAsString(), equalTo(RESPONSE_BODY));
+    }
+
+    @Test
+    void testDoFilterWhenRepeatedByAnotherUser() throws Exception {
+        doFilter(makeRequest("POST", "42", KEY, BODY), respondWith(200));
+        final MockHttpServletResponse response = doFilter(makeRequest("POST", "43", KEY, BODY), respondWith(200));
+
+        assertThat(calls.get(), equalTo(2));
+        assertThat(response.getHeader(IdempotencyFilter.REPLAYED_HEADER), nullValue());
+    }
+
+    @Test
+    void testDoFilterWhenKeyReusedForAnotherBody() throws Exception {
+        doFilter(makeRequest("POST", "42", KEY, BODY), respondWith(200));
+        final MockHttpServletResponse response = doFilter(makeRequest("POST", "42", KEY, "{\"itemId\":14}"),
+                respondWith(200));
+
+        assertThat(calls.get(), equalTo(1));
+        assertThat(response.getStatus(), equalTo(422));
+        assertThat(response.getContentType(), equalTo("application/problem+json"));
+        assertThat(response.getContentAsString(), containsString("already used for another request"));
+    }
+
+    @Test
+    void testDoFilterWhenKeyReusedForAnotherQuery() throws Exception {
+        final MockHttpServletRequest request = makeRequest("PATCH", "42", KEY, "");
+        request.setQueryString("approved=true");
+        doFilter(request, respondWith(200));
+        final MockHttpServletRequest anotherRequest = makeRequest("PATCH", "42", KEY, "");
+        anotherRequest.setQueryString("approved=false");
+
+        final MockHttpServletResponse response = doFilter(anotherRequest, respondWith(200));
+
+        assertThat(calls.get(), equalTo(1));
+        assertThat(response.getStatus(), equalTo(422));
+    }
+
+    @Test
+    void testDoFilterWhenRepeatedWhileInProgress() throws Exception {
+        final MockHttpServletResponse[] repeated = new MockHttpServletResponse[1];
+        final FilterChain chain = (request, response) -> {
+            calls.incrementAndGet();
+            repeated[0] = doFilter(makeRequest("POST", "42", KEY, BODY), respondWith(200));
+            ((HttpServletResponse) response).setStatus(200);
+        };
+
+        doFilter(makeRequest("POST", "42", KEY, BODY), chain);
+
+        assertThat(calls.get(), equalTo(1));
+        assertThat(repeated[0].getStatus(), equalTo(409));
+    }
+
+    @Test
+    void testDoFilterWhenServerError() throws Exception {
+        doFilter(makeRequest("POST", "42", KEY, BODY), respondWith(503));
+        final MockHttpServletResponse response = doFilter(makeRequest("POST", "42", KEY, BODY), respondWith(200));
+
+        assertThat(calls.get(), equalTo(2));
+        assertThat(response.getStatus(), equalTo(200));
+        assertThat(response.getHeader(IdempotencyFilter.REPLAYED_HEADER), nullValue());
+    }
+
+    @Test
+    void testDoFilterWhenClientError() throws Exception {
+        doFilter(makeRequest("POST", "42", KEY, BODY), respondWith(409));
+        final MockHttpServletResponse response = doFilter(makeRequest("POST", "42", KEY, BODY), respondWith(200));
+
+        assertThat(calls.get(), equalTo(1));
+        assertThat(response.getStatus(), equalTo(409));
+        assertThat(response.getHeader(IdempotencyFilter.REPLAYED_HEADER), equalTo("true"));
+    }
+
+    @Test
+    void testDoFilterWhenException() throws Exception {
+        final FilterChain chain = (request, response) -> {
+            calls.incrementAndGet();
+            throw new IllegalStateException();
+        };
+        assertThrows(IllegalStateException.class, () -> doFilter(makeRequest("POST", "42", KEY, BODY), chain));
+
+        final MockHttpServletResponse response = doFilter(makeRequest("POST", "42", KEY, BODY), respondWith(200));
+
+        assertThat(calls.get(), equalTo(2));
+        assertThat(response.getStatus(), equalTo(200));
+    }
+
+    @Test
+    void testDoFilterWhenError() throws Exception {
+        final FilterChain chain = (request, response) -> {
+            calls.incrementAndGet();
+            throw new StackOverflowError();
+        };
+        assertThrows(StackOverflowError.class, () -> doFilter(makeRequest("POST", "42", KEY, BODY), chain));
+
+        final MockHttpServletResponse response = doFilter(makeRequest("POST", "42", KEY, BODY), respondWith(200));
+
+        assertThat(calls.get(), equalTo(2));
+        assertThat(response.getStatus(), equalTo(200));
+    }
+
+    @Test
+    void testDoFilterWhenRepeatedToAnotherPathWithoutUser() throws Exception {
+        doFilter(makeRequest("POST", null, KEY, BODY), respondWith(200));
+        final MockHttpServletRequest request = makeRequest("POST", null, KEY, BODY);
+        request.setRequestURI("/users");
+
+        final MockHttpServletResponse response = doFilter(request, respondWith(200));
+
+        assertThat(calls.get(), equalTo(2));
+        assertThat(response.getStatus(), equalTo(200));
+        assertThat(response.getHeader(IdempotencyFilter.REPLAYED_HEADER), nullValue());
+    }
+
+    @Test
+    void testDoFilterWhenKeyBlank() throws Exception {
+        final MockHttpServletResponse response = doFilter(makeRequest("POST", "42", " ", BODY), respondWith(200));
+
+        assertThat(calls.get(), equalTo(0));
+        assertThat(response.getStatus(), equalTo(400));
+    }
+
+    @Test
+    void testDoFilterWhenKeyTooLong() throws Exception {
+        final MockHttpServletResponse response = doFilter(makeRequest("POST", "42", "k".repeat(256), BODY),
+                respondWith(200));
+
+        assertThat(calls.get(), equalTo(0));
+        assertThat(response.getStatus(), equalTo(400));
+    }
+
+    @Test
+    void testDoFilterWhenNoKey() throws Exception {
+        doFilter(makeRequest("POST", "42", null, BODY), respondWith(200));
+        doFilter(makeRequest("POST", "42", null, BODY), respondWith(200));
+
+        assertThat(calls.get(), equalTo(2));
+    }
+
+    @Test
+    void testDoFilterWhenGet() throws Exception {
+        doFilter(makeRequest("GET", "42", KEY, ""), respondWith(200));
+        final MockHttpServletResponse response = doFilter(makeRequest("GET", "42", KEY, ""), respondWith(200));
+
+        assertThat(calls.get(), equalTo(2));
+        assertThat(response.getHeader(IdempotencyFilter.REPLAYED_HEADER), nullValue());
+    }
+
+    @Test
+    void testDoFilterPassesBodyOn() throws Exception {
+        final String[] body = new String[1];
+        final FilterChain chain = (request, response) -> body[0] = new String(request.getInputStream()
+                .readAllBytes(), StandardCharsets.UTF_8);
+
+        doFilter(makeRequest("POST", "42", KEY, BODY), chain);
+
+        assertThat(body[0], equalTo(BODY));
+    }
+
+    private MockHttpServletResponse doFilter(final MockHttpServletRequest request, final FilterChain chain)
+            throws ServletException, IOException {
+        final MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, chain);
+        return response;
+    }
+
+    private FilterChain respondWith(final int status) {
+        return (request, response) -> {
+            calls.incrementAndGet();
+            final HttpServletResponse httpResponse = (HttpServletResponse) response;
+            httpResponse.setStatus(status);
+            httpResponse.setHeader("X-Total-Count", "1");
+            httpResponse.setContentType("application/json");
+            httpResponse.getOutputStream().write(RESPONSE_BODY.getBytes(StandardCharsets.UTF_8));
+        };
+    }
+
+    private MockHttpServletRequest makeRequest(final String method, final String userId, final String key,
+            final String body) {
+        final MockHttpServletRequest request = new MockHttpServletRequest(method, "/bookings");
+        if (userId != null) {
+            request.addHeader("X-Sharer-User-Id", userId);
+        }
+        if (key != null) {
+            request.addHeader(IdempotencyFilter.IDEMPOTENCY_KEY_HEADER, key);
+        }
+        request.setContent(body.getBytes(StandardCharsets.UTF_8));
+        return request;
+    }
+}
@@ -0,0 +1,26 @@
+package ru.practicum.shareit.common;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class StatementCollector implements StatementInspector {
+
+    // Statements are collected per thread to keep scheduled jobs out of the way
+    private final ThreadLocal<List<String>> statements = ThreadLocal.withInitial(ArrayList::new);
+
+    @Override
+    public String inspect(final String sql) {
+        statements.get().add(sql);
+        return sql;
+    }
+
+    public List<String> getStatements() {
+        return List.copyOf(statements.get());
+    }
+
+    public void reset() {
+        statements.get().clear();
+    }
+}
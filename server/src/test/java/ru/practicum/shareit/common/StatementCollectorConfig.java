@@ -0,0 +1,20 @@
+package ru.practicum.shareit.common;
+
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+
+@TestConfiguration
+class StatementCollectorConfig {
+
+    @Bean
+    StatementCollector statementCollector() {
+        return new StatementCollector();
+    }
+
+    @Bean
+    HibernatePropertiesCustomizer statementCollectorCustomizer(final StatementCollector collector) {
+        return properties -> properties.put(AvailableSettings.STATEMENT_INSPECTOR, collector);
+    }
+}
@@ -0,0 +1,25 @@
+package ru.practicum.shareit.item;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import ru.practicum.shareit.common.AbstractQueryPlanIT;
+
+import java.util.List;
+
+class CommentRepositoryQueryPlanIT extends AbstractQueryPlanIT {
+
+    private static final long ITEM_ID = 13L;
+
+    @Autowired
+    private CommentRepository repository;
+
+    @Test
+    void testFindLatestByItemIds() {
+        assertIndexedAccess(() -> repository.findLatestByItemIds(List.of(ITEM_ID, ITEM_ID + 1), 5));
+    }
+
+    @Test
+    void testFindAllByIdWithAuthor() {
+        assertIndexedAccess(() -> repository.findAllByIdWithAuthor(List.of(1L, 2L)));
+    }
+}
@@ -7,10 +7,14 @@ import org.junit.jupiter.api.Test;
 import org.mockito.InOrder;
 import org.mockito.Mock;
 import org.mockito.Mockito;
+import ru.practicum.shareit.booking.BookingInterval;
+import ru.practicum.shareit.booking.BookingService;
 import ru.practicum.shareit.common.AbstractControllerTest;
 import ru.practicum.shareit.common.LogListener;
 
 import java.io.IOException;
+import java.time.LocalDateTime;
+import java.time.Month;
 import java.util.List;
 
 import static org.hamcrest.MatcherAssert.assertThat;
@@ -36,6 +40,10 @@ class ItemControllerTest extends AbstractControllerTest {
     private static final long USER_ID = 42L;
     private static final long ITEM_ID = 1L;
     private static final String SEARCH_TEXT = "text";
+    private static final int FROM = 0;
+    private static final int SIZE = 10;
+    private static final LocalDateTime FREE_FROM = LocalDateTime.of(2030, Month.MAY, 1, 10, 0);
+    private static final LocalDateTime FREE_TO = FREE_FROM.plusDays(5L);
 
     @Mock
     private ItemService mockService;
@@ -49,6 +57,9 @@ class ItemControllerTest extends AbstractControllerTest {
     @Mock
     private CommentMapper commentMapper;
 
+    @Mock
+    private BookingService bookingService;
+
     private InOrder inOrder;
 
     private ItemController controller;
@@ -57,17 +68,19 @@ class ItemControllerTest extends AbstractControllerTest {
     @BeforeEach
     protected void setUp() {
         super.setUp();
-        controller = new ItemController(mockService, mockMapper, commentService, commentMapper);
+        controller = new ItemController(mockService, mockMapper, commentService, commentMapper,
+                bookingService);
         logListener.startListen();
         logListener.reset();
-        inOrder = inOrder(mockService, mockMapper, commentService, commentMapper);
+        inOrder = inOrder(mockService, mockMapper, commentService, commentMapper, bookingService);
     }
 
     @Override
     @AfterEach
     protected void tearDown() throws Exception {
         logListener.stopListen();
-        Mockito.verifyNoMoreInteractions(mockService, mockMapper, commentService, commentMapper);
+        Mockito.verifyNoMoreInteractions(mockService, mockMapper, commentService, commentMapper,
+                bookingService);
         super.tearDown();
     }
 
@@ -101,12 +114,12 @@ class ItemControllerTest extends AbstractControllerTest {
 
     @Test
     void testGetItems() throws JSONException, IOException {
-        when(mockService.getItems(USER_ID)).thenReturn(List.of(makeItemProxy()));
+        when(mockService.getItems(USER_ID, FROM, SIZE)).thenReturn(List.of(makeItemProxy()));
         when(mockMapper.mapToDto(List.of(makeItemProxy()))).thenReturn(List.of(makeItemRetrieveDtoProxy()));
 
-        final List<ItemRetrieveDto> actual = controller.getItems(USER_ID, mockHttpRequest);
+        final List<ItemRetrieveDto> actual = controller.getItems(USER_ID, FROM, SIZE, mockHttpRequest);
 
-        inOrder.verify(mockService).getItems(USER_ID);
+        inOrder.verify(mockService).getItems(USER_ID, FROM, SIZE);
         inOrder.verify(mockMapper).mapToDto(List.of(makeItemProxy()));
         assertThat(actual, contains(makeItemRetrieveDtoProxy()));
         assertLogs(logListener.getEvents(), "get_items.json", getClass());
@@ -114,17 +127,31 @@ class ItemControllerTest extends AbstractControllerTest {
 
     @Test
     void testGetItemsWithText() throws JSONException, IOException {
-        when(mockService.getItems(SEARCH_TEXT, USER_ID)).thenReturn(List.of(makeItemProxy()));
+        when(mockService.getItems(SEARCH_TEXT, USER_ID, FROM, SIZE)).thenReturn(List.of(makeItemProxy()));
         when(mockMapper.mapToDto(List.of(makeItemProxy()))).thenReturn(List.of(makeItemRetrieveDtoProxy()));
 
-        final List<ItemRetrieveDto> actual = controller.getItems(USER_ID, SEARCH_TEXT, mockHttpRequest);
+        final List<ItemRetrieveDto> actual = controller.getItems(USER_ID, SEARCH_TEXT, FROM, SIZE, mockHttpRequest);
 
-        inOrder.verify(mockService).getItems(SEARCH_TEXT, USER_ID);
+        inOrder.verify(mockService).getItems(SEARCH_TEXT, USER_ID, FROM, SIZE);
         inOrder.verify(mockMapper).mapToDto(List.of(makeItemProxy()));
         assertThat(actual, contains(makeItemRetrieveDtoProxy()));
         assertLogs(logListener.getEvents(), "get_items_with_text.json", getClass());
     }
 
+    @Test
+    void testGetAvailability() throws JSONException, IOException {
+        final List<BookingInterval> intervals = List.of(new BookingInterval(FREE_FROM, FREE_FROM.plusDays(1L)),
+                new BookingInterval(FREE_FROM.plusDays(2L), FREE_TO));
+        when(bookingService.getFreeIntervals(ITEM_ID, FREE_FROM, FREE_TO)).thenReturn(intervals);
+
+        final List<BookingInterval> actual = controller.getAvailability(USER_ID, ITEM_ID, FREE_FROM, FREE_TO,
+                mockHttpRequest);
+
+        verify(bookingService).getFreeIntervals(ITEM_ID, FREE_FROM, FREE_TO);
+        assertThat(actual, equalTo(intervals));
+        assertLogs(logListener.getEvents(), "get_availability.json", getClass());
+    }
+
     @Test
     void testAddComment() throws JSONException, IOException {
         when(commentMapper.mapToComment(USER_ID, ITEM_ID, makeCommentCreateDtoProxy())).thenReturn(makeCommentProxy());
@@ -0,0 +1,87 @@
+package ru.practicum.shareit.item;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import ru.practicum.shareit.user.User;
+import ru.practicum.shareit.user.UserService;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.equalTo;
+
+@SpringBootTest(properties = "shareit.items.latest-comments=2")
+class ItemListingIT {
+
+    private static final AtomicInteger sequence = new AtomicInteger();
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private ItemService itemService;
+
+    @Autowired
+    private CommentRepository commentRepository;
+
+    @Test
+    void testGetItemsPagesItemsAndLimitsComments() {
+        final User owner = createUser();
+        final User author = createUser();
+        final Item first = createItem(owner);
+        final Item second = createItem(owner);
+        final Item third = createItem(owner);
+        final LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS);
+        createComment(first, author, now.minusDays(3L));
+        final Comment latest = createComment(first, author, now.minusDays(1L));
+        final Comment middle = createComment(first, author, now.minusDays(2L));
+        final Comment only = createComment(second, author, now);
+
+        final List<Item> firstPage = itemService.getItems(owner.getId(), 0, 2);
+        final List<Item> secondPage = itemService.getItems(owner.getId(), 2, 2);
+
+        assertThat(firstPage.stream().map(Item::getId).toList(), contains(first.getId(), second.getId()));
+        assertThat(firstPage.getFirst().getCommentCount(), equalTo(3L));
+        assertThat(firstPage.getFirst().getComments().stream().map(Comment::getId).toList(),
+                contains(latest.getId(), middle.getId()));
+        assertThat(firstPage.getFirst().getComments().stream().map(comment -> comment.getAuthor().getName())
+                .toList(), contains(author.getName(), author.getName()));
+        assertThat(firstPage.getLast().getCommentCount(), equalTo(1L));
+        assertThat(firstPage.getLast().getComments().stream().map(Comment::getId).toList(), contains(only.getId()));
+        assertThat(secondPage.stream().map(Item::getId).toList(), contains(third.getId()));
+        assertThat(secondPage.getFirst().getCommentCount(), equalTo(0L));
+        assertThat(secondPage.getFirst().getComments(), empty());
+    }
+
+    private Comment createComment(final Item item, final User author, final LocalDateTime created) {
+        final Comment comment = new Comment();
+        comment.setItem(item);
+        comment.setAuthor(author);
+        comment.setText("Comment");
+        comment.setCreated(created);
+        return commentRepository.save(comment);
+    }
+
+    private User createUser() {
+        final int n = sequence.incrementAndGet();
+        final User user = new User();
+        user.setName("User " + n);
+        user.setEmail("item.listing.user%d@mail.com".formatted(n));
+        return userService.createUser(user);
+    }
+
+    private Item createItem(final User owner) {
+        final Item item = new Item();
+        item.setOwner(owner);
+        item.setName("Item");
+        item.setDescription("Item description");
+        item.setAvailable(true);
+        return itemService.createItem(item);
+    }
+}
@@ -126,6 +126,18 @@ class ItemMapperImplTest {
         assertThat(actual, samePropertyValuesAs(expected));
     }
 
+    @Test
+    void testMapToDtoWhenSingleItemWithCommentCount() {
+        final ItemRetrieveDto expected = makeTestItemRetrieveDto();
+        expected.setCommentCount(12L);
+        final Item item = makeItemProxy();
+        item.setCommentCount(12L);
+
+        final ItemRetrieveDto actual = mapper.mapToDto(item);
+
+        assertThat(actual, samePropertyValuesAs(expected));
+    }
+
     @Test
     void testMapToDtoWhenSingleItemNull() {
         final ItemRetrieveDto actual = mapper.mapToDto((Item) null);
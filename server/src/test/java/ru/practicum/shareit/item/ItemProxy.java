@@ -24,12 +24,14 @@ class ItemProxy extends Item {
                 && Objects.equals(this.getLastBooking(), other.getLastBooking())
                 && Objects.equals(this.getNextBooking(), other.getNextBooking())
                 && Objects.equals(this.getComments(), other.getComments())
+                && Objects.equals(this.getCommentCount(), other.getCommentCount())
                 && Objects.equals(this.getRequest(), other.getRequest());
     }
 
     @Override
     public int hashCode() {
         return Objects.hash(this.getId(), this.getOwner(), this.getName(), this.getDescription(), this.getAvailable(),
-                this.getLastBooking(), this.getNextBooking(), this.getComments(), this.getRequest());
+                this.getLastBooking(), this.getNextBooking(), this.getComments(), this.getCommentCount(),
+                this.getRequest());
     }
 }
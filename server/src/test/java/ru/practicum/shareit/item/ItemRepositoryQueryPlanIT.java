@@ -0,0 +1,60 @@
+package ru.practicum.shareit.item;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import ru.practicum.shareit.common.AbstractQueryPlanIT;
+
+import java.util.List;
+
+class ItemRepositoryQueryPlanIT extends AbstractQueryPlanIT {
+
+    private static final long USER_ID = 42L;
+    private static final long ITEM_ID = 13L;
+    private static final Sort SORT = Sort.by("id");
+
+    @Autowired
+    private ItemRepository repository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Test
+    void testFindByIdWithRelations() {
+        assertIndexedAccess(() -> repository.findByIdWithRelations(ITEM_ID));
+    }
+
+    @Test
+    void testFindAllByOwnerId() {
+        assertIndexedAccess(() -> repository.findAllByOwnerId(USER_ID, PageRequest.of(0, 10, SORT)));
+    }
+
+    @Test
+    void testFindAllById() {
+        assertIndexedAccess(() -> repository.findAllById(List.of(ITEM_ID, ITEM_ID + 1)));
+    }
+
+    @Test
+    void testFindAllCachedById() {
+        entityManagerFactory.getCache().evict(Item.class);
+        assertIndexedAccess(() -> repository.findAllCachedById(List.of(ITEM_ID, ITEM_ID + 1)));
+    }
+
+    // Substring search is served by trigram indexes in PostgreSQL only
+    @Test
+    void testFindIdsByNameOrDescription() {
+        assertIndexedAccess(() -> repository.findIdsByNameOrDescription("item 1", PageRequest.of(0, 10)), "items");
+    }
+
+    @Test
+    void testExistsByOwnerId() {
+        assertIndexedAccess(() -> repository.existsByOwnerId(USER_ID));
+    }
+
+    @Test
+    void testFindAllBookingsById() {
+        assertIndexedAccess(() -> repository.findAllBookingsById(List.of(1L, 2L)));
+    }
+}
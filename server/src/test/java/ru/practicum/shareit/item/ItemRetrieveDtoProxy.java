@@ -23,12 +23,14 @@ class ItemRetrieveDtoProxy extends ItemRetrieveDto {
                 && Objects.equals(this.getRequestId(), other.getRequestId())
                 && Objects.equals(this.getLastBooking(), other.getLastBooking())
                 && Objects.equals(this.getNextBooking(), other.getNextBooking())
-                && Objects.equals(this.getComments(), other.getComments());
+                && Objects.equals(this.getComments(), other.getComments())
+                && Objects.equals(this.getCommentCount(), other.getCommentCount());
     }
 
     @Override
     public int hashCode() {
         return Objects.hash(this.getId(), this.getName(), this.getDescription(), this.getAvailable(),
-                this.getRequestId(), this.getLastBooking(), this.getNextBooking(), this.getComments());
+                this.getRequestId(), this.getLastBooking(), this.getNextBooking(), this.getComments(),
+                this.getCommentCount());
     }
 }
@@ -0,0 +1,152 @@
+package ru.practicum.shareit.item;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.web.servlet.RequestBuilder;
+import ru.practicum.shareit.common.AbstractQueryCountIT;
+import ru.practicum.shareit.user.User;
+import ru.practicum.shareit.user.UserService;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+
+// Ids found by a text are kept until an item containing the text is written, items are served from entity cache
+class ItemSearchCacheIT extends AbstractQueryCountIT {
+
+    private static final AtomicInteger sequence = new AtomicInteger();
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private ItemService itemService;
+
+    private User owner;
+    private User user;
+    private String text;
+    private Item item;
+
+    @BeforeEach
+    void setUp() {
+        owner = createUser();
+        user = createUser();
+        text = "Cached item #%d#".formatted(sequence.incrementAndGet());
+        item = createItem(text);
+    }
+
+    @Test
+    void testSearchWhenCached() throws Exception {
+        assertStatementCount(search(text.toUpperCase()), 3);
+
+        assertWarmStatementCount(search(text.toLowerCase()), 1);
+        mockMvc.perform(search(text))
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(jsonPath("$[0].id").value(item.getId()));
+    }
+
+    @Test
+    void testSearchKeepsRankOrder() throws Exception {
+        final Item foundByName = createItem("Another " + text);
+        final Item foundByDescription = createItem("Another item", "Goes with " + text);
+
+        mockMvc.perform(search(text))
+                .andExpect(jsonPath("$.length()").value(3))
+                .andExpect(jsonPath("$[1].id").value(foundByName.getId()))
+                .andExpect(jsonPath("$[2].id").value(foundByDescription.getId()));
+        mockMvc.perform(search(text))
+                .andExpect(jsonPath("$[1].id").value(foundByName.getId()))
+                .andExpect(jsonPath("$[2].id").value(foundByDescription.getId()));
+    }
+
+    @Test
+    void testSearchWhenItemCreated() throws Exception {
+        mockMvc.perform(search(text)).andExpect(jsonPath("$.length()").value(1));
+
+        final Item created = createItem("Another " + text.toLowerCase());
+
+        mockMvc.perform(search(text))
+                .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(jsonPath("$[1].id").value(created.getId()));
+    }
+
+    @Test
+    void testSearchWhenItemUpdated() throws Exception {
+        mockMvc.perform(search(text)).andExpect(jsonPath("$.length()").value(1));
+        final Item update = new Item();
+        update.setName("Renamed item");
+
+        itemService.updateItem(item.getId(), update, owner.getId());
+
+        mockMvc.perform(search(text)).andExpect(jsonPath("$.length()").value(0));
+        mockMvc.perform(search("Renamed")).andExpect(jsonPath("$[?(@.id == %d)]".formatted(item.getId())).exists());
+    }
+
+    @Test
+    void testSearchWhenItemMadeUnavailable() throws Exception {
+        mockMvc.perform(search(text)).andExpect(jsonPath("$.length()").value(1));
+        final Item update = new Item();
+        update.setAvailable(false);
+
+        itemService.updateItem(item.getId(), update, owner.getId());
+
+        mockMvc.perform(search(text)).andExpect(jsonPath("$.length()").value(0));
+    }
+
+    @Test
+    void testSearchWhenItemDeleted() throws Exception {
+        mockMvc.perform(search(text)).andExpect(jsonPath("$.length()").value(1));
+
+        itemService.deleteItem(item.getId(), owner.getId());
+
+        mockMvc.perform(search(text)).andExpect(jsonPath("$.length()").value(0));
+    }
+
+    @Test
+    void testSearchWhenOtherItemWritten() throws Exception {
+        mockMvc.perform(search(text)).andExpect(jsonPath("$.length()").value(1));
+        createItem("Unrelated item");
+
+        assertWarmStatementCount(search(text), 1);
+    }
+
+    @Test
+    void testSearchWhenTextHasWildcards() throws Exception {
+        final String wildcardText = text.replace(' ', '_') + "%";
+        mockMvc.perform(search(wildcardText)).andExpect(jsonPath("$.length()").value(0));
+
+        final Item created = createItem("Another " + wildcardText);
+
+        mockMvc.perform(search(wildcardText))
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(jsonPath("$[0].id").value(created.getId()));
+        mockMvc.perform(search(text)).andExpect(jsonPath("$.length()").value(1));
+    }
+
+    private RequestBuilder search(final String searchText) {
+        return get("/items/search").param("text", searchText).header("X-Sharer-User-Id", user.getId());
+    }
+
+    private User createUser() {
+        final int n = sequence.incrementAndGet();
+        final User newUser = new User();
+        newUser.setName("User " + n);
+        newUser.setEmail("item.search.cache.user%d@mail.com".formatted(n));
+        return userService.createUser(newUser);
+    }
+
+    private Item createItem(final String name) {
+        return createItem(name, "Item description");
+    }
+
+    private Item createItem(final String name, final String description) {
+        final Item newItem = new Item();
+        newItem.setOwner(owner);
+        newItem.setName(name);
+        newItem.setDescription(description);
+        newItem.setAvailable(true);
+        return itemService.createItem(newItem);
+    }
+}
@@ -0,0 +1,117 @@
+package ru.practicum.shareit.item;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.MockitoAnnotations;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static ru.practicum.shareit.common.CommonUtils.ITEM_ID;
+
+class ItemSearchCacheTest {
+
+    private static final Pageable PAGE = PageRequest.of(0, 10);
+
+    private AutoCloseable openMocks;
+
+    @Mock
+    private Supplier<List<Long>> search;
+
+    private ItemSearchCache cache;
+
+    @BeforeEach
+    void setUp() {
+        openMocks = MockitoAnnotations.openMocks(this);
+        cache = new ItemSearchCache(100L, Duration.ofMinutes(10L));
+        when(search.get()).thenReturn(List.of(ITEM_ID));
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        Mockito.verifyNoMoreInteractions(search);
+        openMocks.close();
+    }
+
+    @Test
+    void testGetIdsWhenNotCached() {
+        final List<Long> actual = cache.getIds("drill", PAGE, search);
+
+        verify(search).get();
+        assertThat(actual, contains(ITEM_ID));
+    }
+
+    @Test
+    void testGetIdsWhenCachedInAnotherCase() {
+        cache.getIds("drill", PAGE, search);
+
+        final List<Long> actual = cache.getIds("DriLL", PAGE, search);
+
+        verify(search).get();
+        assertThat(actual, contains(ITEM_ID));
+    }
+
+    @Test
+    void testGetIdsWhenAnotherPageCached() {
+        cache.getIds("drill", PAGE, search);
+
+        cache.getIds("drill", PageRequest.of(1, 10), search);
+
+        verify(search, times(2)).get();
+    }
+
+    @Test
+    void testInvalidateAfterCommitWhenNameContainsText() {
+        cache.getIds("drill", PAGE, search);
+
+        cache.invalidateAfterCommit("Cordless Drill", "Charged");
+        cache.getIds("drill", PAGE, search);
+
+        verify(search, times(2)).get();
+    }
+
+    @Test
+    void testInvalidateAfterCommitWhenDescriptionContainsText() {
+        cache.getIds("drill", PAGE, search);
+
+        cache.invalidateAfterCommit("Screwdriver", "Works as a drill too");
+        cache.getIds("drill", PAGE, search);
+
+        verify(search, times(2)).get();
+    }
+
+    @Test
+    void testInvalidateAfterCommitWhenTextNotContained() {
+        cache.getIds("drill", PAGE, search);
+
+        cache.invalidateAfterCommit("Hammer", null, "Dril", null);
+        cache.getIds("drill", PAGE, search);
+
+        verify(search).get();
+    }
+
+    @Test
+    void testGetIdsWhenInvalidatedDuringSearch() {
+        when(search.get()).thenAnswer(invocation -> {
+            cache.invalidateAfterCommit("Drill", "Drill");
+            return List.of(ITEM_ID);
+        });
+
+        final List<Long> actual = cache.getIds("drill", PAGE, search);
+        cache.getIds("drill", PAGE, search);
+
+        verify(search, times(2)).get();
+        assertThat(actual, contains(ITEM_ID));
+    }
+}
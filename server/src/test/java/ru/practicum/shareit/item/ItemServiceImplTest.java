@@ -8,6 +8,8 @@ import org.mockito.InOrder;
 import org.mockito.Mock;
 import org.mockito.Mockito;
 import org.mockito.MockitoAnnotations;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import ru.practicum.shareit.booking.Booking;
 import ru.practicum.shareit.common.LogListener;
@@ -21,12 +23,17 @@ import ru.practicum.shareit.user.UserService;
 import java.io.IOException;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Supplier;
 
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.contains;
 import static org.hamcrest.Matchers.empty;
 import static org.hamcrest.Matchers.equalTo;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static ru.practicum.shareit.common.CommonUtils.ANOTHER_USER_ID;
@@ -34,6 +41,7 @@ import static ru.practicum.shareit.common.CommonUtils.ITEM_ID;
 import static ru.practicum.shareit.common.CommonUtils.REQUEST_ID;
 import static ru.practicum.shareit.common.CommonUtils.USER_ID;
 import static ru.practicum.shareit.common.CommonUtils.assertLogs;
+import static ru.practicum.shareit.item.ItemUtils.makeCommentProxy;
 import static ru.practicum.shareit.item.ItemUtils.makeItemProxy;
 import static ru.practicum.shareit.item.ItemUtils.makeNewItemProxy;
 
@@ -43,6 +51,14 @@ class ItemServiceImplTest {
 
     private static final Sort SORT = Sort.by("id");
     private static final String SEARCH_TEXT = "text";
+    private static final int FROM = 20;
+    private static final int SIZE = 10;
+    private static final Pageable PAGE = PageRequest.of(FROM / SIZE, SIZE);
+    private static final Pageable SORTED_PAGE = PageRequest.of(FROM / SIZE, SIZE, SORT);
+    private static final int LATEST_COMMENTS = 5;
+    private static final int MAX_PAGE_SIZE = 100;
+    private static final String NAME = makeItemProxy().getName();
+    private static final String DESCRIPTION = makeItemProxy().getDescription();
 
     private AutoCloseable openMocks;
 
@@ -55,6 +71,12 @@ class ItemServiceImplTest {
     @Mock
     private RequestService requestService;
 
+    @Mock
+    private CommentRepository commentRepository;
+
+    @Mock
+    private ItemSearchCache searchCache;
+
     private InOrder inOrder;
 
     private ItemService service;
@@ -62,16 +84,19 @@ class ItemServiceImplTest {
     @BeforeEach
     void setUp() {
         openMocks = MockitoAnnotations.openMocks(this);
-        service = new ItemServiceImpl(mockRepository, userService, requestService);
+        service = new ItemServiceImpl(mockRepository, userService, requestService, commentRepository, searchCache,
+                LATEST_COMMENTS, MAX_PAGE_SIZE);
+        when(searchCache.getIds(any(), any(), any()))
+                .thenAnswer(invocation -> invocation.<Supplier<List<Long>>>getArgument(2).get());
         logListener.startListen();
         logListener.reset();
-        inOrder = Mockito.inOrder(mockRepository, userService, requestService);
+        inOrder = Mockito.inOrder(mockRepository, userService, requestService, commentRepository, searchCache);
     }
 
     @AfterEach
     void tearDown() throws Exception {
         logListener.stopListen();
-        Mockito.verifyNoMoreInteractions(mockRepository, userService, requestService);
+        Mockito.verifyNoMoreInteractions(mockRepository, userService, requestService, commentRepository, searchCache);
         openMocks.close();
     }
 
@@ -83,6 +108,7 @@ class ItemServiceImplTest {
 
         inOrder.verify(userService).getUser(USER_ID);
         inOrder.verify(mockRepository).save(makeNewItemProxy());
+        inOrder.verify(searchCache).invalidateAfterCommit(NAME, DESCRIPTION);
         assertThat(actual, equalTo(makeItemProxy()));
         assertLogs(logListener.getEvents(), "create_item.json", getClass());
     }
@@ -108,6 +134,7 @@ class ItemServiceImplTest {
         inOrder.verify(userService).getUser(USER_ID);
         inOrder.verify(requestService).getRequest(REQUEST_ID);
         inOrder.verify(mockRepository).save(item);
+        inOrder.verify(searchCache).invalidateAfterCommit(NAME, DESCRIPTION);
         assertThat(actual, equalTo(expected));
         assertLogs(logListener.getEvents(), "create_item_with_request.json", getClass());
     }
@@ -159,10 +186,13 @@ class ItemServiceImplTest {
         returnedBooking.setNextBooking(new Booking());
         returnedBooking.getNextBooking().setId(2L);
         when(mockRepository.findByIdWithRelations(ITEM_ID)).thenReturn(Optional.of(returnedBooking));
+        when(mockRepository.findAllBookingsById(List.of(1L, 2L)))
+                .thenReturn(List.of(expected.getLastBooking(), expected.getNextBooking()));
 
         final Item actual = service.getItem(ITEM_ID, USER_ID);
 
-        verify(mockRepository).findByIdWithRelations(ITEM_ID);
+        inOrder.verify(mockRepository).findByIdWithRelations(ITEM_ID);
+        inOrder.verify(mockRepository).findAllBookingsById(List.of(1L, 2L));
         assertThat(actual, equalTo(expected));
     }
 
@@ -195,38 +225,100 @@ class ItemServiceImplTest {
 
     @Test
     void testGetItemToBookWhenNotOwner() {
-        when(mockRepository.findById(ITEM_ID)).thenReturn(Optional.of(makeItemProxy()));
+        when(mockRepository.findByIdIfUserExists(ITEM_ID, ANOTHER_USER_ID)).thenReturn(Optional.of(makeItemProxy()));
 
         final Item actual = service.getItemToBook(ITEM_ID, ANOTHER_USER_ID);
 
-        verify(mockRepository).findById(ITEM_ID);
+        verify(mockRepository).findByIdIfUserExists(ITEM_ID, ANOTHER_USER_ID);
         assertThat(actual, equalTo(makeItemProxy()));
     }
 
     @Test
     void testGetItemToBookWhenOwner() {
-        when(mockRepository.findById(ITEM_ID)).thenReturn(Optional.of(makeItemProxy()));
+        when(mockRepository.findByIdIfUserExists(ITEM_ID, USER_ID)).thenReturn(Optional.of(makeItemProxy()));
 
         final NotFoundException exception = assertThrows(NotFoundException.class,
                 () -> service.getItemToBook(ITEM_ID, USER_ID));
 
-        verify(mockRepository).findById(ITEM_ID);
+        inOrder.verify(mockRepository).findByIdIfUserExists(ITEM_ID, USER_ID);
+        inOrder.verify(userService).getUser(USER_ID);
         assertThat(exception.getModelName(), equalTo("item"));
         assertThat(exception.getModelId(), equalTo(ITEM_ID));
     }
 
     @Test
     void testGetItemToBookWhenNotFound() {
-        when(mockRepository.findById(ITEM_ID)).thenReturn(Optional.empty());
+        when(mockRepository.findByIdIfUserExists(ITEM_ID, USER_ID)).thenReturn(Optional.empty());
 
         final NotFoundException exception = assertThrows(NotFoundException.class,
                 () -> service.getItemToBook(ITEM_ID, USER_ID));
 
-        verify(mockRepository).findById(ITEM_ID);
+        inOrder.verify(mockRepository).findByIdIfUserExists(ITEM_ID, USER_ID);
+        inOrder.verify(userService).getUser(USER_ID);
         assertThat(exception.getModelName(), equalTo("item"));
         assertThat(exception.getModelId(), equalTo(ITEM_ID));
     }
 
+    @Test
+    void testGetItemToBookWhenUserNotFound() {
+        when(mockRepository.findByIdIfUserExists(ITEM_ID, USER_ID)).thenReturn(Optional.empty());
+        when(userService.getUser(USER_ID)).thenThrow(new NotFoundException(User.class, USER_ID));
+
+        final NotFoundException exception = assertThrows(NotFoundException.class,
+                () -> service.getItemToBook(ITEM_ID, USER_ID));
+
+        inOrder.verify(mockRepository).findByIdIfUserExists(ITEM_ID, USER_ID);
+        inOrder.verify(userService).getUser(USER_ID);
+        assertThat(exception.getModelName(), equalTo("user"));
+        assertThat(exception.getModelId(), equalTo(USER_ID));
+    }
+
+    @Test
+    void testGetItemsToBookWhenNotOwner() {
+        when(mockRepository.findAllByIdIfUserExists(List.of(ITEM_ID), ANOTHER_USER_ID))
+                .thenReturn(List.of(makeItemProxy()));
+
+        final List<Item> actual = service.getItemsToBook(List.of(ITEM_ID), ANOTHER_USER_ID);
+
+        verify(mockRepository).findAllByIdIfUserExists(List.of(ITEM_ID), ANOTHER_USER_ID);
+        assertThat(actual, contains(makeItemProxy()));
+    }
+
+    @Test
+    void testGetItemsToBookWhenOwner() {
+        when(mockRepository.findAllByIdIfUserExists(List.of(ITEM_ID), USER_ID)).thenReturn(List.of(makeItemProxy()));
+
+        final List<Item> actual = service.getItemsToBook(List.of(ITEM_ID), USER_ID);
+
+        verify(mockRepository).findAllByIdIfUserExists(List.of(ITEM_ID), USER_ID);
+        assertThat(actual, empty());
+    }
+
+    @Test
+    void testGetItemsToBookWhenNotFound() {
+        when(mockRepository.findAllByIdIfUserExists(List.of(ITEM_ID), ANOTHER_USER_ID)).thenReturn(List.of());
+
+        final List<Item> actual = service.getItemsToBook(List.of(ITEM_ID), ANOTHER_USER_ID);
+
+        inOrder.verify(mockRepository).findAllByIdIfUserExists(List.of(ITEM_ID), ANOTHER_USER_ID);
+        inOrder.verify(userService).getUser(ANOTHER_USER_ID);
+        assertThat(actual, empty());
+    }
+
+    @Test
+    void testGetItemsToBookWhenUserNotFound() {
+        when(mockRepository.findAllByIdIfUserExists(List.of(ITEM_ID), ANOTHER_USER_ID)).thenReturn(List.of());
+        when(userService.getUser(ANOTHER_USER_ID)).thenThrow(new NotFoundException(User.class, ANOTHER_USER_ID));
+
+        final NotFoundException exception = assertThrows(NotFoundException.class,
+                () -> service.getItemsToBook(List.of(ITEM_ID), ANOTHER_USER_ID));
+
+        inOrder.verify(mockRepository).findAllByIdIfUserExists(List.of(ITEM_ID), ANOTHER_USER_ID);
+        inOrder.verify(userService).getUser(ANOTHER_USER_ID);
+        assertThat(exception.getModelName(), equalTo("user"));
+        assertThat(exception.getModelId(), equalTo(ANOTHER_USER_ID));
+    }
+
     @Test
     void testGetItemsWhenOwner() {
         final Item expected = makeItemProxy();
@@ -234,32 +326,67 @@ class ItemServiceImplTest {
         expected.getLastBooking().setId(1L);
         expected.setNextBooking(new Booking());
         expected.getNextBooking().setId(2L);
+        expected.setComments(Set.of(makeCommentProxy()));
+        expected.setCommentCount(7L);
         final Item returnedBooking = makeItemProxy();
         returnedBooking.setLastBooking(new Booking());
         returnedBooking.getLastBooking().setId(1L);
         returnedBooking.setNextBooking(new Booking());
         returnedBooking.getNextBooking().setId(2L);
-        when(mockRepository.findByOwnerId(USER_ID, SORT)).thenReturn(List.of(returnedBooking));
-
-        final List<Item> actual = service.getItems(USER_ID);
-
-        verify(mockRepository).findByOwnerId(USER_ID, SORT);
+        when(mockRepository.findAllByOwnerId(USER_ID, SORTED_PAGE)).thenReturn(List.of(returnedBooking));
+        when(commentRepository.findLatestByItemIds(List.of(ITEM_ID), LATEST_COMMENTS))
+                .thenReturn(List.of(new LatestComment(1L, ITEM_ID, 7L)));
+        when(commentRepository.findAllByIdWithAuthor(List.of(1L))).thenReturn(List.of(makeCommentProxy()));
+        when(mockRepository.findAllBookingsById(List.of(1L, 2L)))
+                .thenReturn(List.of(expected.getLastBooking(), expected.getNextBooking()));
+
+        final List<Item> actual = service.getItems(USER_ID, FROM, SIZE);
+
+        inOrder.verify(mockRepository).findAllByOwnerId(USER_ID, SORTED_PAGE);
+        inOrder.verify(commentRepository).findLatestByItemIds(List.of(ITEM_ID), LATEST_COMMENTS);
+        inOrder.verify(commentRepository).findAllByIdWithAuthor(List.of(1L));
+        inOrder.verify(mockRepository).findAllBookingsById(List.of(1L, 2L));
         assertThat(actual, contains(expected));
     }
 
     @Test
     void testGetItemsWhenNotOwner() {
+        final Item expected = makeItemProxy();
+        expected.setCommentCount(0L);
         final Item returnedBooking = makeItemProxy();
         returnedBooking.setLastBooking(new Booking());
         returnedBooking.getLastBooking().setId(1L);
         returnedBooking.setNextBooking(new Booking());
         returnedBooking.getNextBooking().setId(2L);
-        when(mockRepository.findByOwnerId(ANOTHER_USER_ID, SORT)).thenReturn(List.of(returnedBooking));
+        when(mockRepository.findAllByOwnerId(ANOTHER_USER_ID, SORTED_PAGE)).thenReturn(List.of(returnedBooking));
+        when(commentRepository.findLatestByItemIds(List.of(ITEM_ID), LATEST_COMMENTS)).thenReturn(List.of());
 
-        final List<Item> actual = service.getItems(ANOTHER_USER_ID);
+        final List<Item> actual = service.getItems(ANOTHER_USER_ID, FROM, SIZE);
 
-        verify(mockRepository).findByOwnerId(ANOTHER_USER_ID, SORT);
-        assertThat(actual, contains(makeItemProxy()));
+        inOrder.verify(mockRepository).findAllByOwnerId(ANOTHER_USER_ID, SORTED_PAGE);
+        inOrder.verify(commentRepository).findLatestByItemIds(List.of(ITEM_ID), LATEST_COMMENTS);
+        assertThat(actual, contains(expected));
+    }
+
+    @Test
+    void testGetItemsWhenNoItems() {
+        when(mockRepository.findAllByOwnerId(USER_ID, SORTED_PAGE)).thenReturn(List.of());
+
+        final List<Item> actual = service.getItems(USER_ID, FROM, SIZE);
+
+        verify(mockRepository).findAllByOwnerId(USER_ID, SORTED_PAGE);
+        assertThat(actual, empty());
+    }
+
+    @Test
+    void testGetItemsWhenSizeAboveLimit() {
+        final Pageable page = PageRequest.of(2, MAX_PAGE_SIZE, SORT);
+        when(mockRepository.findAllByOwnerId(USER_ID, page)).thenReturn(List.of());
+
+        final List<Item> actual = service.getItems(USER_ID, 200, 1000);
+
+        verify(mockRepository).findAllByOwnerId(USER_ID, page);
+        assertThat(actual, empty());
     }
 
     @Test
@@ -269,41 +396,165 @@ class ItemServiceImplTest {
         expected.getLastBooking().setId(1L);
         expected.setNextBooking(new Booking());
         expected.getNextBooking().setId(2L);
+        expected.setCommentCount(0L);
         final Item returnedBooking = makeItemProxy();
         returnedBooking.setLastBooking(new Booking());
         returnedBooking.getLastBooking().setId(1L);
         returnedBooking.setNextBooking(new Booking());
         returnedBooking.getNextBooking().setId(2L);
-        when(mockRepository.findByNameOrDescription(SEARCH_TEXT, SORT)).thenReturn(List.of(returnedBooking));
-
-        final List<Item> actual = service.getItems(SEARCH_TEXT, USER_ID);
-
-        verify(mockRepository).findByNameOrDescription(SEARCH_TEXT, SORT);
+        when(mockRepository.findIdsByNameOrDescription(SEARCH_TEXT, PAGE)).thenReturn(List.of(ITEM_ID));
+        when(mockRepository.findAllCachedById(List.of(ITEM_ID))).thenReturn(List.of(returnedBooking));
+        when(commentRepository.findLatestByItemIds(List.of(ITEM_ID), LATEST_COMMENTS)).thenReturn(List.of());
+        when(mockRepository.findAllBookingsById(List.of(1L, 2L)))
+                .thenReturn(List.of(expected.getLastBooking(), expected.getNextBooking()));
+
+        final List<Item> actual = service.getItems(SEARCH_TEXT, USER_ID, FROM, SIZE);
+
+        inOrder.verify(searchCache).getIds(eq(SEARCH_TEXT), eq(PAGE), any());
+        inOrder.verify(mockRepository).findIdsByNameOrDescription(SEARCH_TEXT, PAGE);
+        inOrder.verify(mockRepository).findAllCachedById(List.of(ITEM_ID));
+        inOrder.verify(commentRepository).findLatestByItemIds(List.of(ITEM_ID), LATEST_COMMENTS);
+        inOrder.verify(mockRepository).findAllBookingsById(List.of(1L, 2L));
         assertThat(actual, contains(expected));
     }
 
     @Test
     void testGetItemsWithTextWhenNotOwner() {
+        final Item expected = makeItemProxy();
+        expected.setCommentCount(0L);
         final Item returnedBooking = makeItemProxy();
         returnedBooking.setLastBooking(new Booking());
         returnedBooking.getLastBooking().setId(1L);
         returnedBooking.setNextBooking(new Booking());
         returnedBooking.getNextBooking().setId(2L);
-        when(mockRepository.findByNameOrDescription(SEARCH_TEXT, SORT)).thenReturn(List.of(returnedBooking));
+        when(mockRepository.findIdsByNameOrDescription(SEARCH_TEXT, PAGE)).thenReturn(List.of(ITEM_ID));
+        when(mockRepository.findAllCachedById(List.of(ITEM_ID))).thenReturn(List.of(returnedBooking));
+        when(commentRepository.findLatestByItemIds(List.of(ITEM_ID), LATEST_COMMENTS)).thenReturn(List.of());
 
-        final List<Item> actual = service.getItems(SEARCH_TEXT, ANOTHER_USER_ID);
+        final List<Item> actual = service.getItems(SEARCH_TEXT, ANOTHER_USER_ID, FROM, SIZE);
 
-        verify(mockRepository).findByNameOrDescription(SEARCH_TEXT, SORT);
-        assertThat(actual, contains(makeItemProxy()));
+        inOrder.verify(searchCache).getIds(eq(SEARCH_TEXT), eq(PAGE), any());
+        inOrder.verify(mockRepository).findIdsByNameOrDescription(SEARCH_TEXT, PAGE);
+        inOrder.verify(mockRepository).findAllCachedById(List.of(ITEM_ID));
+        inOrder.verify(commentRepository).findLatestByItemIds(List.of(ITEM_ID), LATEST_COMMENTS);
+        assertThat(actual, contains(expected));
+    }
+
+    @Test
+    void testGetItemsWithTextKeepsRankOrder() {
+        final Item item = makeItemProxy();
+        final Item anotherItem = makeItemProxy();
+        anotherItem.setId(ITEM_ID + 1);
+        when(mockRepository.findIdsByNameOrDescription(SEARCH_TEXT, PAGE)).thenReturn(List.of(ITEM_ID + 1, ITEM_ID));
+        when(mockRepository.findAllCachedById(List.of(ITEM_ID + 1, ITEM_ID))).thenReturn(List.of(anotherItem, item));
+        when(commentRepository.findLatestByItemIds(List.of(ITEM_ID + 1, ITEM_ID), LATEST_COMMENTS))
+                .thenReturn(List.of());
+
+        final List<Item> actual = service.getItems(SEARCH_TEXT, USER_ID, FROM, SIZE);
+
+        inOrder.verify(searchCache).getIds(eq(SEARCH_TEXT), eq(PAGE), any());
+        inOrder.verify(mockRepository).findIdsByNameOrDescription(SEARCH_TEXT, PAGE);
+        inOrder.verify(mockRepository).findAllCachedById(List.of(ITEM_ID + 1, ITEM_ID));
+        inOrder.verify(commentRepository).findLatestByItemIds(List.of(ITEM_ID + 1, ITEM_ID), LATEST_COMMENTS);
+        assertThat(actual, contains(anotherItem, item));
+    }
+
+    @Test
+    void testGetItemsWithTextWhenItemDeletedInBetween() {
+        final Item expected = makeItemProxy();
+        expected.setCommentCount(0L);
+        when(mockRepository.findIdsByNameOrDescription(SEARCH_TEXT, PAGE)).thenReturn(List.of(ITEM_ID + 1, ITEM_ID));
+        when(mockRepository.findAllCachedById(List.of(ITEM_ID + 1, ITEM_ID))).thenReturn(List.of(makeItemProxy()));
+        when(commentRepository.findLatestByItemIds(List.of(ITEM_ID), LATEST_COMMENTS)).thenReturn(List.of());
+
+        final List<Item> actual = service.getItems(SEARCH_TEXT, USER_ID, FROM, SIZE);
+
+        inOrder.verify(searchCache).getIds(eq(SEARCH_TEXT), eq(PAGE), any());
+        inOrder.verify(mockRepository).findIdsByNameOrDescription(SEARCH_TEXT, PAGE);
+        inOrder.verify(mockRepository).findAllCachedById(List.of(ITEM_ID + 1, ITEM_ID));
+        inOrder.verify(commentRepository).findLatestByItemIds(List.of(ITEM_ID), LATEST_COMMENTS);
+        assertThat(actual, contains(expected));
+    }
+
+    @Test
+    void testGetItemsWithTextWhenCached() {
+        final Item expected = makeItemProxy();
+        expected.setCommentCount(0L);
+        doReturn(List.of(ITEM_ID)).when(searchCache).getIds(eq(SEARCH_TEXT), eq(PAGE), any());
+        when(mockRepository.findAllCachedById(List.of(ITEM_ID))).thenReturn(List.of(makeItemProxy()));
+        when(commentRepository.findLatestByItemIds(List.of(ITEM_ID), LATEST_COMMENTS)).thenReturn(List.of());
+
+        final List<Item> actual = service.getItems(SEARCH_TEXT, ANOTHER_USER_ID, FROM, SIZE);
+
+        inOrder.verify(searchCache).getIds(eq(SEARCH_TEXT), eq(PAGE), any());
+        inOrder.verify(mockRepository).findAllCachedById(List.of(ITEM_ID));
+        inOrder.verify(commentRepository).findLatestByItemIds(List.of(ITEM_ID), LATEST_COMMENTS);
+        assertThat(actual, contains(expected));
+    }
+
+    @Test
+    void testGetItemsWithTextWhenCachedItemsDeleted() {
+        when(mockRepository.findIdsByNameOrDescription(SEARCH_TEXT, PAGE)).thenReturn(List.of(ITEM_ID));
+        when(mockRepository.findAllCachedById(List.of(ITEM_ID))).thenReturn(List.of());
+
+        final List<Item> actual = service.getItems(SEARCH_TEXT, USER_ID, FROM, SIZE);
+
+        inOrder.verify(searchCache).getIds(eq(SEARCH_TEXT), eq(PAGE), any());
+        inOrder.verify(mockRepository).findIdsByNameOrDescription(SEARCH_TEXT, PAGE);
+        inOrder.verify(mockRepository).findAllCachedById(List.of(ITEM_ID));
+        assertThat(actual, empty());
+    }
+
+    @Test
+    void testGetItemsWithTextWhenNothingFound() {
+        when(mockRepository.findIdsByNameOrDescription(SEARCH_TEXT, PAGE)).thenReturn(List.of());
+
+        final List<Item> actual = service.getItems(SEARCH_TEXT, USER_ID, FROM, SIZE);
+
+        verify(searchCache).getIds(eq(SEARCH_TEXT), eq(PAGE), any());
+        verify(mockRepository).findIdsByNameOrDescription(SEARCH_TEXT, PAGE);
+        assertThat(actual, empty());
+    }
+
+    @Test
+    void testGetItemsWithTextWhenSizeAboveLimit() {
+        when(mockRepository.findIdsByNameOrDescription(SEARCH_TEXT, PageRequest.of(2, MAX_PAGE_SIZE)))
+                .thenReturn(List.of());
+
+        final List<Item> actual = service.getItems(SEARCH_TEXT, USER_ID, 200, 1000);
+
+        verify(searchCache).getIds(eq(SEARCH_TEXT), eq(PageRequest.of(2, MAX_PAGE_SIZE)), any());
+        verify(mockRepository).findIdsByNameOrDescription(SEARCH_TEXT, PageRequest.of(2, MAX_PAGE_SIZE));
+        assertThat(actual, empty());
     }
 
     @Test
     void testGetItemsWithTextWhenBlank() {
-        final List<Item> actual = service.getItems("", USER_ID);
+        final List<Item> actual = service.getItems("", USER_ID, FROM, SIZE);
 
         assertThat(actual, empty());
     }
 
+    @Test
+    void testExistsByIdWhenExists() {
+        when(mockRepository.findById(ITEM_ID)).thenReturn(Optional.of(makeItemProxy()));
+
+        final boolean actual = service.existsById(ITEM_ID);
+
+        verify(mockRepository).findById(ITEM_ID);
+        assertThat(actual, equalTo(true));
+    }
+
+    @Test
+    void testExistsByIdWhenNotExists() {
+        when(mockRepository.findById(ITEM_ID)).thenReturn(Optional.empty());
+
+        final boolean actual = service.existsById(ITEM_ID);
+
+        verify(mockRepository).findById(ITEM_ID);
+        assertThat(actual, equalTo(false));
+    }
+
     @Test
     void testExistByOwnerIdWhenExist() {
         when(mockRepository.existsByOwnerId(USER_ID)).thenReturn(true);
@@ -340,6 +591,7 @@ class ItemServiceImplTest {
         final Item actual = service.updateItem(ITEM_ID, update, USER_ID);
 
         inOrder.verify(mockRepository).findById(ITEM_ID);
+        inOrder.verify(searchCache).invalidateAfterCommit(null, null, NAME, DESCRIPTION);
         inOrder.verify(mockRepository).save(makeItemProxy());
         assertThat(actual, equalTo(makeItemProxy()));
         assertLogs(logListener.getEvents(), "update_item_all_fields.json", getClass());
@@ -357,6 +609,7 @@ class ItemServiceImplTest {
         final Item actual = service.updateItem(ITEM_ID, update, USER_ID);
 
         inOrder.verify(mockRepository).findById(ITEM_ID);
+        inOrder.verify(searchCache).invalidateAfterCommit(null, DESCRIPTION, NAME, null);
         inOrder.verify(mockRepository).save(makeItemProxy());
         assertThat(actual, equalTo(makeItemProxy()));
         assertLogs(logListener.getEvents(), "update_item_name.json", getClass());
@@ -374,6 +627,7 @@ class ItemServiceImplTest {
         final Item actual = service.updateItem(ITEM_ID, update, USER_ID);
 
         inOrder.verify(mockRepository).findById(ITEM_ID);
+        inOrder.verify(searchCache).invalidateAfterCommit(NAME, null, null, DESCRIPTION);
         inOrder.verify(mockRepository).save(makeItemProxy());
         assertThat(actual, equalTo(makeItemProxy()));
         assertLogs(logListener.getEvents(), "update_item_description.json", getClass());
@@ -391,6 +645,7 @@ class ItemServiceImplTest {
         final Item actual = service.updateItem(ITEM_ID, update, USER_ID);
 
         inOrder.verify(mockRepository).findById(ITEM_ID);
+        inOrder.verify(searchCache).invalidateAfterCommit(NAME, DESCRIPTION, null, null);
         inOrder.verify(mockRepository).save(makeItemProxy());
         assertThat(actual, equalTo(makeItemProxy()));
         assertLogs(logListener.getEvents(), "update_item_available.json", getClass());
@@ -408,6 +663,7 @@ class ItemServiceImplTest {
         final Item actual = service.updateItem(ITEM_ID, update, USER_ID);
 
         inOrder.verify(mockRepository).findById(ITEM_ID);
+        inOrder.verify(searchCache).invalidateAfterCommit(NAME, DESCRIPTION, null, null);
         inOrder.verify(mockRepository).save(makeItemProxy());
         assertThat(actual, equalTo(makeItemProxy()));
         assertLogs(logListener.getEvents(), "update_item_all_fields.json", getClass());
@@ -446,25 +702,24 @@ class ItemServiceImplTest {
 
     @Test
     void testDeleteItem() throws JSONException, IOException {
-        when(mockRepository.findById(ITEM_ID)).thenReturn(Optional.of(makeItemProxy()));
-        when(mockRepository.delete(ITEM_ID)).thenReturn(1);
+        final Item item = makeItemProxy();
+        when(mockRepository.findById(ITEM_ID)).thenReturn(Optional.of(item));
 
         service.deleteItem(ITEM_ID, USER_ID);
 
         inOrder.verify(mockRepository).findById(ITEM_ID);
-        inOrder.verify(mockRepository).delete(ITEM_ID);
+        inOrder.verify(mockRepository).delete(item);
+        inOrder.verify(searchCache).invalidateAfterCommit(NAME, DESCRIPTION);
         assertLogs(logListener.getEvents(), "delete_item.json", getClass());
     }
 
     @Test
     void testDeleteItemWhenNotFound() throws JSONException, IOException {
         when(mockRepository.findById(ITEM_ID)).thenReturn(Optional.empty());
-        when(mockRepository.delete(ITEM_ID)).thenReturn(0);
 
         service.deleteItem(ITEM_ID, USER_ID);
 
         inOrder.verify(mockRepository).findById(ITEM_ID);
-        inOrder.verify(mockRepository).delete(ITEM_ID);
         assertLogs(logListener.getEvents(), "delete_item_not_found.json", getClass());
     }
 
@@ -43,6 +43,7 @@ final class ItemUtils {
         dto.setLastBooking(null);
         dto.setNextBooking(null);
         dto.setComments(new HashSet<>());
+        dto.setCommentCount(0L);
         return dto;
     }
 
@@ -164,6 +165,7 @@ final class ItemUtils {
         dto.setLastBooking(null);
         dto.setNextBooking(null);
         dto.setComments(new HashSet<>());
+        dto.setCommentCount(0L);
         return dto;
     }
 
@@ -203,7 +205,8 @@ final class ItemUtils {
                         && Objects.equals(expected.getRequestId(), actual.getRequestId())
                         && Objects.equals(expected.getLastBooking(), actual.getLastBooking())
                         && Objects.equals(expected.getNextBooking(), actual.getNextBooking())
-                        && Objects.equals(expected.getComments(), actual.getComments());
+                        && Objects.equals(expected.getComments(), actual.getComments())
+                        && Objects.equals(expected.getCommentCount(), actual.getCommentCount());
             }
 
             @Override
@@ -78,39 +78,33 @@ class RequestControllerTest extends AbstractControllerTest {
 
     @Test
     void testGetRequest() throws JSONException, IOException {
-        when(mockService.getRequestWithRelations(REQUEST_ID, USER_ID)).thenReturn(makeTestRequest());
-        when(mockMapper.mapToDto(makeTestRequest())).thenReturn(makeTestRequestRetrieveDto());
+        when(mockService.getRequestWithRelations(REQUEST_ID, USER_ID)).thenReturn(makeTestRequestRetrieveDto());
 
         final RequestRetrieveDto actual = controller.getRequest(USER_ID, REQUEST_ID, mockHttpRequest);
 
         inOrder.verify(mockService).getRequestWithRelations(REQUEST_ID, USER_ID);
-        inOrder.verify(mockMapper).mapToDto(makeTestRequest());
         assertThat(actual, equalTo(makeTestRequestRetrieveDto()));
         assertLogs(logListener.getEvents(), "get_request.json", getClass());
     }
 
     @Test
     void testGetOwnRequests() throws JSONException, IOException {
-        when(mockService.getOwnRequests(USER_ID, FROM, SIZE)).thenReturn(List.of(makeTestRequest()));
-        when(mockMapper.mapToDto(List.of(makeTestRequest()))).thenReturn(List.of(makeTestRequestRetrieveDto()));
+        when(mockService.getOwnRequests(USER_ID, FROM, SIZE)).thenReturn(List.of(makeTestRequestRetrieveDto()));
 
         final List<RequestRetrieveDto> actual = controller.getOwnRequests(USER_ID, FROM, SIZE, mockHttpRequest);
 
         inOrder.verify(mockService).getOwnRequests(USER_ID, FROM, SIZE);
-        inOrder.verify(mockMapper).mapToDto(List.of(makeTestRequest()));
         assertThat(actual, contains(makeTestRequestRetrieveDto()));
         assertLogs(logListener.getEvents(), "get_own_requests.json", getClass());
     }
 
     @Test
     void testGetOthersRequests() throws JSONException, IOException {
-        when(mockService.getOthersRequests(USER_ID, FROM, SIZE)).thenReturn(List.of(makeTestRequest()));
-        when(mockMapper.mapToDto(List.of(makeTestRequest()))).thenReturn(List.of(makeTestRequestRetrieveDto()));
+        when(mockService.getOthersRequests(USER_ID, FROM, SIZE)).thenReturn(List.of(makeTestRequestRetrieveDto()));
 
         final List<RequestRetrieveDto> actual = controller.getOthersRequests(USER_ID, FROM, SIZE, mockHttpRequest);
 
         inOrder.verify(mockService).getOthersRequests(USER_ID, FROM, SIZE);
-        inOrder.verify(mockMapper).mapToDto(List.of(makeTestRequest()));
         assertThat(actual, contains(makeTestRequestRetrieveDto()));
         assertLogs(logListener.getEvents(), "get_others_requests.json", getClass());
     }
@@ -6,6 +6,7 @@ import ru.practicum.shareit.item.Item;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Set;
 
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.allOf;
@@ -110,18 +111,50 @@ class RequestMapperImplTest {
 
     @Test
     void testMapToDtoWhenRequestList() {
-        final List<RequestRetrieveDto> actual = mapper.mapToDto(List.of(makeTestRequest()));
+        final List<RequestRetrieveDto> actual = mapper.mapToDto(List.of(makeTestRequestRetrieveDto().toBuilder()
+                .items(null)
+                .build()), List.copyOf(makeTestRequestRetrieveDto().items()));
 
         assertThat(actual, contains(makeTestRequestRetrieveDto()));
     }
 
     @Test
     void testMapToDtoWhenRequestListNull() {
-        final List<RequestRetrieveDto> actual = mapper.mapToDto((List<Request>) null);
+        final List<ItemRetrieveDto> items = List.copyOf(makeTestRequestRetrieveDto().items());
+
+        final List<RequestRetrieveDto> actual = mapper.mapToDto(null, items);
 
         assertThat(actual, nullValue());
     }
 
+    @Test
+    void testMapToDtoWhenRequestListAndItemListNull() {
+        final RequestRetrieveDto expected = makeTestRequestRetrieveDto().toBuilder()
+                .items(Set.of())
+                .build();
+
+        final List<RequestRetrieveDto> actual = mapper.mapToDto(List.of(makeTestRequestRetrieveDto().toBuilder()
+                .items(null)
+                .build()), null);
+
+        assertThat(actual, contains(expected));
+    }
+
+    @Test
+    void testMapToDtoWhenRequestListAndItemOfAnotherRequest() {
+        final RequestRetrieveDto expected = makeTestRequestRetrieveDto().toBuilder()
+                .items(Set.of())
+                .build();
+
+        final List<RequestRetrieveDto> actual = mapper.mapToDto(List.of(makeTestRequestRetrieveDto().toBuilder()
+                .items(null)
+                .build()), List.of(makeTestItemRetrieveDto().toBuilder()
+                .requestId(REQUEST_ID + 1)
+                .build()));
+
+        assertThat(actual, contains(expected));
+    }
+
     @Test
     void testMapToDtoWhenInternalItem() {
         final ItemRetrieveDto actual = mapper.mapToDto(makeTestItem());
@@ -0,0 +1,105 @@
+package ru.practicum.shareit.request;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import ru.practicum.shareit.common.AbstractQueryCountIT;
+import ru.practicum.shareit.item.Item;
+import ru.practicum.shareit.item.ItemService;
+import ru.practicum.shareit.user.User;
+import ru.practicum.shareit.user.UserService;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+
+// Requests are paged by the database and items of a page are read at once
+class RequestQueryCountIT extends AbstractQueryCountIT {
+
+    private static final AtomicInteger sequence = new AtomicInteger();
+    private static final int REQUESTS = 3;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private ItemService itemService;
+
+    @Autowired
+    private RequestService requestService;
+
+    private User requester;
+    private User owner;
+    private List<Request> requests;
+
+    @BeforeEach
+    void setUp() {
+        requester = createUser();
+        owner = createUser();
+        requests = new ArrayList<>();
+        for (int i = 0; i < REQUESTS; i++) {
+            final Request request = createRequest(requester, LocalDateTime.now().minusHours(i));
+            requests.add(request);
+            createItem(owner, request);
+            createItem(owner, request);
+        }
+    }
+
+    @Test
+    void testGetRequest() throws Exception {
+        assertStatementCount(get("/requests/{id}", requests.getFirst().getId())
+                .header("X-Sharer-User-Id", owner.getId()), 3);
+
+        mockMvc.perform(get("/requests/{id}", requests.getFirst().getId()).header("X-Sharer-User-Id", owner.getId()))
+                .andExpect(jsonPath("$.items.length()").value(2))
+                .andExpect(jsonPath("$.items[0].ownerId").value(owner.getId()));
+    }
+
+    @Test
+    void testGetOwnRequests() throws Exception {
+        assertStatementCount(get("/requests").header("X-Sharer-User-Id", requester.getId()), 3);
+
+        mockMvc.perform(get("/requests").header("X-Sharer-User-Id", requester.getId()))
+                .andExpect(jsonPath("$.length()").value(REQUESTS))
+                .andExpect(jsonPath("$[0].id").value(requests.getFirst().getId()))
+                .andExpect(jsonPath("$[2].items.length()").value(2));
+    }
+
+    @Test
+    void testGetOthersRequests() throws Exception {
+        assertStatementCount(get("/requests/all").param("size", "2")
+                .header("X-Sharer-User-Id", owner.getId()), 3);
+    }
+
+    private Request createRequest(final User requester, final LocalDateTime created) {
+        final Request request = new Request();
+        request.setRequester(requester);
+        request.setDescription("Need the thing");
+        request.setCreated(created);
+        request.setItems(new HashSet<>());
+        return requestService.createRequest(request);
+    }
+
+    private User createUser() {
+        final int n = sequence.incrementAndGet();
+        final User user = new User();
+        user.setName("User " + n);
+        user.setEmail("request.query.count.user%d@mail.com".formatted(n));
+        return userService.createUser(user);
+    }
+
+    private void createItem(final User owner, final Request request) {
+        final Item item = new Item();
+        item.setOwner(owner);
+        item.setName("Item");
+        item.setDescription("Item description");
+        item.setAvailable(true);
+        item.setRequest(request);
+        itemService.createItem(item);
+    }
+}
@@ -0,0 +1,41 @@
+package ru.practicum.shareit.request;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import ru.practicum.shareit.common.AbstractQueryPlanIT;
+
+import java.util.List;
+
+class RequestRepositoryQueryPlanIT extends AbstractQueryPlanIT {
+
+    private static final long USER_ID = 42L;
+    private static final long REQUEST_ID = 7L;
+    private static final Pageable PAGE = PageRequest.of(0, 10, Sort.by(Sort.Direction.DESC, "created"));
+
+    @Autowired
+    private RequestRepository repository;
+
+    @Test
+    void testFindDtoById() {
+        assertIndexedAccess(() -> repository.findDtoById(REQUEST_ID));
+    }
+
+    @Test
+    void testFindAllDtoByRequesterId() {
+        assertIndexedAccess(() -> repository.findAllDtoByRequesterId(USER_ID, PAGE));
+    }
+
+    // Requests of all other users are read in full by definition
+    @Test
+    void testFindAllOtherDtoByRequesterId() {
+        assertIndexedAccess(() -> repository.findAllOtherDtoByRequesterId(USER_ID, PAGE), "requests");
+    }
+
+    @Test
+    void testFindAllItemDtoByRequestId() {
+        assertIndexedAccess(() -> repository.findAllItemDtoByRequestId(List.of(REQUEST_ID, REQUEST_ID + 1)));
+    }
+}
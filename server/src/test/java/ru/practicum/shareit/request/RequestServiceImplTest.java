@@ -22,6 +22,7 @@ import java.util.Optional;
 
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.empty;
 import static org.hamcrest.Matchers.equalTo;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.Mockito.inOrder;
@@ -32,6 +33,7 @@ import static ru.practicum.shareit.common.CommonUtils.USER_ID;
 import static ru.practicum.shareit.common.CommonUtils.assertLogs;
 import static ru.practicum.shareit.request.RequestUtils.deepEqualTo;
 import static ru.practicum.shareit.request.RequestUtils.makeTestRequest;
+import static ru.practicum.shareit.request.RequestUtils.makeTestRequestRetrieveDto;
 
 class RequestServiceImplTest {
 
@@ -40,6 +42,10 @@ class RequestServiceImplTest {
     private static final int FROM = 0;
     private static final int SIZE = 10;
     private static final Pageable PAGE = PageRequest.of(FROM / SIZE, SIZE, Sort.by(Sort.Direction.DESC, "created"));
+    private static final RequestRetrieveDto REQUEST_WITHOUT_ITEMS = makeTestRequestRetrieveDto().toBuilder()
+            .items(null)
+            .build();
+    private static final List<ItemRetrieveDto> ITEMS = List.copyOf(makeTestRequestRetrieveDto().items());
 
     private AutoCloseable openMocks;
 
@@ -56,7 +62,7 @@ class RequestServiceImplTest {
     @BeforeEach
     void setUp() {
         openMocks = MockitoAnnotations.openMocks(this);
-        service = new RequestServiceImpl(mockRepository, userService);
+        service = new RequestServiceImpl(mockRepository, userService, new RequestMapperImpl());
         logListener.startListen();
         logListener.reset();
         inOrder = inOrder(mockRepository, userService);
@@ -123,13 +129,15 @@ class RequestServiceImplTest {
 
     @Test
     void testGetRequestWithRelations() {
-        when(mockRepository.findByIdWithRelations(REQUEST_ID)).thenReturn(Optional.of(makeTestRequest()));
+        when(mockRepository.findDtoById(REQUEST_ID)).thenReturn(Optional.of(REQUEST_WITHOUT_ITEMS));
+        when(mockRepository.findAllItemDtoByRequestId(List.of(REQUEST_ID))).thenReturn(ITEMS);
 
-        final Request actual = service.getRequestWithRelations(REQUEST_ID, USER_ID);
+        final RequestRetrieveDto actual = service.getRequestWithRelations(REQUEST_ID, USER_ID);
 
         inOrder.verify(userService).getUser(USER_ID);
-        inOrder.verify(mockRepository).findByIdWithRelations(REQUEST_ID);
-        assertThat(actual, deepEqualTo(makeTestRequest()));
+        inOrder.verify(mockRepository).findDtoById(REQUEST_ID);
+        inOrder.verify(mockRepository).findAllItemDtoByRequestId(List.of(REQUEST_ID));
+        assertThat(actual, equalTo(makeTestRequestRetrieveDto()));
     }
 
     @Test
@@ -146,26 +154,39 @@ class RequestServiceImplTest {
 
     @Test
     void testGetRequestWithRelationsWhenRequestNotFound() {
-        when(mockRepository.findByIdWithRelations(REQUEST_ID)).thenReturn(Optional.empty());
+        when(mockRepository.findDtoById(REQUEST_ID)).thenReturn(Optional.empty());
 
         final NotFoundException exception = assertThrows(NotFoundException.class,
                 () -> service.getRequestWithRelations(REQUEST_ID, USER_ID));
 
         inOrder.verify(userService).getUser(USER_ID);
-        inOrder.verify(mockRepository).findByIdWithRelations(REQUEST_ID);
+        inOrder.verify(mockRepository).findDtoById(REQUEST_ID);
         assertThat(exception.getModelName(), equalTo("request"));
         assertThat(exception.getModelId(), equalTo(REQUEST_ID));
     }
 
     @Test
     void testGetOwnRequests() {
-        when(mockRepository.findAllByRequesterId(USER_ID, PAGE)).thenReturn(List.of(makeTestRequest()));
+        when(mockRepository.findAllDtoByRequesterId(USER_ID, PAGE)).thenReturn(List.of(REQUEST_WITHOUT_ITEMS));
+        when(mockRepository.findAllItemDtoByRequestId(List.of(REQUEST_ID))).thenReturn(ITEMS);
+
+        final List<RequestRetrieveDto> actual = service.getOwnRequests(USER_ID, FROM, SIZE);
+
+        inOrder.verify(userService).getUser(USER_ID);
+        inOrder.verify(mockRepository).findAllDtoByRequesterId(USER_ID, PAGE);
+        inOrder.verify(mockRepository).findAllItemDtoByRequestId(List.of(REQUEST_ID));
+        assertThat(actual, contains(makeTestRequestRetrieveDto()));
+    }
+
+    @Test
+    void testGetOwnRequestsWhenNoRequests() {
+        when(mockRepository.findAllDtoByRequesterId(USER_ID, PAGE)).thenReturn(List.of());
 
-        final List<Request> actual = service.getOwnRequests(USER_ID, FROM, SIZE);
+        final List<RequestRetrieveDto> actual = service.getOwnRequests(USER_ID, FROM, SIZE);
 
         inOrder.verify(userService).getUser(USER_ID);
-        inOrder.verify(mockRepository).findAllByRequesterId(USER_ID, PAGE);
-        assertThat(actual, contains(deepEqualTo(makeTestRequest())));
+        inOrder.verify(mockRepository).findAllDtoByRequesterId(USER_ID, PAGE);
+        assertThat(actual, empty());
     }
 
     @Test
@@ -182,13 +203,26 @@ class RequestServiceImplTest {
 
     @Test
     void testGetOthersRequests() {
-        when(mockRepository.findAllOtherByRequesterId(USER_ID, PAGE)).thenReturn(List.of(makeTestRequest()));
+        when(mockRepository.findAllOtherDtoByRequesterId(USER_ID, PAGE)).thenReturn(List.of(REQUEST_WITHOUT_ITEMS));
+        when(mockRepository.findAllItemDtoByRequestId(List.of(REQUEST_ID))).thenReturn(ITEMS);
+
+        final List<RequestRetrieveDto> actual = service.getOthersRequests(USER_ID, FROM, SIZE);
+
+        inOrder.verify(userService).getUser(USER_ID);
+        inOrder.verify(mockRepository).findAllOtherDtoByRequesterId(USER_ID, PAGE);
+        inOrder.verify(mockRepository).findAllItemDtoByRequestId(List.of(REQUEST_ID));
+        assertThat(actual, contains(makeTestRequestRetrieveDto()));
+    }
+
+    @Test
+    void testGetOthersRequestsWhenNoRequests() {
+        when(mockRepository.findAllOtherDtoByRequesterId(USER_ID, PAGE)).thenReturn(List.of());
 
-        final List<Request> actual = service.getOthersRequests(USER_ID, FROM, SIZE);
+        final List<RequestRetrieveDto> actual = service.getOthersRequests(USER_ID, FROM, SIZE);
 
         inOrder.verify(userService).getUser(USER_ID);
-        inOrder.verify(mockRepository).findAllOtherByRequesterId(USER_ID, PAGE);
-        assertThat(actual, contains(deepEqualTo(makeTestRequest())));
+        inOrder.verify(mockRepository).findAllOtherDtoByRequesterId(USER_ID, PAGE);
+        assertThat(actual, empty());
     }
 
     @Test
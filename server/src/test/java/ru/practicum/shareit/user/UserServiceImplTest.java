@@ -118,21 +118,21 @@ class UserServiceImplTest {
 
     @Test
     void testExistsByIdWhenTrue() {
-        when(mockRepository.existsById(USER_ID)).thenReturn(true);
+        when(mockRepository.findById(USER_ID)).thenReturn(Optional.of(makeTestUser()));
 
         final boolean actual = service.existsById(USER_ID);
 
-        verify(mockRepository).existsById(USER_ID);
+        verify(mockRepository).findById(USER_ID);
         assertThat(actual, equalTo(true));
     }
 
     @Test
     void testExistsByIdWhenFalse() {
-        when(mockRepository.existsById(USER_ID)).thenReturn(false);
+        when(mockRepository.findById(USER_ID)).thenReturn(Optional.empty());
 
         final boolean actual = service.existsById(USER_ID);
 
-        verify(mockRepository).existsById(USER_ID);
+        verify(mockRepository).findById(USER_ID);
         assertThat(actual, equalTo(false));
     }
 
@@ -215,21 +215,23 @@ class UserServiceImplTest {
 
     @Test
     void testDeleteUser() throws JSONException, IOException {
-        when(mockRepository.delete(USER_ID)).thenReturn(1);
+        final User user = makeTestUser();
+        when(mockRepository.findById(USER_ID)).thenReturn(Optional.of(user));
 
         service.deleteUser(USER_ID);
 
-        verify(mockRepository).delete(USER_ID);
+        verify(mockRepository).findById(USER_ID);
+        verify(mockRepository).delete(user);
         assertLogs(logListener.getEvents(), "delete_user.json", getClass());
     }
 
     @Test
     void testDeleteUserWhenUserNotFound() throws JSONException, IOException {
-        when(mockRepository.delete(USER_ID)).thenReturn(0);
+        when(mockRepository.findById(USER_ID)).thenReturn(Optional.empty());
 
         service.deleteUser(USER_ID);
 
-        verify(mockRepository).delete(USER_ID);
+        verify(mockRepository).findById(USER_ID);
         assertLogs(logListener.getEvents(), "delete_user_not_found.json", getClass());
     }
 }
\ No newline at end of file
@@ -0,0 +1,34 @@
+INSERT INTO users (name, email)
+SELECT 'User ' || "X", 'user' || "X" || '@mail.com'
+FROM SYSTEM_RANGE(1, 200);
+
+INSERT INTO requests (requester_id, description, created)
+SELECT MOD("X", 200) + 1, 'Request ' || "X", TIMESTAMP '2001-01-01 00:00:00' + "X" * INTERVAL '1' HOUR
+FROM SYSTEM_RANGE(1, 400);
+
+INSERT INTO items (owner_id, name, description, available, request_id)
+SELECT MOD("X", 200) + 1, 'Item ' || "X", 'Description ' || "X", TRUE, CASEWHEN(MOD("X", 3) = 0, MOD("X", 400) + 1, NULL)
+FROM SYSTEM_RANGE(1, 1000);
+
+INSERT INTO bookings (item_id, booker_id, owner_id, booking_start, booking_end, status, phase)
+SELECT MOD("X", 1000) + 1, MOD("X" * 7, 200) + 1, MOD(MOD("X", 1000) + 1, 200) + 1, CURRENT_TIMESTAMP + ("X" - 2500) * INTERVAL '1' HOUR,
+       CURRENT_TIMESTAMP + ("X" - 2499) * INTERVAL '1' HOUR,
+       CASE MOD("X", 3) WHEN 0 THEN 'WAITING' WHEN 1 THEN 'APPROVED' ELSE 'REJECTED' END,
+       CASE WHEN "X" < 2500 THEN 'PAST' WHEN "X" = 2500 THEN 'CURRENT' ELSE 'FUTURE' END
+FROM SYSTEM_RANGE(1, 5000);
+
+INSERT INTO archived_bookings (id, item_id, booker_id, owner_id, booking_start, booking_end, status, archived)
+SELECT 100000 + "X", MOD("X", 1000) + 1, MOD("X" * 7, 200) + 1, MOD(MOD("X", 1000) + 1, 200) + 1, CURRENT_TIMESTAMP - ("X" + 5000) * INTERVAL '1' HOUR,
+       CURRENT_TIMESTAMP - ("X" + 4999) * INTERVAL '1' HOUR, CASEWHEN(MOD("X", 2) = 0, 'APPROVED', 'REJECTED'),
+       CURRENT_TIMESTAMP
+FROM SYSTEM_RANGE(1, 5000);
+
+INSERT INTO comments (item_id, author_id, text, created)
+SELECT MOD("X", 1000) + 1, MOD("X" * 3, 200) + 1, 'Comment ' || "X", TIMESTAMP '2001-01-01 00:00:00' + "X" * INTERVAL '1' HOUR
+FROM SYSTEM_RANGE(1, 2000);
+
+INSERT INTO item_booking_summary (item_id, next_booking_start)
+SELECT "X", CURRENT_TIMESTAMP + "X" * INTERVAL '1' HOUR
+FROM SYSTEM_RANGE(1, 1000);
+
+ANALYZE;